@@ -24,4 +24,23 @@ import org.apache.skywalking.apm.collector.server.grpc.GRPCServerConfig;
  * @author peng-yongsheng
  */
 class AgentModuleGRPCConfig extends GRPCServerConfig {
+
+    private int segmentIngestionThreads = 2;
+    private int segmentIngestionQueueSize = 10000;
+
+    int getSegmentIngestionThreads() {
+        return segmentIngestionThreads;
+    }
+
+    void setSegmentIngestionThreads(int segmentIngestionThreads) {
+        this.segmentIngestionThreads = segmentIngestionThreads;
+    }
+
+    int getSegmentIngestionQueueSize() {
+        return segmentIngestionQueueSize;
+    }
+
+    void setSegmentIngestionQueueSize(int segmentIngestionQueueSize) {
+        this.segmentIngestionQueueSize = segmentIngestionQueueSize;
+    }
 }
@@ -18,21 +18,26 @@
 
 package org.apache.skywalking.apm.collector.agent.grpc.provider;
 
+import io.grpc.BindableService;
+import io.grpc.ServerInterceptors;
 import java.io.File;
 import org.apache.skywalking.apm.collector.agent.grpc.define.AgentGRPCModule;
 import org.apache.skywalking.apm.collector.agent.grpc.provider.handler.ApplicationRegisterServiceHandler;
 import org.apache.skywalking.apm.collector.agent.grpc.provider.handler.InstanceDiscoveryServiceHandler;
 import org.apache.skywalking.apm.collector.agent.grpc.provider.handler.JVMMetricsServiceHandler;
 import org.apache.skywalking.apm.collector.agent.grpc.provider.handler.NetworkAddressRegisterServiceHandler;
+import org.apache.skywalking.apm.collector.agent.grpc.provider.handler.SegmentIngestionExecutor;
 import org.apache.skywalking.apm.collector.agent.grpc.provider.handler.ServiceNameDiscoveryServiceHandler;
 import org.apache.skywalking.apm.collector.agent.grpc.provider.handler.TraceSegmentServiceHandler;
 import org.apache.skywalking.apm.collector.agent.grpc.provider.handler.naming.AgentGRPCNamingHandler;
 import org.apache.skywalking.apm.collector.agent.grpc.provider.handler.naming.AgentGRPCNamingListener;
 import org.apache.skywalking.apm.collector.analysis.metric.define.AnalysisMetricModule;
 import org.apache.skywalking.apm.collector.analysis.segment.parser.define.AnalysisSegmentParserModule;
+import org.apache.skywalking.apm.collector.analysis.segment.parser.define.service.ISegmentParseService;
 import org.apache.skywalking.apm.collector.cluster.ClusterModule;
 import org.apache.skywalking.apm.collector.cluster.service.ModuleListenerService;
 import org.apache.skywalking.apm.collector.cluster.service.ModuleRegisterService;
+import org.apache.skywalking.apm.collector.core.load.LoadMonitor;
 import org.apache.skywalking.apm.collector.core.module.Module;
 import org.apache.skywalking.apm.collector.core.module.ModuleConfig;
 import org.apache.skywalking.apm.collector.core.module.ModuleProvider;
@@ -120,6 +125,7 @@ public class AgentModuleGRPCProvider extends ModuleProvider {
         }
 
         addHandlers(gRPCServer);
+        LoadMonitor.INSTANCE.start();
     }
 
     @Override
@@ -132,11 +138,17 @@ public class AgentModuleGRPCProvider extends ModuleProvider {
     }
 
     private void addHandlers(GRPCServer gRPCServer) {
-        AuthenticationSimpleChecker.INSTANCE.build(gRPCServer, new ApplicationRegisterServiceHandler(getManager()));
-        AuthenticationSimpleChecker.INSTANCE.build(gRPCServer, new InstanceDiscoveryServiceHandler(getManager()));
-        AuthenticationSimpleChecker.INSTANCE.build(gRPCServer, new ServiceNameDiscoveryServiceHandler(getManager()));
-        AuthenticationSimpleChecker.INSTANCE.build(gRPCServer, new JVMMetricsServiceHandler(getManager()));
-        AuthenticationSimpleChecker.INSTANCE.build(gRPCServer, new TraceSegmentServiceHandler(getManager()));
-        AuthenticationSimpleChecker.INSTANCE.build(gRPCServer, new NetworkAddressRegisterServiceHandler(getManager()));
+        addHandler(gRPCServer, new ApplicationRegisterServiceHandler(getManager()));
+        addHandler(gRPCServer, new InstanceDiscoveryServiceHandler(getManager()));
+        addHandler(gRPCServer, new ServiceNameDiscoveryServiceHandler(getManager()));
+        addHandler(gRPCServer, new JVMMetricsServiceHandler(getManager()));
+        ISegmentParseService segmentParseService = getManager().find(AnalysisSegmentParserModule.NAME).getService(ISegmentParseService.class);
+        SegmentIngestionExecutor ingestionExecutor = new SegmentIngestionExecutor(segmentParseService, config.getSegmentIngestionThreads(), config.getSegmentIngestionQueueSize());
+        addHandler(gRPCServer, new TraceSegmentServiceHandler(ingestionExecutor));
+        addHandler(gRPCServer, new NetworkAddressRegisterServiceHandler(getManager()));
+    }
+
+    private void addHandler(GRPCServer gRPCServer, BindableService handler) {
+        AuthenticationSimpleChecker.INSTANCE.build(gRPCServer, ServerInterceptors.intercept(handler, new SamplingHintInterceptor()));
     }
 }
@@ -18,12 +18,12 @@
 
 package org.apache.skywalking.apm.collector.agent.grpc.provider;
 
-import io.grpc.BindableService;
 import io.grpc.Metadata;
 import io.grpc.ServerCall;
 import io.grpc.ServerCallHandler;
 import io.grpc.ServerInterceptor;
 import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
 import io.grpc.Status;
 import org.apache.skywalking.apm.collector.core.util.StringUtils;
 import org.apache.skywalking.apm.collector.server.grpc.GRPCServer;
@@ -41,7 +41,7 @@ public enum AuthenticationSimpleChecker {
 
     private String expectedToken = "";
 
-    public void build(GRPCServer gRPCServer, BindableService targetService) {
+    public void build(GRPCServer gRPCServer, ServerServiceDefinition targetService) {
         if (StringUtils.isNotEmpty(expectedToken)) {
             gRPCServer.addHandler(ServerInterceptors.intercept(targetService, new ServerInterceptor() {
                 @Override
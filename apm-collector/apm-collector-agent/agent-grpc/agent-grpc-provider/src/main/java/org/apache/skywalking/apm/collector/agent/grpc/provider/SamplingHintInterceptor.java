@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.agent.grpc.provider;
+
+import io.grpc.ForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import org.apache.skywalking.apm.collector.core.load.LoadMonitor;
+
+/**
+ * Advertise the sampling rate of the {@link LoadMonitor} to the agents, in the headers and the trailers of every
+ * response, such as the {@link org.apache.skywalking.apm.network.proto.Downstream} of the segment streams and the
+ * register and heartbeat responses. The agents sample the segments by the latest rate received.
+ *
+ * @author peng-yongsheng
+ */
+public class SamplingHintInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> SAMPLING_RATE_HEADER_NAME =
+        Metadata.Key.of("SamplingRate", Metadata.ASCII_STRING_MARSHALLER);
+
+    @Override
+    public <REQ, RESP> ServerCall.Listener<REQ> interceptCall(ServerCall<REQ, RESP> serverCall, Metadata metadata,
+        ServerCallHandler<REQ, RESP> next) {
+        return next.startCall(new ForwardingServerCall.SimpleForwardingServerCall<REQ, RESP>(serverCall) {
+            @Override public void sendHeaders(Metadata headers) {
+                headers.put(SAMPLING_RATE_HEADER_NAME, String.valueOf(LoadMonitor.INSTANCE.samplingRate()));
+                super.sendHeaders(headers);
+            }
+
+            @Override public void close(Status status, Metadata trailers) {
+                trailers.put(SAMPLING_RATE_HEADER_NAME, String.valueOf(LoadMonitor.INSTANCE.samplingRate()));
+                super.close(status, trailers);
+            }
+        }, metadata);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.agent.grpc.provider.handler;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.skywalking.apm.collector.analysis.segment.parser.define.service.ISegmentParseService;
+import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
+import org.apache.skywalking.apm.collector.core.load.LoadMonitor;
+import org.apache.skywalking.apm.network.proto.UpstreamSegment;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parse the segments received from the agents out of the gRPC threads. Each partition is a thread with a bounded
+ * queue, a segment stream is assigned to a partition when it opens, so the segments of a stream are parsed in order.
+ * The gRPC thread waits for the space when the queue of its partition is full, so the segments and the completion of a
+ * stream are never reordered, and the stream stops reading from the agent meanwhile.
+ * <p>
+ * The depth of the queues and the count of the waits for the space are reported to the log every minute.
+ *
+ * @author peng-yongsheng
+ */
+public class SegmentIngestionExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentIngestionExecutor.class);
+
+    private final ISegmentParseService segmentParseService;
+    private final ThreadPoolExecutor[] partitions;
+    private final int queueSize;
+    private final AtomicInteger nextPartition = new AtomicInteger();
+    private final LongAdder parsedCount = new LongAdder();
+    private final LongAdder waitCount = new LongAdder();
+
+    public SegmentIngestionExecutor(ISegmentParseService segmentParseService, int threads, int queueSize) {
+        this.segmentParseService = segmentParseService;
+        this.partitions = new ThreadPoolExecutor[Math.max(1, threads)];
+        this.queueSize = Math.max(1, queueSize);
+        for (int i = 0; i < partitions.length; i++) {
+            String threadName = "SegmentIngestion-" + i;
+            partitions[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(this.queueSize),
+                runnable -> new Thread(runnable, threadName), this::waitForSpace);
+        }
+        LoadMonitor.INSTANCE.register("ingestion", this::pressure);
+
+        Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(
+            new RunnableWithExceptionProtection(this::report,
+                t -> logger.error("Segment ingestion report failure.", t)), 60, 60, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return the partition of a new segment stream, by round robin.
+     */
+    int partition() {
+        return Math.floorMod(nextPartition.getAndIncrement(), partitions.length);
+    }
+
+    /**
+     * Execute the task in the thread of the partition, wait if the queue of the partition is full.
+     */
+    void execute(int partition, Runnable task) {
+        partitions[partition].execute(() -> {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                logger.error(t.getMessage(), t);
+            }
+        });
+    }
+
+    private void waitForSpace(Runnable task, ThreadPoolExecutor partition) {
+        waitCount.increment();
+        try {
+            partition.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("interrupted while waiting for the space of the segment ingestion queue", e);
+        }
+    }
+
+    @GraphComputingMetric(name = "/segment/ingestion/parse")
+    void parse(UpstreamSegment segment) {
+        parsedCount.increment();
+        segmentParseService.parse(segment, ISegmentParseService.Source.Agent);
+    }
+
+    int[] queueDepths() {
+        int[] depths = new int[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            depths[i] = partitions[i].getQueue().size();
+        }
+        return depths;
+    }
+
+    /**
+     * @return the used fraction of the fullest partition queue.
+     */
+    double pressure() {
+        int maxDepth = 0;
+        for (int depth : queueDepths()) {
+            maxDepth = Math.max(maxDepth, depth);
+        }
+        return (double)maxDepth / queueSize;
+    }
+
+    private void report() {
+        long parsed = parsedCount.sumThenReset();
+        long waits = waitCount.sumThenReset();
+        if (parsed > 0) {
+            logger.info("segment ingestion, parsed: {}, waits for the full queues: {}, queue depths: {}", parsed, waits, Arrays.toString(queueDepths()));
+        }
+    }
+}
@@ -18,10 +18,8 @@
 
 package org.apache.skywalking.apm.collector.agent.grpc.provider.handler;
 
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
-import org.apache.skywalking.apm.collector.analysis.segment.parser.define.AnalysisSegmentParserModule;
-import org.apache.skywalking.apm.collector.analysis.segment.parser.define.service.ISegmentParseService;
-import org.apache.skywalking.apm.collector.core.module.ModuleManager;
 import org.apache.skywalking.apm.collector.server.grpc.GRPCHandler;
 import org.apache.skywalking.apm.network.proto.Downstream;
 import org.apache.skywalking.apm.network.proto.TraceSegmentServiceGrpc;
@@ -30,23 +28,40 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Receive the segments by the inbound flow control of gRPC, each stream requests {@link #STREAM_WINDOW} segments at
+ * open, and one more after a segment parsed by the {@link SegmentIngestionExecutor}. The agent stops sending when the
+ * parse falls behind, instead of the segments piling up in the collector.
+ *
  * @author peng-yongsheng
  */
 public class TraceSegmentServiceHandler extends TraceSegmentServiceGrpc.TraceSegmentServiceImplBase implements GRPCHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(TraceSegmentServiceHandler.class);
 
-    private final ISegmentParseService segmentParseService;
+    private static final int STREAM_WINDOW = 64;
+
+    private final SegmentIngestionExecutor ingestionExecutor;
 
-    public TraceSegmentServiceHandler(ModuleManager moduleManager) {
-        this.segmentParseService = moduleManager.find(AnalysisSegmentParserModule.NAME).getService(ISegmentParseService.class);
+    public TraceSegmentServiceHandler(SegmentIngestionExecutor ingestionExecutor) {
+        this.ingestionExecutor = ingestionExecutor;
     }
 
     @Override public StreamObserver<UpstreamSegment> collect(StreamObserver<Downstream> responseObserver) {
+        ServerCallStreamObserver<Downstream> callObserver = (ServerCallStreamObserver<Downstream>)responseObserver;
+        callObserver.disableAutoInboundFlowControl();
+        callObserver.request(STREAM_WINDOW);
+
+        int partition = ingestionExecutor.partition();
         return new StreamObserver<UpstreamSegment>() {
             @Override public void onNext(UpstreamSegment segment) {
                 logger.debug("receive segment");
-                segmentParseService.parse(segment, ISegmentParseService.Source.Agent);
+                ingestionExecutor.execute(partition, () -> {
+                    try {
+                        ingestionExecutor.parse(segment);
+                    } finally {
+                        callObserver.request(1);
+                    }
+                });
             }
 
             @Override public void onError(Throwable throwable) {
@@ -54,8 +69,10 @@ public class TraceSegmentServiceHandler extends TraceSegmentServiceGrpc.TraceSeg
             }
 
             @Override public void onCompleted() {
-                responseObserver.onNext(Downstream.newBuilder().build());
-                responseObserver.onCompleted();
+                ingestionExecutor.execute(partition, () -> {
+                    responseObserver.onNext(Downstream.newBuilder().build());
+                    responseObserver.onCompleted();
+                });
             }
         };
     }
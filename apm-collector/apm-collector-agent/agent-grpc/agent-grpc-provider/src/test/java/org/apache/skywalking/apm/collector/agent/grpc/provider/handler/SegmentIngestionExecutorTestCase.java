@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.agent.grpc.provider.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.collector.analysis.segment.parser.define.service.ISegmentParseService;
+import org.apache.skywalking.apm.network.proto.UpstreamSegment;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author peng-yongsheng
+ */
+public class SegmentIngestionExecutorTestCase {
+
+    @Test
+    public void testExecuteInPartitionOrder() throws InterruptedException {
+        List<String> parsed = new ArrayList<>();
+        ISegmentParseService parseService = (segment, source) -> parsed.add(Thread.currentThread().getName());
+        SegmentIngestionExecutor executor = new SegmentIngestionExecutor(parseService, 2, 100);
+
+        int partition = executor.partition();
+        Assert.assertNotEquals(partition, executor.partition());
+
+        List<Integer> order = new ArrayList<>();
+        CountDownLatch finished = new CountDownLatch(1);
+        for (int i = 0; i < 50; i++) {
+            int index = i;
+            executor.execute(partition, () -> {
+                executor.parse(UpstreamSegment.getDefaultInstance());
+                order.add(index);
+            });
+        }
+        executor.execute(partition, finished::countDown);
+        Assert.assertTrue(finished.await(10, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 50; i++) {
+            Assert.assertEquals(i, (int)order.get(i));
+            Assert.assertEquals("SegmentIngestion-" + partition, parsed.get(i));
+        }
+    }
+
+    @Test
+    public void testWaitWhenQueueFull() throws InterruptedException {
+        SegmentIngestionExecutor executor = new SegmentIngestionExecutor((segment, source) -> {
+        }, 1, 1);
+
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(0, () -> {
+            started.countDown();
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.execute(0, () -> {
+        });
+        Assert.assertEquals(1, executor.queueDepths()[0]);
+
+        List<String> threads = new ArrayList<>();
+        CountDownLatch finished = new CountDownLatch(1);
+        Thread caller = new Thread(() -> executor.execute(0, () -> {
+            threads.add(Thread.currentThread().getName());
+            finished.countDown();
+        }));
+        caller.start();
+        caller.join(200);
+        Assert.assertTrue(caller.isAlive());
+        Assert.assertTrue(threads.isEmpty());
+
+        blocked.countDown();
+        caller.join(10000);
+        Assert.assertFalse(caller.isAlive());
+        Assert.assertTrue(finished.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals("SegmentIngestion-0", threads.get(0));
+    }
+}
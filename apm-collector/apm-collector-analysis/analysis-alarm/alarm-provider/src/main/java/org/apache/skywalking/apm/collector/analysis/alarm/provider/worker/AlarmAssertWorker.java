@@ -59,7 +59,7 @@ public abstract class AlarmAssertWorker<INPUT extends StreamData & Metric, OUTPU
         Double errorRate = Double.valueOf(inputMetric.getTransactionErrorCalls()) / Double.valueOf(inputMetric.getTransactionCalls());
         errorRate = NumberFormatUtils.rateNumberFormat(errorRate);
 
-        if (inputMetric.getSourceValue().equals(MetricSource.Callee.getValue())) {
+        if (inputMetric.getSourceValue() == MetricSource.Callee.getValue()) {
             if (errorRate >= calleeErrorRateThreshold()) {
                 String id = String.valueOf(MetricSource.Callee.getValue()) + Const.ID_SPLIT + AlarmType.ERROR_RATE.getValue();
                 OUTPUT alarm = newAlarmObject(id, inputMetric);
@@ -70,7 +70,7 @@ public abstract class AlarmAssertWorker<INPUT extends StreamData & Metric, OUTPU
 
                 onNext(alarm);
             }
-        } else if (inputMetric.getSourceValue().equals(MetricSource.Caller.getValue())) {
+        } else if (inputMetric.getSourceValue() == MetricSource.Caller.getValue()) {
             if (errorRate >= callerErrorRateThreshold()) {
                 String id = String.valueOf(MetricSource.Caller.getValue()) + Const.ID_SPLIT + AlarmType.ERROR_RATE.getValue();
                 OUTPUT alarm = newAlarmObject(id, inputMetric);
@@ -95,7 +95,7 @@ public abstract class AlarmAssertWorker<INPUT extends StreamData & Metric, OUTPU
         Long transactionSuccessCalls = inputMetric.getTransactionCalls() - inputMetric.getTransactionErrorCalls();
         Double averageResponseTime = Double.valueOf(transactionSuccessDurationSum) / Double.valueOf(transactionSuccessCalls);
 
-        if (inputMetric.getSourceValue().equals(MetricSource.Callee.getValue())) {
+        if (inputMetric.getSourceValue() == MetricSource.Callee.getValue()) {
             if (averageResponseTime >= calleeAverageResponseTimeThreshold()) {
                 String id = String.valueOf(MetricSource.Callee.getValue()) + Const.ID_SPLIT + AlarmType.SLOW_RTT.getValue();
                 OUTPUT alarm = newAlarmObject(id, inputMetric);
@@ -106,7 +106,7 @@ public abstract class AlarmAssertWorker<INPUT extends StreamData & Metric, OUTPU
 
                 onNext(alarm);
             }
-        } else if (inputMetric.getSourceValue().equals(MetricSource.Caller.getValue())) {
+        } else if (inputMetric.getSourceValue() == MetricSource.Caller.getValue()) {
             if (averageResponseTime >= callerAverageResponseTimeThreshold()) {
                 String id = String.valueOf(MetricSource.Caller.getValue()) + Const.ID_SPLIT + AlarmType.SLOW_RTT.getValue();
                 OUTPUT alarm = newAlarmObject(id, inputMetric);
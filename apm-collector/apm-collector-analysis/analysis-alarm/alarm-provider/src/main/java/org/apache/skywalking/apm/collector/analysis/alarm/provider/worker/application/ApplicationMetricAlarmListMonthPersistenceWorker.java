@@ -22,6 +22,7 @@ import org.apache.skywalking.apm.collector.analysis.alarm.define.graph.AlarmWork
 import org.apache.skywalking.apm.collector.analysis.worker.model.impl.PersistenceWorker;
 import org.apache.skywalking.apm.collector.analysis.worker.model.impl.PersistenceWorkerProvider;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
+import org.apache.skywalking.apm.collector.core.storage.TimePyramid;
 import org.apache.skywalking.apm.collector.storage.StorageModule;
 import org.apache.skywalking.apm.collector.storage.base.dao.IPersistenceDAO;
 import org.apache.skywalking.apm.collector.storage.dao.alarm.IApplicationAlarmListMonthPersistenceDAO;
@@ -44,6 +45,10 @@ public class ApplicationMetricAlarmListMonthPersistenceWorker extends Persistenc
         return true;
     }
 
+    @Override public TimePyramid timePyramid() {
+        return TimePyramid.Month;
+    }
+
     @SuppressWarnings("unchecked")
     @Override protected IPersistenceDAO<?, ?, ApplicationAlarmList> persistenceDAO() {
         return getModuleManager().find(StorageModule.NAME).getService(IApplicationAlarmListMonthPersistenceDAO.class);
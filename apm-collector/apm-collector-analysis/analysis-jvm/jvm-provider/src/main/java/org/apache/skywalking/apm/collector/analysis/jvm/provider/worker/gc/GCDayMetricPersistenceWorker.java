@@ -22,6 +22,7 @@ import org.apache.skywalking.apm.collector.analysis.jvm.define.graph.WorkerIdDef
 import org.apache.skywalking.apm.collector.analysis.worker.model.impl.PersistenceWorker;
 import org.apache.skywalking.apm.collector.analysis.worker.model.impl.PersistenceWorkerProvider;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
+import org.apache.skywalking.apm.collector.core.storage.TimePyramid;
 import org.apache.skywalking.apm.collector.storage.StorageModule;
 import org.apache.skywalking.apm.collector.storage.base.dao.IPersistenceDAO;
 import org.apache.skywalking.apm.collector.storage.dao.gc.IGCDayMetricPersistenceDAO;
@@ -44,6 +45,10 @@ public class GCDayMetricPersistenceWorker extends PersistenceWorker<GCMetric> {
         return true;
     }
 
+    @Override public TimePyramid timePyramid() {
+        return TimePyramid.Day;
+    }
+
     @SuppressWarnings("unchecked")
     @Override protected IPersistenceDAO<?, ?, GCMetric> persistenceDAO() {
         return getModuleManager().find(StorageModule.NAME).getService(IGCDayMetricPersistenceDAO.class);
@@ -24,4 +24,80 @@ import org.apache.skywalking.apm.collector.core.module.ModuleConfig;
  * @author peng-yongsheng
  */
 class AnalysisMetricModuleConfig extends ModuleConfig {
+
+    private int aggregationShardNum = 1;
+    private int persistenceFlushThreads = 2;
+    private int persistenceFlushSize = 50000;
+    private int minuteFlushInterval = 3;
+    private int hourFlushInterval = 10;
+    private int dayFlushInterval = 30;
+    private int monthFlushInterval = 60;
+
+    /**
+     * @return the number of the instances and consumer threads of each metric aggregation worker.
+     */
+    int getAggregationShardNum() {
+        return aggregationShardNum;
+    }
+
+    void setAggregationShardNum(int aggregationShardNum) {
+        this.aggregationShardNum = aggregationShardNum;
+    }
+
+    /**
+     * @return the number of the threads flushing the persistence workers in parallel.
+     */
+    int getPersistenceFlushThreads() {
+        return persistenceFlushThreads;
+    }
+
+    void setPersistenceFlushThreads(int persistenceFlushThreads) {
+        this.persistenceFlushThreads = persistenceFlushThreads;
+    }
+
+    /**
+     * @return the cache size flushing a persistence worker before its interval elapsed, 0 means never.
+     */
+    int getPersistenceFlushSize() {
+        return persistenceFlushSize;
+    }
+
+    void setPersistenceFlushSize(int persistenceFlushSize) {
+        this.persistenceFlushSize = persistenceFlushSize;
+    }
+
+    /**
+     * @return the flush interval in seconds of the minute metrics and the records.
+     */
+    int getMinuteFlushInterval() {
+        return minuteFlushInterval;
+    }
+
+    void setMinuteFlushInterval(int minuteFlushInterval) {
+        this.minuteFlushInterval = minuteFlushInterval;
+    }
+
+    int getHourFlushInterval() {
+        return hourFlushInterval;
+    }
+
+    void setHourFlushInterval(int hourFlushInterval) {
+        this.hourFlushInterval = hourFlushInterval;
+    }
+
+    int getDayFlushInterval() {
+        return dayFlushInterval;
+    }
+
+    void setDayFlushInterval(int dayFlushInterval) {
+        this.dayFlushInterval = dayFlushInterval;
+    }
+
+    int getMonthFlushInterval() {
+        return monthFlushInterval;
+    }
+
+    void setMonthFlushInterval(int monthFlushInterval) {
+        this.monthFlushInterval = monthFlushInterval;
+    }
 }
@@ -51,6 +51,7 @@ import org.apache.skywalking.apm.collector.core.module.Module;
 import org.apache.skywalking.apm.collector.core.module.ModuleConfig;
 import org.apache.skywalking.apm.collector.core.module.ModuleProvider;
 import org.apache.skywalking.apm.collector.core.module.ServiceNotProvidedException;
+import org.apache.skywalking.apm.collector.core.storage.TimePyramid;
 import org.apache.skywalking.apm.collector.remote.RemoteModule;
 import org.apache.skywalking.apm.collector.remote.service.RemoteDataRegisterService;
 import org.apache.skywalking.apm.collector.storage.StorageModule;
@@ -91,6 +92,12 @@ public class AnalysisMetricModuleProvider extends ModuleProvider {
     }
 
     @Override public void prepare() throws ServiceNotProvidedException {
+        PersistenceTimer.INSTANCE.setFlushThreads(config.getPersistenceFlushThreads());
+        PersistenceTimer.INSTANCE.setFlushSize(config.getPersistenceFlushSize());
+        PersistenceTimer.INSTANCE.setFlushInterval(TimePyramid.Minute, config.getMinuteFlushInterval());
+        PersistenceTimer.INSTANCE.setFlushInterval(TimePyramid.Hour, config.getHourFlushInterval());
+        PersistenceTimer.INSTANCE.setFlushInterval(TimePyramid.Day, config.getDayFlushInterval());
+        PersistenceTimer.INSTANCE.setFlushInterval(TimePyramid.Month, config.getMonthFlushInterval());
         this.registerServiceImplementation(IInstanceHeartBeatService.class, new InstanceHeartBeatService());
     }
 
@@ -125,37 +132,37 @@ public class AnalysisMetricModuleProvider extends ModuleProvider {
     }
 
     private void graphCreate(WorkerCreateListener workerCreateListener) {
-        ServiceReferenceMetricGraph serviceReferenceMetricGraph = new ServiceReferenceMetricGraph(getManager(), workerCreateListener);
+        ServiceReferenceMetricGraph serviceReferenceMetricGraph = new ServiceReferenceMetricGraph(getManager(), workerCreateListener, config.getAggregationShardNum());
         serviceReferenceMetricGraph.create();
 
-        InstanceReferenceMetricGraph instanceReferenceMetricGraph = new InstanceReferenceMetricGraph(getManager(), workerCreateListener);
+        InstanceReferenceMetricGraph instanceReferenceMetricGraph = new InstanceReferenceMetricGraph(getManager(), workerCreateListener, config.getAggregationShardNum());
         instanceReferenceMetricGraph.create();
 
-        ApplicationReferenceMetricGraph applicationReferenceMetricGraph = new ApplicationReferenceMetricGraph(getManager(), workerCreateListener);
+        ApplicationReferenceMetricGraph applicationReferenceMetricGraph = new ApplicationReferenceMetricGraph(getManager(), workerCreateListener, config.getAggregationShardNum());
         applicationReferenceMetricGraph.create();
 
-        ServiceMetricGraph serviceMetricGraph = new ServiceMetricGraph(getManager(), workerCreateListener);
+        ServiceMetricGraph serviceMetricGraph = new ServiceMetricGraph(getManager(), workerCreateListener, config.getAggregationShardNum());
         serviceMetricGraph.create();
 
-        InstanceMetricGraph instanceMetricGraph = new InstanceMetricGraph(getManager(), workerCreateListener);
+        InstanceMetricGraph instanceMetricGraph = new InstanceMetricGraph(getManager(), workerCreateListener, config.getAggregationShardNum());
         instanceMetricGraph.create();
 
-        ApplicationMetricGraph applicationMetricGraph = new ApplicationMetricGraph(getManager(), workerCreateListener);
+        ApplicationMetricGraph applicationMetricGraph = new ApplicationMetricGraph(getManager(), workerCreateListener, config.getAggregationShardNum());
         applicationMetricGraph.create();
 
-        ApplicationComponentGraph applicationComponentGraph = new ApplicationComponentGraph(getManager(), workerCreateListener);
+        ApplicationComponentGraph applicationComponentGraph = new ApplicationComponentGraph(getManager(), workerCreateListener, config.getAggregationShardNum());
         applicationComponentGraph.create();
 
-        ApplicationMappingGraph applicationMappingGraph = new ApplicationMappingGraph(getManager(), workerCreateListener);
+        ApplicationMappingGraph applicationMappingGraph = new ApplicationMappingGraph(getManager(), workerCreateListener, config.getAggregationShardNum());
         applicationMappingGraph.create();
 
-        InstanceMappingGraph instanceMappingGraph = new InstanceMappingGraph(getManager(), workerCreateListener);
+        InstanceMappingGraph instanceMappingGraph = new InstanceMappingGraph(getManager(), workerCreateListener, config.getAggregationShardNum());
         instanceMappingGraph.create();
 
         GlobalTraceGraph globalTraceGraph = new GlobalTraceGraph(getManager(), workerCreateListener);
         globalTraceGraph.create();
 
-        ResponseTimeDistributionGraph responseTimeDistributionGraph = new ResponseTimeDistributionGraph(getManager(), workerCreateListener);
+        ResponseTimeDistributionGraph responseTimeDistributionGraph = new ResponseTimeDistributionGraph(getManager(), workerCreateListener, config.getAggregationShardNum());
         responseTimeDistributionGraph.create();
 
         SegmentDurationGraph segmentDurationGraph = new SegmentDurationGraph(getManager(), workerCreateListener);
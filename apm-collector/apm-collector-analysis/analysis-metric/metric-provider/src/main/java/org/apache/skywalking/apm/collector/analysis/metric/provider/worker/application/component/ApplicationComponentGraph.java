@@ -34,17 +34,19 @@ public class ApplicationComponentGraph {
 
     private final ModuleManager moduleManager;
     private final WorkerCreateListener workerCreateListener;
+    private final int aggregationShardNum;
 
-    public ApplicationComponentGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener) {
+    public ApplicationComponentGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener, int aggregationShardNum) {
         this.moduleManager = moduleManager;
         this.workerCreateListener = workerCreateListener;
+        this.aggregationShardNum = aggregationShardNum;
     }
 
     public void create() {
         RemoteSenderService remoteSenderService = moduleManager.find(RemoteModule.NAME).getService(RemoteSenderService.class);
 
         Node<ApplicationComponent, ApplicationComponent> remoteNode = GraphManager.INSTANCE.createIfAbsent(MetricGraphIdDefine.APPLICATION_COMPONENT_GRAPH_ID, ApplicationComponent.class)
-            .addNode(new ApplicationComponentMinuteAggregationWorker.Factory(moduleManager).create(workerCreateListener))
+            .addNode(new ApplicationComponentMinuteAggregationWorker.Factory(moduleManager, aggregationShardNum).create(workerCreateListener))
             .addNext(new ApplicationComponentMinuteRemoteWorker.Factory(moduleManager, remoteSenderService, MetricGraphIdDefine.APPLICATION_COMPONENT_GRAPH_ID).create(workerCreateListener));
 
         remoteNode.addNext(new ApplicationComponentMinutePersistenceWorker.Factory(moduleManager).create(workerCreateListener));
@@ -30,10 +30,10 @@ import org.apache.skywalking.apm.collector.analysis.segment.parser.define.listen
 import org.apache.skywalking.apm.collector.cache.CacheModule;
 import org.apache.skywalking.apm.collector.cache.service.ApplicationCacheService;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
+import org.apache.skywalking.apm.collector.core.data.CompositeKey;
 import org.apache.skywalking.apm.collector.core.graph.Graph;
 import org.apache.skywalking.apm.collector.core.graph.GraphManager;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
-import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.core.util.TimeBucketUtils;
 import org.apache.skywalking.apm.collector.storage.table.application.ApplicationComponent;
 
@@ -58,10 +58,7 @@ public class ApplicationComponentSpanListener implements EntrySpanListener, Exit
     public void parseExit(SpanDecorator spanDecorator, int applicationId, int instanceId, String segmentId) {
         int applicationIdFromPeerId = applicationCacheService.getApplicationIdByAddressId(spanDecorator.getPeerId());
 
-        String metricId = applicationIdFromPeerId + Const.ID_SPLIT + String.valueOf(spanDecorator.getComponentId());
-
         ApplicationComponent applicationComponent = new ApplicationComponent();
-        applicationComponent.setMetricId(metricId);
         applicationComponent.setComponentId(spanDecorator.getComponentId());
         applicationComponent.setApplicationId(applicationIdFromPeerId);
         applicationComponents.add(applicationComponent);
@@ -69,10 +66,7 @@ public class ApplicationComponentSpanListener implements EntrySpanListener, Exit
 
     @Override
     public void parseEntry(SpanDecorator spanDecorator, int applicationId, int instanceId, String segmentId) {
-        String metricId = String.valueOf(applicationId) + Const.ID_SPLIT + String.valueOf(spanDecorator.getComponentId());
-
         ApplicationComponent applicationComponent = new ApplicationComponent();
-        applicationComponent.setMetricId(metricId);
         applicationComponent.setComponentId(spanDecorator.getComponentId());
         applicationComponent.setApplicationId(applicationId);
         applicationComponents.add(applicationComponent);
@@ -92,12 +86,17 @@ public class ApplicationComponentSpanListener implements EntrySpanListener, Exit
         Graph<ApplicationComponent> graph = GraphManager.INSTANCE.findGraph(MetricGraphIdDefine.APPLICATION_COMPONENT_GRAPH_ID, ApplicationComponent.class);
 
         applicationComponents.forEach(applicationComponent -> {
-            applicationComponent.setId(timeBucket + Const.ID_SPLIT + applicationComponent.getMetricId());
+            applicationComponent.setKey(CompositeKey.of(timeBucket, applicationComponent.getApplicationId(), applicationComponent.getComponentId()));
             applicationComponent.setTimeBucket(timeBucket);
             graph.start(applicationComponent);
         });
     }
 
+    @Override public void reset() {
+        applicationComponents.clear();
+        timeBucket = 0;
+    }
+
     public static class Factory implements SpanListenerFactory {
 
         @GraphComputingMetric(name = "/segment/parse/createSpanListeners/applicationComponentSpanListener")
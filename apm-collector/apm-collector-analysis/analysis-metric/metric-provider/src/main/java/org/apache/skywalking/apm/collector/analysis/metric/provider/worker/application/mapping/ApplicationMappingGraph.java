@@ -34,17 +34,19 @@ public class ApplicationMappingGraph {
 
     private final ModuleManager moduleManager;
     private final WorkerCreateListener workerCreateListener;
+    private final int aggregationShardNum;
 
-    public ApplicationMappingGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener) {
+    public ApplicationMappingGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener, int aggregationShardNum) {
         this.moduleManager = moduleManager;
         this.workerCreateListener = workerCreateListener;
+        this.aggregationShardNum = aggregationShardNum;
     }
 
     public void create() {
         RemoteSenderService remoteSenderService = moduleManager.find(RemoteModule.NAME).getService(RemoteSenderService.class);
 
         Node<ApplicationMapping, ApplicationMapping> remoteNode = GraphManager.INSTANCE.createIfAbsent(MetricGraphIdDefine.APPLICATION_MAPPING_GRAPH_ID, ApplicationMapping.class)
-            .addNode(new ApplicationMappingMinuteAggregationWorker.Factory(moduleManager).create(workerCreateListener))
+            .addNode(new ApplicationMappingMinuteAggregationWorker.Factory(moduleManager, aggregationShardNum).create(workerCreateListener))
             .addNext(new ApplicationMappingMinuteRemoteWorker.Factory(moduleManager, remoteSenderService, MetricGraphIdDefine.APPLICATION_MAPPING_GRAPH_ID).create(workerCreateListener));
 
         remoteNode.addNext(new ApplicationMappingMinutePersistenceWorker.Factory(moduleManager).create(workerCreateListener));
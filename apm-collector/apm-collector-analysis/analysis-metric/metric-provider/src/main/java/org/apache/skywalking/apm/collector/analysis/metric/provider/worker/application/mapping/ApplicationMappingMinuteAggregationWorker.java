@@ -19,9 +19,9 @@
 package org.apache.skywalking.apm.collector.analysis.metric.provider.worker.application.mapping;
 
 import org.apache.skywalking.apm.collector.analysis.metric.define.graph.MetricWorkerIdDefine;
-import org.apache.skywalking.apm.collector.analysis.worker.model.base.AbstractLocalAsyncWorkerProvider;
 import org.apache.skywalking.apm.collector.analysis.worker.model.base.WorkerException;
 import org.apache.skywalking.apm.collector.analysis.worker.model.impl.AggregationWorker;
+import org.apache.skywalking.apm.collector.analysis.worker.model.impl.AggregationWorkerProvider;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
 import org.apache.skywalking.apm.collector.storage.table.application.ApplicationMapping;
@@ -40,10 +40,10 @@ public class ApplicationMappingMinuteAggregationWorker extends AggregationWorker
         return MetricWorkerIdDefine.APPLICATION_MAPPING_MINUTE_AGGREGATION_WORKER_ID;
     }
 
-    public static class Factory extends AbstractLocalAsyncWorkerProvider<ApplicationMapping, ApplicationMapping, ApplicationMappingMinuteAggregationWorker> {
+    public static class Factory extends AggregationWorkerProvider<ApplicationMapping, ApplicationMapping, ApplicationMappingMinuteAggregationWorker> {
 
-        public Factory(ModuleManager moduleManager) {
-            super(moduleManager);
+        public Factory(ModuleManager moduleManager, int shardNum) {
+            super(moduleManager, shardNum);
         }
 
         @Override public ApplicationMappingMinuteAggregationWorker workerInstance(ModuleManager moduleManager) {
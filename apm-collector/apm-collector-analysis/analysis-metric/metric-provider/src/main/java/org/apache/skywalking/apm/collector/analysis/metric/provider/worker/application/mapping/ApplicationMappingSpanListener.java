@@ -29,10 +29,10 @@ import org.apache.skywalking.apm.collector.analysis.segment.parser.define.listen
 import org.apache.skywalking.apm.collector.cache.CacheModule;
 import org.apache.skywalking.apm.collector.cache.service.ApplicationCacheService;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
+import org.apache.skywalking.apm.collector.core.data.CompositeKey;
 import org.apache.skywalking.apm.collector.core.graph.Graph;
 import org.apache.skywalking.apm.collector.core.graph.GraphManager;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
-import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.core.util.TimeBucketUtils;
 import org.apache.skywalking.apm.collector.storage.table.application.ApplicationMapping;
 import org.apache.skywalking.apm.network.proto.SpanLayer;
@@ -69,9 +69,6 @@ public class ApplicationMappingSpanListener implements FirstSpanListener, EntryS
                     int addressId = spanDecorator.getRefs(i).getNetworkAddressId();
                     int mappingApplicationId = applicationCacheService.getApplicationIdByAddressId(addressId);
                     applicationMapping.setMappingApplicationId(mappingApplicationId);
-
-                    String metricId = String.valueOf(applicationId) + Const.ID_SPLIT + String.valueOf(applicationMapping.getMappingApplicationId());
-                    applicationMapping.setMetricId(metricId);
                     applicationMappings.add(applicationMapping);
                 }
             }
@@ -92,13 +89,18 @@ public class ApplicationMappingSpanListener implements FirstSpanListener, EntryS
         logger.debug("application mapping listener build");
         Graph<ApplicationMapping> graph = GraphManager.INSTANCE.findGraph(MetricGraphIdDefine.APPLICATION_MAPPING_GRAPH_ID, ApplicationMapping.class);
         applicationMappings.forEach(applicationMapping -> {
-            applicationMapping.setId(timeBucket + Const.ID_SPLIT + applicationMapping.getMetricId());
+            applicationMapping.setKey(CompositeKey.of(timeBucket, applicationMapping.getApplicationId(), applicationMapping.getMappingApplicationId()));
             applicationMapping.setTimeBucket(timeBucket);
-            logger.debug("push to application mapping aggregation worker, id: {}", applicationMapping.getId());
+            logger.debug("push to application mapping aggregation worker, id: {}", applicationMapping.getKey());
             graph.start(applicationMapping);
         });
     }
 
+    @Override public void reset() {
+        applicationMappings.clear();
+        timeBucket = 0;
+    }
+
     public static class Factory implements SpanListenerFactory {
 
         @GraphComputingMetric(name = "/segment/parse/createSpanListeners/applicationMappingSpanListener")
@@ -39,10 +39,12 @@ public class ApplicationMetricGraph {
 
     private final ModuleManager moduleManager;
     private final WorkerCreateListener workerCreateListener;
+    private final int aggregationShardNum;
 
-    public ApplicationMetricGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener) {
+    public ApplicationMetricGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener, int aggregationShardNum) {
         this.moduleManager = moduleManager;
         this.workerCreateListener = workerCreateListener;
+        this.aggregationShardNum = aggregationShardNum;
     }
 
     public void create() {
@@ -50,7 +52,7 @@ public class ApplicationMetricGraph {
 
         Graph<ApplicationReferenceMetric> graph = GraphManager.INSTANCE.createIfAbsent(MetricGraphIdDefine.APPLICATION_METRIC_GRAPH_ID, ApplicationReferenceMetric.class);
 
-        Node<ApplicationMetric, ApplicationMetric> remoteNode = graph.addNode(new ApplicationMinuteMetricAggregationWorker.Factory(moduleManager).create(workerCreateListener))
+        Node<ApplicationMetric, ApplicationMetric> remoteNode = graph.addNode(new ApplicationMinuteMetricAggregationWorker.Factory(moduleManager, aggregationShardNum).create(workerCreateListener))
             .addNext(new ApplicationMinuteMetricRemoteWorker.Factory(moduleManager, remoteSenderService, MetricGraphIdDefine.APPLICATION_METRIC_GRAPH_ID).create(workerCreateListener));
 
         remoteNode.addNext(new ApplicationMinuteMetricPersistenceWorker.Factory(moduleManager).create(workerCreateListener));
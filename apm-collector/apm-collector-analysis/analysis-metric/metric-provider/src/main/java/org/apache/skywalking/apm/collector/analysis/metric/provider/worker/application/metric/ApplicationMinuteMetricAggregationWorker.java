@@ -19,12 +19,12 @@
 package org.apache.skywalking.apm.collector.analysis.metric.provider.worker.application.metric;
 
 import org.apache.skywalking.apm.collector.analysis.metric.define.graph.MetricWorkerIdDefine;
-import org.apache.skywalking.apm.collector.analysis.worker.model.base.AbstractLocalAsyncWorkerProvider;
 import org.apache.skywalking.apm.collector.analysis.worker.model.base.WorkerException;
 import org.apache.skywalking.apm.collector.analysis.worker.model.impl.AggregationWorker;
+import org.apache.skywalking.apm.collector.analysis.worker.model.impl.AggregationWorkerProvider;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
+import org.apache.skywalking.apm.collector.core.data.CompositeKey;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
-import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.storage.table.application.ApplicationMetric;
 import org.apache.skywalking.apm.collector.storage.table.application.ApplicationMetricTable;
 import org.apache.skywalking.apm.collector.storage.table.application.ApplicationReferenceMetric;
@@ -43,18 +43,11 @@ public class ApplicationMinuteMetricAggregationWorker extends AggregationWorker<
     }
 
     @Override protected ApplicationMetric transform(ApplicationReferenceMetric applicationReferenceMetric) {
-        Integer applicationId = applicationReferenceMetric.getBehindApplicationId();
-        Long timeBucket = applicationReferenceMetric.getTimeBucket();
-
-        String metricId = String.valueOf(applicationId)
-            + Const.ID_SPLIT + applicationReferenceMetric.getSourceValue();
-
-        String id = String.valueOf(timeBucket)
-            + Const.ID_SPLIT + metricId;
+        int applicationId = applicationReferenceMetric.getBehindApplicationId();
+        long timeBucket = applicationReferenceMetric.getTimeBucket();
 
         ApplicationMetric applicationMetric = new ApplicationMetric();
-        applicationMetric.setId(id);
-        applicationMetric.setMetricId(metricId);
+        applicationMetric.setKey(CompositeKey.of(timeBucket, applicationId, applicationReferenceMetric.getSourceValue()));
 
         applicationMetric.setApplicationId(applicationId);
         applicationMetric.setSourceValue(applicationReferenceMetric.getSourceValue());
@@ -83,10 +76,10 @@ public class ApplicationMinuteMetricAggregationWorker extends AggregationWorker<
         return applicationMetric;
     }
 
-    public static class Factory extends AbstractLocalAsyncWorkerProvider<ApplicationReferenceMetric, ApplicationMetric, ApplicationMinuteMetricAggregationWorker> {
+    public static class Factory extends AggregationWorkerProvider<ApplicationReferenceMetric, ApplicationMetric, ApplicationMinuteMetricAggregationWorker> {
 
-        public Factory(ModuleManager moduleManager) {
-            super(moduleManager);
+        public Factory(ModuleManager moduleManager, int shardNum) {
+            super(moduleManager, shardNum);
         }
 
         @Override public ApplicationMinuteMetricAggregationWorker workerInstance(ModuleManager moduleManager) {
@@ -96,6 +89,10 @@ public class ApplicationMinuteMetricAggregationWorker extends AggregationWorker<
         @Override public int queueSize() {
             return 256;
         }
+
+        @Override protected int shardKey(ApplicationReferenceMetric applicationReferenceMetric) {
+            return 31 * applicationReferenceMetric.getBehindApplicationId() + applicationReferenceMetric.getSourceValue();
+        }
     }
 
     @GraphComputingMetric(name = "/aggregate/onWork/" + ApplicationMetricTable.TABLE)
@@ -39,10 +39,12 @@ public class ApplicationReferenceMetricGraph {
 
     private final ModuleManager moduleManager;
     private final WorkerCreateListener workerCreateListener;
+    private final int aggregationShardNum;
 
-    public ApplicationReferenceMetricGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener) {
+    public ApplicationReferenceMetricGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener, int aggregationShardNum) {
         this.moduleManager = moduleManager;
         this.workerCreateListener = workerCreateListener;
+        this.aggregationShardNum = aggregationShardNum;
     }
 
     public void create() {
@@ -50,7 +52,7 @@ public class ApplicationReferenceMetricGraph {
 
         Graph<InstanceReferenceMetric> graph = GraphManager.INSTANCE.createIfAbsent(MetricGraphIdDefine.APPLICATION_REFERENCE_METRIC_GRAPH_ID, InstanceReferenceMetric.class);
 
-        Node<ApplicationReferenceMetric, ApplicationReferenceMetric> remoteNode = graph.addNode(new ApplicationReferenceMinuteMetricAggregationWorker.Factory(moduleManager).create(workerCreateListener))
+        Node<ApplicationReferenceMetric, ApplicationReferenceMetric> remoteNode = graph.addNode(new ApplicationReferenceMinuteMetricAggregationWorker.Factory(moduleManager, aggregationShardNum).create(workerCreateListener))
             .addNext(new ApplicationReferenceMinuteMetricRemoteWorker.Factory(moduleManager, remoteSenderService, MetricGraphIdDefine.APPLICATION_REFERENCE_METRIC_GRAPH_ID).create(workerCreateListener));
 
         remoteNode.addNext(new ApplicationReferenceMinuteMetricPersistenceWorker.Factory(moduleManager).create(workerCreateListener));
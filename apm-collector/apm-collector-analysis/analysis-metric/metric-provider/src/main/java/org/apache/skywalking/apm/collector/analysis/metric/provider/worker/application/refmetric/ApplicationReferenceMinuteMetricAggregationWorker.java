@@ -19,17 +19,15 @@
 package org.apache.skywalking.apm.collector.analysis.metric.provider.worker.application.refmetric;
 
 import org.apache.skywalking.apm.collector.analysis.metric.define.graph.MetricWorkerIdDefine;
-import org.apache.skywalking.apm.collector.analysis.worker.model.base.AbstractLocalAsyncWorkerProvider;
 import org.apache.skywalking.apm.collector.analysis.worker.model.base.WorkerException;
 import org.apache.skywalking.apm.collector.analysis.worker.model.impl.AggregationWorker;
-import org.apache.skywalking.apm.collector.cache.CacheModule;
-import org.apache.skywalking.apm.collector.cache.service.InstanceCacheService;
+import org.apache.skywalking.apm.collector.analysis.worker.model.impl.AggregationWorkerProvider;
 import org.apache.skywalking.apm.collector.configuration.ConfigurationModule;
 import org.apache.skywalking.apm.collector.configuration.service.IApdexThresholdService;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
+import org.apache.skywalking.apm.collector.core.data.CompositeKey;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
 import org.apache.skywalking.apm.collector.core.util.ApdexThresholdUtils;
-import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.storage.table.application.ApplicationReferenceMetric;
 import org.apache.skywalking.apm.collector.storage.table.application.ApplicationReferenceMetricTable;
 import org.apache.skywalking.apm.collector.storage.table.instance.InstanceReferenceMetric;
@@ -39,12 +37,10 @@ import org.apache.skywalking.apm.collector.storage.table.instance.InstanceRefere
  */
 public class ApplicationReferenceMinuteMetricAggregationWorker extends AggregationWorker<InstanceReferenceMetric, ApplicationReferenceMetric> {
 
-    private final InstanceCacheService instanceCacheService;
     private final IApdexThresholdService apdexThresholdService;
 
     private ApplicationReferenceMinuteMetricAggregationWorker(ModuleManager moduleManager) {
         super(moduleManager);
-        this.instanceCacheService = moduleManager.find(CacheModule.NAME).getService(InstanceCacheService.class);
         this.apdexThresholdService = moduleManager.find(ConfigurationModule.NAME).getService(IApdexThresholdService.class);
     }
 
@@ -53,19 +49,11 @@ public class ApplicationReferenceMinuteMetricAggregationWorker extends Aggregati
     }
 
     @Override protected ApplicationReferenceMetric transform(InstanceReferenceMetric instanceReferenceMetric) {
-        Integer frontApplicationId = instanceCacheService.getApplicationId(instanceReferenceMetric.getFrontInstanceId());
-        Integer behindApplicationId = instanceCacheService.getApplicationId(instanceReferenceMetric.getBehindInstanceId());
-
-        String metricId = frontApplicationId
-            + Const.ID_SPLIT + behindApplicationId
-            + Const.ID_SPLIT + instanceReferenceMetric.getSourceValue();
-
-        String id = instanceReferenceMetric.getTimeBucket()
-            + Const.ID_SPLIT + metricId;
+        int frontApplicationId = instanceReferenceMetric.getFrontApplicationId();
+        int behindApplicationId = instanceReferenceMetric.getBehindApplicationId();
 
         ApplicationReferenceMetric applicationReferenceMetric = new ApplicationReferenceMetric();
-        applicationReferenceMetric.setId(id);
-        applicationReferenceMetric.setMetricId(metricId);
+        applicationReferenceMetric.setKey(CompositeKey.of(instanceReferenceMetric.getTimeBucket(), frontApplicationId, behindApplicationId, instanceReferenceMetric.getSourceValue()));
         applicationReferenceMetric.setFrontApplicationId(frontApplicationId);
         applicationReferenceMetric.setBehindApplicationId(behindApplicationId);
         applicationReferenceMetric.setSourceValue(instanceReferenceMetric.getSourceValue());
@@ -99,10 +87,10 @@ public class ApplicationReferenceMinuteMetricAggregationWorker extends Aggregati
         return applicationReferenceMetric;
     }
 
-    public static class Factory extends AbstractLocalAsyncWorkerProvider<InstanceReferenceMetric, ApplicationReferenceMetric, ApplicationReferenceMinuteMetricAggregationWorker> {
+    public static class Factory extends AggregationWorkerProvider<InstanceReferenceMetric, ApplicationReferenceMetric, ApplicationReferenceMinuteMetricAggregationWorker> {
 
-        public Factory(ModuleManager moduleManager) {
-            super(moduleManager);
+        public Factory(ModuleManager moduleManager, int shardNum) {
+            super(moduleManager, shardNum);
         }
 
         @Override public ApplicationReferenceMinuteMetricAggregationWorker workerInstance(ModuleManager moduleManager) {
@@ -113,6 +101,10 @@ public class ApplicationReferenceMinuteMetricAggregationWorker extends Aggregati
         public int queueSize() {
             return 1024;
         }
+
+        @Override protected int shardKey(InstanceReferenceMetric instanceReferenceMetric) {
+            return 31 * (31 * instanceReferenceMetric.getFrontApplicationId() + instanceReferenceMetric.getBehindApplicationId()) + instanceReferenceMetric.getSourceValue();
+        }
     }
 
     @GraphComputingMetric(name = "/aggregate/onWork/" + ApplicationReferenceMetricTable.TABLE)
@@ -90,6 +90,12 @@ public class GlobalTraceSpanListener implements FirstSpanListener, GlobalTraceId
         }
     }
 
+    @Override public void reset() {
+        globalTraceIds.clear();
+        segmentId = null;
+        timeBucket = 0;
+    }
+
     public static class Factory implements SpanListenerFactory {
 
         @GraphComputingMetric(name = "/segment/parse/createSpanListeners/globalTraceSpanListener")
@@ -34,17 +34,19 @@ public class ResponseTimeDistributionGraph {
 
     private final ModuleManager moduleManager;
     private final WorkerCreateListener workerCreateListener;
+    private final int aggregationShardNum;
 
-    public ResponseTimeDistributionGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener) {
+    public ResponseTimeDistributionGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener, int aggregationShardNum) {
         this.moduleManager = moduleManager;
         this.workerCreateListener = workerCreateListener;
+        this.aggregationShardNum = aggregationShardNum;
     }
 
     public void create() {
         RemoteSenderService remoteSenderService = moduleManager.find(RemoteModule.NAME).getService(RemoteSenderService.class);
 
         Node<ResponseTimeDistribution, ResponseTimeDistribution> remoteNode = GraphManager.INSTANCE.createIfAbsent(MetricGraphIdDefine.RESPONSE_TIME_DISTRIBUTION_GRAPH_ID, ResponseTimeDistribution.class)
-            .addNode(new ResponseTimeDistributionMinuteAggregationWorker.Factory(moduleManager).create(workerCreateListener))
+            .addNode(new ResponseTimeDistributionMinuteAggregationWorker.Factory(moduleManager, aggregationShardNum).create(workerCreateListener))
             .addNext(new ResponseTimeDistributionMinuteRemoteWorker.Factory(moduleManager, remoteSenderService, MetricGraphIdDefine.RESPONSE_TIME_DISTRIBUTION_GRAPH_ID).create(workerCreateListener));
 
         remoteNode.addNext(new ResponseTimeDistributionMinutePersistenceWorker.Factory(moduleManager).create(workerCreateListener));
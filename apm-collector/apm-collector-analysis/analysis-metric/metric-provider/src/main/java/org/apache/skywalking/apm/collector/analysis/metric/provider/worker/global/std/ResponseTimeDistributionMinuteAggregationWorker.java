@@ -19,9 +19,9 @@
 package org.apache.skywalking.apm.collector.analysis.metric.provider.worker.global.std;
 
 import org.apache.skywalking.apm.collector.analysis.metric.define.graph.MetricWorkerIdDefine;
-import org.apache.skywalking.apm.collector.analysis.worker.model.base.AbstractLocalAsyncWorkerProvider;
 import org.apache.skywalking.apm.collector.analysis.worker.model.base.WorkerException;
 import org.apache.skywalking.apm.collector.analysis.worker.model.impl.AggregationWorker;
+import org.apache.skywalking.apm.collector.analysis.worker.model.impl.AggregationWorkerProvider;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
 import org.apache.skywalking.apm.collector.storage.table.global.ResponseTimeDistribution;
@@ -40,10 +40,10 @@ public class ResponseTimeDistributionMinuteAggregationWorker extends Aggregation
         return MetricWorkerIdDefine.RESPONSE_TIME_DISTRIBUTION_MINUTE_AGGREGATION_WORKER_ID;
     }
 
-    public static class Factory extends AbstractLocalAsyncWorkerProvider<ResponseTimeDistribution, ResponseTimeDistribution, ResponseTimeDistributionMinuteAggregationWorker> {
+    public static class Factory extends AggregationWorkerProvider<ResponseTimeDistribution, ResponseTimeDistribution, ResponseTimeDistributionMinuteAggregationWorker> {
 
-        public Factory(ModuleManager moduleManager) {
-            super(moduleManager);
+        public Factory(ModuleManager moduleManager, int shardNum) {
+            super(moduleManager, shardNum);
         }
 
         @Override public ResponseTimeDistributionMinuteAggregationWorker workerInstance(ModuleManager moduleManager) {
@@ -29,10 +29,10 @@ import org.apache.skywalking.apm.collector.analysis.segment.parser.define.listen
 import org.apache.skywalking.apm.collector.configuration.ConfigurationModule;
 import org.apache.skywalking.apm.collector.configuration.service.IResponseTimeDistributionConfigService;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
+import org.apache.skywalking.apm.collector.core.data.CompositeKey;
 import org.apache.skywalking.apm.collector.core.graph.Graph;
 import org.apache.skywalking.apm.collector.core.graph.GraphManager;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
-import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.core.util.TimeBucketUtils;
 import org.apache.skywalking.apm.collector.storage.table.global.ResponseTimeDistribution;
 import org.slf4j.Logger;
@@ -90,8 +90,7 @@ public class ResponseTimeDistributionSpanListener implements FirstSpanListener,
         int step = getStep();
 
         ResponseTimeDistribution distribution = new ResponseTimeDistribution();
-        distribution.setMetricId(String.valueOf(step));
-        distribution.setId(timeBucket + Const.ID_SPLIT + distribution.getMetricId());
+        distribution.setKey(CompositeKey.of(timeBucket, step));
         distribution.setStep(step);
         distribution.setCalls(1);
         distribution.setTimeBucket(timeBucket);
@@ -104,7 +103,14 @@ public class ResponseTimeDistributionSpanListener implements FirstSpanListener,
 
         Graph<ResponseTimeDistribution> graph = GraphManager.INSTANCE.findGraph(MetricGraphIdDefine.RESPONSE_TIME_DISTRIBUTION_GRAPH_ID, ResponseTimeDistribution.class);
         graph.start(distribution);
-        logger.debug("push to response time distribution aggregation worker, id: {}", distribution.getId());
+        logger.debug("push to response time distribution aggregation worker, id: {}", distribution.getKey());
+    }
+
+    @Override public void reset() {
+        timeBucket = 0;
+        isError = false;
+        entrySpanDuration = 0;
+        firstSpanDuration = 0;
     }
 
     int getStep() {
@@ -27,10 +27,10 @@ import org.apache.skywalking.apm.collector.analysis.segment.parser.define.listen
 import org.apache.skywalking.apm.collector.analysis.segment.parser.define.listener.SpanListener;
 import org.apache.skywalking.apm.collector.analysis.segment.parser.define.listener.SpanListenerFactory;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
+import org.apache.skywalking.apm.collector.core.data.CompositeKey;
 import org.apache.skywalking.apm.collector.core.graph.Graph;
 import org.apache.skywalking.apm.collector.core.graph.GraphManager;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
-import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.core.util.TimeBucketUtils;
 import org.apache.skywalking.apm.collector.storage.table.instance.InstanceMapping;
 import org.slf4j.Logger;
@@ -58,8 +58,6 @@ public class InstanceMappingSpanListener implements FirstSpanListener, EntrySpan
                 instanceMapping.setApplicationId(applicationId);
                 instanceMapping.setInstanceId(instanceId);
                 instanceMapping.setAddressId(spanDecorator.getRefs(i).getNetworkAddressId());
-                String metricId = String.valueOf(instanceId) + Const.ID_SPLIT + String.valueOf(instanceMapping.getAddressId());
-                instanceMapping.setMetricId(metricId);
                 instanceMappings.add(instanceMapping);
             }
         }
@@ -79,13 +77,18 @@ public class InstanceMappingSpanListener implements FirstSpanListener, EntrySpan
         logger.debug("instance mapping listener build");
         Graph<InstanceMapping> graph = GraphManager.INSTANCE.findGraph(MetricGraphIdDefine.INSTANCE_MAPPING_GRAPH_ID, InstanceMapping.class);
         instanceMappings.forEach(instanceMapping -> {
-            instanceMapping.setId(timeBucket + Const.ID_SPLIT + instanceMapping.getMetricId());
+            instanceMapping.setKey(CompositeKey.of(timeBucket, instanceMapping.getInstanceId(), instanceMapping.getAddressId()));
             instanceMapping.setTimeBucket(timeBucket);
-            logger.debug("push to instance mapping aggregation worker, id: {}", instanceMapping.getId());
+            logger.debug("push to instance mapping aggregation worker, id: {}", instanceMapping.getKey());
             graph.start(instanceMapping);
         });
     }
 
+    @Override public void reset() {
+        instanceMappings.clear();
+        timeBucket = 0;
+    }
+
     public static class Factory implements SpanListenerFactory {
 
         @GraphComputingMetric(name = "/segment/parse/createSpanListeners/instanceMappingSpanListener")
@@ -19,12 +19,12 @@
 package org.apache.skywalking.apm.collector.analysis.metric.provider.worker.instance.metric;
 
 import org.apache.skywalking.apm.collector.analysis.metric.define.graph.MetricWorkerIdDefine;
-import org.apache.skywalking.apm.collector.analysis.worker.model.base.AbstractLocalAsyncWorkerProvider;
 import org.apache.skywalking.apm.collector.analysis.worker.model.base.WorkerException;
 import org.apache.skywalking.apm.collector.analysis.worker.model.impl.AggregationWorker;
+import org.apache.skywalking.apm.collector.analysis.worker.model.impl.AggregationWorkerProvider;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
+import org.apache.skywalking.apm.collector.core.data.CompositeKey;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
-import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.storage.table.instance.InstanceMetric;
 import org.apache.skywalking.apm.collector.storage.table.instance.InstanceMetricTable;
 import org.apache.skywalking.apm.collector.storage.table.instance.InstanceReferenceMetric;
@@ -43,12 +43,8 @@ public class InstanceMinuteMetricAggregationWorker extends AggregationWorker<Ins
     }
 
     @Override protected InstanceMetric transform(InstanceReferenceMetric instanceReferenceMetric) {
-        String metricId = instanceReferenceMetric.getBehindInstanceId() + Const.ID_SPLIT + instanceReferenceMetric.getSourceValue();
-        String id = instanceReferenceMetric.getTimeBucket() + Const.ID_SPLIT + metricId;
-
         InstanceMetric instanceMetric = new InstanceMetric();
-        instanceMetric.setId(id);
-        instanceMetric.setMetricId(metricId);
+        instanceMetric.setKey(CompositeKey.of(instanceReferenceMetric.getTimeBucket(), instanceReferenceMetric.getBehindInstanceId(), instanceReferenceMetric.getSourceValue()));
 
         instanceMetric.setApplicationId(instanceReferenceMetric.getBehindApplicationId());
         instanceMetric.setInstanceId(instanceReferenceMetric.getBehindInstanceId());
@@ -73,10 +69,10 @@ public class InstanceMinuteMetricAggregationWorker extends AggregationWorker<Ins
         return instanceMetric;
     }
 
-    public static class Factory extends AbstractLocalAsyncWorkerProvider<InstanceReferenceMetric, InstanceMetric, InstanceMinuteMetricAggregationWorker> {
+    public static class Factory extends AggregationWorkerProvider<InstanceReferenceMetric, InstanceMetric, InstanceMinuteMetricAggregationWorker> {
 
-        public Factory(ModuleManager moduleManager) {
-            super(moduleManager);
+        public Factory(ModuleManager moduleManager, int shardNum) {
+            super(moduleManager, shardNum);
         }
 
         @Override public InstanceMinuteMetricAggregationWorker workerInstance(ModuleManager moduleManager) {
@@ -87,6 +83,10 @@ public class InstanceMinuteMetricAggregationWorker extends AggregationWorker<Ins
         public int queueSize() {
             return 1024;
         }
+
+        @Override protected int shardKey(InstanceReferenceMetric instanceReferenceMetric) {
+            return 31 * instanceReferenceMetric.getBehindInstanceId() + instanceReferenceMetric.getSourceValue();
+        }
     }
 
     @GraphComputingMetric(name = "/aggregate/onWork/" + InstanceMetricTable.TABLE)
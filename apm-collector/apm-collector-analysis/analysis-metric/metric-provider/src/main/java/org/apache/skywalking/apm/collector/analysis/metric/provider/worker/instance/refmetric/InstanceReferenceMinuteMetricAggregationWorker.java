@@ -19,12 +19,12 @@
 package org.apache.skywalking.apm.collector.analysis.metric.provider.worker.instance.refmetric;
 
 import org.apache.skywalking.apm.collector.analysis.metric.define.graph.MetricWorkerIdDefine;
-import org.apache.skywalking.apm.collector.analysis.worker.model.base.AbstractLocalAsyncWorkerProvider;
 import org.apache.skywalking.apm.collector.analysis.worker.model.base.WorkerException;
 import org.apache.skywalking.apm.collector.analysis.worker.model.impl.AggregationWorker;
+import org.apache.skywalking.apm.collector.analysis.worker.model.impl.AggregationWorkerProvider;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
+import org.apache.skywalking.apm.collector.core.data.CompositeKey;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
-import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.storage.table.instance.InstanceReferenceMetric;
 import org.apache.skywalking.apm.collector.storage.table.instance.InstanceReferenceMetricTable;
 import org.apache.skywalking.apm.collector.storage.table.service.ServiceReferenceMetric;
@@ -43,16 +43,9 @@ public class InstanceReferenceMinuteMetricAggregationWorker extends AggregationW
     }
 
     @Override protected InstanceReferenceMetric transform(ServiceReferenceMetric serviceReferenceMetric) {
-        String metricId = serviceReferenceMetric.getFrontInstanceId()
-            + Const.ID_SPLIT + serviceReferenceMetric.getBehindInstanceId()
-            + Const.ID_SPLIT + serviceReferenceMetric.getSourceValue();
-
-        String id = serviceReferenceMetric.getTimeBucket()
-            + Const.ID_SPLIT + metricId;
-
         InstanceReferenceMetric instanceReferenceMetric = new InstanceReferenceMetric();
-        instanceReferenceMetric.setId(id);
-        instanceReferenceMetric.setMetricId(metricId);
+        instanceReferenceMetric.setKey(CompositeKey.of(serviceReferenceMetric.getTimeBucket(),
+            serviceReferenceMetric.getFrontInstanceId(), serviceReferenceMetric.getBehindInstanceId(), serviceReferenceMetric.getSourceValue()));
         instanceReferenceMetric.setFrontApplicationId(serviceReferenceMetric.getFrontApplicationId());
         instanceReferenceMetric.setFrontInstanceId(serviceReferenceMetric.getFrontInstanceId());
         instanceReferenceMetric.setBehindApplicationId(serviceReferenceMetric.getBehindApplicationId());
@@ -78,10 +71,10 @@ public class InstanceReferenceMinuteMetricAggregationWorker extends AggregationW
         return instanceReferenceMetric;
     }
 
-    public static class Factory extends AbstractLocalAsyncWorkerProvider<ServiceReferenceMetric, InstanceReferenceMetric, InstanceReferenceMinuteMetricAggregationWorker> {
+    public static class Factory extends AggregationWorkerProvider<ServiceReferenceMetric, InstanceReferenceMetric, InstanceReferenceMinuteMetricAggregationWorker> {
 
-        public Factory(ModuleManager moduleManager) {
-            super(moduleManager);
+        public Factory(ModuleManager moduleManager, int shardNum) {
+            super(moduleManager, shardNum);
         }
 
         @Override public InstanceReferenceMinuteMetricAggregationWorker workerInstance(ModuleManager moduleManager) {
@@ -92,6 +85,10 @@ public class InstanceReferenceMinuteMetricAggregationWorker extends AggregationW
         public int queueSize() {
             return 1024;
         }
+
+        @Override protected int shardKey(ServiceReferenceMetric serviceReferenceMetric) {
+            return 31 * (31 * serviceReferenceMetric.getFrontInstanceId() + serviceReferenceMetric.getBehindInstanceId()) + serviceReferenceMetric.getSourceValue();
+        }
     }
 
     @GraphComputingMetric(name = "/aggregate/onWork/" + InstanceReferenceMetricTable.TABLE)
@@ -111,6 +111,12 @@ public class SegmentDurationSpanListener implements EntrySpanListener, ExitSpanL
         });
     }
 
+    @Override public void reset() {
+        segmentDurations.clear();
+        isError = false;
+        timeBucket = 0;
+    }
+
     public static class Factory implements SpanListenerFactory {
 
         @GraphComputingMetric(name = "/segment/parse/createSpanListeners/segmentDurationSpanListener")
@@ -19,12 +19,12 @@
 package org.apache.skywalking.apm.collector.analysis.metric.provider.worker.service.metric;
 
 import org.apache.skywalking.apm.collector.analysis.metric.define.graph.MetricWorkerIdDefine;
-import org.apache.skywalking.apm.collector.analysis.worker.model.base.AbstractLocalAsyncWorkerProvider;
 import org.apache.skywalking.apm.collector.analysis.worker.model.base.WorkerException;
 import org.apache.skywalking.apm.collector.analysis.worker.model.impl.AggregationWorker;
+import org.apache.skywalking.apm.collector.analysis.worker.model.impl.AggregationWorkerProvider;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
+import org.apache.skywalking.apm.collector.core.data.CompositeKey;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
-import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.storage.table.service.ServiceMetric;
 import org.apache.skywalking.apm.collector.storage.table.service.ServiceMetricTable;
 import org.apache.skywalking.apm.collector.storage.table.service.ServiceReferenceMetric;
@@ -43,16 +43,12 @@ public class ServiceMetricMinuteAggregationWorker extends AggregationWorker<Serv
     }
 
     @Override protected ServiceMetric transform(ServiceReferenceMetric serviceReferenceMetric) {
-        Integer serviceId = serviceReferenceMetric.getBehindServiceId();
-        Long timeBucket = serviceReferenceMetric.getTimeBucket();
-        Integer sourceValue = serviceReferenceMetric.getSourceValue();
-
-        String metricId = String.valueOf(serviceId) + Const.ID_SPLIT + String.valueOf(sourceValue);
-        String id = String.valueOf(timeBucket) + Const.ID_SPLIT + metricId;
+        int serviceId = serviceReferenceMetric.getBehindServiceId();
+        long timeBucket = serviceReferenceMetric.getTimeBucket();
+        int sourceValue = serviceReferenceMetric.getSourceValue();
 
         ServiceMetric serviceMetric = new ServiceMetric();
-        serviceMetric.setId(id);
-        serviceMetric.setMetricId(metricId);
+        serviceMetric.setKey(CompositeKey.of(timeBucket, serviceId, sourceValue));
 
         serviceMetric.setApplicationId(serviceReferenceMetric.getBehindApplicationId());
         serviceMetric.setInstanceId(serviceReferenceMetric.getBehindInstanceId());
@@ -79,10 +75,10 @@ public class ServiceMetricMinuteAggregationWorker extends AggregationWorker<Serv
         return serviceMetric;
     }
 
-    public static class Factory extends AbstractLocalAsyncWorkerProvider<ServiceReferenceMetric, ServiceMetric, ServiceMetricMinuteAggregationWorker> {
+    public static class Factory extends AggregationWorkerProvider<ServiceReferenceMetric, ServiceMetric, ServiceMetricMinuteAggregationWorker> {
 
-        public Factory(ModuleManager moduleManager) {
-            super(moduleManager);
+        public Factory(ModuleManager moduleManager, int shardNum) {
+            super(moduleManager, shardNum);
         }
 
         @Override public ServiceMetricMinuteAggregationWorker workerInstance(ModuleManager moduleManager) {
@@ -92,6 +88,10 @@ public class ServiceMetricMinuteAggregationWorker extends AggregationWorker<Serv
         @Override public int queueSize() {
             return 256;
         }
+
+        @Override protected int shardKey(ServiceReferenceMetric serviceReferenceMetric) {
+            return 31 * serviceReferenceMetric.getBehindServiceId() + serviceReferenceMetric.getSourceValue();
+        }
     }
 
     @GraphComputingMetric(name = "/aggregate/onWork/" + ServiceMetricTable.TABLE)
@@ -26,6 +26,7 @@ import org.apache.skywalking.apm.collector.cache.CacheModule;
 import org.apache.skywalking.apm.collector.cache.service.ApplicationCacheService;
 import org.apache.skywalking.apm.collector.cache.service.InstanceCacheService;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
+import org.apache.skywalking.apm.collector.core.data.CompositeKey;
 import org.apache.skywalking.apm.collector.core.graph.Graph;
 import org.apache.skywalking.apm.collector.core.graph.GraphManager;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
@@ -167,13 +168,9 @@ public class ServiceReferenceMetricSpanListener implements FirstSpanListener, En
         logger.debug("service reference listener build");
         Graph<ServiceReferenceMetric> graph = GraphManager.INSTANCE.findGraph(MetricGraphIdDefine.SERVICE_REFERENCE_METRIC_GRAPH_ID, ServiceReferenceMetric.class);
         entryReferenceMetric.forEach(serviceReferenceMetric -> {
-            String metricId = serviceReferenceMetric.getFrontServiceId() + Const.ID_SPLIT + serviceReferenceMetric.getBehindServiceId() + Const.ID_SPLIT + serviceReferenceMetric.getSourceValue();
-            String id = timeBucket + Const.ID_SPLIT + metricId;
-
-            serviceReferenceMetric.setId(id);
-            serviceReferenceMetric.setMetricId(metricId);
+            serviceReferenceMetric.setKey(CompositeKey.of(timeBucket, serviceReferenceMetric.getFrontServiceId(), serviceReferenceMetric.getBehindServiceId(), serviceReferenceMetric.getSourceValue()));
             serviceReferenceMetric.setTimeBucket(timeBucket);
-            logger.debug("push to service reference aggregation worker, id: {}", serviceReferenceMetric.getId());
+            logger.debug("push to service reference aggregation worker, id: {}", serviceReferenceMetric.getKey());
 
             graph.start(serviceReferenceMetric);
         });
@@ -185,16 +182,20 @@ public class ServiceReferenceMetricSpanListener implements FirstSpanListener, En
                 serviceReferenceMetric.setFrontServiceId(Const.NONE_SERVICE_ID);
             }
 
-            String metricId = serviceReferenceMetric.getFrontServiceId() + Const.ID_SPLIT + serviceReferenceMetric.getBehindServiceId() + Const.ID_SPLIT + serviceReferenceMetric.getSourceValue();
-            String id = timeBucket + Const.ID_SPLIT + metricId;
-            serviceReferenceMetric.setId(id);
-            serviceReferenceMetric.setMetricId(metricId);
+            serviceReferenceMetric.setKey(CompositeKey.of(timeBucket, serviceReferenceMetric.getFrontServiceId(), serviceReferenceMetric.getBehindServiceId(), serviceReferenceMetric.getSourceValue()));
             serviceReferenceMetric.setTimeBucket(timeBucket);
 
             graph.start(serviceReferenceMetric);
         });
     }
 
+    @Override public void reset() {
+        entryReferenceMetric.clear();
+        exitReferenceMetric.clear();
+        entrySpanDecorator = null;
+        timeBucket = 0;
+    }
+
     public static class Factory implements SpanListenerFactory {
 
         @GraphComputingMetric(name = "/segment/parse/createSpanListeners/serviceReferenceMetricSpanListener")
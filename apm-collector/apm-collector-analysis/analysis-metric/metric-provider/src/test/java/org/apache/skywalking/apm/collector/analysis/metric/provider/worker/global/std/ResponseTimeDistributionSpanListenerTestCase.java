@@ -65,5 +65,10 @@ public class ResponseTimeDistributionSpanListenerTestCase {
 
         Whitebox.setInternalState(listener, "entrySpanDuration", 3100);
         Assert.assertEquals(40, listener.getStep());
+
+        Whitebox.setInternalState(listener, "isError", true);
+        listener.reset();
+        Assert.assertEquals(0, listener.getStep());
+        Assert.assertEquals(false, Whitebox.getInternalState(listener, "isError"));
     }
 }
@@ -24,4 +24,17 @@ import org.apache.skywalking.apm.collector.core.module.ModuleConfig;
  * @author peng-yongsheng
  */
 class AnalysisRegisterModuleConfig extends ModuleConfig {
+
+    private int idLeaseSize = 1000;
+
+    /**
+     * @return the number of the ids leased from the storage at a time, for each register table.
+     */
+    int getIdLeaseSize() {
+        return idLeaseSize;
+    }
+
+    void setIdLeaseSize(int idLeaseSize) {
+        this.idLeaseSize = idLeaseSize;
+    }
 }
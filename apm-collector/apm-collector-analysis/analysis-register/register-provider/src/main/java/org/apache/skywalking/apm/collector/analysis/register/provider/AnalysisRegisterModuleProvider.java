@@ -96,16 +96,16 @@ public class AnalysisRegisterModuleProvider extends ModuleProvider {
     }
 
     private void graphCreate(WorkerCreateListener workerCreateListener) {
-        ApplicationRegisterGraph applicationRegisterGraph = new ApplicationRegisterGraph(getManager(), workerCreateListener);
+        ApplicationRegisterGraph applicationRegisterGraph = new ApplicationRegisterGraph(getManager(), workerCreateListener, config.getIdLeaseSize());
         applicationRegisterGraph.create();
 
-        InstanceRegisterGraph instanceRegisterGraph = new InstanceRegisterGraph(getManager(), workerCreateListener);
+        InstanceRegisterGraph instanceRegisterGraph = new InstanceRegisterGraph(getManager(), workerCreateListener, config.getIdLeaseSize());
         instanceRegisterGraph.create();
 
-        ServiceNameRegisterGraph serviceNameRegisterGraph = new ServiceNameRegisterGraph(getManager(), workerCreateListener);
+        ServiceNameRegisterGraph serviceNameRegisterGraph = new ServiceNameRegisterGraph(getManager(), workerCreateListener, config.getIdLeaseSize());
         serviceNameRegisterGraph.create();
 
-        NetworkAddressRegisterGraph networkAddressRegisterGraph = new NetworkAddressRegisterGraph(getManager(), workerCreateListener);
+        NetworkAddressRegisterGraph networkAddressRegisterGraph = new NetworkAddressRegisterGraph(getManager(), workerCreateListener, config.getIdLeaseSize());
         networkAddressRegisterGraph.create();
     }
 
@@ -33,10 +33,12 @@ public class ApplicationRegisterGraph {
 
     private final ModuleManager moduleManager;
     private final WorkerCreateListener workerCreateListener;
+    private final int idLeaseSize;
 
-    public ApplicationRegisterGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener) {
+    public ApplicationRegisterGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener, int idLeaseSize) {
         this.moduleManager = moduleManager;
         this.workerCreateListener = workerCreateListener;
+        this.idLeaseSize = idLeaseSize;
     }
 
     public void create() {
@@ -44,6 +46,6 @@ public class ApplicationRegisterGraph {
 
         GraphManager.INSTANCE.createIfAbsent(GraphIdDefine.APPLICATION_REGISTER_GRAPH_ID, Application.class)
             .addNode(new ApplicationRegisterRemoteWorker.Factory(moduleManager, remoteSenderService, GraphIdDefine.APPLICATION_REGISTER_GRAPH_ID).create(workerCreateListener))
-            .addNext(new ApplicationRegisterSerialWorker.Factory(moduleManager).create(workerCreateListener));
+            .addNext(new ApplicationRegisterSerialWorker.Factory(moduleManager, idLeaseSize).create(workerCreateListener));
     }
 }
@@ -29,7 +29,9 @@ import org.apache.skywalking.apm.collector.core.util.BooleanUtils;
 import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.storage.StorageModule;
 import org.apache.skywalking.apm.collector.storage.dao.register.IApplicationRegisterDAO;
+import org.apache.skywalking.apm.collector.storage.dao.register.IRegisterLeaseDAO;
 import org.apache.skywalking.apm.collector.storage.table.register.Application;
+import org.apache.skywalking.apm.collector.storage.table.register.ApplicationTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,11 +44,15 @@ public class ApplicationRegisterSerialWorker extends AbstractLocalAsyncWorker<Ap
 
     private final IApplicationRegisterDAO applicationRegisterDAO;
     private final ApplicationCacheService applicationCacheService;
+    private final IdAllocator idAllocator;
 
-    private ApplicationRegisterSerialWorker(ModuleManager moduleManager) {
+    private ApplicationRegisterSerialWorker(ModuleManager moduleManager, int idLeaseSize) {
         super(moduleManager);
         this.applicationRegisterDAO = getModuleManager().find(StorageModule.NAME).getService(IApplicationRegisterDAO.class);
         this.applicationCacheService = getModuleManager().find(CacheModule.NAME).getService(ApplicationCacheService.class);
+        IRegisterLeaseDAO registerLeaseDAO = getModuleManager().find(StorageModule.NAME).getService(IRegisterLeaseDAO.class);
+        this.idAllocator = new IdAllocator(ApplicationTable.TABLE, IdSequence.ALTERNATE, idLeaseSize, registerLeaseDAO,
+            () -> IdSequence.ALTERNATE.nextSequence(applicationRegisterDAO.getMinApplicationId(), applicationRegisterDAO.getMaxApplicationId()));
     }
 
     @Override public int id() {
@@ -65,9 +71,8 @@ public class ApplicationRegisterSerialWorker extends AbstractLocalAsyncWorker<Ap
         }
 
         if (applicationId == 0) {
-            Application newApplication;
-            int min = applicationRegisterDAO.getMinApplicationId();
-            if (min == 0) {
+            applicationId = idAllocator.next();
+            if (applicationId == Const.NONE_APPLICATION_ID) {
                 Application userApplication = new Application();
                 userApplication.setId(String.valueOf(Const.NONE_APPLICATION_ID));
                 userApplication.setApplicationCode(Const.USER_CODE);
@@ -76,35 +81,30 @@ public class ApplicationRegisterSerialWorker extends AbstractLocalAsyncWorker<Ap
                 userApplication.setIsAddress(BooleanUtils.FALSE);
                 applicationRegisterDAO.save(userApplication);
 
-                newApplication = new Application();
-                newApplication.setId("-1");
-                newApplication.setApplicationId(-1);
-                newApplication.setApplicationCode(application.getApplicationCode());
-                newApplication.setAddressId(application.getAddressId());
-                newApplication.setIsAddress(application.getIsAddress());
-            } else {
-                int max = applicationRegisterDAO.getMaxApplicationId();
-                applicationId = IdAutoIncrement.INSTANCE.increment(min, max);
-
-                newApplication = new Application();
-                newApplication.setId(String.valueOf(applicationId));
-                newApplication.setApplicationId(applicationId);
-                newApplication.setApplicationCode(application.getApplicationCode());
-                newApplication.setAddressId(application.getAddressId());
-                newApplication.setIsAddress(application.getIsAddress());
+                applicationId = idAllocator.next();
             }
+
+            Application newApplication = new Application();
+            newApplication.setId(String.valueOf(applicationId));
+            newApplication.setApplicationId(applicationId);
+            newApplication.setApplicationCode(application.getApplicationCode());
+            newApplication.setAddressId(application.getAddressId());
+            newApplication.setIsAddress(application.getIsAddress());
             applicationRegisterDAO.save(newApplication);
         }
     }
 
     public static class Factory extends AbstractLocalAsyncWorkerProvider<Application, Application, ApplicationRegisterSerialWorker> {
 
-        public Factory(ModuleManager moduleManager) {
+        private final int idLeaseSize;
+
+        public Factory(ModuleManager moduleManager, int idLeaseSize) {
             super(moduleManager);
+            this.idLeaseSize = idLeaseSize;
         }
 
         @Override public ApplicationRegisterSerialWorker workerInstance(ModuleManager moduleManager) {
-            return new ApplicationRegisterSerialWorker(moduleManager);
+            return new ApplicationRegisterSerialWorker(moduleManager, idLeaseSize);
         }
 
         @Override public int queueSize() {
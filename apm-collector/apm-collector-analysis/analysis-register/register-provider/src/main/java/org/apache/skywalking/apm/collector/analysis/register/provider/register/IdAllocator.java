@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.analysis.register.provider.register;
+
+import java.util.function.LongSupplier;
+import org.apache.skywalking.apm.collector.storage.dao.register.IRegisterLeaseDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hand out the ids of a register table from the blocks of its {@link IdSequence}, which are leased from the storage.
+ * The storage is read and written once for a block of new registrations, instead of getting the min and max id for
+ * each of them. The ids left in the block are skipped when the collector restarts.
+ * <p>
+ * Not thread safe, the ids of a register table are only handed out by its serial worker.
+ *
+ * @author peng-yongsheng
+ */
+public class IdAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdAllocator.class);
+
+    private final String registerTable;
+    private final IdSequence idSequence;
+    private final IRegisterLeaseDAO registerLeaseDAO;
+    private final LongSupplier initialSequence;
+    private final int leaseSize;
+    private boolean leased;
+    private long next;
+    private long end;
+
+    /**
+     * @param leaseSize the number of the ids leased at a time, less than 1 means 1.
+     * @param initialSequence the first sequence not used by the rows of the register table, only called before the
+     * first lease, for the tables registered before the leases are persisted.
+     */
+    IdAllocator(String registerTable, IdSequence idSequence, int leaseSize, IRegisterLeaseDAO registerLeaseDAO,
+        LongSupplier initialSequence) {
+        this.registerTable = registerTable;
+        this.idSequence = idSequence;
+        this.leaseSize = Math.max(1, leaseSize);
+        this.registerLeaseDAO = registerLeaseDAO;
+        this.initialSequence = initialSequence;
+    }
+
+    int next() {
+        if (next >= end) {
+            lease();
+        }
+        return idSequence.toId(next++);
+    }
+
+    private void lease() {
+        long initial = leased ? end : initialSequence.getAsLong();
+        next = registerLeaseDAO.lease(registerTable, initial, leaseSize);
+        end = next + leaseSize;
+        leased = true;
+        logger.info("leased ids of register table: {}, from sequence: {}, to: {}", registerTable, next, end);
+    }
+}
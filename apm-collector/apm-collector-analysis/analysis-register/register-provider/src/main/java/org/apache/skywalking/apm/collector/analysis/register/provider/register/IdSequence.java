@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.analysis.register.provider.register;
+
+/**
+ * The orders of the ids of the register tables. The ids are handed out by the sequence, which counts from 0, and the
+ * sequence of a row is never handed out again, see {@link IdAllocator}.
+ *
+ * @author peng-yongsheng
+ */
+enum IdSequence {
+    /**
+     * 1, -1, 2, -2, 3, -3 ...
+     */
+    ALTERNATE {
+        @Override int toId(long sequence) {
+            int id = (int)(sequence / 2 + 1);
+            return sequence % 2 == 0 ? id : -id;
+        }
+
+        @Override long toSequence(int id) {
+            return id > 0 ? 2L * (id - 1) : 2L * (-id - 1) + 1;
+        }
+    },
+
+    /**
+     * 1, 2, 3 ...
+     */
+    ASCENDING {
+        @Override int toId(long sequence) {
+            return (int)(sequence + 1);
+        }
+
+        @Override long toSequence(int id) {
+            return id - 1L;
+        }
+    };
+
+    abstract int toId(long sequence);
+
+    abstract long toSequence(int id);
+
+    /**
+     * @param min the min id of the register table, 0 if the table is empty
+     * @param max the max id of the register table, 0 if the table is empty
+     * @return the first sequence after all the ids between min and max
+     */
+    long nextSequence(int min, int max) {
+        long next = 0;
+        if (min != 0) {
+            next = toSequence(min) + 1;
+        }
+        if (max != 0) {
+            next = Math.max(next, toSequence(max) + 1);
+        }
+        return next;
+    }
+}
@@ -33,10 +33,12 @@ public class InstanceRegisterGraph {
 
     private final ModuleManager moduleManager;
     private final WorkerCreateListener workerCreateListener;
+    private final int idLeaseSize;
 
-    public InstanceRegisterGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener) {
+    public InstanceRegisterGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener, int idLeaseSize) {
         this.moduleManager = moduleManager;
         this.workerCreateListener = workerCreateListener;
+        this.idLeaseSize = idLeaseSize;
     }
 
     public void create() {
@@ -44,6 +46,6 @@ public class InstanceRegisterGraph {
 
         GraphManager.INSTANCE.createIfAbsent(GraphIdDefine.INSTANCE_REGISTER_GRAPH_ID, Instance.class)
             .addNode(new InstanceRegisterRemoteWorker.Factory(moduleManager, remoteSenderService, GraphIdDefine.INSTANCE_REGISTER_GRAPH_ID).create(workerCreateListener))
-            .addNext(new InstanceRegisterSerialWorker.Factory(moduleManager).create(workerCreateListener));
+            .addNext(new InstanceRegisterSerialWorker.Factory(moduleManager, idLeaseSize).create(workerCreateListener));
     }
 }
@@ -29,7 +29,9 @@ import org.apache.skywalking.apm.collector.core.util.BooleanUtils;
 import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.storage.StorageModule;
 import org.apache.skywalking.apm.collector.storage.dao.register.IInstanceRegisterDAO;
+import org.apache.skywalking.apm.collector.storage.dao.register.IRegisterLeaseDAO;
 import org.apache.skywalking.apm.collector.storage.table.register.Instance;
+import org.apache.skywalking.apm.collector.storage.table.register.InstanceTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,11 +44,15 @@ public class InstanceRegisterSerialWorker extends AbstractLocalAsyncWorker<Insta
 
     private final InstanceCacheService instanceCacheService;
     private final IInstanceRegisterDAO instanceRegisterDAO;
+    private final IdAllocator idAllocator;
 
-    private InstanceRegisterSerialWorker(ModuleManager moduleManager) {
+    private InstanceRegisterSerialWorker(ModuleManager moduleManager, int idLeaseSize) {
         super(moduleManager);
         this.instanceCacheService = getModuleManager().find(CacheModule.NAME).getService(InstanceCacheService.class);
         this.instanceRegisterDAO = getModuleManager().find(StorageModule.NAME).getService(IInstanceRegisterDAO.class);
+        IRegisterLeaseDAO registerLeaseDAO = getModuleManager().find(StorageModule.NAME).getService(IRegisterLeaseDAO.class);
+        this.idAllocator = new IdAllocator(InstanceTable.TABLE, IdSequence.ASCENDING, idLeaseSize, registerLeaseDAO,
+            () -> IdSequence.ASCENDING.nextSequence(instanceRegisterDAO.getMinInstanceId(), instanceRegisterDAO.getMaxInstanceId()));
     }
 
     @Override public int id() {
@@ -64,11 +70,8 @@ public class InstanceRegisterSerialWorker extends AbstractLocalAsyncWorker<Insta
         }
 
         if (instanceId == 0) {
-            Instance newInstance;
-
-            int min = instanceRegisterDAO.getMinInstanceId();
-            int max = instanceRegisterDAO.getMaxInstanceId();
-            if (min == 0 && max == 0) {
+            instanceId = idAllocator.next();
+            if (instanceId == Const.NONE_INSTANCE_ID) {
                 Instance userInstance = new Instance();
                 userInstance.setId(String.valueOf(Const.NONE_INSTANCE_ID));
                 userInstance.setInstanceId(Const.NONE_INSTANCE_ID);
@@ -82,42 +85,35 @@ public class InstanceRegisterSerialWorker extends AbstractLocalAsyncWorker<Insta
                 userInstance.setIsAddress(BooleanUtils.FALSE);
                 instanceRegisterDAO.save(userInstance);
 
-                newInstance = new Instance();
-                newInstance.setId("2");
-                newInstance.setInstanceId(2);
-                newInstance.setApplicationId(instance.getApplicationId());
-                newInstance.setApplicationCode(instance.getApplicationCode());
-                newInstance.setAgentUUID(instance.getAgentUUID());
-                newInstance.setHeartBeatTime(instance.getHeartBeatTime());
-                newInstance.setOsInfo(instance.getOsInfo());
-                newInstance.setRegisterTime(instance.getRegisterTime());
-                newInstance.setAddressId(instance.getAddressId());
-                newInstance.setIsAddress(instance.getIsAddress());
-            } else {
-                newInstance = new Instance();
-                newInstance.setId(String.valueOf(max + 1));
-                newInstance.setInstanceId(max + 1);
-                newInstance.setApplicationId(instance.getApplicationId());
-                newInstance.setApplicationCode(instance.getApplicationCode());
-                newInstance.setAgentUUID(instance.getAgentUUID());
-                newInstance.setHeartBeatTime(instance.getHeartBeatTime());
-                newInstance.setOsInfo(instance.getOsInfo());
-                newInstance.setRegisterTime(instance.getRegisterTime());
-                newInstance.setAddressId(instance.getAddressId());
-                newInstance.setIsAddress(instance.getIsAddress());
+                instanceId = idAllocator.next();
             }
+
+            Instance newInstance = new Instance();
+            newInstance.setId(String.valueOf(instanceId));
+            newInstance.setInstanceId(instanceId);
+            newInstance.setApplicationId(instance.getApplicationId());
+            newInstance.setApplicationCode(instance.getApplicationCode());
+            newInstance.setAgentUUID(instance.getAgentUUID());
+            newInstance.setHeartBeatTime(instance.getHeartBeatTime());
+            newInstance.setOsInfo(instance.getOsInfo());
+            newInstance.setRegisterTime(instance.getRegisterTime());
+            newInstance.setAddressId(instance.getAddressId());
+            newInstance.setIsAddress(instance.getIsAddress());
             instanceRegisterDAO.save(newInstance);
         }
     }
 
     public static class Factory extends AbstractLocalAsyncWorkerProvider<Instance, Instance, InstanceRegisterSerialWorker> {
 
-        public Factory(ModuleManager moduleManager) {
+        private final int idLeaseSize;
+
+        public Factory(ModuleManager moduleManager, int idLeaseSize) {
             super(moduleManager);
+            this.idLeaseSize = idLeaseSize;
         }
 
         @Override public InstanceRegisterSerialWorker workerInstance(ModuleManager moduleManager) {
-            return new InstanceRegisterSerialWorker(moduleManager);
+            return new InstanceRegisterSerialWorker(moduleManager, idLeaseSize);
         }
 
         @Override public int queueSize() {
@@ -33,10 +33,12 @@ public class NetworkAddressRegisterGraph {
 
     private final ModuleManager moduleManager;
     private final WorkerCreateListener workerCreateListener;
+    private final int idLeaseSize;
 
-    public NetworkAddressRegisterGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener) {
+    public NetworkAddressRegisterGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener, int idLeaseSize) {
         this.moduleManager = moduleManager;
         this.workerCreateListener = workerCreateListener;
+        this.idLeaseSize = idLeaseSize;
     }
 
     public void create() {
@@ -44,6 +46,6 @@ public class NetworkAddressRegisterGraph {
 
         GraphManager.INSTANCE.createIfAbsent(GraphIdDefine.NETWORK_ADDRESS_NAME_REGISTER_GRAPH_ID, NetworkAddress.class)
             .addNode(new NetworkAddressRegisterRemoteWorker.Factory(moduleManager, remoteSenderService, GraphIdDefine.NETWORK_ADDRESS_NAME_REGISTER_GRAPH_ID).create(workerCreateListener))
-            .addNext(new NetworkAddressRegisterSerialWorker.Factory(moduleManager).create(workerCreateListener));
+            .addNext(new NetworkAddressRegisterSerialWorker.Factory(moduleManager, idLeaseSize).create(workerCreateListener));
     }
 }
@@ -18,6 +18,9 @@
 
 package org.apache.skywalking.apm.collector.analysis.register.provider.register;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.apache.skywalking.apm.collector.analysis.register.define.graph.WorkerIdDefine;
 import org.apache.skywalking.apm.collector.analysis.worker.model.base.AbstractLocalAsyncWorker;
 import org.apache.skywalking.apm.collector.analysis.worker.model.base.AbstractLocalAsyncWorkerProvider;
@@ -27,11 +30,16 @@ import org.apache.skywalking.apm.collector.cache.service.NetworkAddressCacheServ
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
 import org.apache.skywalking.apm.collector.storage.StorageModule;
 import org.apache.skywalking.apm.collector.storage.dao.register.INetworkAddressRegisterDAO;
+import org.apache.skywalking.apm.collector.storage.dao.register.IRegisterLeaseDAO;
 import org.apache.skywalking.apm.collector.storage.table.register.NetworkAddress;
+import org.apache.skywalking.apm.collector.storage.table.register.NetworkAddressTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * The new network addresses are saved in a batch at the end of each batch of the queue, the network addresses
+ * registered in the batch and not saved yet are skipped.
+ *
  * @author peng-yongsheng
  */
 public class NetworkAddressRegisterSerialWorker extends AbstractLocalAsyncWorker<NetworkAddress, NetworkAddress> {
@@ -40,11 +48,17 @@ public class NetworkAddressRegisterSerialWorker extends AbstractLocalAsyncWorker
 
     private final INetworkAddressRegisterDAO networkAddressRegisterDAO;
     private final NetworkAddressCacheService networkAddressCacheService;
+    private final IdAllocator idAllocator;
+    private final Map<String, NetworkAddress> newNetworkAddresses;
 
-    private NetworkAddressRegisterSerialWorker(ModuleManager moduleManager) {
+    private NetworkAddressRegisterSerialWorker(ModuleManager moduleManager, int idLeaseSize) {
         super(moduleManager);
         this.networkAddressRegisterDAO = getModuleManager().find(StorageModule.NAME).getService(INetworkAddressRegisterDAO.class);
         this.networkAddressCacheService = getModuleManager().find(CacheModule.NAME).getService(NetworkAddressCacheService.class);
+        IRegisterLeaseDAO registerLeaseDAO = getModuleManager().find(StorageModule.NAME).getService(IRegisterLeaseDAO.class);
+        this.idAllocator = new IdAllocator(NetworkAddressTable.TABLE, IdSequence.ALTERNATE, idLeaseSize, registerLeaseDAO,
+            () -> IdSequence.ALTERNATE.nextSequence(networkAddressRegisterDAO.getMinNetworkAddressId(), networkAddressRegisterDAO.getMaxNetworkAddressId()));
+        this.newNetworkAddresses = new LinkedHashMap<>();
     }
 
     @Override public int id() {
@@ -54,42 +68,42 @@ public class NetworkAddressRegisterSerialWorker extends AbstractLocalAsyncWorker
     @Override protected void onWork(NetworkAddress networkAddress) throws WorkerException {
         logger.debug("register network address, address: {}", networkAddress.getNetworkAddress());
         if (networkAddress.getAddressId() == 0) {
-            int addressId = networkAddressCacheService.getAddressId(networkAddress.getNetworkAddress());
-
-            if (addressId == 0) {
-                NetworkAddress newNetworkAddress;
-                int min = networkAddressRegisterDAO.getMinNetworkAddressId();
-                if (min == 0) {
-                    newNetworkAddress = new NetworkAddress();
-                    newNetworkAddress.setId("-1");
-                    newNetworkAddress.setAddressId(-1);
-                    newNetworkAddress.setSrcSpanLayer(networkAddress.getSrcSpanLayer());
-                    newNetworkAddress.setNetworkAddress(networkAddress.getNetworkAddress());
-                } else {
-                    int max = networkAddressRegisterDAO.getMaxNetworkAddressId();
-                    addressId = IdAutoIncrement.INSTANCE.increment(min, max);
+            if (!newNetworkAddresses.containsKey(networkAddress.getNetworkAddress())) {
+                int addressId = networkAddressCacheService.getAddressId(networkAddress.getNetworkAddress());
+
+                if (addressId == 0) {
+                    addressId = idAllocator.next();
 
-                    newNetworkAddress = new NetworkAddress();
+                    NetworkAddress newNetworkAddress = new NetworkAddress();
                     newNetworkAddress.setId(String.valueOf(addressId));
                     newNetworkAddress.setAddressId(addressId);
                     newNetworkAddress.setSrcSpanLayer(networkAddress.getSrcSpanLayer());
                     newNetworkAddress.setNetworkAddress(networkAddress.getNetworkAddress());
+                    newNetworkAddresses.put(networkAddress.getNetworkAddress(), newNetworkAddress);
                 }
-                networkAddressRegisterDAO.save(newNetworkAddress);
             }
         } else {
             networkAddressRegisterDAO.update(networkAddress.getId(), networkAddress.getSrcSpanLayer(), networkAddress.getServerType());
         }
+
+        if (networkAddress.getEndOfBatchContext().isEndOfBatch() && !newNetworkAddresses.isEmpty()) {
+            networkAddressRegisterDAO.batchSave(new ArrayList<>(newNetworkAddresses.values()));
+            newNetworkAddresses.values().forEach(networkAddressCacheService::put);
+            newNetworkAddresses.clear();
+        }
     }
 
     public static class Factory extends AbstractLocalAsyncWorkerProvider<NetworkAddress, NetworkAddress, NetworkAddressRegisterSerialWorker> {
 
-        public Factory(ModuleManager moduleManager) {
+        private final int idLeaseSize;
+
+        public Factory(ModuleManager moduleManager, int idLeaseSize) {
             super(moduleManager);
+            this.idLeaseSize = idLeaseSize;
         }
 
         @Override public NetworkAddressRegisterSerialWorker workerInstance(ModuleManager moduleManager) {
-            return new NetworkAddressRegisterSerialWorker(moduleManager);
+            return new NetworkAddressRegisterSerialWorker(moduleManager, idLeaseSize);
         }
 
         @Override public int queueSize() {
@@ -33,10 +33,12 @@ public class ServiceNameRegisterGraph {
 
     private final ModuleManager moduleManager;
     private final WorkerCreateListener workerCreateListener;
+    private final int idLeaseSize;
 
-    public ServiceNameRegisterGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener) {
+    public ServiceNameRegisterGraph(ModuleManager moduleManager, WorkerCreateListener workerCreateListener, int idLeaseSize) {
         this.moduleManager = moduleManager;
         this.workerCreateListener = workerCreateListener;
+        this.idLeaseSize = idLeaseSize;
     }
 
     public void create() {
@@ -44,6 +46,6 @@ public class ServiceNameRegisterGraph {
 
         GraphManager.INSTANCE.createIfAbsent(GraphIdDefine.SERVICE_NAME_REGISTER_GRAPH_ID, ServiceName.class)
             .addNode(new ServiceNameRegisterRemoteWorker.Factory(moduleManager, remoteSenderService, GraphIdDefine.SERVICE_NAME_REGISTER_GRAPH_ID).create(workerCreateListener))
-            .addNext(new ServiceNameRegisterSerialWorker.Factory(moduleManager).create(workerCreateListener));
+            .addNext(new ServiceNameRegisterSerialWorker.Factory(moduleManager, idLeaseSize).create(workerCreateListener));
     }
 }
@@ -18,6 +18,9 @@
 
 package org.apache.skywalking.apm.collector.analysis.register.provider.register;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.apache.skywalking.apm.collector.analysis.register.define.graph.WorkerIdDefine;
 import org.apache.skywalking.apm.collector.analysis.worker.model.base.AbstractLocalAsyncWorker;
 import org.apache.skywalking.apm.collector.analysis.worker.model.base.AbstractLocalAsyncWorkerProvider;
@@ -27,12 +30,17 @@ import org.apache.skywalking.apm.collector.cache.service.ServiceIdCacheService;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
 import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.storage.StorageModule;
+import org.apache.skywalking.apm.collector.storage.dao.register.IRegisterLeaseDAO;
 import org.apache.skywalking.apm.collector.storage.dao.register.IServiceNameRegisterDAO;
 import org.apache.skywalking.apm.collector.storage.table.register.ServiceName;
+import org.apache.skywalking.apm.collector.storage.table.register.ServiceNameTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * The new service names are saved in a batch at the end of each batch of the queue, the service names registered in
+ * the batch and not saved yet are skipped.
+ *
  * @author peng-yongsheng
  */
 public class ServiceNameRegisterSerialWorker extends AbstractLocalAsyncWorker<ServiceName, ServiceName> {
@@ -41,11 +49,17 @@ public class ServiceNameRegisterSerialWorker extends AbstractLocalAsyncWorker<Se
 
     private final IServiceNameRegisterDAO serviceNameRegisterDAO;
     private final ServiceIdCacheService serviceIdCacheService;
+    private final IdAllocator idAllocator;
+    private final Map<String, ServiceName> newServiceNames;
 
-    private ServiceNameRegisterSerialWorker(ModuleManager moduleManager) {
+    private ServiceNameRegisterSerialWorker(ModuleManager moduleManager, int idLeaseSize) {
         super(moduleManager);
         this.serviceNameRegisterDAO = getModuleManager().find(StorageModule.NAME).getService(IServiceNameRegisterDAO.class);
         this.serviceIdCacheService = getModuleManager().find(CacheModule.NAME).getService(ServiceIdCacheService.class);
+        IRegisterLeaseDAO registerLeaseDAO = getModuleManager().find(StorageModule.NAME).getService(IRegisterLeaseDAO.class);
+        this.idAllocator = new IdAllocator(ServiceNameTable.TABLE, IdSequence.ALTERNATE, idLeaseSize, registerLeaseDAO,
+            () -> IdSequence.ALTERNATE.nextSequence(serviceNameRegisterDAO.getMinServiceId(), serviceNameRegisterDAO.getMaxServiceId()));
+        this.newServiceNames = new LinkedHashMap<>();
     }
 
     @Override public int id() {
@@ -54,49 +68,51 @@ public class ServiceNameRegisterSerialWorker extends AbstractLocalAsyncWorker<Se
 
     @Override protected void onWork(ServiceName serviceName) throws WorkerException {
         logger.debug("register service name: {}, application id: {}", serviceName.getServiceName(), serviceName.getApplicationId());
-        int serviceId = serviceIdCacheService.get(serviceName.getApplicationId(), serviceName.getSrcSpanType(), serviceName.getServiceName());
-        if (serviceId == 0) {
-            ServiceName newServiceName;
-
-            int min = serviceNameRegisterDAO.getMinServiceId();
-            if (min == 0) {
-                ServiceName noneServiceName = new ServiceName();
-                noneServiceName.setId("1");
-                noneServiceName.setApplicationId(Const.NONE_APPLICATION_ID);
-                noneServiceName.setServiceId(Const.NONE_SERVICE_ID);
-                noneServiceName.setServiceName(Const.NONE_SERVICE_NAME);
-                noneServiceName.setSrcSpanType(Const.SPAN_TYPE_VIRTUAL);
-                serviceNameRegisterDAO.save(noneServiceName);
-
-                newServiceName = new ServiceName();
-                newServiceName.setId("-1");
-                newServiceName.setApplicationId(serviceName.getApplicationId());
-                newServiceName.setServiceId(-1);
-                newServiceName.setSrcSpanType(serviceName.getSrcSpanType());
-                newServiceName.setServiceName(serviceName.getServiceName());
-            } else {
-                int max = serviceNameRegisterDAO.getMaxServiceId();
-                serviceId = IdAutoIncrement.INSTANCE.increment(min, max);
+        String key = serviceName.getApplicationId() + Const.ID_SPLIT + serviceName.getSrcSpanType() + Const.ID_SPLIT + serviceName.getServiceName();
+        if (!newServiceNames.containsKey(key)) {
+            int serviceId = serviceIdCacheService.get(serviceName.getApplicationId(), serviceName.getSrcSpanType(), serviceName.getServiceName());
+            if (serviceId == 0) {
+                serviceId = idAllocator.next();
+                if (serviceId == Const.NONE_SERVICE_ID) {
+                    ServiceName noneServiceName = new ServiceName();
+                    noneServiceName.setId(String.valueOf(Const.NONE_SERVICE_ID));
+                    noneServiceName.setApplicationId(Const.NONE_APPLICATION_ID);
+                    noneServiceName.setServiceId(Const.NONE_SERVICE_ID);
+                    noneServiceName.setServiceName(Const.NONE_SERVICE_NAME);
+                    noneServiceName.setSrcSpanType(Const.SPAN_TYPE_VIRTUAL);
+                    serviceNameRegisterDAO.save(noneServiceName);
 
-                newServiceName = new ServiceName();
+                    serviceId = idAllocator.next();
+                }
+
+                ServiceName newServiceName = new ServiceName();
                 newServiceName.setId(String.valueOf(serviceId));
                 newServiceName.setApplicationId(serviceName.getApplicationId());
                 newServiceName.setServiceId(serviceId);
                 newServiceName.setSrcSpanType(serviceName.getSrcSpanType());
                 newServiceName.setServiceName(serviceName.getServiceName());
+                newServiceNames.put(key, newServiceName);
             }
-            serviceNameRegisterDAO.save(newServiceName);
+        }
+
+        if (serviceName.getEndOfBatchContext().isEndOfBatch() && !newServiceNames.isEmpty()) {
+            serviceNameRegisterDAO.batchSave(new ArrayList<>(newServiceNames.values()));
+            newServiceNames.values().forEach(serviceIdCacheService::put);
+            newServiceNames.clear();
         }
     }
 
     public static class Factory extends AbstractLocalAsyncWorkerProvider<ServiceName, ServiceName, ServiceNameRegisterSerialWorker> {
 
-        public Factory(ModuleManager moduleManager) {
+        private final int idLeaseSize;
+
+        public Factory(ModuleManager moduleManager, int idLeaseSize) {
             super(moduleManager);
+            this.idLeaseSize = idLeaseSize;
         }
 
         @Override public ServiceNameRegisterSerialWorker workerInstance(ModuleManager moduleManager) {
-            return new ServiceNameRegisterSerialWorker(moduleManager);
+            return new ServiceNameRegisterSerialWorker(moduleManager, idLeaseSize);
         }
 
         @Override public int queueSize() {
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.analysis.register.provider.register;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.skywalking.apm.collector.storage.dao.register.IRegisterLeaseDAO;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author peng-yongsheng
+ */
+public class IdAllocatorTestCase {
+
+    @Test
+    public void testNext() {
+        List<Long> initialSequences = new ArrayList<>();
+        LeaseDAO leaseDAO = new LeaseDAO();
+        leaseDAO.leaseEnd = 2;
+
+        IdAllocator idAllocator = new IdAllocator("service_name", IdSequence.ALTERNATE, 3, leaseDAO, () -> {
+            initialSequences.add(0L);
+            return 0L;
+        });
+
+        int[] expected = {2, -2, 3, -3, 4, -4, 5};
+        for (int id : expected) {
+            Assert.assertEquals(id, idAllocator.next());
+        }
+        Assert.assertEquals(1, initialSequences.size());
+        Assert.assertEquals(3, leaseDAO.leases);
+
+        leaseDAO.leaseEnd = 100;
+        Assert.assertEquals(-5, idAllocator.next());
+        Assert.assertEquals(6, idAllocator.next());
+        Assert.assertEquals(IdSequence.ALTERNATE.toId(100), idAllocator.next());
+        Assert.assertEquals(1, initialSequences.size());
+    }
+
+    @Test
+    public void testInitialSequence() {
+        LeaseDAO leaseDAO = new LeaseDAO();
+        IdAllocator idAllocator = new IdAllocator("instance", IdSequence.ASCENDING, 3, leaseDAO, () -> IdSequence.ASCENDING.nextSequence(1, 10));
+        Assert.assertEquals(11, idAllocator.next());
+    }
+
+    private static class LeaseDAO implements IRegisterLeaseDAO {
+        private long leaseEnd;
+        private int leases;
+
+        @Override public long lease(String registerTable, long initialSequence, int size) {
+            long start = Math.max(leaseEnd, initialSequence);
+            leaseEnd = start + size;
+            leases++;
+            return start;
+        }
+    }
+}
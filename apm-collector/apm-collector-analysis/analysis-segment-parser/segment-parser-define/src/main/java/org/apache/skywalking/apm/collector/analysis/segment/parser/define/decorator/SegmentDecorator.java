@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.apm.collector.analysis.segment.parser.define.decorator;
 
+import com.google.protobuf.ByteString;
 import org.apache.skywalking.apm.network.proto.TraceSegmentObject;
 import org.apache.skywalking.apm.network.proto.UniqueId;
 
@@ -31,9 +32,19 @@ public class SegmentDecorator implements StandardBuilder {
     private final TraceSegmentObject segmentObject;
     private TraceSegmentObject.Builder segmentBuilder;
     private final SpanDecorator[] spanDecorators;
+    private final ByteString segmentBinary;
 
     public SegmentDecorator(TraceSegmentObject segmentObject) {
+        this(segmentObject, null);
+    }
+
+    /**
+     * @param segmentBinary the binary the segment object parsed from, returned by {@link #toByteArray()} without
+     * serializing the segment again if no field changed.
+     */
+    public SegmentDecorator(TraceSegmentObject segmentObject, ByteString segmentBinary) {
         this.segmentObject = segmentObject;
+        this.segmentBinary = segmentBinary;
         this.spanDecorators = new SpanDecorator[segmentObject.getSpansCount()];
     }
 
@@ -66,7 +77,7 @@ public class SegmentDecorator implements StandardBuilder {
 
     public byte[] toByteArray() {
         if (isOrigin) {
-            return segmentObject.toByteArray();
+            return segmentBinary != null ? segmentBinary.toByteArray() : segmentObject.toByteArray();
         } else {
             return segmentBuilder.build().toByteArray();
         }
@@ -24,6 +24,11 @@ package org.apache.skywalking.apm.collector.analysis.segment.parser.define.liste
 public interface SpanListener {
     void build();
 
+    /**
+     * Clear the state of the last segment, the listener is reused to parse the next segment in the same thread.
+     */
+    void reset();
+
     boolean containsPoint(Point point);
 
     enum Point {
@@ -26,8 +26,8 @@ import org.apache.skywalking.apm.collector.core.module.ModuleConfig;
 public class AnalysisSegmentParserModuleConfig extends ModuleConfig {
 
     private String bufferFilePath;
-    private String bufferOffsetMaxFileSize;
     private String bufferSegmentMaxFileSize;
+    private int bufferReaderThreads = 2;
 
     public String getBufferFilePath() {
         return bufferFilePath;
@@ -37,14 +37,6 @@ public class AnalysisSegmentParserModuleConfig extends ModuleConfig {
         this.bufferFilePath = bufferFilePath;
     }
 
-    public String getBufferOffsetMaxFileSize() {
-        return bufferOffsetMaxFileSize;
-    }
-
-    public void setBufferOffsetMaxFileSize(String bufferOffsetMaxFileSize) {
-        this.bufferOffsetMaxFileSize = bufferOffsetMaxFileSize;
-    }
-
     public String getBufferSegmentMaxFileSize() {
         return bufferSegmentMaxFileSize;
     }
@@ -52,4 +44,15 @@ public class AnalysisSegmentParserModuleConfig extends ModuleConfig {
     public void setBufferSegmentMaxFileSize(String bufferSegmentMaxFileSize) {
         this.bufferSegmentMaxFileSize = bufferSegmentMaxFileSize;
     }
+
+    /**
+     * @return the number of the threads replaying the buffer files concurrently, one file per thread at a time.
+     */
+    public int getBufferReaderThreads() {
+        return bufferReaderThreads;
+    }
+
+    public void setBufferReaderThreads(int bufferReaderThreads) {
+        this.bufferReaderThreads = bufferReaderThreads;
+    }
 }
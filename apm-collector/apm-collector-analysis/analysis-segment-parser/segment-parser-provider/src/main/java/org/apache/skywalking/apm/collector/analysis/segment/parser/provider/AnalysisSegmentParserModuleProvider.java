@@ -66,9 +66,9 @@ public class AnalysisSegmentParserModuleProvider extends ModuleProvider {
     }
 
     @Override public void prepare() throws ServiceNotProvidedException {
-        this.listenerManager = new SegmentParserListenerManager();
+        this.listenerManager = new SegmentParserListenerManager(getManager());
         this.registerServiceImplementation(ISegmentParserListenerRegister.class, new SegmentParserListenerRegister(listenerManager));
-        this.registerServiceImplementation(ISegmentParseService.class, new SegmentParseService(getManager(), listenerManager));
+        this.registerServiceImplementation(ISegmentParseService.class, new SegmentParseService(listenerManager));
 
         BufferFileConfig.Parser parser = new BufferFileConfig.Parser();
         parser.parse(config);
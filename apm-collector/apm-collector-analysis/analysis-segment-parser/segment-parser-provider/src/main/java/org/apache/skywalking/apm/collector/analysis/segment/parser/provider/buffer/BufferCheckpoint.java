@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.analysis.segment.parser.provider.buffer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * The read progress of the segment buffer, for each data file being read, the read position and the positions of the
+ * parked segments waiting for a retry. The progress is saved into the two checkpoint files alternately, each with a
+ * sequence and a CRC32, so a torn save leaves the other file valid, and the valid file of the larger sequence is
+ * loaded.
+ *
+ * @author peng-yongsheng
+ */
+class BufferCheckpoint {
+
+    static final String CHECKPOINT_FILE_PREFIX = "checkpoint";
+
+    private final File bufferPath;
+    private final Object saveLock = new Object();
+    private final Map<Long, FileProgress> progresses;
+    private long sequence;
+    private boolean changed;
+
+    private BufferCheckpoint(File bufferPath) {
+        this.bufferPath = bufferPath;
+        this.progresses = new HashMap<>();
+    }
+
+    static BufferCheckpoint load(File bufferPath) throws IOException {
+        BufferCheckpoint checkpoint = new BufferCheckpoint(bufferPath);
+        for (int slot = 0; slot < 2; slot++) {
+            File file = checkpoint.checkpointFile(slot);
+            if (file.exists()) {
+                ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+                if (isValid(content) && content.getLong(0) > checkpoint.sequence) {
+                    checkpoint.sequence = content.getLong(0);
+                    checkpoint.deserialize(content);
+                }
+            }
+        }
+        return checkpoint;
+    }
+
+    private static boolean isValid(ByteBuffer content) {
+        if (content.remaining() < 16) {
+            return false;
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(content.array(), 0, content.remaining() - 4);
+        return content.getInt(content.remaining() - 4) == (int)crc32.getValue();
+    }
+
+    private void deserialize(ByteBuffer content) {
+        progresses.clear();
+        content.position(8);
+        int fileCount = content.getInt();
+        for (int i = 0; i < fileCount; i++) {
+            FileProgress progress = new FileProgress();
+            long fileId = content.getLong();
+            progress.position = content.getInt();
+            int parkedCount = content.getInt();
+            for (int j = 0; j < parkedCount; j++) {
+                progress.parkedPositions.add(content.getInt());
+            }
+            progresses.put(fileId, progress);
+        }
+    }
+
+    synchronized int getReadPosition(long fileId) {
+        FileProgress progress = progresses.get(fileId);
+        return progress != null ? progress.position : 0;
+    }
+
+    synchronized void setReadPosition(long fileId, int position) {
+        progress(fileId).position = position;
+        changed = true;
+    }
+
+    synchronized int[] getParkedPositions(long fileId) {
+        FileProgress progress = progresses.get(fileId);
+        return progress != null ? progress.parkedPositions.stream().mapToInt(Integer::intValue).toArray() : new int[0];
+    }
+
+    synchronized void park(long fileId, int position) {
+        progress(fileId).parkedPositions.add(position);
+        changed = true;
+    }
+
+    /**
+     * @return true if no more parked segment in the file.
+     */
+    synchronized boolean unpark(long fileId, int position) {
+        FileProgress progress = progresses.get(fileId);
+        if (progress == null) {
+            return true;
+        }
+        progress.parkedPositions.remove(position);
+        changed = true;
+        return progress.parkedPositions.isEmpty();
+    }
+
+    synchronized boolean hasParked(long fileId) {
+        FileProgress progress = progresses.get(fileId);
+        return progress != null && !progress.parkedPositions.isEmpty();
+    }
+
+    synchronized void remove(long fileId) {
+        if (progresses.remove(fileId) != null) {
+            changed = true;
+        }
+    }
+
+    /**
+     * Remove the progress of the data files not existing anymore.
+     */
+    synchronized void retain(Collection<Long> fileIds) {
+        if (progresses.keySet().retainAll(fileIds)) {
+            changed = true;
+        }
+    }
+
+    /**
+     * Save the progress if it changed after the last save.
+     */
+    void save() throws IOException {
+        synchronized (saveLock) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            DataOutputStream dataOutput = new DataOutputStream(output);
+            long saveSequence;
+            synchronized (this) {
+                if (!changed) {
+                    return;
+                }
+                saveSequence = ++sequence;
+                dataOutput.writeLong(saveSequence);
+                dataOutput.writeInt(progresses.size());
+                for (Map.Entry<Long, FileProgress> entry : progresses.entrySet()) {
+                    dataOutput.writeLong(entry.getKey());
+                    dataOutput.writeInt(entry.getValue().position);
+                    dataOutput.writeInt(entry.getValue().parkedPositions.size());
+                    for (int position : entry.getValue().parkedPositions) {
+                        dataOutput.writeInt(position);
+                    }
+                }
+                changed = false;
+            }
+
+            byte[] content = output.toByteArray();
+            CRC32 crc32 = new CRC32();
+            crc32.update(content);
+            dataOutput.writeInt((int)crc32.getValue());
+
+            try (FileChannel channel = FileChannel.open(checkpointFile((int)(saveSequence & 1)).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.wrap(output.toByteArray()));
+                channel.force(false);
+            } catch (IOException e) {
+                synchronized (this) {
+                    changed = true;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private File checkpointFile(int slot) {
+        return new File(bufferPath, CHECKPOINT_FILE_PREFIX + "_" + slot);
+    }
+
+    private FileProgress progress(long fileId) {
+        return progresses.computeIfAbsent(fileId, id -> new FileProgress());
+    }
+
+    private static class FileProgress {
+        private int position;
+        private final TreeSet<Integer> parkedPositions = new TreeSet<>();
+    }
+}
@@ -25,9 +25,9 @@ import org.apache.skywalking.apm.collector.core.util.StringUtils;
  * @author peng-yongsheng
  */
 public class BufferFileConfig {
-    static int BUFFER_OFFSET_MAX_FILE_SIZE = 10 * 1024 * 1024;
     static int BUFFER_SEGMENT_MAX_FILE_SIZE = 10 * 1024 * 1024;
     static String BUFFER_PATH = "../buffer/";
+    static int BUFFER_READER_THREADS = 2;
 
     public static class Parser {
 
@@ -36,26 +36,7 @@ public class BufferFileConfig {
                 BUFFER_PATH = config.getBufferFilePath();
             }
 
-            if (StringUtils.isNotEmpty(config.getBufferOffsetMaxFileSize())) {
-                String sizeStr = config.getBufferOffsetMaxFileSize().toUpperCase();
-                if (sizeStr.endsWith("K")) {
-                    int size = Integer.parseInt(sizeStr.replace("K", ""));
-                    BUFFER_OFFSET_MAX_FILE_SIZE = size * 1024;
-                } else if (sizeStr.endsWith("KB")) {
-                    int size = Integer.parseInt(sizeStr.replace("KB", ""));
-                    BUFFER_OFFSET_MAX_FILE_SIZE = size * 1024;
-                } else if (sizeStr.endsWith("M")) {
-                    int size = Integer.parseInt(sizeStr.replace("M", ""));
-                    BUFFER_OFFSET_MAX_FILE_SIZE = size * 1024 * 1024;
-                } else if (sizeStr.endsWith("MB")) {
-                    int size = Integer.parseInt(sizeStr.replace("MB", ""));
-                    BUFFER_OFFSET_MAX_FILE_SIZE = size * 1024 * 1024;
-                } else {
-                    BUFFER_OFFSET_MAX_FILE_SIZE = 10 * 1024 * 1024;
-                }
-            } else {
-                BUFFER_OFFSET_MAX_FILE_SIZE = 10 * 1024 * 1024;
-            }
+            BUFFER_READER_THREADS = Math.max(1, config.getBufferReaderThreads());
 
             if (StringUtils.isNotEmpty(config.getBufferSegmentMaxFileSize())) {
                 String sizeStr = config.getBufferSegmentMaxFileSize().toUpperCase();
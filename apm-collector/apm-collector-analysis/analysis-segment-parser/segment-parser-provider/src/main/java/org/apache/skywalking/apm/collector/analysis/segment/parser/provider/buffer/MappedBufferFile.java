@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.analysis.segment.parser.provider.buffer;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import org.apache.skywalking.apm.network.proto.UpstreamSegment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A buffer data file of a fixed capacity, mapped into the memory. Each record is framed by the length and the CRC32
+ * of the payload, followed by the payload, a negative length is a hole left by a failed write.
+ * <p>
+ * The writers reserve the range of a record by a CAS of the reserved position, and write the record into the range
+ * without locking, the length is written last. Each written record is published with its position, the reader moves
+ * its limit over the contiguous published records, so a slow writer only holds the records after its own. A file is
+ * full when a record does not fit into it, and sealed when it is full and all the reserved records are written.
+ *
+ * @author peng-yongsheng
+ */
+class MappedBufferFile {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedBufferFile.class);
+
+    static final int HEADER_SIZE = 8;
+
+    private final long id;
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final AtomicInteger reserved;
+    private final AtomicInteger written;
+    private final Map<Integer, Integer> published;
+    private volatile boolean full;
+    private int readableLimit;
+    private int forcedPosition;
+    private boolean deleted;
+
+    private MappedBufferFile(long id, File file, int capacity) throws IOException {
+        this.id = id;
+        this.file = file;
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            if (randomAccessFile.length() < capacity) {
+                randomAccessFile.setLength(capacity);
+            }
+            this.buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+        this.reserved = new AtomicInteger(0);
+        this.written = new AtomicInteger(0);
+        this.published = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Create an empty file to write.
+     */
+    static MappedBufferFile create(long id, File file, int capacity) throws IOException {
+        return new MappedBufferFile(id, file, capacity);
+    }
+
+    /**
+     * Open a file written before the collector restarted, the records after a torn one are dropped. The opened file is
+     * sealed, no more records are written into it.
+     */
+    static MappedBufferFile open(long id, File file) throws IOException {
+        MappedBufferFile bufferFile = new MappedBufferFile(id, file, (int)Math.min(file.length(), Integer.MAX_VALUE));
+        int end = bufferFile.recover();
+        bufferFile.reserved.set(end);
+        bufferFile.written.set(end);
+        bufferFile.readableLimit = end;
+        bufferFile.forcedPosition = end;
+        bufferFile.full = true;
+        return bufferFile;
+    }
+
+    private int recover() {
+        int position = 0;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            int payloadSize = Math.abs(length);
+            if (length == 0 || length == Integer.MIN_VALUE || position + HEADER_SIZE + payloadSize > buffer.capacity()) {
+                break;
+            }
+            if (length > 0 && buffer.getInt(position + 4) != crc(position, length)) {
+                logger.warn("torn record in buffer file: {}, position: {}, the records after it are dropped", file.getName(), position);
+                break;
+            }
+            position += HEADER_SIZE + payloadSize;
+        }
+        return position;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    /**
+     * @return the position of the reserved range, -1 if the file is full.
+     */
+    int reserve(int recordSize) {
+        while (!full) {
+            int position = reserved.get();
+            if (position + recordSize > buffer.capacity() || position + recordSize < 0) {
+                full = true;
+            } else if (reserved.compareAndSet(position, position + recordSize)) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Write the segment into the range reserved at the position, the payload size is the serialized size of the
+     * segment.
+     */
+    void write(int position, UpstreamSegment segment, int payloadSize) throws IOException {
+        boolean success = false;
+        try {
+            ByteBuffer payload = slice(position + HEADER_SIZE, payloadSize);
+            CodedOutputStream output = CodedOutputStream.newInstance(payload);
+            segment.writeTo(output);
+            output.flush();
+
+            buffer.putInt(position + 4, crc(position, payloadSize));
+            buffer.putInt(position, payloadSize);
+            success = true;
+        } finally {
+            if (!success) {
+                buffer.putInt(position, -payloadSize);
+            }
+            published.put(position, HEADER_SIZE + payloadSize);
+            written.addAndGet(HEADER_SIZE + payloadSize);
+        }
+    }
+
+    /**
+     * Called by the reader only.
+     *
+     * @return the size of the record at the position including the header, 0 if no record at the position is readable
+     * yet, or at the end of a sealed file.
+     */
+    int recordSize(int position) {
+        while (position + HEADER_SIZE > readableLimit) {
+            Integer recordSize = published.remove(readableLimit);
+            if (recordSize == null) {
+                return 0;
+            }
+            readableLimit += recordSize;
+        }
+        return HEADER_SIZE + Math.abs(buffer.getInt(position));
+    }
+
+    /**
+     * Called by the reader only, after {@link #recordSize(int)} of the position is positive.
+     *
+     * @return the segment of the record at the position, null if the record is a hole or broken.
+     */
+    UpstreamSegment read(int position) {
+        int length = buffer.getInt(position);
+        if (length <= 0) {
+            return null;
+        }
+        if (buffer.getInt(position + 4) != crc(position, length)) {
+            logger.error("broken record in buffer file: {}, position: {}", file.getName(), position);
+            return null;
+        }
+
+        try {
+            return UpstreamSegment.parseFrom(CodedInputStream.newInstance(slice(position + HEADER_SIZE, length)));
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    boolean isSealed() {
+        return full && written.get() == reserved.get();
+    }
+
+    /**
+     * Force the written records to the disk, if any record written after the last force.
+     */
+    synchronized void force() {
+        if (deleted) {
+            return;
+        }
+        int written = this.written.get();
+        if (written != forcedPosition) {
+            buffer.force();
+            forcedPosition = written;
+        }
+    }
+
+    /**
+     * Unmap the buffer and delete the file, so the disk space is released now, not after the buffer is collected. Called
+     * by the reader only, after the file is sealed and read, no record is read or written after this.
+     */
+    synchronized void delete() {
+        deleted = true;
+        unmap(buffer);
+        if (!file.delete()) {
+            logger.warn("delete buffer file: {} failure", file.getName());
+        }
+    }
+
+    /**
+     * Run the cleaner of the mapped buffer, through {@code DirectBuffer#cleaner()} on Java 8, or {@code
+     * Unsafe#invokeCleaner(ByteBuffer)} since Java 9.
+     */
+    private void unmap(MappedByteBuffer buffer) {
+        try {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+            return;
+        } catch (Throwable ignored) {
+        }
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), buffer);
+        } catch (Throwable t) {
+            logger.warn("unmap buffer file: {} failure, it is released after the buffer is collected", file.getName(), t);
+        }
+    }
+
+    private ByteBuffer slice(int position, int size) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(position);
+        duplicate.limit(position + size);
+        return duplicate.slice();
+    }
+
+    private int crc(int position, int payloadSize) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(slice(position + HEADER_SIZE, payloadSize));
+        return (int)crc32.getValue();
+    }
+}
@@ -19,17 +19,20 @@
 package org.apache.skywalking.apm.collector.analysis.segment.parser.provider.buffer;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import org.apache.skywalking.apm.collector.core.module.ModuleManager;
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import org.apache.skywalking.apm.collector.core.util.Const;
-import org.apache.skywalking.apm.collector.core.util.StringUtils;
-import org.apache.skywalking.apm.collector.core.util.TimeBucketUtils;
 import org.apache.skywalking.apm.network.proto.UpstreamSegment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * The segment buffer, a write ahead log of the memory mapped data files of a fixed size. The segments are appended
+ * without locking, only switching to a new data file is synchronized. The written records are forced to the disk by
+ * {@link #flush()} together with the read checkpoint, as a group commit.
+ *
  * @author peng-yongsheng
  */
 public enum SegmentBufferManager {
@@ -38,65 +41,111 @@ public enum SegmentBufferManager {
     private static final Logger logger = LoggerFactory.getLogger(SegmentBufferManager.class);
 
     public static final String DATA_FILE_PREFIX = "data";
-    private FileOutputStream outputStream;
+    static final String DATA_FILE_SUFFIX = "wal";
+
+    private final NavigableMap<Long, MappedBufferFile> dataFiles = new ConcurrentSkipListMap<>();
+    private volatile MappedBufferFile writeFile;
+    private File bufferPath;
+    private BufferCheckpoint checkpoint;
 
-    public synchronized void initialize(ModuleManager moduleManager) {
+    public synchronized void initialize() {
+        if (writeFile != null) {
+            return;
+        }
         logger.info("segment buffer initialize");
         try {
-            OffsetManager.INSTANCE.initialize();
-            if (new File(BufferFileConfig.BUFFER_PATH).mkdirs()) {
-                newDataFile();
-            } else {
-                String writeFileName = OffsetManager.INSTANCE.getWriteFileName();
-                if (StringUtils.isNotEmpty(writeFileName)) {
-                    File dataFile = new File(BufferFileConfig.BUFFER_PATH + writeFileName);
-                    if (dataFile.exists()) {
-                        outputStream = new FileOutputStream(new File(BufferFileConfig.BUFFER_PATH + writeFileName), true);
-                    } else {
-                        newDataFile();
-                    }
-                } else {
-                    newDataFile();
-                }
-            }
-            SegmentBufferReader.INSTANCE.initialize(moduleManager);
+            open(new File(BufferFileConfig.BUFFER_PATH));
+            SegmentBufferReader.INSTANCE.initialize();
         } catch (IOException e) {
             logger.error(e.getMessage(), e);
         }
     }
 
-    public synchronized void writeBuffer(UpstreamSegment segment) {
-        try {
-            segment.writeDelimitedTo(outputStream);
-            long position = outputStream.getChannel().position();
-            if (position > BufferFileConfig.BUFFER_SEGMENT_MAX_FILE_SIZE) {
-                newDataFile();
-            } else {
-                OffsetManager.INSTANCE.setWriteOffset(position);
+    synchronized void open(File bufferPath) throws IOException {
+        if (!bufferPath.exists() && !bufferPath.mkdirs()) {
+            throw new IOException("create segment buffer path: " + bufferPath.getAbsolutePath() + " failure");
+        }
+        this.bufferPath = bufferPath;
+        this.checkpoint = BufferCheckpoint.load(bufferPath);
+
+        dataFiles.clear();
+        File[] files = bufferPath.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String fileName = file.getName();
+                if (fileName.startsWith(DATA_FILE_PREFIX + "_") && fileName.endsWith("." + DATA_FILE_SUFFIX)) {
+                    long id = Long.parseLong(fileName.substring(DATA_FILE_PREFIX.length() + 1, fileName.length() - DATA_FILE_SUFFIX.length() - 1));
+                    dataFiles.put(id, MappedBufferFile.open(id, file));
+                } else if (fileName.endsWith("." + Const.FILE_SUFFIX)) {
+                    logger.warn("segment buffer file: {} of the previous format is not read, delete it after checked", fileName);
+                }
             }
-        } catch (IOException e) {
-            logger.error(e.getMessage(), e);
         }
+        checkpoint.retain(dataFiles.keySet());
+        SegmentBufferReader.INSTANCE.restore(dataFiles.values(), checkpoint);
+        writeFile = newDataFile(BufferFileConfig.BUFFER_SEGMENT_MAX_FILE_SIZE);
     }
 
-    private void newDataFile() throws IOException {
-        logger.debug("getOrCreate new segment buffer file");
-        String timeBucket = String.valueOf(TimeBucketUtils.INSTANCE.getSecondTimeBucket(System.currentTimeMillis()));
-        String writeFileName = DATA_FILE_PREFIX + "_" + timeBucket + "." + Const.FILE_SUFFIX;
-        File dataFile = new File(BufferFileConfig.BUFFER_PATH + writeFileName);
-        dataFile.createNewFile();
-        OffsetManager.INSTANCE.setWriteOffset(writeFileName, 0);
+    public void writeBuffer(UpstreamSegment segment) {
+        int payloadSize = segment.getSerializedSize();
+        int recordSize = MappedBufferFile.HEADER_SIZE + payloadSize;
         try {
-            if (outputStream != null) {
-                outputStream.close();
+            MappedBufferFile file = writeFile;
+            int position = file.reserve(recordSize);
+            while (position < 0) {
+                file = switchDataFile(file, recordSize);
+                position = file.reserve(recordSize);
             }
-            outputStream = new FileOutputStream(dataFile);
-            outputStream.getChannel().position(0);
+            file.write(position, segment, payloadSize);
         } catch (IOException e) {
             logger.error(e.getMessage(), e);
         }
     }
 
-    public synchronized void flush() {
+    private synchronized MappedBufferFile switchDataFile(MappedBufferFile fullFile, int recordSize) throws IOException {
+        if (writeFile == fullFile) {
+            writeFile = newDataFile(Math.max(BufferFileConfig.BUFFER_SEGMENT_MAX_FILE_SIZE, recordSize));
+        }
+        return writeFile;
+    }
+
+    private MappedBufferFile newDataFile(int capacity) throws IOException {
+        long id = System.currentTimeMillis();
+        if (!dataFiles.isEmpty()) {
+            id = Math.max(id, dataFiles.lastKey() + 1);
+        }
+        String fileName = DATA_FILE_PREFIX + "_" + id + "." + DATA_FILE_SUFFIX;
+        logger.debug("create new segment buffer file: {}", fileName);
+
+        MappedBufferFile dataFile = MappedBufferFile.create(id, new File(bufferPath, fileName), capacity);
+        dataFiles.put(id, dataFile);
+        return dataFile;
+    }
+
+    Collection<MappedBufferFile> getDataFiles() {
+        return dataFiles.values();
+    }
+
+    void deleteDataFile(MappedBufferFile dataFile) {
+        dataFiles.remove(dataFile.getId());
+        dataFile.delete();
+    }
+
+    BufferCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void flush() {
+        if (writeFile == null) {
+            return;
+        }
+        for (MappedBufferFile dataFile : dataFiles.values()) {
+            dataFile.force();
+        }
+        try {
+            checkpoint.save();
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+        }
     }
 }
@@ -18,143 +18,230 @@
 
 package org.apache.skywalking.apm.collector.analysis.segment.parser.provider.buffer;
 
-import com.google.protobuf.CodedOutputStream;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FilenameFilter;
-import java.io.IOException;
-import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import org.apache.skywalking.apm.collector.analysis.segment.parser.define.service.ISegmentParseService;
-import org.apache.skywalking.apm.collector.analysis.segment.parser.provider.parser.SegmentParse;
 import org.apache.skywalking.apm.collector.analysis.segment.parser.provider.parser.SegmentParserListenerManager;
-import org.apache.skywalking.apm.collector.core.module.ModuleManager;
-import org.apache.skywalking.apm.collector.core.util.CollectionUtils;
-import org.apache.skywalking.apm.collector.core.util.Const;
-import org.apache.skywalking.apm.collector.core.util.StringUtils;
+import org.apache.skywalking.apm.collector.core.load.LoadMonitor;
 import org.apache.skywalking.apm.network.proto.UpstreamSegment;
 import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Replay the segments of the buffer, each round reads the data files concurrently by the reader threads, one thread
+ * for a file, from the read position of the file in the checkpoint.
+ * <p>
+ * A segment failed to parse, mostly waiting for the register of its ids, doesn't block the segments behind it. Its
+ * position is parked into the checkpoint and the retry queue, and parsed again after a backoff interval, doubled for
+ * each failure. The segment still failed after {@link #MAX_RETRY_TIMES} is discarded. A data file is deleted after it
+ * was read to the end and no segment of it is parked.
+ *
  * @author peng-yongsheng
  */
 public enum SegmentBufferReader {
     INSTANCE;
 
     private static final Logger logger = LoggerFactory.getLogger(SegmentBufferReader.class);
-    private InputStream inputStream;
-    private ModuleManager moduleManager;
+
+    private static final long READ_TIME_LIMIT = 1000;
+    private static final long FIRST_RETRY_INTERVAL = 1000;
+    private static final long MAX_RETRY_INTERVAL = 60 * 1000;
+    static final int MAX_RETRY_TIMES = 15;
+    private static final int MAX_LAG_FILES = 10;
+
+    private final PriorityBlockingQueue<ParkedSegment> retryQueue = new PriorityBlockingQueue<>(64, Comparator.comparingLong(parked -> parked.retryTime));
+    private final Set<Long> finishedFiles = ConcurrentHashMap.newKeySet();
+    private ExecutorService readExecutor;
     private SegmentParserListenerManager listenerManager;
 
-    public void initialize(ModuleManager moduleManager) {
-        this.moduleManager = moduleManager;
+    public void initialize() {
         Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(
             new RunnableWithExceptionProtection(this::preRead,
-                t -> logger.error("Segment buffer pre read failure.", t)), 3, 3, TimeUnit.SECONDS);
+                t -> logger.error("Segment buffer pre read failure.", t)), 1, 1, TimeUnit.SECONDS);
+        LoadMonitor.INSTANCE.register("buffer", () -> (double)lagFiles() / MAX_LAG_FILES);
     }
 
     public void setSegmentParserListenerManager(SegmentParserListenerManager listenerManager) {
         this.listenerManager = listenerManager;
     }
 
-    private void preRead() {
-        String readFileName = OffsetManager.INSTANCE.getReadFileName();
-        if (StringUtils.isNotEmpty(readFileName)) {
-            File readFile = new File(BufferFileConfig.BUFFER_PATH + readFileName);
-            if (readFile.exists()) {
-                deleteTheDataFilesBeforeReadFile(readFileName);
-                long readFileOffset = OffsetManager.INSTANCE.getReadFileOffset();
-                read(readFile, readFileOffset);
-                readEarliestCreateDataFile();
-            } else {
-                deleteTheDataFilesBeforeReadFile(readFileName);
-                readEarliestCreateDataFile();
+    /**
+     * Reset the read state to the data files of the opened buffer, the parked segments in the checkpoint are retried
+     * at the next round.
+     */
+    synchronized void restore(Collection<MappedBufferFile> dataFiles, BufferCheckpoint checkpoint) {
+        retryQueue.clear();
+        finishedFiles.clear();
+        long now = System.currentTimeMillis();
+        for (MappedBufferFile dataFile : dataFiles) {
+            for (int position : checkpoint.getParkedPositions(dataFile.getId())) {
+                retryQueue.add(new ParkedSegment(dataFile, position, now));
             }
-        } else {
-            readEarliestCreateDataFile();
         }
     }
 
-    private void deleteTheDataFilesBeforeReadFile(String readFileName) {
-        File[] dataFiles = new File(BufferFileConfig.BUFFER_PATH).listFiles(new PrefixFileNameFilter());
+    private void preRead() {
+        read(segment -> listenerManager.getSegmentParse().parse(segment, ISegmentParseService.Source.Buffer));
+    }
 
-        long readFileCreateTime = getFileCreateTime(readFileName);
-        for (File dataFile : dataFiles) {
-            long fileCreateTime = getFileCreateTime(dataFile.getName());
-            if (fileCreateTime < readFileCreateTime) {
-                dataFile.delete();
-            } else if (fileCreateTime == readFileCreateTime) {
-                break;
+    /**
+     * A round of the replay, reads the data files concurrently, then retries the parked segments due.
+     */
+    void read(Predicate<UpstreamSegment> parser) {
+        BufferCheckpoint checkpoint = SegmentBufferManager.INSTANCE.getCheckpoint();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (MappedBufferFile dataFile : SegmentBufferManager.INSTANCE.getDataFiles()) {
+            if (!finishedFiles.contains(dataFile.getId())) {
+                tasks.add(() -> {
+                    readFile(dataFile, checkpoint, parser);
+                    return null;
+                });
             }
         }
-    }
 
-    private long getFileCreateTime(String fileName) {
-        fileName = fileName.replace(SegmentBufferManager.DATA_FILE_PREFIX + "_", Const.EMPTY_STRING);
-        fileName = fileName.replace("." + Const.FILE_SUFFIX, Const.EMPTY_STRING);
-        return Long.valueOf(fileName);
+        try {
+            for (Future<Void> future : readExecutor().invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    logger.error(e.getMessage(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        retry(parser, checkpoint, System.currentTimeMillis());
     }
 
-    private void readEarliestCreateDataFile() {
-        String readFileName = OffsetManager.INSTANCE.getReadFileName();
-        File[] dataFiles = new File(BufferFileConfig.BUFFER_PATH).listFiles(new PrefixFileNameFilter());
+    private void readFile(MappedBufferFile dataFile, BufferCheckpoint checkpoint, Predicate<UpstreamSegment> parser) {
+        boolean sealed = dataFile.isSealed();
+        long deadline = System.currentTimeMillis() + READ_TIME_LIMIT;
+
+        int position = checkpoint.getReadPosition(dataFile.getId());
+        int recordSize = dataFile.recordSize(position);
+        while (recordSize > 0) {
+            UpstreamSegment segment = dataFile.read(position);
+            if (segment != null && !parse(parser, segment)) {
+                checkpoint.park(dataFile.getId(), position);
+                retryQueue.add(new ParkedSegment(dataFile, position, System.currentTimeMillis() + FIRST_RETRY_INTERVAL));
+            }
+            position += recordSize;
+            checkpoint.setReadPosition(dataFile.getId(), position);
 
-        if (CollectionUtils.isNotEmpty(dataFiles)) {
-            if (dataFiles[0].getName().equals(readFileName)) {
+            if (System.currentTimeMillis() > deadline) {
                 return;
             }
+            recordSize = dataFile.recordSize(position);
         }
 
-        for (File dataFile : dataFiles) {
-            logger.debug("Reading segment buffer data file, file name: {}", dataFile.getAbsolutePath());
-            OffsetManager.INSTANCE.setReadOffset(dataFile.getName(), 0);
-            if (!read(dataFile, 0)) {
-                break;
-            }
+        if (sealed) {
+            logger.debug("segment buffer file: {} read finished", dataFile.getId());
+            finishedFiles.add(dataFile.getId());
+            release(dataFile, checkpoint);
         }
     }
 
-    private boolean read(File readFile, long readFileOffset) {
-        try {
-            inputStream = new FileInputStream(readFile);
-            inputStream.skip(readFileOffset);
+    /**
+     * Retry the parked segments due at the time, on the thread of the round.
+     */
+    void retry(Predicate<UpstreamSegment> parser, BufferCheckpoint checkpoint, long now) {
+        List<ParkedSegment> failures = new ArrayList<>();
+        ParkedSegment parked = retryQueue.peek();
+        while (parked != null && parked.retryTime <= now) {
+            retryQueue.poll();
+
+            UpstreamSegment segment = parked.dataFile.read(parked.position);
+            if (segment != null && !parse(parser, segment)) {
+                parked.retryTimes++;
+                if (parked.retryTimes < MAX_RETRY_TIMES) {
+                    parked.retryTime = now + Math.min(FIRST_RETRY_INTERVAL << parked.retryTimes, MAX_RETRY_INTERVAL);
+                    failures.add(parked);
+                } else {
+                    logger.error("segment at position: {} of buffer file: {} failed to parse after {} retries, discard it",
+                        parked.position, parked.dataFile.getId(), parked.retryTimes);
+                    unpark(parked, checkpoint);
+                }
+            } else {
+                unpark(parked, checkpoint);
+            }
+            parked = retryQueue.peek();
+        }
+        retryQueue.addAll(failures);
+    }
 
-            String writeFileName = OffsetManager.INSTANCE.getWriteFileName();
-            long endPoint = readFile.length();
-            if (writeFileName.equals(readFile.getName())) {
-                endPoint = OffsetManager.INSTANCE.getWriteFileOffset();
+    /**
+     * @return the number of the sealed data files not read to the end.
+     */
+    int lagFiles() {
+        int lagFiles = 0;
+        for (MappedBufferFile dataFile : SegmentBufferManager.INSTANCE.getDataFiles()) {
+            if (dataFile.isSealed() && !finishedFiles.contains(dataFile.getId())) {
+                lagFiles++;
             }
+        }
+        return lagFiles;
+    }
 
-            while (readFile.length() > readFileOffset && readFileOffset < endPoint) {
-                UpstreamSegment upstreamSegment = UpstreamSegment.parser().parseDelimitedFrom(inputStream);
-                SegmentParse parse = new SegmentParse(moduleManager, listenerManager);
-                if (!parse.parse(upstreamSegment, ISegmentParseService.Source.Buffer)) {
-                    return false;
-                }
+    int parkedCount() {
+        return retryQueue.size();
+    }
 
-                final int serialized = upstreamSegment.getSerializedSize();
-                readFileOffset = readFileOffset + CodedOutputStream.computeUInt32SizeNoTag(serialized) + serialized;
-                logger.debug("read segment buffer from file: {}, offset: {}, file length: {}", readFile.getName(), readFileOffset, readFile.length());
-                OffsetManager.INSTANCE.setReadOffset(readFileOffset);
-            }
+    private void unpark(ParkedSegment parked, BufferCheckpoint checkpoint) {
+        if (checkpoint.unpark(parked.dataFile.getId(), parked.position)) {
+            release(parked.dataFile, checkpoint);
+        }
+    }
 
-            inputStream.close();
-            if (!writeFileName.equals(readFile.getName())) {
-                readFile.delete();
-            }
-        } catch (IOException e) {
-            logger.error(e.getMessage(), e);
+    private synchronized void release(MappedBufferFile dataFile, BufferCheckpoint checkpoint) {
+        if (finishedFiles.contains(dataFile.getId()) && !checkpoint.hasParked(dataFile.getId())) {
+            SegmentBufferManager.INSTANCE.deleteDataFile(dataFile);
+            checkpoint.remove(dataFile.getId());
+            finishedFiles.remove(dataFile.getId());
+        }
+    }
+
+    private boolean parse(Predicate<UpstreamSegment> parser, UpstreamSegment segment) {
+        try {
+            return parser.test(segment);
+        } catch (Throwable t) {
+            logger.error(t.getMessage(), t);
             return false;
         }
-        return true;
     }
 
-    class PrefixFileNameFilter implements FilenameFilter {
-        @Override public boolean accept(File dir, String name) {
-            return name.startsWith(SegmentBufferManager.DATA_FILE_PREFIX);
+    private synchronized ExecutorService readExecutor() {
+        if (readExecutor == null) {
+            readExecutor = Executors.newFixedThreadPool(BufferFileConfig.BUFFER_READER_THREADS);
+        }
+        return readExecutor;
+    }
+
+    private static class ParkedSegment {
+        private final MappedBufferFile dataFile;
+        private final int position;
+        private int retryTimes;
+        private long retryTime;
+
+        private ParkedSegment(MappedBufferFile dataFile, int position, long retryTime) {
+            this.dataFile = dataFile;
+            this.position = position;
+            this.retryTime = retryTime;
         }
     }
 }
@@ -19,7 +19,8 @@
 package org.apache.skywalking.apm.collector.analysis.segment.parser.provider.parser;
 
 import com.google.protobuf.InvalidProtocolBufferException;
-import java.util.LinkedList;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.List;
 import org.apache.skywalking.apm.collector.analysis.segment.parser.define.decorator.ReferenceDecorator;
 import org.apache.skywalking.apm.collector.analysis.segment.parser.define.decorator.SegmentDecorator;
@@ -50,6 +51,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Parse the segments, reusable by the segments parsed in the same thread, see {@link
+ * SegmentParserListenerManager#getSegmentParse()}. The span listeners are created at the first parse, indexed by the
+ * points they contain, and reset before each segment.
+ *
  * @author peng-yongsheng
  */
 public class SegmentParse {
@@ -57,26 +62,50 @@ public class SegmentParse {
     private static final Logger logger = LoggerFactory.getLogger(SegmentParse.class);
 
     private final ModuleManager moduleManager;
-    private List<SpanListener> spanListeners;
     private final SegmentParserListenerManager listenerManager;
+    private SpanListener[] spanListeners;
+    private EntrySpanListener[] entrySpanListeners;
+    private ExitSpanListener[] exitSpanListeners;
+    private LocalSpanListener[] localSpanListeners;
+    private FirstSpanListener[] firstSpanListeners;
+    private GlobalTraceIdsListener[] globalTraceIdsListeners;
+    private boolean parsing = false;
     private String segmentId;
     private long timeBucket = 0;
 
     public SegmentParse(ModuleManager moduleManager, SegmentParserListenerManager listenerManager) {
         this.moduleManager = moduleManager;
         this.listenerManager = listenerManager;
-        this.spanListeners = new LinkedList<>();
+    }
+
+    boolean isParsing() {
+        return parsing;
     }
 
     @GraphComputingMetric(name = "/segment/parse")
     public boolean parse(UpstreamSegment segment, ISegmentParseService.Source source) {
-        createSpanListeners();
+        parsing = true;
+        try {
+            return doParse(segment, source);
+        } finally {
+            parsing = false;
+        }
+    }
+
+    private boolean doParse(UpstreamSegment segment, ISegmentParseService.Source source) {
+        if (spanListeners == null) {
+            createSpanListeners();
+        } else {
+            resetSpanListeners();
+        }
+        segmentId = null;
+        timeBucket = 0;
 
         try {
             List<UniqueId> traceIds = segment.getGlobalTraceIdsList();
             TraceSegmentObject segmentObject = parseBinarySegment(segment);
 
-            SegmentDecorator segmentDecorator = new SegmentDecorator(segmentObject);
+            SegmentDecorator segmentDecorator = new SegmentDecorator(segmentObject, segment.getSegment());
 
             if (!preBuild(traceIds, segmentDecorator)) {
                 logger.debug("This segment id exchange not success, write to buffer file, id: {}", segmentId);
@@ -191,60 +220,77 @@ public class SegmentParse {
 
     @GraphComputingMetric(name = "/segment/parse/notifyListenerToBuild")
     private void notifyListenerToBuild() {
-        spanListeners.forEach(SpanListener::build);
+        for (SpanListener listener : spanListeners) {
+            listener.build();
+        }
     }
 
     @GraphComputingMetric(name = "/segment/parse/notifyExitListener")
     private void notifyExitListener(SpanDecorator spanDecorator, int applicationId, int applicationInstanceId,
         String segmentId) {
-        spanListeners.forEach(listener -> {
-            if (listener.containsPoint(SpanListener.Point.Exit)) {
-                ((ExitSpanListener)listener).parseExit(spanDecorator, applicationId, applicationInstanceId, segmentId);
-            }
-        });
+        for (ExitSpanListener listener : exitSpanListeners) {
+            listener.parseExit(spanDecorator, applicationId, applicationInstanceId, segmentId);
+        }
     }
 
     @GraphComputingMetric(name = "/segment/parse/notifyEntryListener")
     private void notifyEntryListener(SpanDecorator spanDecorator, int applicationId, int applicationInstanceId,
         String segmentId) {
-        spanListeners.forEach(listener -> {
-            if (listener.containsPoint(SpanListener.Point.Entry)) {
-                ((EntrySpanListener)listener).parseEntry(spanDecorator, applicationId, applicationInstanceId, segmentId);
-            }
-        });
+        for (EntrySpanListener listener : entrySpanListeners) {
+            listener.parseEntry(spanDecorator, applicationId, applicationInstanceId, segmentId);
+        }
     }
 
     @GraphComputingMetric(name = "/segment/parse/notifyLocalListener")
     private void notifyLocalListener(SpanDecorator spanDecorator, int applicationId, int applicationInstanceId,
         String segmentId) {
-        spanListeners.forEach(listener -> {
-            if (listener.containsPoint(SpanListener.Point.Local)) {
-                ((LocalSpanListener)listener).parseLocal(spanDecorator, applicationId, applicationInstanceId, segmentId);
-            }
-        });
+        for (LocalSpanListener listener : localSpanListeners) {
+            listener.parseLocal(spanDecorator, applicationId, applicationInstanceId, segmentId);
+        }
     }
 
     @GraphComputingMetric(name = "/segment/parse/notifyFirstListener")
     private void notifyFirstListener(SpanDecorator spanDecorator, int applicationId, int applicationInstanceId,
         String segmentId) {
-        spanListeners.forEach(listener -> {
-            if (listener.containsPoint(SpanListener.Point.First)) {
-                ((FirstSpanListener)listener).parseFirst(spanDecorator, applicationId, applicationInstanceId, segmentId);
-            }
-        });
+        for (FirstSpanListener listener : firstSpanListeners) {
+            listener.parseFirst(spanDecorator, applicationId, applicationInstanceId, segmentId);
+        }
     }
 
     @GraphComputingMetric(name = "/segment/parse/notifyGlobalsListener")
     private void notifyGlobalsListener(UniqueId uniqueId) {
-        spanListeners.forEach(listener -> {
-            if (listener.containsPoint(SpanListener.Point.GlobalTraceIds)) {
-                ((GlobalTraceIdsListener)listener).parseGlobalTraceId(uniqueId);
-            }
-        });
+        for (GlobalTraceIdsListener listener : globalTraceIdsListeners) {
+            listener.parseGlobalTraceId(uniqueId);
+        }
     }
 
     @GraphComputingMetric(name = "/segment/parse/createSpanListeners")
     private void createSpanListeners() {
-        listenerManager.getSpanListenerFactories().forEach(spanListenerFactory -> spanListeners.add(spanListenerFactory.create(moduleManager)));
+        List<SpanListener> listeners = new ArrayList<>();
+        listenerManager.getSpanListenerFactories().forEach(spanListenerFactory -> listeners.add(spanListenerFactory.create(moduleManager)));
+
+        spanListeners = listeners.toArray(new SpanListener[0]);
+        entrySpanListeners = listeners(SpanListener.Point.Entry, EntrySpanListener.class);
+        exitSpanListeners = listeners(SpanListener.Point.Exit, ExitSpanListener.class);
+        localSpanListeners = listeners(SpanListener.Point.Local, LocalSpanListener.class);
+        firstSpanListeners = listeners(SpanListener.Point.First, FirstSpanListener.class);
+        globalTraceIdsListeners = listeners(SpanListener.Point.GlobalTraceIds, GlobalTraceIdsListener.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T[] listeners(SpanListener.Point point, Class<T> listenerClass) {
+        List<T> listeners = new ArrayList<>();
+        for (SpanListener listener : spanListeners) {
+            if (listener.containsPoint(point)) {
+                listeners.add(listenerClass.cast(listener));
+            }
+        }
+        return listeners.toArray((T[])Array.newInstance(listenerClass, listeners.size()));
+    }
+
+    private void resetSpanListeners() {
+        for (SpanListener listener : spanListeners) {
+            listener.reset();
+        }
     }
 }
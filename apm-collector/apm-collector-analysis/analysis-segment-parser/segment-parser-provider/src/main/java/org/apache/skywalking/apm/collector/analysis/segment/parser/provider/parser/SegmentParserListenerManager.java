@@ -21,16 +21,21 @@ package org.apache.skywalking.apm.collector.analysis.segment.parser.provider.par
 import java.util.LinkedList;
 import java.util.List;
 import org.apache.skywalking.apm.collector.analysis.segment.parser.define.listener.SpanListenerFactory;
+import org.apache.skywalking.apm.collector.core.module.ModuleManager;
 
 /**
  * @author peng-yongsheng
  */
 public class SegmentParserListenerManager {
 
+    private final ModuleManager moduleManager;
     private List<SpanListenerFactory> spanListenerFactories;
+    private final ThreadLocal<SegmentParse> segmentParses;
 
-    public SegmentParserListenerManager() {
+    public SegmentParserListenerManager(ModuleManager moduleManager) {
+        this.moduleManager = moduleManager;
         this.spanListenerFactories = new LinkedList<>();
+        this.segmentParses = ThreadLocal.withInitial(() -> new SegmentParse(moduleManager, this));
     }
 
     public void add(SpanListenerFactory spanListenerFactory) {
@@ -40,4 +45,13 @@ public class SegmentParserListenerManager {
     List<SpanListenerFactory> getSpanListenerFactories() {
         return spanListenerFactories;
     }
+
+    /**
+     * @return the segment parse of the current thread, or a new one if it is parsing, when a listener parses a segment
+     * synchronously.
+     */
+    public SegmentParse getSegmentParse() {
+        SegmentParse segmentParse = segmentParses.get();
+        return segmentParse.isParsing() ? new SegmentParse(moduleManager, this) : segmentParse;
+    }
 }
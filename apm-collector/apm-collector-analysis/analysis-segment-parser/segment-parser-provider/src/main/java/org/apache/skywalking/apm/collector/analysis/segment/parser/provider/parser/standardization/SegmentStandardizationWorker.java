@@ -39,7 +39,7 @@ public class SegmentStandardizationWorker extends AbstractLocalAsyncWorker<Segme
 
     private SegmentStandardizationWorker(ModuleManager moduleManager) {
         super(moduleManager);
-        SegmentBufferManager.INSTANCE.initialize(moduleManager);
+        SegmentBufferManager.INSTANCE.initialize();
     }
 
     @Override public int id() {
@@ -21,7 +21,6 @@ package org.apache.skywalking.apm.collector.analysis.segment.parser.provider.ser
 import org.apache.skywalking.apm.collector.analysis.segment.parser.define.service.ISegmentParseService;
 import org.apache.skywalking.apm.collector.analysis.segment.parser.provider.parser.SegmentParse;
 import org.apache.skywalking.apm.collector.analysis.segment.parser.provider.parser.SegmentParserListenerManager;
-import org.apache.skywalking.apm.collector.core.module.ModuleManager;
 import org.apache.skywalking.apm.network.proto.UpstreamSegment;
 
 /**
@@ -29,16 +28,14 @@ import org.apache.skywalking.apm.network.proto.UpstreamSegment;
  */
 public class SegmentParseService implements ISegmentParseService {
 
-    private final ModuleManager moduleManager;
     private final SegmentParserListenerManager listenerManager;
 
-    public SegmentParseService(ModuleManager moduleManager, SegmentParserListenerManager listenerManager) {
-        this.moduleManager = moduleManager;
+    public SegmentParseService(SegmentParserListenerManager listenerManager) {
         this.listenerManager = listenerManager;
     }
 
     @Override public void parse(UpstreamSegment segment, Source source) {
-        SegmentParse segmentParse = new SegmentParse(moduleManager, listenerManager);
+        SegmentParse segmentParse = listenerManager.getSegmentParse();
         segmentParse.parse(segment, source);
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.analysis.segment.parser.provider.buffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author peng-yongsheng
+ */
+public class BufferCheckpointTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        File bufferPath = folder.getRoot();
+        BufferCheckpoint checkpoint = BufferCheckpoint.load(bufferPath);
+        Assert.assertEquals(0, checkpoint.getReadPosition(1001));
+
+        for (int i = 1; i <= 5; i++) {
+            checkpoint.setReadPosition(1000 + i, i * 100);
+            checkpoint.park(1000 + i, i * 10);
+            checkpoint.save();
+        }
+        checkpoint.park(1005, 20);
+        Assert.assertFalse(checkpoint.unpark(1005, 50));
+        checkpoint.remove(1001);
+        checkpoint.save();
+
+        BufferCheckpoint loaded = BufferCheckpoint.load(bufferPath);
+        Assert.assertEquals(0, loaded.getReadPosition(1001));
+        Assert.assertFalse(loaded.hasParked(1001));
+        Assert.assertEquals(300, loaded.getReadPosition(1003));
+        Assert.assertArrayEquals(new int[] {30}, loaded.getParkedPositions(1003));
+        Assert.assertEquals(500, loaded.getReadPosition(1005));
+        Assert.assertArrayEquals(new int[] {20}, loaded.getParkedPositions(1005));
+
+        loaded.retain(Arrays.asList(1002L, 1005L));
+        Assert.assertEquals(0, loaded.getReadPosition(1003));
+        Assert.assertTrue(loaded.unpark(1005, 20));
+    }
+
+    @Test
+    public void testTornSave() throws IOException {
+        File bufferPath = folder.getRoot();
+        BufferCheckpoint checkpoint = BufferCheckpoint.load(bufferPath);
+        checkpoint.setReadPosition(1001, 100);
+        checkpoint.save();
+        checkpoint.setReadPosition(1001, 200);
+        checkpoint.save();
+
+        try (RandomAccessFile file = new RandomAccessFile(new File(bufferPath, BufferCheckpoint.CHECKPOINT_FILE_PREFIX + "_0"), "rw")) {
+            file.setLength(file.length() - 2);
+        }
+
+        BufferCheckpoint loaded = BufferCheckpoint.load(bufferPath);
+        Assert.assertEquals(100, loaded.getReadPosition(1001));
+    }
+}
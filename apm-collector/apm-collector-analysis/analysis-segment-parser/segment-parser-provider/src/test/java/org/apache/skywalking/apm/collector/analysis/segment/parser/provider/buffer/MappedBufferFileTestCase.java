@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.analysis.segment.parser.provider.buffer;
+
+import com.google.protobuf.ByteString;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.skywalking.apm.network.proto.UpstreamSegment;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author peng-yongsheng
+ */
+public class MappedBufferFileTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testConcurrentWrite() throws Exception {
+        MappedBufferFile bufferFile = MappedBufferFile.create(1, folder.newFile(), 1024 * 1024);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    write(bufferFile, segment(thread + "-" + i));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertFalse(bufferFile.isSealed());
+
+        Set<String> segments = readAll(bufferFile);
+        Assert.assertEquals(8000, segments.size());
+        for (int t = 0; t < 4; t++) {
+            for (int i = 0; i < 2000; i++) {
+                Assert.assertTrue(segments.contains(t + "-" + i));
+            }
+        }
+    }
+
+    @Test
+    public void testFull() throws IOException {
+        UpstreamSegment segment = segment("segment");
+        int recordSize = MappedBufferFile.HEADER_SIZE + segment.getSerializedSize();
+        MappedBufferFile bufferFile = MappedBufferFile.create(1, folder.newFile(), recordSize * 3 + 1);
+
+        Assert.assertTrue(write(bufferFile, segment));
+        Assert.assertTrue(write(bufferFile, segment));
+        Assert.assertTrue(write(bufferFile, segment));
+        Assert.assertFalse(bufferFile.isSealed());
+        Assert.assertFalse(write(bufferFile, segment));
+        Assert.assertTrue(bufferFile.isSealed());
+        Assert.assertEquals(-1, bufferFile.reserve(1));
+    }
+
+    @Test
+    public void testReadBeforeSlowWriter() throws IOException {
+        UpstreamSegment segment = segment("segment");
+        int recordSize = MappedBufferFile.HEADER_SIZE + segment.getSerializedSize();
+        MappedBufferFile bufferFile = MappedBufferFile.create(1, folder.newFile(), 64 * 1024);
+
+        Assert.assertTrue(write(bufferFile, segment));
+        int slowPosition = bufferFile.reserve(recordSize);
+        Assert.assertTrue(write(bufferFile, segment));
+
+        Assert.assertEquals(recordSize, bufferFile.recordSize(0));
+        Assert.assertEquals(0, bufferFile.recordSize(slowPosition));
+
+        bufferFile.write(slowPosition, segment, segment.getSerializedSize());
+        Assert.assertEquals(recordSize, bufferFile.recordSize(slowPosition));
+        Assert.assertEquals(recordSize, bufferFile.recordSize(slowPosition + recordSize));
+        Assert.assertEquals(0, bufferFile.recordSize(slowPosition + recordSize * 2));
+    }
+
+    @Test
+    public void testDelete() throws IOException {
+        File file = folder.newFile();
+        MappedBufferFile bufferFile = MappedBufferFile.create(1, file, 64 * 1024);
+        write(bufferFile, segment("segment"));
+
+        bufferFile.delete();
+        Assert.assertFalse(file.exists());
+        bufferFile.force();
+    }
+
+    @Test
+    public void testOpenWithTornRecord() throws IOException {
+        File file = folder.newFile();
+        MappedBufferFile bufferFile = MappedBufferFile.create(1, file, 64 * 1024);
+        for (int i = 0; i < 10; i++) {
+            write(bufferFile, segment("segment-" + i));
+        }
+        bufferFile.force();
+
+        int lastPosition = 0;
+        for (int i = 0; i < 9; i++) {
+            lastPosition += bufferFile.recordSize(lastPosition);
+        }
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.seek(lastPosition + MappedBufferFile.HEADER_SIZE + 2);
+            randomAccessFile.write(0x7f);
+        }
+
+        MappedBufferFile reopened = MappedBufferFile.open(1, file);
+        Assert.assertTrue(reopened.isSealed());
+        Set<String> segments = readAll(reopened);
+        Assert.assertEquals(9, segments.size());
+        Assert.assertFalse(segments.contains("segment-9"));
+        Assert.assertEquals(-1, reopened.reserve(1));
+    }
+
+    static UpstreamSegment segment(String content) {
+        return UpstreamSegment.newBuilder().setSegment(ByteString.copyFromUtf8(content)).build();
+    }
+
+    private static boolean write(MappedBufferFile bufferFile, UpstreamSegment segment) {
+        int payloadSize = segment.getSerializedSize();
+        int position = bufferFile.reserve(MappedBufferFile.HEADER_SIZE + payloadSize);
+        if (position < 0) {
+            return false;
+        }
+        try {
+            bufferFile.write(position, segment, payloadSize);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return true;
+    }
+
+    private static Set<String> readAll(MappedBufferFile bufferFile) {
+        Set<String> segments = new HashSet<>();
+        int position = 0;
+        int recordSize;
+        while ((recordSize = bufferFile.recordSize(position)) > 0) {
+            segments.add(bufferFile.read(position).getSegment().toStringUtf8());
+            position += recordSize;
+        }
+        return segments;
+    }
+}
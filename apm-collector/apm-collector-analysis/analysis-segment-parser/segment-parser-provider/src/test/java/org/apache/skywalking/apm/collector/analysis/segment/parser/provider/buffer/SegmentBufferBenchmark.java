@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.analysis.segment.parser.provider.buffer;
+
+import com.google.protobuf.ByteString;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.network.proto.UpstreamSegment;
+import org.apache.skywalking.apm.network.proto.UniqueId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Replay the segments of a captured segment buffer file into the memory mapped buffer, against the synchronized
+ * {@link FileOutputStream} buffer it replaced. The captured file is a data file of the previous buffer format, the
+ * length delimited upstream segments, given by the system property "segment.buffer.file". A sample segment is
+ * replayed without the property.
+ * <p>
+ * Run by the main method, it is not a part of the unit tests.
+ *
+ * @author peng-yongsheng
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SegmentBufferBenchmark {
+
+    private static final String SAMPLE_SEGMENT = "CgwKCgMXjPKUga3WgBsSvAEIARiF7Jq1nywgp+yatZ8sKlASDAoKAnPAqKD5rNaAGxgBIAIqDjEyNy4wLjAuMTo5MDkyOAJCFC9zZW5kTWVzc2FnZS97Y291bnR9UhQvc2VuZE1lc3NhZ2Uve2NvdW50fTocS2Fma2EvVHJhY2UtdG9waWMtMS9Db25zdW1lclgEYBt6GwoJbXEuYnJva2VyEg4xMjcuMC4wLjE6OTA5MnoZCghtcS50b3BpYxINVHJhY2UtdG9waWMtMRImEP///////////wEY/+uatZ8sILTsmrWfLDD///////////8BUAIYAiAD";
+    private static final int FILE_SIZE = 64 * 1024 * 1024;
+
+    private UpstreamSegment[] segments;
+    private File bufferPath;
+    private File streamFile;
+    private FileOutputStream outputStream;
+
+    @Setup
+    public void setUp() throws IOException {
+        segments = loadSegments();
+        bufferPath = Files.createTempDirectory("segment-buffer").toFile();
+
+        BufferFileConfig.BUFFER_SEGMENT_MAX_FILE_SIZE = FILE_SIZE;
+        SegmentBufferManager.INSTANCE.open(new File(bufferPath, "mapped"));
+
+        new File(bufferPath, "stream").mkdirs();
+        newStreamFile();
+    }
+
+    @TearDown(Level.Iteration)
+    public void drain() {
+        SegmentBufferReader.INSTANCE.read(segment -> true);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        outputStream.close();
+        File[] files = new File(bufferPath, "mapped").listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        streamFile.delete();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void mappedBuffer(Replay replay) {
+        SegmentBufferManager.INSTANCE.writeBuffer(replay.next(segments));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void streamBuffer(Replay replay) throws IOException {
+        writeStream(replay.next(segments));
+    }
+
+    private synchronized void writeStream(UpstreamSegment segment) throws IOException {
+        segment.writeDelimitedTo(outputStream);
+        if (outputStream.getChannel().position() > FILE_SIZE) {
+            newStreamFile();
+        }
+    }
+
+    private void newStreamFile() throws IOException {
+        if (outputStream != null) {
+            outputStream.close();
+            streamFile.delete();
+        }
+        streamFile = new File(new File(bufferPath, "stream"), "data_" + System.nanoTime());
+        outputStream = new FileOutputStream(streamFile);
+    }
+
+    private static UpstreamSegment[] loadSegments() throws IOException {
+        List<UpstreamSegment> segments = new ArrayList<>();
+        String capturedFile = System.getProperty("segment.buffer.file");
+        if (capturedFile != null) {
+            try (InputStream inputStream = new FileInputStream(capturedFile)) {
+                UpstreamSegment segment;
+                while ((segment = UpstreamSegment.parseDelimitedFrom(inputStream)) != null) {
+                    segments.add(segment);
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.add(UpstreamSegment.newBuilder()
+                .addGlobalTraceIds(UniqueId.newBuilder().addIdParts(1).addIdParts(2).addIdParts(3))
+                .setSegment(ByteString.copyFrom(Base64.getDecoder().decode(SAMPLE_SEGMENT)))
+                .build());
+        }
+        return segments.toArray(new UpstreamSegment[0]);
+    }
+
+    @State(Scope.Thread)
+    public static class Replay {
+        private int index;
+
+        UpstreamSegment next(UpstreamSegment[] segments) {
+            index = index + 1 < segments.length ? index + 1 : 0;
+            return segments[index];
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(SegmentBufferBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .build();
+        new Runner(options).run();
+    }
+}
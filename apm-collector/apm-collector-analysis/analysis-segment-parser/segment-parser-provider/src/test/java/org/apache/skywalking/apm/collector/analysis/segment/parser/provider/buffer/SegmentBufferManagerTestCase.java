@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.analysis.segment.parser.provider.buffer;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.apache.skywalking.apm.network.proto.UpstreamSegment;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author peng-yongsheng
+ */
+public class SegmentBufferManagerTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        File bufferPath = folder.getRoot();
+        BufferFileConfig.BUFFER_SEGMENT_MAX_FILE_SIZE = 4096;
+        SegmentBufferManager.INSTANCE.open(bufferPath);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    SegmentBufferManager.INSTANCE.writeBuffer(MappedBufferFileTestCase.segment(thread + "-" + i));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertTrue(dataFileCount(bufferPath) > 1);
+        Assert.assertEquals(dataFileCount(bufferPath) - 1, SegmentBufferReader.INSTANCE.lagFiles());
+
+        Set<String> segments = ConcurrentHashMap.newKeySet();
+        SegmentBufferReader.INSTANCE.read(segment -> segments.add(segment.getSegment().toStringUtf8()));
+        Assert.assertEquals(2000, segments.size());
+        Assert.assertEquals(1, dataFileCount(bufferPath));
+        Assert.assertEquals(0, SegmentBufferReader.INSTANCE.lagFiles());
+        Assert.assertEquals(0, SegmentBufferReader.INSTANCE.parkedCount());
+
+        SegmentBufferManager.INSTANCE.flush();
+        BufferCheckpoint checkpoint = BufferCheckpoint.load(bufferPath);
+        for (MappedBufferFile dataFile : SegmentBufferManager.INSTANCE.getDataFiles()) {
+            Assert.assertEquals(SegmentBufferManager.INSTANCE.getCheckpoint().getReadPosition(dataFile.getId()), checkpoint.getReadPosition(dataFile.getId()));
+        }
+    }
+
+    @Test
+    public void testParkAndRetry() throws Exception {
+        File bufferPath = folder.getRoot();
+        BufferFileConfig.BUFFER_SEGMENT_MAX_FILE_SIZE = 4096;
+        SegmentBufferManager.INSTANCE.open(bufferPath);
+        for (int i = 0; i < 1000; i++) {
+            SegmentBufferManager.INSTANCE.writeBuffer(MappedBufferFileTestCase.segment("segment-" + i));
+        }
+
+        Set<String> segments = ConcurrentHashMap.newKeySet();
+        SegmentBufferReader.INSTANCE.read(segment -> {
+            String name = segment.getSegment().toStringUtf8();
+            return !name.endsWith("7") && segments.add(name);
+        });
+        Assert.assertEquals(900, segments.size());
+        Assert.assertEquals(100, SegmentBufferReader.INSTANCE.parkedCount());
+        int dataFileCount = dataFileCount(bufferPath);
+        Assert.assertTrue(dataFileCount > 1);
+
+        SegmentBufferManager.INSTANCE.flush();
+        SegmentBufferManager.INSTANCE.open(bufferPath);
+        Assert.assertEquals(dataFileCount + 1, dataFileCount(bufferPath));
+        Assert.assertEquals(100, SegmentBufferReader.INSTANCE.parkedCount());
+
+        BufferCheckpoint checkpoint = SegmentBufferManager.INSTANCE.getCheckpoint();
+        SegmentBufferReader.INSTANCE.read(segment -> segments.add(segment.getSegment().toStringUtf8()));
+        Assert.assertEquals(1000, segments.size());
+        Assert.assertEquals(0, SegmentBufferReader.INSTANCE.parkedCount());
+        Assert.assertEquals(1, dataFileCount(bufferPath));
+
+        SegmentBufferReader.INSTANCE.read(segment -> segments.add(segment.getSegment().toStringUtf8()));
+        Assert.assertEquals(1000, segments.size());
+        for (MappedBufferFile dataFile : SegmentBufferManager.INSTANCE.getDataFiles()) {
+            Assert.assertFalse(checkpoint.hasParked(dataFile.getId()));
+        }
+    }
+
+    @Test
+    public void testDiscardAfterRetries() throws Exception {
+        File bufferPath = folder.getRoot();
+        BufferFileConfig.BUFFER_SEGMENT_MAX_FILE_SIZE = 4096;
+        SegmentBufferManager.INSTANCE.open(bufferPath);
+        for (int i = 0; i < 10; i++) {
+            SegmentBufferManager.INSTANCE.writeBuffer(MappedBufferFileTestCase.segment("segment-" + i));
+        }
+
+        AtomicInteger parsed = new AtomicInteger();
+        Predicate<UpstreamSegment> parser = segment -> {
+            if (segment.getSegment().toStringUtf8().equals("segment-3")) {
+                throw new IllegalStateException("poison segment");
+            }
+            return parsed.incrementAndGet() > 0;
+        };
+        SegmentBufferReader.INSTANCE.read(parser);
+        Assert.assertEquals(9, parsed.get());
+        Assert.assertEquals(1, SegmentBufferReader.INSTANCE.parkedCount());
+
+        BufferCheckpoint checkpoint = SegmentBufferManager.INSTANCE.getCheckpoint();
+        long now = System.currentTimeMillis();
+        for (int i = 1; i < SegmentBufferReader.MAX_RETRY_TIMES; i++) {
+            now += 3600 * 1000;
+            SegmentBufferReader.INSTANCE.retry(parser, checkpoint, now);
+            Assert.assertEquals(1, SegmentBufferReader.INSTANCE.parkedCount());
+        }
+        now += 3600 * 1000;
+        SegmentBufferReader.INSTANCE.retry(parser, checkpoint, now);
+        Assert.assertEquals(0, SegmentBufferReader.INSTANCE.parkedCount());
+        Assert.assertEquals(9, parsed.get());
+    }
+
+    private int dataFileCount(File bufferPath) {
+        File[] files = bufferPath.listFiles((dir, name) -> name.startsWith(SegmentBufferManager.DATA_FILE_PREFIX));
+        return files == null ? 0 : files.length;
+    }
+}
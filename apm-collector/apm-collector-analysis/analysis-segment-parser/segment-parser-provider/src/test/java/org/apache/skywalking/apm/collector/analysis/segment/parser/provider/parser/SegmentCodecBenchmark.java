@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.analysis.segment.parser.provider.parser;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.collector.storage.table.segment.SegmentCodec;
+import org.apache.skywalking.apm.network.proto.UpstreamSegment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Encode and decode the data binaries of a captured segment corpus by every {@link SegmentCodec}, and print the size
+ * of the corpus stored by each of them. The corpus is a segment buffer data file, the length delimited upstream
+ * segments, given by the system property "segment.buffer.file". A sample segment is used without the property.
+ * <p>
+ * Run by the main method, it is not a part of the unit tests.
+ *
+ * @author peng-yongsheng
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SegmentCodecBenchmark {
+
+    private static final String SAMPLE_SEGMENT = "CgwKCgMXjPKUga3WgBsSvAEIARiF7Jq1nywgp+yatZ8sKlASDAoKAnPAqKD5rNaAGxgBIAIqDjEyNy4wLjAuMTo5MDkyOAJCFC9zZW5kTWVzc2FnZS97Y291bnR9UhQvc2VuZE1lc3NhZ2Uve2NvdW50fTocS2Fma2EvVHJhY2UtdG9waWMtMS9Db25zdW1lclgEYBt6GwoJbXEuYnJva2VyEg4xMjcuMC4wLjE6OTA5MnoZCghtcS50b3BpYxINVHJhY2UtdG9waWMtMRImEP///////////wEY/+uatZ8sILTsmrWfLDD///////////8BUAIYAiAD";
+
+    @Param({"NONE", "DEFLATE"})
+    private String codecName;
+
+    private SegmentCodec codec;
+    private byte[][] dataBinaries;
+    private byte[][] encodedBinaries;
+    private int index;
+
+    @Setup
+    public void setUp() throws IOException {
+        codec = SegmentCodec.valueOf(codecName);
+        dataBinaries = loadDataBinaries();
+        encodedBinaries = new byte[dataBinaries.length][];
+
+        long rawSize = 0;
+        long encodedSize = 0;
+        for (int i = 0; i < dataBinaries.length; i++) {
+            encodedBinaries[i] = codec.encode(dataBinaries[i]);
+            rawSize += dataBinaries[i].length;
+            encodedSize += encodedBinaries[i].length;
+        }
+        System.out.printf("%n%s: %d segments, raw size: %d bytes, stored size: %d bytes, ratio: %.3f%n",
+            codec, dataBinaries.length, rawSize, encodedSize, (double)encodedSize / rawSize);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        index = index + 1 < dataBinaries.length ? index + 1 : 0;
+        return codec.encode(dataBinaries[index]);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        index = index + 1 < encodedBinaries.length ? index + 1 : 0;
+        return SegmentCodec.decode(encodedBinaries[index]);
+    }
+
+    private static byte[][] loadDataBinaries() throws IOException {
+        List<byte[]> dataBinaries = new ArrayList<>();
+        String capturedFile = System.getProperty("segment.buffer.file");
+        if (capturedFile != null) {
+            try (InputStream inputStream = new FileInputStream(capturedFile)) {
+                UpstreamSegment segment;
+                while ((segment = UpstreamSegment.parseDelimitedFrom(inputStream)) != null) {
+                    dataBinaries.add(segment.getSegment().toByteArray());
+                }
+            }
+        }
+        if (dataBinaries.isEmpty()) {
+            dataBinaries.add(Base64.getDecoder().decode(SAMPLE_SEGMENT));
+        }
+        return dataBinaries.toArray(new byte[0][]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(SegmentCodecBenchmark.class.getSimpleName())
+            .forks(1)
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -18,30 +18,91 @@
 
 package org.apache.skywalking.apm.collector.analysis.worker.model.base;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.skywalking.apm.collector.core.data.QueueData;
+import org.apache.skywalking.apm.collector.core.load.LoadMonitor;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.IWaitStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.ParkingWaitStrategy;
 
 /**
  * @author peng-yongsheng
  */
 public abstract class AbstractLocalAsyncWorkerProvider<INPUT extends QueueData, OUTPUT extends QueueData, WORKER_TYPE extends AbstractLocalAsyncWorker<INPUT, OUTPUT>> extends AbstractWorkerProvider<INPUT, OUTPUT, WORKER_TYPE> {
 
+    private static final long MAX_PARK_MILLIS = 200;
+
     public abstract int queueSize();
 
+    /**
+     * The consumer thread of the worker parks when its queue is empty, and is signaled by the producers, so the data
+     * goes through the graph without waiting for a consume cycle. Override to use another strategy.
+     *
+     * @return wait strategy of the consumer thread
+     */
+    public IWaitStrategy waitStrategy() {
+        return new ParkingWaitStrategy(MAX_PARK_MILLIS);
+    }
+
+    /**
+     * The number of the worker instances, each one has its own queue channel and consumer thread. Override to scale a
+     * worker beyond one core, the inputs are partitioned by {@link #shardKey(QueueData)}.
+     *
+     * @return shard number, 1 means a single worker instance.
+     */
+    public int shardNum() {
+        return 1;
+    }
+
+    /**
+     * The inputs with the same shard key are processed in order, by the same worker instance. Only used when {@link
+     * #shardNum()} is more than 1.
+     *
+     * @return hash of the input
+     */
+    protected int shardKey(INPUT input) {
+        return input.hashCode();
+    }
+
     public AbstractLocalAsyncWorkerProvider(ModuleManager moduleManager) {
         super(moduleManager);
     }
 
     @Override
     public final WorkerRef<INPUT, OUTPUT> create(WorkerCreateListener workerCreateListener) {
+        int shardNum = shardNum();
+        if (shardNum > 1) {
+            return createShards(workerCreateListener, shardNum);
+        }
+
         WORKER_TYPE localAsyncWorker = workerInstance(getModuleManager());
         workerCreateListener.addWorker(localAsyncWorker);
 
         LocalAsyncWorkerRef<INPUT, OUTPUT> localAsyncWorkerRef = new LocalAsyncWorkerRef<>(localAsyncWorker);
         DataCarrier<INPUT> dataCarrier = new DataCarrier<>(1, queueSize());
-        localAsyncWorkerRef.setQueueEventHandler(dataCarrier);
-        dataCarrier.consume(localAsyncWorkerRef, 1);
+        localAsyncWorkerRef.setQueueEventHandler(dataCarrier, queueSize());
+        dataCarrier.consume(localAsyncWorkerRef, 1, waitStrategy());
+        LoadMonitor.INSTANCE.register("queue/" + localAsyncWorker.getClass().getSimpleName(), localAsyncWorkerRef::pressure);
+        return localAsyncWorkerRef;
+    }
+
+    private WorkerRef<INPUT, OUTPUT> createShards(WorkerCreateListener workerCreateListener, int shardNum) {
+        List<WORKER_TYPE> localAsyncWorkers = new ArrayList<>(shardNum);
+        for (int i = 0; i < shardNum; i++) {
+            WORKER_TYPE localAsyncWorker = workerInstance(getModuleManager());
+            workerCreateListener.addWorker(localAsyncWorker);
+            localAsyncWorkers.add(localAsyncWorker);
+        }
+        LocalAsyncWorkerShards<INPUT, OUTPUT> shards = new LocalAsyncWorkerShards<>(localAsyncWorkers, this::shardKey);
+
+        LocalAsyncWorkerRef<INPUT, OUTPUT> localAsyncWorkerRef = new LocalAsyncWorkerRef<>(shards);
+        DataCarrier<INPUT> dataCarrier = new DataCarrier<>(shardNum, queueSize());
+        dataCarrier.setPartitioner(shards);
+        localAsyncWorkerRef.setQueueEventHandler(dataCarrier, shardNum * queueSize());
+        dataCarrier.consume(localAsyncWorkerRef, shardNum, waitStrategy());
+        LoadMonitor.INSTANCE.register("queue/" + localAsyncWorkers.get(0).getClass().getSimpleName(), localAsyncWorkerRef::pressure);
         return localAsyncWorkerRef;
     }
 }
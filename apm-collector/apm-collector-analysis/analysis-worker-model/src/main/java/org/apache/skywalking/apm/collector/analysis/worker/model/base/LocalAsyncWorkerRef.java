@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.collector.analysis.worker.model.base;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.skywalking.apm.collector.core.annotations.trace.BatchParameter;
 import org.apache.skywalking.apm.collector.core.data.QueueData;
 import org.apache.skywalking.apm.collector.core.graph.NodeProcessor;
@@ -37,17 +38,28 @@ public class LocalAsyncWorkerRef<INPUT extends QueueData, OUTPUT extends QueueDa
     private final Logger logger = LoggerFactory.getLogger(LocalAsyncWorkerRef.class);
 
     private DataCarrier<INPUT> dataCarrier;
+    private int capacity;
+    private final LongAdder pending = new LongAdder();
 
     LocalAsyncWorkerRef(NodeProcessor<INPUT, OUTPUT> destinationHandler) {
         super(destinationHandler);
     }
 
-    void setQueueEventHandler(DataCarrier<INPUT> dataCarrier) {
+    void setQueueEventHandler(DataCarrier<INPUT> dataCarrier, int capacity) {
         this.dataCarrier = dataCarrier;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return the used fraction of the queue, the inputs waiting for the consumer thread.
+     */
+    double pressure() {
+        return capacity > 0 ? (double)pending.sum() / capacity : 0;
     }
 
     @Override
     public void consume(@BatchParameter List<INPUT> data) {
+        pending.add(-data.size());
         Iterator<INPUT> inputIterator = data.iterator();
 
         int i = 0;
@@ -73,7 +85,10 @@ public class LocalAsyncWorkerRef<INPUT extends QueueData, OUTPUT extends QueueDa
 
     @Override protected void in(INPUT input) {
         input.setEndOfBatchContext(new EndOfBatchContext(false));
-        dataCarrier.produce(input);
+        pending.increment();
+        if (!dataCarrier.produce(input)) {
+            pending.decrement();
+        }
     }
 
     @Override protected void out(INPUT input) {
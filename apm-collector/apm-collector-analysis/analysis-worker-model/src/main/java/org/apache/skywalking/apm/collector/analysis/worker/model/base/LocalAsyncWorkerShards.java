@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.analysis.worker.model.base;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+import org.apache.skywalking.apm.collector.core.data.QueueData;
+import org.apache.skywalking.apm.collector.core.graph.Next;
+import org.apache.skywalking.apm.collector.core.graph.NodeProcessor;
+import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
+
+/**
+ * The instances of a local async worker, one for each channel of the data carrier. It partitions the input into the
+ * channels, and dispatches the consumed input to the worker of that channel by the same partition. Each channel is
+ * consumed by its own thread, so a worker instance is never called concurrently, and the inputs with the same shard key
+ * are processed in order.
+ *
+ * @author peng-yongsheng
+ */
+class LocalAsyncWorkerShards<INPUT extends QueueData, OUTPUT extends QueueData> implements NodeProcessor<INPUT, OUTPUT>, IDataPartitioner<INPUT> {
+
+    private final List<? extends AbstractLocalAsyncWorker<INPUT, OUTPUT>> workers;
+    private final ToIntFunction<INPUT> shardKey;
+
+    LocalAsyncWorkerShards(List<? extends AbstractLocalAsyncWorker<INPUT, OUTPUT>> workers,
+        ToIntFunction<INPUT> shardKey) {
+        this.workers = workers;
+        this.shardKey = shardKey;
+    }
+
+    @Override public int id() {
+        return workers.get(0).id();
+    }
+
+    @Override public void process(INPUT input, Next<OUTPUT> next) {
+        workers.get(partition(workers.size(), input)).process(input, next);
+    }
+
+    @Override public int partition(int total, INPUT data) {
+        int hash = shardKey.applyAsInt(data);
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % total;
+    }
+
+    @Override public int maxRetryCount() {
+        return 1;
+    }
+}
@@ -21,19 +21,23 @@ package org.apache.skywalking.apm.collector.analysis.worker.model.impl;
 import org.apache.skywalking.apm.collector.analysis.worker.model.base.AbstractLocalAsyncWorker;
 import org.apache.skywalking.apm.collector.analysis.worker.model.base.WorkerException;
 import org.apache.skywalking.apm.collector.analysis.worker.model.impl.data.DataCache;
+import org.apache.skywalking.apm.collector.core.data.CompositeKey;
 import org.apache.skywalking.apm.collector.core.data.StreamData;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Aggregate the data by the {@link CompositeKey}, which must be set by the span listeners or {@link
+ * #transform(StreamData)}. The string ids are built only for the aggregated data, before sending to next.
+ *
  * @author peng-yongsheng
  */
 public abstract class AggregationWorker<INPUT extends StreamData, OUTPUT extends StreamData> extends AbstractLocalAsyncWorker<INPUT, OUTPUT> {
 
     private final Logger logger = LoggerFactory.getLogger(AggregationWorker.class);
 
-    private DataCache<OUTPUT> dataCache;
+    private DataCache<CompositeKey, OUTPUT> dataCache;
     private int messageNum;
 
     public AggregationWorker(ModuleManager moduleManager) {
@@ -70,7 +74,8 @@ public abstract class AggregationWorker<INPUT extends StreamData, OUTPUT extends
                 throw new WorkerException(e.getMessage(), e);
             }
         }
-        dataCache.getLast().collection().forEach((String id, OUTPUT data) -> {
+        dataCache.getLast().collection().forEach((CompositeKey key, OUTPUT data) -> {
+            data.materializeId();
             logger.debug(data.toString());
             onNext(data);
         });
@@ -78,11 +83,12 @@ public abstract class AggregationWorker<INPUT extends StreamData, OUTPUT extends
     }
 
     private void aggregate(OUTPUT message) {
+        CompositeKey key = message.getKey();
         dataCache.writing();
-        if (dataCache.containsKey(message.getId())) {
-            dataCache.get(message.getId()).mergeAndFormulaCalculateData(message);
+        if (dataCache.containsKey(key)) {
+            dataCache.get(key).mergeAndFormulaCalculateData(message);
         } else {
-            dataCache.put(message.getId(), message);
+            dataCache.put(key, message);
         }
         dataCache.finishWriting();
     }
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.analysis.worker.model.impl;
+
+import org.apache.skywalking.apm.collector.analysis.worker.model.base.AbstractLocalAsyncWorkerProvider;
+import org.apache.skywalking.apm.collector.core.data.CompositeKey;
+import org.apache.skywalking.apm.collector.core.data.StreamData;
+import org.apache.skywalking.apm.collector.core.module.ModuleManager;
+
+/**
+ * The aggregation workers are sharded by the {@link CompositeKey} of the input, each shard aggregates in its own
+ * {@link org.apache.skywalking.apm.collector.analysis.worker.model.impl.data.DataCache}. The providers of the workers
+ * transforming the input to another key must override {@link #shardKey(StreamData)} with a hash of the output key.
+ *
+ * @author peng-yongsheng
+ */
+public abstract class AggregationWorkerProvider<INPUT extends StreamData, OUTPUT extends StreamData, WORKER_TYPE extends AggregationWorker<INPUT, OUTPUT>> extends AbstractLocalAsyncWorkerProvider<INPUT, OUTPUT, WORKER_TYPE> {
+
+    private final int shardNum;
+
+    /**
+     * @param shardNum the shard number from the module config, less than 1 means 1.
+     */
+    public AggregationWorkerProvider(ModuleManager moduleManager, int shardNum) {
+        super(moduleManager);
+        this.shardNum = Math.max(1, shardNum);
+    }
+
+    @Override public int shardNum() {
+        return shardNum;
+    }
+
+    @Override protected int shardKey(INPUT input) {
+        CompositeKey key = input.getKey();
+        return key != null ? key.hashCode() : input.getId().hashCode();
+    }
+}
@@ -20,18 +20,24 @@ package org.apache.skywalking.apm.collector.analysis.worker.model.impl;
 
 import org.apache.skywalking.apm.collector.analysis.worker.model.base.AbstractLocalAsyncWorker;
 import org.apache.skywalking.apm.collector.analysis.worker.model.impl.data.DataCache;
+import org.apache.skywalking.apm.collector.analysis.worker.model.impl.data.MergeDataCache;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
 import org.apache.skywalking.apm.collector.core.data.StreamData;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
+import org.apache.skywalking.apm.collector.core.util.Const;
+import org.apache.skywalking.apm.collector.core.storage.TimePyramid;
 import org.apache.skywalking.apm.collector.storage.StorageModule;
 import org.apache.skywalking.apm.collector.storage.base.dao.IBatchDAO;
 import org.apache.skywalking.apm.collector.storage.base.dao.IPersistenceDAO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Objects.nonNull;
 
@@ -42,8 +48,14 @@ public abstract class PersistenceWorker<INPUT_AND_OUTPUT extends StreamData> ext
 
     private final Logger logger = LoggerFactory.getLogger(PersistenceWorker.class);
 
-    private final DataCache<INPUT_AND_OUTPUT> dataCache;
+    private static final long MERGE_CACHE_TTL = TimeUnit.MINUTES.toMillis(10);
+    private static final int MERGE_CACHE_SIZE = 4096;
+    private static final int MAX_CACHE_SIZE = 520000;
+
+    private final DataCache<String, INPUT_AND_OUTPUT> dataCache;
     private final IBatchDAO batchDAO;
+    private volatile MergeDataCache<INPUT_AND_OUTPUT> mergeDataCache;
+    private final Map<String, INPUT_AND_OUTPUT> unmergedData = new ConcurrentHashMap<>();
 
     public PersistenceWorker(ModuleManager moduleManager) {
         super(moduleManager);
@@ -63,14 +75,24 @@ public abstract class PersistenceWorker<INPUT_AND_OUTPUT extends StreamData> ext
         return isSwitch;
     }
 
+    public int cacheSize() {
+        return dataCache.currentCollectionSize();
+    }
+
+    /**
+     * @return the used fraction of the data cache, which is persisted by the worker thread itself when full.
+     */
+    public double cachePressure() {
+        return (double)cacheSize() / MAX_CACHE_SIZE;
+    }
+
     @Override protected void onWork(INPUT_AND_OUTPUT input) {
-        if (dataCache.currentCollectionSize() >= 520000) {
+        if (dataCache.currentCollectionSize() >= MAX_CACHE_SIZE) {
             try {
                 if (dataCache.trySwitchPointer()) {
                     dataCache.switchPointer();
 
-                    List<?> collection = buildBatchCollection();
-                    batchDAO.batchPersistence(collection);
+                    persistLastCollection();
                 }
             } finally {
                 dataCache.trySwitchPointerFinally();
@@ -79,8 +101,34 @@ public abstract class PersistenceWorker<INPUT_AND_OUTPUT extends StreamData> ext
         aggregate(input);
     }
 
+    /**
+     * Persist the switched data collection in one batch. The merged data is kept in the merge cache only when the
+     * batch succeeds, otherwise the cached data of the batch is dropped, so the next batch reads the storage again.
+     */
+    public final void persistLastCollection() {
+        Map<String, INPUT_AND_OUTPUT> mergedData = new HashMap<>();
+        List<?> batchCollection = buildBatchCollection(mergedData);
+        logger.debug("extract {} worker data size: {}", getClass().getName(), batchCollection.size());
+        boolean persisted = batchDAO.batchPersistence(batchCollection);
+
+        MergeDataCache<INPUT_AND_OUTPUT> mergeDataCache = this.mergeDataCache;
+        if (mergeDataCache == null || mergedData.isEmpty()) {
+            return;
+        }
+        if (persisted) {
+            long now = System.currentTimeMillis();
+            mergedData.forEach((id, data) -> mergeDataCache.put(id, data, timeBucketOf(id), now));
+        } else {
+            logger.warn("{} batch failure, drop {} merged data from the merge cache", getClass().getSimpleName(), mergedData.size());
+            mergedData.keySet().forEach(mergeDataCache::remove);
+        }
+    }
+
+    /**
+     * @param mergedData the data of the batch to be kept in the merge cache after the batch persisted.
+     */
     @GraphComputingMetric(name = "/persistence/buildBatchCollection/")
-    public final List<?> buildBatchCollection() {
+    public final List<?> buildBatchCollection(Map<String, INPUT_AND_OUTPUT> mergedData) {
         List<?> batchCollection = new LinkedList<>();
         try {
             while (dataCache.getLast().isWriting()) {
@@ -92,7 +140,7 @@ public abstract class PersistenceWorker<INPUT_AND_OUTPUT extends StreamData> ext
             }
 
             if (dataCache.getLast().collection() != null) {
-                batchCollection = prepareBatch(dataCache.getLast().collection());
+                batchCollection = prepareBatch(dataCache.getLast().collection(), mergedData);
             }
         } finally {
             dataCache.finishReadingLast();
@@ -100,32 +148,43 @@ public abstract class PersistenceWorker<INPUT_AND_OUTPUT extends StreamData> ext
         return batchCollection;
     }
 
-    private List<Object> prepareBatch(Map<String, INPUT_AND_OUTPUT> dataMap) {
+    private List<Object> prepareBatch(Map<String, INPUT_AND_OUTPUT> dataMap,
+        Map<String, INPUT_AND_OUTPUT> mergedData) {
         List<Object> insertBatchCollection = new LinkedList<>();
         List<Object> updateBatchCollection = new LinkedList<>();
+        Map<String, INPUT_AND_OUTPUT> dbDataMap = new HashMap<>();
+        if (needMergeDBData()) {
+            takeUnmergedData(dataMap);
+            try {
+                dbDataMap.putAll(getDBData(dataMap));
+            } catch (Throwable t) {
+                logger.error(t.getMessage(), t);
+                keepUnmergedData(dataMap);
+                return insertBatchCollection;
+            }
+        }
+        boolean cacheMergedData = needMergeDBData() && nonNull(getMergeDataCache());
+
         dataMap.forEach((id, data) -> {
-            if (needMergeDBData()) {
-                INPUT_AND_OUTPUT dbData = persistenceDAO().get(id);
-                if (nonNull(dbData)) {
-                    dbData.mergeAndFormulaCalculateData(data);
-                    try {
-                        updateBatchCollection.add(persistenceDAO().prepareBatchUpdate(dbData));
-                        onNext(dbData);
-                    } catch (Throwable t) {
-                        logger.error(t.getMessage(), t);
-                    }
-                } else {
-                    try {
-                        insertBatchCollection.add(persistenceDAO().prepareBatchInsert(data));
-                        onNext(data);
-                    } catch (Throwable t) {
-                        logger.error(t.getMessage(), t);
+            INPUT_AND_OUTPUT dbData = dbDataMap.get(id);
+            if (nonNull(dbData)) {
+                dbData.mergeAndFormulaCalculateData(data);
+                try {
+                    updateBatchCollection.add(persistenceDAO().prepareBatchUpdate(dbData));
+                    onNext(dbData);
+                    if (cacheMergedData) {
+                        mergedData.put(id, dbData);
                     }
+                } catch (Throwable t) {
+                    logger.error(t.getMessage(), t);
                 }
             } else {
                 try {
                     insertBatchCollection.add(persistenceDAO().prepareBatchInsert(data));
                     onNext(data);
+                    if (cacheMergedData) {
+                        mergedData.put(id, data);
+                    }
                 } catch (Throwable t) {
                     logger.error(t.getMessage(), t);
                 }
@@ -136,6 +195,89 @@ public abstract class PersistenceWorker<INPUT_AND_OUTPUT extends StreamData> ext
         return insertBatchCollection;
     }
 
+    /**
+     * Keep the data which can't be merged with the storage, an insert would overwrite the stored data, merge it into
+     * the next batch. The data is dropped if too much is kept, when the storage can't be read for a long time.
+     */
+    private void keepUnmergedData(Map<String, INPUT_AND_OUTPUT> dataMap) {
+        if (unmergedData.size() + dataMap.size() > MAX_CACHE_SIZE) {
+            logger.error("{} can't read the storage, drop {} data", getClass().getSimpleName(), dataMap.size());
+            return;
+        }
+        logger.warn("{} can't read the storage, merge {} data into the next batch", getClass().getSimpleName(), dataMap.size());
+        unmergedData.putAll(dataMap);
+    }
+
+    private void takeUnmergedData(Map<String, INPUT_AND_OUTPUT> dataMap) {
+        unmergedData.keySet().forEach(id -> {
+            INPUT_AND_OUTPUT data = unmergedData.remove(id);
+            if (nonNull(data)) {
+                INPUT_AND_OUTPUT current = dataMap.get(id);
+                if (nonNull(current)) {
+                    current.mergeAndFormulaCalculateData(data);
+                } else {
+                    dataMap.put(id, data);
+                }
+            }
+        });
+    }
+
+    /**
+     * Take the persisted data from the merge cache, and read the others from the storage in one bulk get.
+     */
+    private Map<String, INPUT_AND_OUTPUT> getDBData(Map<String, INPUT_AND_OUTPUT> dataMap) {
+        MergeDataCache<INPUT_AND_OUTPUT> mergeDataCache = getMergeDataCache();
+        if (mergeDataCache == null) {
+            return persistenceDAO().get(dataMap.keySet());
+        }
+
+        Map<String, INPUT_AND_OUTPUT> dbDataMap = new HashMap<>();
+        List<String> missingIds = new LinkedList<>();
+        long now = System.currentTimeMillis();
+        dataMap.keySet().forEach(id -> {
+            INPUT_AND_OUTPUT cachedData = mergeDataCache.get(id, now);
+            if (nonNull(cachedData)) {
+                dbDataMap.put(id, cachedData);
+            } else {
+                missingIds.add(id);
+            }
+        });
+        if (!missingIds.isEmpty()) {
+            dbDataMap.putAll(persistenceDAO().get(missingIds));
+        }
+        return dbDataMap;
+    }
+
+    /**
+     * @return the time bucket at the head of the id, such as "2018030112_2_3", 0 if the id has no time bucket.
+     */
+    private long timeBucketOf(String id) {
+        int index = id.indexOf(Const.ID_SPLIT);
+        try {
+            return Long.parseLong(index < 0 ? id : id.substring(0, index));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private MergeDataCache<INPUT_AND_OUTPUT> getMergeDataCache() {
+        if (mergeDataCache == null && mergeCacheSize() > 0) {
+            mergeDataCache = new MergeDataCache<>(mergeCacheSize(), MERGE_CACHE_TTL);
+        }
+        return mergeDataCache;
+    }
+
+    /**
+     * Drop the merge cache, called when the collector cluster changes, because other collectors may have persisted
+     * the same ids since.
+     */
+    public void clearMergeCache() {
+        MergeDataCache<INPUT_AND_OUTPUT> mergeDataCache = this.mergeDataCache;
+        if (nonNull(mergeDataCache)) {
+            mergeDataCache.clear();
+        }
+    }
+
     private void aggregate(INPUT_AND_OUTPUT input) {
         dataCache.writing();
         if (dataCache.containsKey(input.getId())) {
@@ -150,4 +292,25 @@ public abstract class PersistenceWorker<INPUT_AND_OUTPUT extends StreamData> ext
     protected abstract IPersistenceDAO<?, ?, INPUT_AND_OUTPUT> persistenceDAO();
 
     protected abstract boolean needMergeDBData();
+
+    /**
+     * Cache the persisted data for merging the next batches in memory, only the data persisted by this worker, which
+     * isn't passed to any next worker, can be cached. Only works when {@link #needMergeDBData()}.
+     *
+     * @return max size of the merge cache, 0 means no cache. The hour, day and month workers end the worker graphs, so
+     * they are cached by default, the minute workers pass their data to the next workers.
+     */
+    protected int mergeCacheSize() {
+        return timePyramid() == TimePyramid.Minute ? 0 : MERGE_CACHE_SIZE;
+    }
+
+    /**
+     * The time bucket of the persisted data, the data of a coarse bucket is merged in the cache for a longer time
+     * before flushed, see {@link org.apache.skywalking.apm.collector.analysis.worker.timer.PersistenceTimer}.
+     *
+     * @return {@link TimePyramid#Minute} for the minute metrics and the records.
+     */
+    public TimePyramid timePyramid() {
+        return TimePyramid.Minute;
+    }
 }
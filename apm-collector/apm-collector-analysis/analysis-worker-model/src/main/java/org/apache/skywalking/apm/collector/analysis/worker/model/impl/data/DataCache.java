@@ -24,23 +24,23 @@ import org.apache.skywalking.apm.collector.core.data.StreamData;
 /**
  * @author peng-yongsheng
  */
-public class DataCache<STREAM_DATA extends StreamData> extends Window<DataCollection<STREAM_DATA>> {
+public class DataCache<KEY, STREAM_DATA extends StreamData> extends Window<DataCollection<KEY, STREAM_DATA>> {
 
-    private DataCollection<STREAM_DATA> lockedDataCollection;
+    private DataCollection<KEY, STREAM_DATA> lockedDataCollection;
 
-    @Override public DataCollection<STREAM_DATA> collectionInstance() {
+    @Override public DataCollection<KEY, STREAM_DATA> collectionInstance() {
         return new DataCollection<>();
     }
 
-    public boolean containsKey(String id) {
+    public boolean containsKey(KEY id) {
         return lockedDataCollection.containsKey(id);
     }
 
-    public StreamData get(String id) {
+    public StreamData get(KEY id) {
         return lockedDataCollection.get(id);
     }
 
-    public void put(String id, STREAM_DATA data) {
+    public void put(KEY id, STREAM_DATA data) {
         lockedDataCollection.put(id, data);
     }
 
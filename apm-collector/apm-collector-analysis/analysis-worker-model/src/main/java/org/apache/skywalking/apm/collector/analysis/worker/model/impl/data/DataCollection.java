@@ -24,10 +24,11 @@ import org.apache.skywalking.apm.collector.core.cache.Collection;
 import org.apache.skywalking.apm.collector.core.data.StreamData;
 
 /**
+ * @param <KEY> the id of the data, the string id, or the {@code CompositeKey} in the aggregation path.
  * @author peng-yongsheng
  */
-public class DataCollection<STREAM_DATA extends StreamData> implements Collection<Map<String, STREAM_DATA>> {
-    private Map<String, STREAM_DATA> data;
+public class DataCollection<KEY, STREAM_DATA extends StreamData> implements Collection<Map<KEY, STREAM_DATA>> {
+    private Map<KEY, STREAM_DATA> data;
     private volatile boolean writing;
     private volatile boolean reading;
 
@@ -61,15 +62,15 @@ public class DataCollection<STREAM_DATA extends StreamData> implements Collectio
         return reading;
     }
 
-    boolean containsKey(String key) {
+    boolean containsKey(KEY key) {
         return data.containsKey(key);
     }
 
-    void put(String key, STREAM_DATA value) {
+    void put(KEY key, STREAM_DATA value) {
         data.put(key, value);
     }
 
-    public STREAM_DATA get(String key) {
+    public STREAM_DATA get(KEY key) {
         return data.get(key);
     }
 
@@ -81,7 +82,7 @@ public class DataCollection<STREAM_DATA extends StreamData> implements Collectio
         data.clear();
     }
 
-    public Map<String, STREAM_DATA> collection() {
+    public Map<KEY, STREAM_DATA> collection() {
         return data;
     }
 }
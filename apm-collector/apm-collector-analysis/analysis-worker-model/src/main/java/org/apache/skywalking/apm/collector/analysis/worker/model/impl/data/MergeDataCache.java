@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.analysis.worker.model.impl.data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.skywalking.apm.collector.core.data.StreamData;
+
+/**
+ * The last persisted stream data of a persistence worker, so the next batch merges into them in memory, instead of
+ * reading them from the storage again.
+ * <p>
+ * The least recently used data is evicted when the size exceeds the max size. When the data of a newer time bucket is
+ * put, the data older than the previous time bucket is evicted, the previous one stays for the late arrivals. The data
+ * also expires after the ttl, so the storage is read again from time to time.
+ *
+ * @author peng-yongsheng
+ */
+public class MergeDataCache<STREAM_DATA extends StreamData> {
+
+    private final int maxSize;
+    private final long ttl;
+    private final LinkedHashMap<String, Entry<STREAM_DATA>> data;
+    private long latestTimeBucket;
+    private long previousTimeBucket;
+
+    public MergeDataCache(int maxSize, long ttl) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.data = new LinkedHashMap<String, Entry<STREAM_DATA>>(16, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<String, Entry<STREAM_DATA>> eldest) {
+                return size() > MergeDataCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the cached data, or null if absent or expired.
+     */
+    public synchronized STREAM_DATA get(String id, long now) {
+        Entry<STREAM_DATA> entry = data.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (now - entry.putTime > ttl) {
+            data.remove(id);
+            return null;
+        }
+        return entry.streamData;
+    }
+
+    /**
+     * Keep the data after its batch persisted, the ttl starts again only when the data is read from the storage.
+     */
+    public synchronized void put(String id, STREAM_DATA streamData, long timeBucket, long putTime) {
+        if (timeBucket > latestTimeBucket) {
+            previousTimeBucket = latestTimeBucket;
+            latestTimeBucket = timeBucket;
+            data.values().removeIf(entry -> entry.timeBucket < previousTimeBucket);
+        }
+
+        Entry<STREAM_DATA> entry = data.get(id);
+        if (entry != null && entry.streamData == streamData) {
+            return;
+        }
+        data.put(id, new Entry<>(streamData, timeBucket, putTime));
+    }
+
+    public synchronized void remove(String id) {
+        data.remove(id);
+    }
+
+    public synchronized void clear() {
+        data.clear();
+    }
+
+    public synchronized int size() {
+        return data.size();
+    }
+
+    private static class Entry<STREAM_DATA> {
+        private final STREAM_DATA streamData;
+        private final long timeBucket;
+        private final long putTime;
+
+        private Entry(STREAM_DATA streamData, long timeBucket, long putTime) {
+            this.streamData = streamData;
+            this.timeBucket = timeBucket;
+            this.putTime = putTime;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.analysis.worker.timer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.skywalking.apm.collector.analysis.worker.model.impl.PersistenceWorker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The flush schedule of a persistence worker. The worker is flushed when its interval elapsed, or its cache reached the
+ * flush size, and never by two threads at once.
+ * <p>
+ * The interval adapts to the latency of the flushes. A flush taking more than half of the interval doubles it, up to
+ * {@link #MAX_INTERVAL_FACTOR} times of the configured interval, so the slow storage gets fewer and larger bulks. A
+ * flush taking less than {@link #FAST_LATENCY_RATIO} of the interval halves it, back to the configured interval.
+ *
+ * @author peng-yongsheng
+ */
+class FlushSchedule {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlushSchedule.class);
+
+    static final int MAX_INTERVAL_FACTOR = 8;
+    private static final double SLOW_LATENCY_RATIO = 0.5;
+    private static final double FAST_LATENCY_RATIO = 0.125;
+
+    private final PersistenceWorker worker;
+    private final long baseInterval;
+    private final int flushSize;
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
+    private volatile long interval;
+    private volatile long lastFlushTime;
+    private volatile long lastLatency;
+
+    FlushSchedule(PersistenceWorker worker, long baseInterval, int flushSize, long now) {
+        this.worker = worker;
+        this.baseInterval = Math.max(1, baseInterval);
+        this.flushSize = flushSize;
+        this.interval = this.baseInterval;
+        this.lastFlushTime = now;
+    }
+
+    PersistenceWorker getWorker() {
+        return worker;
+    }
+
+    /**
+     * @return true if the flush is due and this caller owns it, {@link #finish(long, long)} must be called after.
+     */
+    boolean tryStart(long now) {
+        boolean due = now - lastFlushTime >= interval || (flushSize > 0 && worker.cacheSize() >= flushSize);
+        return due && flushing.compareAndSet(false, true);
+    }
+
+    void finish(long startTime, long endTime) {
+        lastLatency = endTime - startTime;
+        lastFlushTime = endTime;
+        adjust(lastLatency);
+        flushing.set(false);
+    }
+
+    private void adjust(long latency) {
+        long current = interval;
+        long next = current;
+        if (latency > current * SLOW_LATENCY_RATIO) {
+            next = Math.min(current * 2, baseInterval * MAX_INTERVAL_FACTOR);
+        } else if (latency < current * FAST_LATENCY_RATIO) {
+            next = Math.max(current / 2, baseInterval);
+        }
+        if (next != current) {
+            interval = next;
+            logger.info("flush interval of {}: {}ms -> {}ms, flush latency: {}ms", worker.getClass().getSimpleName(), current, next, latency);
+        }
+    }
+
+    long getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return the latency of the last flush against the slow latency of the max interval, 1 means the interval can't
+     * adapt to the storage anymore.
+     */
+    double pressure() {
+        return lastLatency / (SLOW_LATENCY_RATIO * baseInterval * MAX_INTERVAL_FACTOR);
+    }
+}
@@ -18,19 +18,30 @@
 
 package org.apache.skywalking.apm.collector.analysis.worker.timer;
 
-import java.util.LinkedList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.apm.collector.analysis.worker.model.impl.PersistenceWorker;
+import org.apache.skywalking.apm.collector.core.load.LoadMonitor;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
-import org.apache.skywalking.apm.collector.storage.StorageModule;
-import org.apache.skywalking.apm.collector.storage.base.dao.IBatchDAO;
+import org.apache.skywalking.apm.collector.core.storage.TimePyramid;
+import org.apache.skywalking.apm.collector.remote.RemoteModule;
+import org.apache.skywalking.apm.collector.remote.service.RemoteSenderService;
 import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Flush the persistence workers by their own schedules, see {@link FlushSchedule}. The interval of a worker is
+ * configured by the {@link TimePyramid} of its data, the minute metrics are flushed frequently and the month metrics
+ * rarely. Each due worker is flushed as a separate bulk, on a small pool, so the independent tables are persisted in
+ * parallel and a slow table doesn't hold the others.
+ *
  * @author peng-yongsheng
  */
 public enum PersistenceTimer {
@@ -38,45 +49,99 @@ public enum PersistenceTimer {
 
     private static final Logger logger = LoggerFactory.getLogger(PersistenceTimer.class);
 
+    private static final long TICK_MILLIS = 1000;
+
     private Boolean isStarted = false;
-    private List<PersistenceWorker> persistenceWorkers = new LinkedList<>();
+    private final List<FlushSchedule> schedules = new CopyOnWriteArrayList<>();
+    private final Map<TimePyramid, Long> flushIntervals = new EnumMap<>(TimePyramid.class);
+    private int flushSize = 50000;
+    private int flushThreads = 2;
+    private ExecutorService flushExecutor;
+
+    PersistenceTimer() {
+        flushIntervals.put(TimePyramid.Minute, TimeUnit.SECONDS.toMillis(3));
+        flushIntervals.put(TimePyramid.Hour, TimeUnit.SECONDS.toMillis(10));
+        flushIntervals.put(TimePyramid.Day, TimeUnit.SECONDS.toMillis(30));
+        flushIntervals.put(TimePyramid.Month, TimeUnit.SECONDS.toMillis(60));
+    }
+
+    /**
+     * Set the flush interval of the workers of a time pyramid, before the timer starts.
+     */
+    public void setFlushInterval(TimePyramid timePyramid, int seconds) {
+        if (seconds > 0) {
+            flushIntervals.put(timePyramid, TimeUnit.SECONDS.toMillis(seconds));
+        }
+    }
+
+    /**
+     * @param flushSize a worker is flushed before its interval elapsed when its cache reached the size, 0 means never.
+     */
+    public void setFlushSize(int flushSize) {
+        this.flushSize = Math.max(0, flushSize);
+    }
+
+    public void setFlushThreads(int flushThreads) {
+        this.flushThreads = Math.max(1, flushThreads);
+    }
 
     public void start(ModuleManager moduleManager, List<PersistenceWorker> persistenceWorkers) {
         logger.info("persistence timer start");
-        this.persistenceWorkers.addAll(persistenceWorkers);
-        //TODO timer value config
-//        final long timeInterval = EsConfig.Es.Persistence.Timer.VALUE * 1000;
-        final long timeInterval = 3;
-        IBatchDAO batchDAO = moduleManager.find(StorageModule.NAME).getService(IBatchDAO.class);
+
+        long now = System.currentTimeMillis();
+        persistenceWorkers.forEach(worker -> {
+            schedules.add(new FlushSchedule(worker, flushIntervals.get(worker.timePyramid()), flushSize, now));
+            LoadMonitor.INSTANCE.register("cache/" + worker.getClass().getSimpleName(), worker::cachePressure);
+        });
 
         if (!isStarted) {
+            LoadMonitor.INSTANCE.register("persistence", this::pressure);
+
+            RemoteSenderService remoteSenderService = moduleManager.find(RemoteModule.NAME).getService(RemoteSenderService.class);
+            remoteSenderService.addRemoteClientsChangeListener(() -> {
+                logger.info("collector cluster changed, clear the merge cache of persistence workers");
+                this.schedules.forEach(schedule -> schedule.getWorker().clearMergeCache());
+            });
+
+            AtomicInteger threadIndex = new AtomicInteger();
+            flushExecutor = Executors.newFixedThreadPool(flushThreads, runnable -> new Thread(runnable, "PersistenceFlush-" + threadIndex.getAndIncrement()));
             Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(
-                new RunnableWithExceptionProtection(() -> extractDataAndSave(batchDAO, this.persistenceWorkers),
-                    t -> logger.error("Extract data and save failure.", t)), 1, timeInterval, TimeUnit.SECONDS);
+                new RunnableWithExceptionProtection(() -> flushDue(System.currentTimeMillis()),
+                    t -> logger.error("Extract data and save failure.", t)), TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
 
             this.isStarted = true;
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private void extractDataAndSave(IBatchDAO batchDAO, List<PersistenceWorker> persistenceWorkers) {
-        logger.debug("Extract data and save");
-        try {
-            List batchAllCollection = new LinkedList();
-            persistenceWorkers.forEach((PersistenceWorker worker) -> {
-                logger.debug("extract {} worker data and save", worker.getClass().getName());
-                if (worker.flushAndSwitch()) {
-                    List<?> batchCollection = worker.buildBatchCollection();
-                    logger.debug("extract {} worker data size: {}", worker.getClass().getName(), batchCollection.size());
-                    batchAllCollection.addAll(batchCollection);
-                }
-            });
+    private void flushDue(long now) {
+        for (FlushSchedule schedule : schedules) {
+            if (schedule.tryStart(now)) {
+                flushExecutor.execute(() -> extractDataAndSave(schedule));
+            }
+        }
+    }
 
-            batchDAO.batchPersistence(batchAllCollection);
+    private void extractDataAndSave(FlushSchedule schedule) {
+        PersistenceWorker worker = schedule.getWorker();
+        logger.debug("extract {} worker data and save", worker.getClass().getName());
+        long startTime = System.currentTimeMillis();
+        try {
+            if (worker.flushAndSwitch()) {
+                worker.persistLastCollection();
+            }
         } catch (Throwable e) {
             logger.error(e.getMessage(), e);
         } finally {
+            schedule.finish(startTime, System.currentTimeMillis());
             logger.debug("persistence data save finish");
         }
     }
+
+    private double pressure() {
+        double pressure = 0;
+        for (FlushSchedule schedule : schedules) {
+            pressure = Math.max(pressure, schedule.pressure());
+        }
+        return pressure;
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.analysis.worker.model.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.skywalking.apm.collector.core.data.CompositeKey;
+import org.apache.skywalking.apm.collector.storage.table.service.ServiceMetric;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author peng-yongsheng
+ */
+public class LocalAsyncWorkerShardsTest {
+
+    @Test
+    public void testDispatchByShardKey() {
+        List<RecordWorker> workers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            workers.add(new RecordWorker());
+        }
+        LocalAsyncWorkerShards<ServiceMetric, ServiceMetric> shards = new LocalAsyncWorkerShards<>(workers, serviceMetric -> serviceMetric.getKey().hashCode());
+
+        for (int round = 0; round < 3; round++) {
+            for (int serviceId = 0; serviceId < 100; serviceId++) {
+                ServiceMetric serviceMetric = new ServiceMetric();
+                serviceMetric.setKey(CompositeKey.of(201803011200L, serviceId, 1));
+                serviceMetric.setServiceId(serviceId);
+                serviceMetric.setTransactionCalls(round);
+
+                int partition = shards.partition(workers.size(), serviceMetric);
+                shards.process(serviceMetric, null);
+                RecordWorker worker = workers.get(partition);
+                Assert.assertSame(serviceMetric, worker.received.get(worker.received.size() - 1));
+            }
+        }
+
+        int total = 0;
+        for (RecordWorker worker : workers) {
+            Assert.assertTrue(worker.received.size() > 0);
+            total += worker.received.size();
+        }
+        for (int serviceId = 0; serviceId < 100; serviceId++) {
+            int holders = 0;
+            for (RecordWorker worker : workers) {
+                List<Long> calls = new ArrayList<>();
+                for (ServiceMetric serviceMetric : worker.received) {
+                    if (serviceMetric.getServiceId() == serviceId) {
+                        calls.add(serviceMetric.getTransactionCalls());
+                    }
+                }
+                if (!calls.isEmpty()) {
+                    holders++;
+                    Assert.assertEquals(Arrays.asList(0L, 1L, 2L), calls);
+                }
+            }
+            Assert.assertEquals(1, holders);
+        }
+        Assert.assertEquals(300, total);
+    }
+
+    private static class RecordWorker extends AbstractLocalAsyncWorker<ServiceMetric, ServiceMetric> {
+        private final List<ServiceMetric> received = new ArrayList<>();
+
+        RecordWorker() {
+            super(null);
+        }
+
+        @Override public int id() {
+            return 1;
+        }
+
+        @Override protected void onWork(ServiceMetric message) {
+            received.add(message);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.analysis.worker.model.impl.data;
+
+import org.apache.skywalking.apm.collector.storage.table.service.ServiceMetric;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author peng-yongsheng
+ */
+public class MergeDataCacheTest {
+
+    @Test
+    public void testEvictLeastRecentlyUsed() {
+        MergeDataCache<ServiceMetric> cache = new MergeDataCache<>(2, 1000);
+        cache.put("1", serviceMetric("1"), 201803011200L, 0);
+        cache.put("2", serviceMetric("2"), 201803011200L, 0);
+        Assert.assertNotNull(cache.get("1", 10));
+
+        cache.put("3", serviceMetric("3"), 201803011200L, 10);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNull(cache.get("2", 10));
+        Assert.assertNotNull(cache.get("1", 10));
+        Assert.assertNotNull(cache.get("3", 10));
+    }
+
+    @Test
+    public void testExpire() {
+        MergeDataCache<ServiceMetric> cache = new MergeDataCache<>(10, 1000);
+        ServiceMetric serviceMetric = serviceMetric("1");
+        cache.put("1", serviceMetric, 201803011200L, 0);
+
+        cache.put("1", serviceMetric, 201803011200L, 900);
+        Assert.assertSame(serviceMetric, cache.get("1", 1000));
+        Assert.assertNull(cache.get("1", 1001));
+        Assert.assertEquals(0, cache.size());
+
+        cache.put("1", serviceMetric, 201803011200L, 2000);
+        cache.clear();
+        Assert.assertNull(cache.get("1", 2000));
+    }
+
+    @Test
+    public void testRemoveFailedBatch() {
+        MergeDataCache<ServiceMetric> cache = new MergeDataCache<>(10, 1000);
+        cache.put("1", serviceMetric("1"), 201803011200L, 0);
+        cache.put("2", serviceMetric("2"), 201803011200L, 0);
+
+        cache.remove("1");
+        Assert.assertNull(cache.get("1", 0));
+        Assert.assertNotNull(cache.get("2", 0));
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testEvictRolledOverTimeBucket() {
+        MergeDataCache<ServiceMetric> cache = new MergeDataCache<>(10, 1000);
+        cache.put("1", serviceMetric("1"), 2018030110L, 0);
+        cache.put("2", serviceMetric("2"), 2018030111L, 0);
+        Assert.assertEquals(2, cache.size());
+
+        cache.put("3", serviceMetric("3"), 2018030112L, 0);
+        Assert.assertNull(cache.get("1", 0));
+        Assert.assertNotNull(cache.get("2", 0));
+        Assert.assertNotNull(cache.get("3", 0));
+
+        cache.put("4", serviceMetric("4"), 2018030111L, 0);
+        Assert.assertEquals(3, cache.size());
+    }
+
+    private ServiceMetric serviceMetric(String id) {
+        ServiceMetric serviceMetric = new ServiceMetric();
+        serviceMetric.setId(id);
+        return serviceMetric;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.analysis.worker.timer;
+
+import org.apache.skywalking.apm.collector.analysis.worker.model.impl.PersistenceWorker;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * @author peng-yongsheng
+ */
+public class FlushScheduleTest {
+
+    @Test
+    public void testDueByIntervalAndSize() {
+        PersistenceWorker worker = Mockito.mock(PersistenceWorker.class);
+        FlushSchedule schedule = new FlushSchedule(worker, 3000, 100, 0);
+
+        Assert.assertFalse(schedule.tryStart(2999));
+        Assert.assertTrue(schedule.tryStart(3000));
+        Assert.assertFalse(schedule.tryStart(3001));
+        schedule.finish(3000, 3100);
+
+        Assert.assertFalse(schedule.tryStart(4000));
+        Mockito.when(worker.cacheSize()).thenReturn(100);
+        Assert.assertTrue(schedule.tryStart(4000));
+        schedule.finish(4000, 4100);
+    }
+
+    @Test
+    public void testAdaptiveInterval() {
+        PersistenceWorker worker = Mockito.mock(PersistenceWorker.class);
+        FlushSchedule schedule = new FlushSchedule(worker, 3000, 0, 0);
+
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            long latency = schedule.getInterval() * 3 / 5;
+            now += schedule.getInterval();
+            Assert.assertTrue(schedule.tryStart(now));
+            schedule.finish(now, now + latency);
+            now += latency;
+        }
+        Assert.assertEquals(3000 * FlushSchedule.MAX_INTERVAL_FACTOR, schedule.getInterval());
+
+        now += schedule.getInterval();
+        Assert.assertTrue(schedule.tryStart(now));
+        schedule.finish(now, now + 20000);
+        now += 20000;
+        Assert.assertEquals(3000 * FlushSchedule.MAX_INTERVAL_FACTOR, schedule.getInterval());
+        Assert.assertTrue(schedule.pressure() > 1);
+
+        for (int i = 0; i < 5; i++) {
+            now += schedule.getInterval();
+            Assert.assertTrue(schedule.tryStart(now));
+            schedule.finish(now, now + 100);
+            now += 100;
+        }
+        Assert.assertEquals(3000, schedule.getInterval());
+        Assert.assertTrue(schedule.pressure() < 0.1);
+    }
+}
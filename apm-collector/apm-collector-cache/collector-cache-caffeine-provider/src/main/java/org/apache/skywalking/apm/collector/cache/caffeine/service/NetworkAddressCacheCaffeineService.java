@@ -32,6 +32,7 @@ import org.slf4j.LoggerFactory;
 import java.util.concurrent.TimeUnit;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * @author peng-yongsheng
@@ -42,6 +43,12 @@ public class NetworkAddressCacheCaffeineService implements NetworkAddressCacheSe
 
     private final Cache<String, Integer> addressCache = Caffeine.newBuilder().expireAfterWrite(10, TimeUnit.SECONDS).initialCapacity(1000).maximumSize(5000).build();
 
+    /**
+     * The lookups of the storage, the concurrent lookups of an address wait for the first one. The addresses not
+     * registered yet are kept for a short time, so they are not looked up again by each segment.
+     */
+    private final Cache<String, Integer> lookupCache = Caffeine.newBuilder().expireAfterWrite(2, TimeUnit.SECONDS).maximumSize(5000).build();
+
     private final ModuleManager moduleManager;
     private INetworkAddressCacheDAO networkAddressCacheDAO;
 
@@ -57,21 +64,23 @@ public class NetworkAddressCacheCaffeineService implements NetworkAddressCacheSe
     }
 
     public int getAddressId(String networkAddress) {
+        Integer cachedId = addressCache.getIfPresent(networkAddress);
+        if (nonNull(cachedId)) {
+            return cachedId;
+        }
+
         int addressId = 0;
         try {
-            Integer value = addressCache.get(networkAddress, key -> getNetworkAddressCacheDAO().getAddressId(key));
+            Integer value = lookupCache.get(networkAddress, key -> getNetworkAddressCacheDAO().getAddressId(key));
             addressId = value == null ? 0 : value;
-
-            if (addressId == 0) {
-                addressId = getNetworkAddressCacheDAO().getAddressId(networkAddress);
-                if (addressId != 0) {
-                    addressCache.put(networkAddress, addressId);
-                }
-            }
         } catch (Throwable e) {
             logger.error(e.getMessage(), e);
         }
 
+        if (addressId != 0) {
+            addressCache.put(networkAddress, addressId);
+            lookupCache.invalidate(networkAddress);
+        }
         return addressId;
     }
 
@@ -93,4 +102,10 @@ public class NetworkAddressCacheCaffeineService implements NetworkAddressCacheSe
         }
         return networkAddress;
     }
+
+    @Override public void put(NetworkAddress networkAddress) {
+        addressCache.put(networkAddress.getNetworkAddress(), networkAddress.getAddressId());
+        lookupCache.invalidate(networkAddress.getNetworkAddress());
+        idCache.put(networkAddress.getAddressId(), networkAddress);
+    }
 }
@@ -25,7 +25,16 @@ import org.apache.skywalking.apm.collector.storage.table.register.NetworkAddress
  * @author peng-yongsheng
  */
 public interface NetworkAddressCacheService extends Service {
+    /**
+     * @return the address id, 0 if not registered yet. The not registered addresses are not looked up in the storage
+     * again for a short time, unless put by the register.
+     */
     int getAddressId(String networkAddress);
 
     NetworkAddress getAddress(int addressId);
+
+    /**
+     * Put the network address registered by this collector, it is found without a storage query.
+     */
+    void put(NetworkAddress networkAddress);
 }
@@ -19,10 +19,20 @@
 package org.apache.skywalking.apm.collector.cache.service;
 
 import org.apache.skywalking.apm.collector.core.module.Service;
+import org.apache.skywalking.apm.collector.storage.table.register.ServiceName;
 
 /**
  * @author peng-yongsheng
  */
 public interface ServiceIdCacheService extends Service {
+    /**
+     * @return the service id, 0 if not registered yet. The not registered service names are not looked up in the
+     * storage again for a short time, unless put by the register.
+     */
     int get(int applicationId, int srcSpanType, String serviceName);
+
+    /**
+     * Put the service name registered by this collector, it is found without a storage query.
+     */
+    void put(ServiceName serviceName);
 }
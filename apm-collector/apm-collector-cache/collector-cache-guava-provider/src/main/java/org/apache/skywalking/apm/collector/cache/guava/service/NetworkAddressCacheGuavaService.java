@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.collector.cache.guava.service;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.apm.collector.cache.service.NetworkAddressCacheService;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
 import org.apache.skywalking.apm.collector.core.util.StringUtils;
@@ -30,6 +31,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * @author peng-yongsheng
@@ -40,6 +42,12 @@ public class NetworkAddressCacheGuavaService implements NetworkAddressCacheServi
 
     private final Cache<String, Integer> addressCache = CacheBuilder.newBuilder().initialCapacity(1000).maximumSize(5000).build();
 
+    /**
+     * The lookups of the storage, the concurrent lookups of an address wait for the first one. The addresses not
+     * registered yet are kept for a short time, so they are not looked up again by each segment.
+     */
+    private final Cache<String, Integer> lookupCache = CacheBuilder.newBuilder().expireAfterWrite(2, TimeUnit.SECONDS).maximumSize(5000).build();
+
     private final ModuleManager moduleManager;
     private INetworkAddressCacheDAO networkAddressCacheDAO;
 
@@ -55,20 +63,22 @@ public class NetworkAddressCacheGuavaService implements NetworkAddressCacheServi
     }
 
     public int getAddressId(String networkAddress) {
+        Integer cachedId = addressCache.getIfPresent(networkAddress);
+        if (nonNull(cachedId)) {
+            return cachedId;
+        }
+
         int addressId = 0;
         try {
-            addressId = addressCache.get(networkAddress, () -> getNetworkAddressCacheDAO().getAddressId(networkAddress));
-
-            if (addressId == 0) {
-                addressId = getNetworkAddressCacheDAO().getAddressId(networkAddress);
-                if (addressId != 0) {
-                    addressCache.put(networkAddress, addressId);
-                }
-            }
+            addressId = lookupCache.get(networkAddress, () -> getNetworkAddressCacheDAO().getAddressId(networkAddress));
         } catch (Throwable e) {
             logger.error(e.getMessage(), e);
         }
 
+        if (addressId != 0) {
+            addressCache.put(networkAddress, addressId);
+            lookupCache.invalidate(networkAddress);
+        }
         return addressId;
     }
 
@@ -90,4 +100,10 @@ public class NetworkAddressCacheGuavaService implements NetworkAddressCacheServi
         }
         return networkAddress;
     }
+
+    @Override public void put(NetworkAddress networkAddress) {
+        addressCache.put(networkAddress.getNetworkAddress(), networkAddress.getAddressId());
+        lookupCache.invalidate(networkAddress.getNetworkAddress());
+        idCache.put(networkAddress.getAddressId(), networkAddress);
+    }
 }
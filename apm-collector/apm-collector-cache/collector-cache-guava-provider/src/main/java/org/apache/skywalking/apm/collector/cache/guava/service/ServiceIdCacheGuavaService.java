@@ -20,15 +20,18 @@ package org.apache.skywalking.apm.collector.cache.guava.service;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.apm.collector.cache.service.ServiceIdCacheService;
 import org.apache.skywalking.apm.collector.core.module.ModuleManager;
 import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.storage.StorageModule;
 import org.apache.skywalking.apm.collector.storage.dao.cache.IServiceNameCacheDAO;
+import org.apache.skywalking.apm.collector.storage.table.register.ServiceName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * @author peng-yongsheng
@@ -39,6 +42,12 @@ public class ServiceIdCacheGuavaService implements ServiceIdCacheService {
 
     private final Cache<String, Integer> serviceIdCache = CacheBuilder.newBuilder().maximumSize(10000).build();
 
+    /**
+     * The lookups of the storage, the concurrent lookups of a key wait for the first one. The service names not
+     * registered yet are kept for a short time, so they are not looked up again by each segment.
+     */
+    private final Cache<String, Integer> lookupCache = CacheBuilder.newBuilder().expireAfterWrite(2, TimeUnit.SECONDS).maximumSize(10000).build();
+
     private final ModuleManager moduleManager;
     private IServiceNameCacheDAO serviceNameCacheDAO;
 
@@ -54,20 +63,29 @@ public class ServiceIdCacheGuavaService implements ServiceIdCacheService {
     }
 
     @Override public int get(int applicationId, int srcSpanType, String serviceName) {
-        int serviceId = 0;
         String id = applicationId + Const.ID_SPLIT + srcSpanType + Const.ID_SPLIT + serviceName;
+        Integer cachedId = serviceIdCache.getIfPresent(id);
+        if (nonNull(cachedId)) {
+            return cachedId;
+        }
+
+        int serviceId = 0;
         try {
-            serviceId = serviceIdCache.get(id, () -> getServiceNameCacheDAO().getServiceId(applicationId, srcSpanType, serviceName));
+            serviceId = lookupCache.get(id, () -> getServiceNameCacheDAO().getServiceId(applicationId, srcSpanType, serviceName));
         } catch (Throwable e) {
             logger.error(e.getMessage(), e);
         }
 
-        if (serviceId == 0) {
-            serviceId = getServiceNameCacheDAO().getServiceId(applicationId, srcSpanType, serviceName);
-            if (serviceId != 0) {
-                serviceIdCache.put(id, serviceId);
-            }
+        if (serviceId != 0) {
+            serviceIdCache.put(id, serviceId);
+            lookupCache.invalidate(id);
         }
         return serviceId;
     }
+
+    @Override public void put(ServiceName serviceName) {
+        String id = serviceName.getApplicationId() + Const.ID_SPLIT + serviceName.getSrcSpanType() + Const.ID_SPLIT + serviceName.getServiceName();
+        serviceIdCache.put(id, serviceName.getServiceId());
+        lookupCache.invalidate(id);
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.cache.inventory;
+
+import org.apache.skywalking.apm.collector.cache.CacheModule;
+import org.apache.skywalking.apm.collector.cache.inventory.service.ApplicationCacheInventoryService;
+import org.apache.skywalking.apm.collector.cache.inventory.service.InstanceCacheInventoryService;
+import org.apache.skywalking.apm.collector.cache.inventory.service.NetworkAddressCacheInventoryService;
+import org.apache.skywalking.apm.collector.cache.inventory.service.ServiceIdCacheInventoryService;
+import org.apache.skywalking.apm.collector.cache.inventory.service.ServiceNameCacheInventoryService;
+import org.apache.skywalking.apm.collector.cache.service.ApplicationCacheService;
+import org.apache.skywalking.apm.collector.cache.service.InstanceCacheService;
+import org.apache.skywalking.apm.collector.cache.service.NetworkAddressCacheService;
+import org.apache.skywalking.apm.collector.cache.service.ServiceIdCacheService;
+import org.apache.skywalking.apm.collector.cache.service.ServiceNameCacheService;
+import org.apache.skywalking.apm.collector.core.module.Module;
+import org.apache.skywalking.apm.collector.core.module.ModuleConfig;
+import org.apache.skywalking.apm.collector.core.module.ModuleProvider;
+import org.apache.skywalking.apm.collector.core.module.ServiceNotProvidedException;
+import org.apache.skywalking.apm.collector.storage.StorageModule;
+import org.apache.skywalking.apm.collector.storage.dao.cache.IServiceNameCacheDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The register ids never change once registered, so the caches of this provider never expire, and are preloaded with
+ * all the registered ids from the storage when the collector starts. The ids registered by the other collectors later
+ * are loaded from the storage at the first miss.
+ *
+ * @author peng-yongsheng
+ */
+public class CacheModuleInventoryProvider extends ModuleProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheModuleInventoryProvider.class);
+
+    private final CacheModuleInventoryConfig config;
+    private ApplicationCacheInventoryService applicationCacheService;
+    private InstanceCacheInventoryService instanceCacheService;
+    private ServiceIdCacheInventoryService serviceIdCacheService;
+    private ServiceNameCacheInventoryService serviceNameCacheService;
+    private NetworkAddressCacheInventoryService networkAddressCacheService;
+
+    public CacheModuleInventoryProvider() {
+        super();
+        this.config = new CacheModuleInventoryConfig();
+    }
+
+    @Override public String name() {
+        return "inventory";
+    }
+
+    @Override public Class<? extends Module> module() {
+        return CacheModule.class;
+    }
+
+    @Override public ModuleConfig createConfigBeanIfAbsent() {
+        return config;
+    }
+
+    @Override public void prepare() throws ServiceNotProvidedException {
+        this.applicationCacheService = new ApplicationCacheInventoryService(getManager());
+        this.instanceCacheService = new InstanceCacheInventoryService(getManager());
+        this.serviceIdCacheService = new ServiceIdCacheInventoryService(getManager());
+        this.serviceNameCacheService = new ServiceNameCacheInventoryService(getManager());
+        this.networkAddressCacheService = new NetworkAddressCacheInventoryService(getManager());
+
+        this.registerServiceImplementation(ApplicationCacheService.class, applicationCacheService);
+        this.registerServiceImplementation(InstanceCacheService.class, instanceCacheService);
+        this.registerServiceImplementation(ServiceIdCacheService.class, serviceIdCacheService);
+        this.registerServiceImplementation(ServiceNameCacheService.class, serviceNameCacheService);
+        this.registerServiceImplementation(NetworkAddressCacheService.class, networkAddressCacheService);
+    }
+
+    @Override public void start() {
+        long startTime = System.currentTimeMillis();
+        try {
+            applicationCacheService.preload();
+            instanceCacheService.preload();
+            networkAddressCacheService.preload();
+
+            IServiceNameCacheDAO serviceNameCacheDAO = getManager().find(StorageModule.NAME).getService(IServiceNameCacheDAO.class);
+            serviceNameCacheDAO.loadAll(serviceName -> {
+                serviceIdCacheService.load(serviceName);
+                serviceNameCacheService.load(serviceName);
+            });
+            logger.info("preload the register caches in {} ms", System.currentTimeMillis() - startTime);
+        } catch (Throwable e) {
+            logger.error("preload the register caches failure, the ids are loaded from the storage at the first miss", e);
+        }
+    }
+
+    @Override public void notifyAfterCompleted() {
+    }
+
+    @Override public String[] requiredModules() {
+        return new String[] {StorageModule.NAME};
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.cache.inventory.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.skywalking.apm.collector.cache.service.ApplicationCacheService;
+import org.apache.skywalking.apm.collector.core.module.ModuleManager;
+import org.apache.skywalking.apm.collector.core.util.BooleanUtils;
+import org.apache.skywalking.apm.collector.storage.StorageModule;
+import org.apache.skywalking.apm.collector.storage.dao.cache.IApplicationCacheDAO;
+import org.apache.skywalking.apm.collector.storage.table.register.Application;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * @author peng-yongsheng
+ */
+public class ApplicationCacheInventoryService implements ApplicationCacheService {
+
+    private final Map<String, Integer> codeCache = new ConcurrentHashMap<>();
+    private final IdIndexedCache<Application> applicationCache = new IdIndexedCache<>();
+    private final IdIndexedCache<Integer> addressIdCache = new IdIndexedCache<>();
+
+    private final ModuleManager moduleManager;
+    private IApplicationCacheDAO applicationCacheDAO;
+
+    public ApplicationCacheInventoryService(ModuleManager moduleManager) {
+        this.moduleManager = moduleManager;
+    }
+
+    private IApplicationCacheDAO getApplicationCacheDAO() {
+        if (isNull(applicationCacheDAO)) {
+            this.applicationCacheDAO = moduleManager.find(StorageModule.NAME).getService(IApplicationCacheDAO.class);
+        }
+        return this.applicationCacheDAO;
+    }
+
+    public void preload() {
+        getApplicationCacheDAO().loadAll(this::load);
+    }
+
+    private void load(Application application) {
+        if (application.getIsAddress() == BooleanUtils.TRUE) {
+            addressIdCache.put(application.getAddressId(), application.getApplicationId());
+        } else {
+            codeCache.put(application.getApplicationCode(), application.getApplicationId());
+        }
+        applicationCache.put(application.getApplicationId(), application);
+    }
+
+    @Override public int getApplicationIdByCode(String applicationCode) {
+        Integer applicationId = codeCache.get(applicationCode);
+        if (nonNull(applicationId)) {
+            return applicationId;
+        }
+
+        int id = getApplicationCacheDAO().getApplicationIdByCode(applicationCode);
+        if (id != 0) {
+            codeCache.put(applicationCode, id);
+        }
+        return id;
+    }
+
+    @Override public Application getApplicationById(int applicationId) {
+        Application application = applicationCache.get(applicationId);
+        if (isNull(application)) {
+            application = getApplicationCacheDAO().getApplication(applicationId);
+            if (nonNull(application)) {
+                applicationCache.put(applicationId, application);
+            }
+        }
+        return application;
+    }
+
+    @Override public int getApplicationIdByAddressId(int addressId) {
+        Integer applicationId = addressIdCache.get(addressId);
+        if (nonNull(applicationId)) {
+            return applicationId;
+        }
+
+        int id = getApplicationCacheDAO().getApplicationIdByAddressId(addressId);
+        if (id != 0) {
+            addressIdCache.put(addressId, id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.cache.inventory.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A cache of the values keyed by the register ids, never expired. The ids are allocated densely from 1 (and -1, -2,
+ * ... for the negative ones), so the values are held in an array indexed by the zigzag encoded id, the read is a
+ * volatile array access without hashing or boxing the key. The writes are serialized, the array grows by doubling
+ * when an id beyond it is put, the ids beyond the max capacity are held in a map.
+ *
+ * @author peng-yongsheng
+ */
+class IdIndexedCache<V> {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = 1 << 24;
+
+    private volatile AtomicReferenceArray<V> values;
+    private final Map<Integer, V> overflow;
+
+    IdIndexedCache() {
+        this.values = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+        this.overflow = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return the value of the id, null if absent.
+     */
+    V get(int id) {
+        int index = index(id);
+        if (index >= MAX_CAPACITY) {
+            return overflow.get(id);
+        }
+        AtomicReferenceArray<V> values = this.values;
+        return index < values.length() ? values.get(index) : null;
+    }
+
+    synchronized void put(int id, V value) {
+        int index = index(id);
+        if (index >= MAX_CAPACITY) {
+            overflow.put(id, value);
+            return;
+        }
+
+        AtomicReferenceArray<V> values = this.values;
+        if (index >= values.length()) {
+            int capacity = values.length();
+            while (capacity <= index) {
+                capacity <<= 1;
+            }
+            AtomicReferenceArray<V> grown = new AtomicReferenceArray<>(capacity);
+            for (int i = 0; i < values.length(); i++) {
+                grown.lazySet(i, values.get(i));
+            }
+            grown.set(index, value);
+            this.values = grown;
+        } else {
+            values.set(index, value);
+        }
+    }
+
+    int capacity() {
+        return values.length();
+    }
+
+    private static int index(int id) {
+        return ((id << 1) ^ (id >> 31)) & Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.cache.inventory.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.skywalking.apm.collector.cache.service.InstanceCacheService;
+import org.apache.skywalking.apm.collector.core.module.ModuleManager;
+import org.apache.skywalking.apm.collector.core.util.BooleanUtils;
+import org.apache.skywalking.apm.collector.core.util.Const;
+import org.apache.skywalking.apm.collector.storage.StorageModule;
+import org.apache.skywalking.apm.collector.storage.dao.cache.IInstanceCacheDAO;
+import org.apache.skywalking.apm.collector.storage.table.register.Instance;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * @author peng-yongsheng
+ */
+public class InstanceCacheInventoryService implements InstanceCacheService {
+
+    private final IdIndexedCache<Integer> applicationIdCache = new IdIndexedCache<>();
+    private final Map<String, Integer> agentUUIDCache = new ConcurrentHashMap<>();
+    private final Map<String, Integer> addressIdCache = new ConcurrentHashMap<>();
+
+    private final ModuleManager moduleManager;
+    private IInstanceCacheDAO instanceCacheDAO;
+
+    public InstanceCacheInventoryService(ModuleManager moduleManager) {
+        this.moduleManager = moduleManager;
+    }
+
+    private IInstanceCacheDAO getInstanceCacheDAO() {
+        if (isNull(instanceCacheDAO)) {
+            this.instanceCacheDAO = moduleManager.find(StorageModule.NAME).getService(IInstanceCacheDAO.class);
+        }
+        return this.instanceCacheDAO;
+    }
+
+    public void preload() {
+        getInstanceCacheDAO().loadAll(this::load);
+    }
+
+    private void load(Instance instance) {
+        if (instance.getIsAddress() == BooleanUtils.TRUE) {
+            addressIdCache.put(instance.getApplicationId() + Const.ID_SPLIT + instance.getAddressId(), instance.getInstanceId());
+        } else {
+            agentUUIDCache.put(instance.getApplicationId() + Const.ID_SPLIT + instance.getAgentUUID(), instance.getInstanceId());
+        }
+        applicationIdCache.put(instance.getInstanceId(), instance.getApplicationId());
+    }
+
+    @Override public int getApplicationId(int instanceId) {
+        Integer applicationId = applicationIdCache.get(instanceId);
+        if (nonNull(applicationId)) {
+            return applicationId;
+        }
+
+        int id = getInstanceCacheDAO().getApplicationId(instanceId);
+        if (id != 0) {
+            applicationIdCache.put(instanceId, id);
+        }
+        return id;
+    }
+
+    @Override public int getInstanceIdByAgentUUID(int applicationId, String agentUUID) {
+        String key = applicationId + Const.ID_SPLIT + agentUUID;
+        Integer instanceId = agentUUIDCache.get(key);
+        if (nonNull(instanceId)) {
+            return instanceId;
+        }
+
+        int id = getInstanceCacheDAO().getInstanceIdByAgentUUID(applicationId, agentUUID);
+        if (id != 0) {
+            agentUUIDCache.put(key, id);
+        }
+        return id;
+    }
+
+    @Override public int getInstanceIdByAddressId(int applicationId, int addressId) {
+        String key = applicationId + Const.ID_SPLIT + addressId;
+        Integer instanceId = addressIdCache.get(key);
+        if (nonNull(instanceId)) {
+            return instanceId;
+        }
+
+        int id = getInstanceCacheDAO().getInstanceIdByAddressId(applicationId, addressId);
+        if (id != 0) {
+            addressIdCache.put(key, id);
+        }
+        return id;
+    }
+}
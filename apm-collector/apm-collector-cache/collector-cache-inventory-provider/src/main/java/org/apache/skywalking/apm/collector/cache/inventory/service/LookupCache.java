@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.cache.inventory.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+/**
+ * The lookups of the ids not cached yet from the storage. The concurrent lookups of a key wait for the first one, and
+ * share its result. The ids not registered yet are kept for the expire time, so the lookups of them in the time are
+ * not repeated. The caller removes the key once the id is found or registered.
+ * <p>
+ * The expired lookups are swept when the size exceeds the threshold, at most once per expire time, by one caller.
+ *
+ * @author peng-yongsheng
+ */
+class LookupCache<K> {
+
+    private static final int CLEAN_THRESHOLD = 10000;
+
+    private final long expireMillis;
+    private final Map<K, Lookup> lookups;
+    private final AtomicLong nextCleanTime;
+
+    LookupCache(long expireMillis) {
+        this.expireMillis = expireMillis;
+        this.lookups = new ConcurrentHashMap<>();
+        this.nextCleanTime = new AtomicLong();
+    }
+
+    int get(K key, ToIntFunction<K> loader) {
+        if (lookups.size() > CLEAN_THRESHOLD) {
+            clean(System.currentTimeMillis());
+        }
+        return lookups.computeIfAbsent(key, k -> new Lookup()).get(key, loader);
+    }
+
+    private void clean(long now) {
+        long cleanTime = nextCleanTime.get();
+        if (now >= cleanTime && nextCleanTime.compareAndSet(cleanTime, now + expireMillis)) {
+            lookups.values().removeIf(lookup -> lookup.isExpired(now));
+        }
+    }
+
+    int size() {
+        return lookups.size();
+    }
+
+    void invalidate(K key) {
+        lookups.remove(key);
+    }
+
+    private class Lookup {
+        private volatile long loadTime;
+        private int id;
+
+        private synchronized int get(K key, ToIntFunction<K> loader) {
+            if (isExpired(System.currentTimeMillis())) {
+                id = loader.applyAsInt(key);
+                loadTime = System.currentTimeMillis();
+            }
+            return id;
+        }
+
+        private boolean isExpired(long now) {
+            return loadTime == 0 || now - loadTime >= expireMillis;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.cache.inventory.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.skywalking.apm.collector.cache.service.NetworkAddressCacheService;
+import org.apache.skywalking.apm.collector.core.module.ModuleManager;
+import org.apache.skywalking.apm.collector.storage.StorageModule;
+import org.apache.skywalking.apm.collector.storage.dao.cache.INetworkAddressCacheDAO;
+import org.apache.skywalking.apm.collector.storage.table.register.NetworkAddress;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * The span layer and server type of the addresses are updated after registered, the cached address keeps the values
+ * when it was loaded.
+ *
+ * @author peng-yongsheng
+ */
+public class NetworkAddressCacheInventoryService implements NetworkAddressCacheService {
+
+    private final Map<String, Integer> addressCache = new ConcurrentHashMap<>();
+    private final LookupCache<String> lookupCache = new LookupCache<>(2000);
+    private final IdIndexedCache<NetworkAddress> idCache = new IdIndexedCache<>();
+
+    private final ModuleManager moduleManager;
+    private INetworkAddressCacheDAO networkAddressCacheDAO;
+
+    public NetworkAddressCacheInventoryService(ModuleManager moduleManager) {
+        this.moduleManager = moduleManager;
+    }
+
+    private INetworkAddressCacheDAO getNetworkAddressCacheDAO() {
+        if (isNull(networkAddressCacheDAO)) {
+            this.networkAddressCacheDAO = moduleManager.find(StorageModule.NAME).getService(INetworkAddressCacheDAO.class);
+        }
+        return this.networkAddressCacheDAO;
+    }
+
+    public void preload() {
+        getNetworkAddressCacheDAO().loadAll(this::put);
+    }
+
+    @Override public int getAddressId(String networkAddress) {
+        Integer addressId = addressCache.get(networkAddress);
+        if (nonNull(addressId)) {
+            return addressId;
+        }
+
+        int id = lookupCache.get(networkAddress, key -> getNetworkAddressCacheDAO().getAddressId(key));
+        if (id != 0) {
+            addressCache.put(networkAddress, id);
+            lookupCache.invalidate(networkAddress);
+        }
+        return id;
+    }
+
+    @Override public NetworkAddress getAddress(int addressId) {
+        NetworkAddress networkAddress = idCache.get(addressId);
+        if (isNull(networkAddress)) {
+            networkAddress = getNetworkAddressCacheDAO().getAddressById(addressId);
+            if (nonNull(networkAddress)) {
+                idCache.put(addressId, networkAddress);
+            }
+        }
+        return networkAddress;
+    }
+
+    @Override public void put(NetworkAddress networkAddress) {
+        addressCache.put(networkAddress.getNetworkAddress(), networkAddress.getAddressId());
+        lookupCache.invalidate(networkAddress.getNetworkAddress());
+        idCache.put(networkAddress.getAddressId(), networkAddress);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.cache.inventory.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.skywalking.apm.collector.cache.service.ServiceIdCacheService;
+import org.apache.skywalking.apm.collector.core.module.ModuleManager;
+import org.apache.skywalking.apm.collector.core.util.Const;
+import org.apache.skywalking.apm.collector.storage.StorageModule;
+import org.apache.skywalking.apm.collector.storage.dao.cache.IServiceNameCacheDAO;
+import org.apache.skywalking.apm.collector.storage.table.register.ServiceName;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * @author peng-yongsheng
+ */
+public class ServiceIdCacheInventoryService implements ServiceIdCacheService {
+
+    private final Map<String, Integer> serviceIdCache = new ConcurrentHashMap<>();
+    private final LookupCache<String> lookupCache = new LookupCache<>(2000);
+
+    private final ModuleManager moduleManager;
+    private IServiceNameCacheDAO serviceNameCacheDAO;
+
+    public ServiceIdCacheInventoryService(ModuleManager moduleManager) {
+        this.moduleManager = moduleManager;
+    }
+
+    private IServiceNameCacheDAO getServiceNameCacheDAO() {
+        if (isNull(serviceNameCacheDAO)) {
+            this.serviceNameCacheDAO = moduleManager.find(StorageModule.NAME).getService(IServiceNameCacheDAO.class);
+        }
+        return this.serviceNameCacheDAO;
+    }
+
+    public void load(ServiceName serviceName) {
+        put(serviceName);
+    }
+
+    @Override public int get(int applicationId, int srcSpanType, String serviceName) {
+        String id = applicationId + Const.ID_SPLIT + srcSpanType + Const.ID_SPLIT + serviceName;
+        Integer serviceId = serviceIdCache.get(id);
+        if (nonNull(serviceId)) {
+            return serviceId;
+        }
+
+        int storedId = lookupCache.get(id, key -> getServiceNameCacheDAO().getServiceId(applicationId, srcSpanType, serviceName));
+        if (storedId != 0) {
+            serviceIdCache.put(id, storedId);
+            lookupCache.invalidate(id);
+        }
+        return storedId;
+    }
+
+    @Override public void put(ServiceName serviceName) {
+        String id = serviceName.getApplicationId() + Const.ID_SPLIT + serviceName.getSrcSpanType() + Const.ID_SPLIT + serviceName.getServiceName();
+        serviceIdCache.put(id, serviceName.getServiceId());
+        lookupCache.invalidate(id);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.cache.inventory.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author peng-yongsheng
+ */
+public class IdIndexedCacheTestCase {
+
+    @Test
+    public void testPutAndGet() {
+        IdIndexedCache<Integer> cache = new IdIndexedCache<>();
+        Assert.assertNull(cache.get(1));
+
+        for (int id = -5000; id <= 5000; id++) {
+            cache.put(id, id * 10);
+        }
+        for (int id = -5000; id <= 5000; id++) {
+            Assert.assertEquals(Integer.valueOf(id * 10), cache.get(id));
+        }
+        Assert.assertNull(cache.get(5001));
+        Assert.assertNull(cache.get(-5001));
+        Assert.assertEquals(16384, cache.capacity());
+    }
+
+    @Test
+    public void testOutOfCapacity() {
+        IdIndexedCache<String> cache = new IdIndexedCache<>();
+        int capacity = cache.capacity();
+
+        cache.put(Integer.MAX_VALUE, "max");
+        cache.put(Integer.MIN_VALUE, "min");
+        Assert.assertEquals("max", cache.get(Integer.MAX_VALUE));
+        Assert.assertEquals("min", cache.get(Integer.MIN_VALUE));
+        Assert.assertNull(cache.get(Integer.MAX_VALUE - 1));
+        Assert.assertEquals(capacity, cache.capacity());
+    }
+}
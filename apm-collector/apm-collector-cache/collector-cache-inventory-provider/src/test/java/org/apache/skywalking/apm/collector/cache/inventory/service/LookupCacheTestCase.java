@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.cache.inventory.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author peng-yongsheng
+ */
+public class LookupCacheTestCase {
+
+    @Test
+    public void testConcurrentLookups() throws InterruptedException {
+        LookupCache<String> lookupCache = new LookupCache<>(60000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 1000; j++) {
+                    Assert.assertEquals(0, lookupCache.get("unregistered", key -> {
+                        loads.incrementAndGet();
+                        return 0;
+                    }));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testCleanOncePerExpireTime() throws InterruptedException {
+        LookupCache<Integer> lookupCache = new LookupCache<>(500);
+        for (int i = 0; i <= 10000; i++) {
+            lookupCache.get(i, key -> 0);
+        }
+        Thread.sleep(600);
+
+        lookupCache.get(-1, key -> 0);
+        Assert.assertEquals(1, lookupCache.size());
+
+        for (int i = 0; i <= 10000; i++) {
+            lookupCache.get(i, key -> 0);
+        }
+        Thread.sleep(10);
+        lookupCache.get(-2, key -> 0);
+        Assert.assertEquals(10003, lookupCache.size());
+
+        Thread.sleep(600);
+        lookupCache.get(-3, key -> 0);
+        Assert.assertEquals(1, lookupCache.size());
+    }
+
+    @Test
+    public void testExpireAndInvalidate() throws InterruptedException {
+        LookupCache<String> lookupCache = new LookupCache<>(50);
+        AtomicInteger loads = new AtomicInteger();
+
+        Assert.assertEquals(0, lookupCache.get("address", key -> loads.incrementAndGet() > 2 ? 3 : 0));
+        Assert.assertEquals(0, lookupCache.get("address", key -> loads.incrementAndGet() > 2 ? 3 : 0));
+        Assert.assertEquals(1, loads.get());
+
+        Thread.sleep(100);
+        Assert.assertEquals(0, lookupCache.get("address", key -> loads.incrementAndGet() > 2 ? 3 : 0));
+        Assert.assertEquals(2, loads.get());
+
+        lookupCache.invalidate("address");
+        Assert.assertEquals(3, lookupCache.get("address", key -> loads.incrementAndGet() > 2 ? 3 : 0));
+        Assert.assertEquals(3, loads.get());
+    }
+}
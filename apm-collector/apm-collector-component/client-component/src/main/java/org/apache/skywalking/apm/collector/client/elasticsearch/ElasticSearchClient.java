@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.collector.client.elasticsearch;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Consumer;
@@ -29,15 +30,24 @@ import org.apache.skywalking.apm.collector.client.NameSpace;
 import org.apache.skywalking.apm.collector.core.data.CommonTable;
 import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.core.util.StringUtils;
+import org.elasticsearch.action.admin.indices.alias.Alias;
 import org.elasticsearch.action.admin.indices.create.CreateIndexResponse;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexResponse;
 import org.elasticsearch.action.admin.indices.exists.indices.IndicesExistsResponse;
+import org.elasticsearch.action.admin.indices.get.GetIndexResponse;
 import org.elasticsearch.action.admin.indices.mapping.get.GetFieldMappingsResponse;
+import org.elasticsearch.action.admin.indices.template.delete.DeleteIndexTemplateResponse;
+import org.elasticsearch.action.admin.indices.template.get.GetIndexTemplatesResponse;
+import org.elasticsearch.action.admin.indices.template.put.PutIndexTemplateResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.get.GetRequestBuilder;
 import org.elasticsearch.action.get.MultiGetRequestBuilder;
 import org.elasticsearch.action.index.IndexRequestBuilder;
+import org.elasticsearch.action.search.ClearScrollRequestBuilder;
 import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchScrollRequestBuilder;
+import org.elasticsearch.action.support.IndicesOptions;
 import org.elasticsearch.action.update.UpdateRequestBuilder;
 import org.elasticsearch.client.IndicesAdminClient;
 import org.elasticsearch.common.Nullable;
@@ -154,11 +164,80 @@ public class ElasticSearchClient implements Client {
         return response.isExists();
     }
 
+    /**
+     * Put the template of the indices matching the pattern, every index created by the pattern gets the settings, the
+     * mapping and joins the alias.
+     */
+    public boolean putTemplate(String templateName, String indexPattern, String aliasName, String indexType,
+        Settings settings, XContentBuilder mappingBuilder) {
+        IndicesAdminClient adminClient = client.admin().indices();
+        templateName = formatIndexName(templateName);
+        PutIndexTemplateResponse response = adminClient.preparePutTemplate(templateName)
+            .setTemplate(formatIndexName(indexPattern))
+            .setSettings(settings)
+            .addMapping(indexType, mappingBuilder)
+            .addAlias(new Alias(formatIndexName(aliasName)))
+            .get();
+        logger.info("put {} template with pattern of {} finished, isAcknowledged: {}", templateName, indexPattern, response.isAcknowledged());
+        return response.isAcknowledged();
+    }
+
+    public boolean deleteTemplate(String templateName) {
+        templateName = formatIndexName(templateName);
+        IndicesAdminClient adminClient = client.admin().indices();
+        DeleteIndexTemplateResponse response = adminClient.prepareDeleteTemplate(templateName).get();
+        logger.info("delete {} template finished, isAcknowledged: {}", templateName, response.isAcknowledged());
+        return response.isAcknowledged();
+    }
+
+    public boolean isExistsTemplate(String templateName) {
+        templateName = formatIndexName(templateName);
+        IndicesAdminClient adminClient = client.admin().indices();
+        GetIndexTemplatesResponse response = adminClient.prepareGetTemplates(templateName).get();
+        return !response.getIndexTemplates().isEmpty();
+    }
+
+    /**
+     * @return the names of the indices matching the pattern, without the namespace.
+     */
+    public List<String> getIndices(String indexPattern) {
+        indexPattern = formatIndexName(indexPattern);
+        IndicesAdminClient adminClient = client.admin().indices();
+        GetIndexResponse response = adminClient.prepareGetIndex().setIndices(indexPattern)
+            .setIndicesOptions(IndicesOptions.lenientExpandOpen()).get();
+
+        String prefix = formatIndexName("");
+        List<String> indices = new ArrayList<>();
+        for (String index : response.getIndices()) {
+            indices.add(index.startsWith(prefix) ? index.substring(prefix.length()) : index);
+        }
+        return indices;
+    }
+
     public SearchRequestBuilder prepareSearch(String indexName) {
         indexName = formatIndexName(indexName);
         return client.prepareSearch(indexName);
     }
 
+    /**
+     * Search the indices which exist among the given ones, the missing ones are ignored.
+     */
+    public SearchRequestBuilder prepareSearch(String[] indexNames) {
+        String[] formattedIndexNames = new String[indexNames.length];
+        for (int i = 0; i < indexNames.length; i++) {
+            formattedIndexNames[i] = formatIndexName(indexNames[i]);
+        }
+        return client.prepareSearch(formattedIndexNames).setIndicesOptions(IndicesOptions.lenientExpandOpen());
+    }
+
+    public SearchScrollRequestBuilder prepareSearchScroll(String scrollId) {
+        return client.prepareSearchScroll(scrollId);
+    }
+
+    public ClearScrollRequestBuilder prepareClearScroll(String scrollId) {
+        return client.prepareClearScroll().addScrollId(scrollId);
+    }
+
     public IndexRequestBuilder prepareIndex(String indexName, String id) {
         indexName = formatIndexName(indexName);
         return client.prepareIndex(indexName, CommonTable.TABLE_TYPE, id);
@@ -221,6 +300,10 @@ public class ElasticSearchClient implements Client {
         return client.prepareBulk();
     }
 
+    public BulkProcessor.Builder prepareBulkProcessor(BulkProcessor.Listener listener) {
+        return BulkProcessor.builder(client, listener);
+    }
+
     private String formatIndexName(String indexName) {
         return formatIndexName(this.namespace.getNameSpace(), indexName);
     }
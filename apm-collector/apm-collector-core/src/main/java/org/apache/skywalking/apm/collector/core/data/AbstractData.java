@@ -21,13 +21,16 @@ package org.apache.skywalking.apm.collector.core.data;
 import static java.util.Objects.nonNull;
 
 /**
+ * The columns of a stream data are stored in the primitive arrays by type, in the order of the {@link Column}s of the
+ * table, which are the schema. An unset number column is zero.
+ *
  * @author peng-yongsheng
  */
 public abstract class AbstractData {
     private String[] dataStrings;
-    private Long[] dataLongs;
-    private Double[] dataDoubles;
-    private Integer[] dataIntegers;
+    private long[] dataLongs;
+    private double[] dataDoubles;
+    private int[] dataIntegers;
     private byte[][] dataBytes;
     private final Column[] stringColumns;
     private final Column[] longColumns;
@@ -38,9 +41,9 @@ public abstract class AbstractData {
     public AbstractData(Column[] stringColumns, Column[] longColumns, Column[] doubleColumns,
         Column[] integerColumns, Column[] byteColumns) {
         this.dataStrings = new String[stringColumns.length];
-        this.dataLongs = new Long[longColumns.length];
-        this.dataDoubles = new Double[doubleColumns.length];
-        this.dataIntegers = new Integer[integerColumns.length];
+        this.dataLongs = new long[longColumns.length];
+        this.dataDoubles = new double[doubleColumns.length];
+        this.dataIntegers = new int[integerColumns.length];
         this.dataBytes = new byte[byteColumns.length][];
         this.stringColumns = stringColumns;
         this.longColumns = longColumns;
@@ -73,15 +76,15 @@ public abstract class AbstractData {
         dataStrings[position] = value;
     }
 
-    public final void setDataLong(int position, Long value) {
+    public final void setDataLong(int position, long value) {
         dataLongs[position] = value;
     }
 
-    public final void setDataDouble(int position, Double value) {
+    public final void setDataDouble(int position, double value) {
         dataDoubles[position] = value;
     }
 
-    public final void setDataInteger(int position, Integer value) {
+    public final void setDataInteger(int position, int value) {
         dataIntegers[position] = value;
     }
 
@@ -93,34 +96,16 @@ public abstract class AbstractData {
         return dataStrings[position];
     }
 
-    public final Long getDataLong(int position) {
-        if (position + 1 > dataLongs.length) {
-            throw new IndexOutOfBoundsException();
-        } else if (dataLongs[position] == null) {
-            return 0L;
-        } else {
-            return dataLongs[position];
-        }
+    public final long getDataLong(int position) {
+        return dataLongs[position];
     }
 
-    public final Double getDataDouble(int position) {
-        if (position + 1 > dataDoubles.length) {
-            throw new IndexOutOfBoundsException();
-        } else if (dataDoubles[position] == null) {
-            return 0D;
-        } else {
-            return dataDoubles[position];
-        }
+    public final double getDataDouble(int position) {
+        return dataDoubles[position];
     }
 
-    public final Integer getDataInteger(int position) {
-        if (position + 1 > dataIntegers.length) {
-            throw new IndexOutOfBoundsException();
-        } else if (dataIntegers[position] == null) {
-            return 0;
-        } else {
-            return dataIntegers[position];
-        }
+    public final int getDataInteger(int position) {
+        return dataIntegers[position];
     }
 
     public final byte[] getDataBytes(int position) {
@@ -134,24 +119,19 @@ public abstract class AbstractData {
 
     private void mergeData(AbstractData newData) {
         for (int i = 0; i < stringColumns.length; i++) {
-            String stringData = stringColumns[i].getMergeOperation().operate(newData.getDataString(i), this.getDataString(i));
-            this.dataStrings[i] = stringData;
+            this.dataStrings[i] = stringColumns[i].getMergeOperation().operate(newData.dataStrings[i], this.dataStrings[i]);
         }
         for (int i = 0; i < longColumns.length; i++) {
-            Long longData = longColumns[i].getMergeOperation().operate(newData.getDataLong(i), this.getDataLong(i));
-            this.dataLongs[i] = longData;
+            this.dataLongs[i] = longColumns[i].getMergeOperation().operate(newData.dataLongs[i], this.dataLongs[i]);
         }
         for (int i = 0; i < doubleColumns.length; i++) {
-            Double doubleData = doubleColumns[i].getMergeOperation().operate(newData.getDataDouble(i), this.getDataDouble(i));
-            this.dataDoubles[i] = doubleData;
+            this.dataDoubles[i] = doubleColumns[i].getMergeOperation().operate(newData.dataDoubles[i], this.dataDoubles[i]);
         }
         for (int i = 0; i < integerColumns.length; i++) {
-            Integer integerData = integerColumns[i].getMergeOperation().operate(newData.getDataInteger(i), this.getDataInteger(i));
-            this.dataIntegers[i] = integerData;
+            this.dataIntegers[i] = integerColumns[i].getMergeOperation().operate(newData.dataIntegers[i], this.dataIntegers[i]);
         }
         for (int i = 0; i < byteColumns.length; i++) {
-            byte[] byteData = byteColumns[i].getMergeOperation().operate(newData.getDataBytes(i), this.getDataBytes(i));
-            this.dataBytes[i] = byteData;
+            this.dataBytes[i] = byteColumns[i].getMergeOperation().operate(newData.dataBytes[i], this.dataBytes[i]);
         }
     }
 
@@ -159,26 +139,25 @@ public abstract class AbstractData {
     private void calculateFormula() {
         for (int i = 0; i < stringColumns.length; i++) {
             if (nonNull(stringColumns[i].getFormulaOperation())) {
-                String stringData = (String)stringColumns[i].getFormulaOperation().operate(this);
-                this.dataStrings[i] = stringData;
+                this.dataStrings[i] = (String)stringColumns[i].getFormulaOperation().operate(this);
             }
         }
         for (int i = 0; i < longColumns.length; i++) {
-            if (nonNull(longColumns[i].getFormulaOperation())) {
-                Long longData = (Long)longColumns[i].getFormulaOperation().operate(this);
-                this.dataLongs[i] = longData;
+            FormulaOperation formulaOperation = longColumns[i].getFormulaOperation();
+            if (formulaOperation instanceof LongFormulaOperation) {
+                this.dataLongs[i] = ((LongFormulaOperation)formulaOperation).calculate(this);
+            } else if (nonNull(formulaOperation)) {
+                this.dataLongs[i] = (Long)formulaOperation.operate(this);
             }
         }
         for (int i = 0; i < doubleColumns.length; i++) {
             if (nonNull(doubleColumns[i].getFormulaOperation())) {
-                Double doubleData = (Double)doubleColumns[i].getFormulaOperation().operate(this);
-                this.dataDoubles[i] = doubleData;
+                this.dataDoubles[i] = (Double)doubleColumns[i].getFormulaOperation().operate(this);
             }
         }
         for (int i = 0; i < integerColumns.length; i++) {
             if (nonNull(integerColumns[i].getFormulaOperation())) {
-                Integer integerData = (Integer)integerColumns[i].getFormulaOperation().operate(this);
-                this.dataIntegers[i] = integerData;
+                this.dataIntegers[i] = (Integer)integerColumns[i].getFormulaOperation().operate(this);
             }
         }
     }
@@ -190,15 +169,15 @@ public abstract class AbstractData {
             dataStr.append(dataString).append(",");
         }
         dataStr.append("], longs: [");
-        for (Long dataLong : dataLongs) {
+        for (long dataLong : dataLongs) {
             dataStr.append(dataLong).append(",");
         }
         dataStr.append("], double: [");
-        for (Double dataDouble : dataDoubles) {
+        for (double dataDouble : dataDoubles) {
             dataStr.append(dataDouble).append(",");
         }
         dataStr.append("], integer: [");
-        for (Integer dataInteger : dataIntegers) {
+        for (int dataInteger : dataIntegers) {
             dataStr.append(dataInteger).append(",");
         }
         dataStr.append("]");
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.core.data;
+
+import org.apache.skywalking.apm.collector.core.util.Const;
+
+/**
+ * The id of a metric in the aggregation path, a time bucket and up to three int ids packed in longs. The string id,
+ * such as "201803011200_2_3_1", and the metric id, such as "2_3_1", are only built by {@link #toId()} and {@link
+ * #toMetricId()} when the aggregated data is going to be stored.
+ *
+ * @author peng-yongsheng
+ */
+public final class CompositeKey {
+
+    private static final long INT_MASK = 0xFFFFFFFFL;
+
+    private final long timeBucket;
+    private final long ids;
+    private final long tail;
+    private final int metricHashCode;
+
+    private CompositeKey(long timeBucket, int size, int id0, int id1, int id2) {
+        this.timeBucket = timeBucket;
+        this.ids = ((long)id0 << 32) | (id1 & INT_MASK);
+        this.tail = ((long)id2 << 32) | size;
+        this.metricHashCode = 31 * (31 * (31 * size + id0) + id1) + id2;
+    }
+
+    public static CompositeKey of(long timeBucket, int id0) {
+        return new CompositeKey(timeBucket, 1, id0, 0, 0);
+    }
+
+    public static CompositeKey of(long timeBucket, int id0, int id1) {
+        return new CompositeKey(timeBucket, 2, id0, id1, 0);
+    }
+
+    public static CompositeKey of(long timeBucket, int id0, int id1, int id2) {
+        return new CompositeKey(timeBucket, 3, id0, id1, id2);
+    }
+
+    public long getTimeBucket() {
+        return timeBucket;
+    }
+
+    public int size() {
+        return (int)tail;
+    }
+
+    public int getId(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+        }
+        switch (index) {
+            case 0:
+                return (int)(ids >>> 32);
+            case 1:
+                return (int)ids;
+            default:
+                return (int)(tail >>> 32);
+        }
+    }
+
+    /**
+     * The hash code of the ids without the time bucket, so all the time buckets of a metric are routed to the same
+     * collector. It only depends on the ids, which is the same in every collector.
+     */
+    public int metricHashCode() {
+        return metricHashCode;
+    }
+
+    public String toMetricId() {
+        StringBuilder metricId = new StringBuilder();
+        for (int i = 0; i < size(); i++) {
+            if (i > 0) {
+                metricId.append(Const.ID_SPLIT);
+            }
+            metricId.append(getId(i));
+        }
+        return metricId.toString();
+    }
+
+    public String toId() {
+        return timeBucket + Const.ID_SPLIT + toMetricId();
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CompositeKey key = (CompositeKey)o;
+        return timeBucket == key.timeBucket && ids == key.ids && tail == key.tail;
+    }
+
+    @Override public int hashCode() {
+        return 31 * metricHashCode + (int)(timeBucket ^ (timeBucket >>> 32));
+    }
+
+    @Override public String toString() {
+        return toId();
+    }
+}
@@ -34,21 +34,21 @@ public interface Data {
 
     void setDataString(int position, String value);
 
-    void setDataLong(int position, Long value);
+    void setDataLong(int position, long value);
 
-    void setDataDouble(int position, Double value);
+    void setDataDouble(int position, double value);
 
-    void setDataInteger(int position, Integer value);
+    void setDataInteger(int position, int value);
 
     void setDataBytes(int position, byte[] dataBytes);
 
     String getDataString(int position);
 
-    Long getDataLong(int position);
+    long getDataLong(int position);
 
-    Double getDataDouble(int position);
+    double getDataDouble(int position);
 
-    Integer getDataInteger(int position);
+    int getDataInteger(int position);
 
     byte[] getDataBytes(int position);
 }
@@ -16,29 +16,19 @@
  *
  */
 
-package org.apache.skywalking.apm.collector.analysis.register.provider.register;
+
+package org.apache.skywalking.apm.collector.core.data;
 
 /**
+ * The formula of a long column, calculated into the primitive long, so {@link AbstractData} doesn't box the result on
+ * every merge.
+ *
  * @author peng-yongsheng
  */
-public enum IdAutoIncrement {
-    INSTANCE;
+public interface LongFormulaOperation<INPUT_DATA extends AbstractData> extends FormulaOperation<INPUT_DATA, Long> {
+    long calculate(INPUT_DATA data);
 
-    public int increment(int min, int max) {
-        int id;
-        if (min == max) {
-            if (min == 0) {
-                id = -1;
-            } else {
-                id = 1;
-            }
-        } else if (min + max == 0) {
-            id = max + 1;
-        } else if (min + max > 0) {
-            id = min - 1;
-        } else {
-            id = max + 1;
-        }
-        return id;
+    @Override default Long operate(INPUT_DATA data) {
+        return calculate(data);
     }
 }
@@ -24,11 +24,11 @@ package org.apache.skywalking.apm.collector.core.data;
 public interface MergeOperation extends Operation {
     String operate(String newValue, String oldValue);
 
-    Long operate(Long newValue, Long oldValue);
+    long operate(long newValue, long oldValue);
 
-    Double operate(Double newValue, Double oldValue);
+    double operate(double newValue, double oldValue);
 
-    Integer operate(Integer newValue, Integer oldValue);
+    int operate(int newValue, int oldValue);
 
     byte[] operate(byte[] newValue, byte[] oldValue);
 }
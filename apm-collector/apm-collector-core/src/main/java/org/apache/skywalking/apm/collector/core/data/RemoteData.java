@@ -22,5 +22,8 @@ package org.apache.skywalking.apm.collector.core.data;
  * @author peng-yongsheng
  */
 public interface RemoteData extends Data {
-    String selectKey();
+    /**
+     * @return the hash to select the remote collector, it must be the same in every collector for the same data.
+     */
+    int selectKey();
 }
@@ -26,6 +26,7 @@ import org.apache.skywalking.apm.collector.core.queue.EndOfBatchContext;
 public abstract class StreamData extends AbstractData implements RemoteData, QueueData {
 
     private EndOfBatchContext endOfBatchContext;
+    private CompositeKey key;
 
     @Override public final EndOfBatchContext getEndOfBatchContext() {
         return this.endOfBatchContext;
@@ -40,8 +41,38 @@ public abstract class StreamData extends AbstractData implements RemoteData, Que
         super(stringColumns, longColumns, doubleColumns, integerColumns, byteColumns);
     }
 
-    @Override public final String selectKey() {
-        return getMetricId();
+    /**
+     * @return the key set in the aggregation path, or null if this data is identified by the string id only.
+     */
+    public final CompositeKey getKey() {
+        return key;
+    }
+
+    public final void setKey(CompositeKey key) {
+        this.key = key;
+    }
+
+    /**
+     * Build the string id and metric id from the key, if they are not set yet. Called once an aggregated data leaves
+     * the aggregation path, the remote serialization and the storage only know the string ids.
+     */
+    public final void materializeId() {
+        if (key != null && getId() == null) {
+            setMetricId(key.toMetricId());
+            setId(key.toId());
+        }
+    }
+
+    /**
+     * @return the hash of the metric id string, the keyed data hashes the same string as the data received from the
+     * collectors without the key, so a metric is routed to the same collector in a cluster of mixed versions.
+     */
+    @Override public final int selectKey() {
+        String metricId = getMetricId();
+        if (metricId == null && key != null) {
+            metricId = key.toMetricId();
+        }
+        return metricId.hashCode();
     }
 
     public abstract String getId();
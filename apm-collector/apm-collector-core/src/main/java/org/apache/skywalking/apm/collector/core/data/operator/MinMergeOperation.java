@@ -29,7 +29,7 @@ public class MinMergeOperation implements MergeOperation {
         throw new UnsupportedOperationException("not support string minimum operation");
     }
 
-    @Override public Long operate(Long newValue, Long oldValue) {
+    @Override public long operate(long newValue, long oldValue) {
         if (newValue <= oldValue) {
             return newValue;
         } else {
@@ -37,7 +37,7 @@ public class MinMergeOperation implements MergeOperation {
         }
     }
 
-    @Override public Double operate(Double newValue, Double oldValue) {
+    @Override public double operate(double newValue, double oldValue) {
         if (newValue <= oldValue) {
             return newValue;
         } else {
@@ -45,7 +45,7 @@ public class MinMergeOperation implements MergeOperation {
         }
     }
 
-    @Override public Integer operate(Integer newValue, Integer oldValue) {
+    @Override public int operate(int newValue, int oldValue) {
         if (newValue <= oldValue) {
             return newValue;
         } else {
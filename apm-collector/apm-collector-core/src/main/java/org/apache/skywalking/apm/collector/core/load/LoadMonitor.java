@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.core.load;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The load of the collector, measured by the registered pressure sources, such as the queue depths of the workers, the
+ * lag of the segment buffer files and the persistence latency. A pressure is the used fraction of a source, 0 means
+ * idle and 1 means saturated.
+ * <p>
+ * The highest pressure is turned into a sampling rate in per ten thousand, advertised to the agents, which sample less
+ * segments until the collector catches up. The rate drops as soon as the pressure rises, and recovers step by step, so
+ * the agents do not flood the collector again right after it drained the queues.
+ *
+ * @author peng-yongsheng
+ */
+public enum LoadMonitor {
+    INSTANCE;
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadMonitor.class);
+
+    public static final int FULL_SAMPLING_RATE = 10000;
+    static final int MIN_SAMPLING_RATE = 500;
+    static final int RECOVER_STEP = 1000;
+    static final double LOW_PRESSURE = 0.5;
+
+    private final Map<String, DoubleSupplier> sources = new ConcurrentHashMap<>();
+    private volatile int samplingRate = FULL_SAMPLING_RATE;
+    private volatile double pressure;
+    private boolean isStarted = false;
+
+    /**
+     * Register a pressure source, the source of the same name is replaced.
+     *
+     * @param name of the source, shown in the log when the sampling rate changes.
+     * @param pressure the used fraction of the source, called by the monitor thread.
+     */
+    public void register(String name, DoubleSupplier pressure) {
+        sources.put(name, pressure);
+    }
+
+    public void unregister(String name) {
+        sources.remove(name);
+    }
+
+    public synchronized void start() {
+        if (!isStarted) {
+            Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(
+                new RunnableWithExceptionProtection(this::refresh,
+                    t -> logger.error("Refresh the collector load failure.", t)), 1, 1, TimeUnit.SECONDS);
+            isStarted = true;
+        }
+    }
+
+    /**
+     * @return sampling rate in per ten thousand, {@link #FULL_SAMPLING_RATE} means no sampling.
+     */
+    public int samplingRate() {
+        return samplingRate;
+    }
+
+    public double pressure() {
+        return pressure;
+    }
+
+    void refresh() {
+        double maxPressure = 0;
+        String maxSource = null;
+        for (Map.Entry<String, DoubleSupplier> source : sources.entrySet()) {
+            double sourcePressure;
+            try {
+                sourcePressure = source.getValue().getAsDouble();
+            } catch (Throwable t) {
+                logger.warn("load source: {} failure, {}", source.getKey(), t.getMessage());
+                continue;
+            }
+            if (sourcePressure > maxPressure) {
+                maxPressure = sourcePressure;
+                maxSource = source.getKey();
+            }
+        }
+        pressure = maxPressure;
+
+        int current = samplingRate;
+        int target = targetSamplingRate(maxPressure);
+        int next = target < current ? target : Math.min(target, current + RECOVER_STEP);
+        if (next != current) {
+            samplingRate = next;
+            if (next < current) {
+                logger.warn("collector load: {} of {}, sampling rate of the agents: {} -> {}", String.format("%.2f", maxPressure), maxSource, current, next);
+            } else {
+                logger.info("collector load: {}, sampling rate of the agents: {} -> {}", String.format("%.2f", maxPressure), current, next);
+            }
+        }
+    }
+
+    static int targetSamplingRate(double pressure) {
+        if (pressure <= LOW_PRESSURE) {
+            return FULL_SAMPLING_RATE;
+        } else if (pressure >= 1) {
+            return MIN_SAMPLING_RATE;
+        }
+        double shed = (pressure - LOW_PRESSURE) / (1 - LOW_PRESSURE);
+        return FULL_SAMPLING_RATE - (int)(shed * (FULL_SAMPLING_RATE - MIN_SAMPLING_RATE));
+    }
+}
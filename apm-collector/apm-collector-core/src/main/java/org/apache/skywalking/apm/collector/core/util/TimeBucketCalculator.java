@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.core.util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Compute the time buckets of a time zone arithmetically from the epoch millis, without a {@link java.util.Calendar}.
+ * <p>
+ * The offset of the zone is cached with the range between its two transitions, so only a timestamp outside of the
+ * range looks up the zone rules again. The last computed minute is cached too, most of the timestamps are in the
+ * current minute, and return the cached bucket after two compares.
+ *
+ * @author peng-yongsheng
+ */
+final class TimeBucketCalculator {
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
+
+    private final ZoneRules rules;
+    private volatile OffsetRange offsetRange;
+    private volatile MinuteRange minuteRange;
+
+    TimeBucketCalculator(ZoneId zoneId) {
+        this.rules = zoneId.getRules();
+        this.offsetRange = new OffsetRange(0, 0, 0);
+        this.minuteRange = new MinuteRange(0, 0, 0, 0);
+    }
+
+    /**
+     * @return yyyyMMddHHmm
+     */
+    long minuteTimeBucket(long time) {
+        return minuteRange(time).minuteTimeBucket;
+    }
+
+    /**
+     * @return yyyyMMddHHmmss
+     */
+    long secondTimeBucket(long time) {
+        MinuteRange range = minuteRange(time);
+        return range.minuteTimeBucket * 100 + (time - range.minuteStart) / MILLIS_PER_SECOND;
+    }
+
+    private MinuteRange minuteRange(long time) {
+        MinuteRange range = minuteRange;
+        if (time >= range.start && time < range.end) {
+            return range;
+        }
+
+        OffsetRange offset = offsetRange(time);
+        long localTime = time + offset.offset;
+        long localMinuteStart = Math.floorDiv(localTime, MILLIS_PER_MINUTE) * MILLIS_PER_MINUTE;
+        long minuteStart = localMinuteStart - offset.offset;
+        long start = Math.max(minuteStart, offset.start);
+        long end = Math.min(minuteStart + MILLIS_PER_MINUTE, offset.end);
+
+        range = new MinuteRange(start, end, minuteStart, toMinuteTimeBucket(localMinuteStart));
+        minuteRange = range;
+        return range;
+    }
+
+    private OffsetRange offsetRange(long time) {
+        OffsetRange range = offsetRange;
+        if (time >= range.start && time < range.end) {
+            return range;
+        }
+
+        if (rules.isFixedOffset()) {
+            range = new OffsetRange(Long.MIN_VALUE, Long.MAX_VALUE, rules.getOffset(Instant.EPOCH).getTotalSeconds() * MILLIS_PER_SECOND);
+        } else {
+            Instant instant = Instant.ofEpochMilli(time);
+            long offset = rules.getOffset(instant).getTotalSeconds() * MILLIS_PER_SECOND;
+
+            long start = time;
+            ZoneOffsetTransition previous = rules.previousTransition(instant);
+            if (previous != null) {
+                long transitionTime = previous.toEpochSecond() * MILLIS_PER_SECOND;
+                if (transitionTime <= time && previous.getOffsetAfter().getTotalSeconds() * MILLIS_PER_SECOND == offset) {
+                    start = transitionTime;
+                }
+            } else {
+                start = Long.MIN_VALUE;
+            }
+
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            long end = next == null ? Long.MAX_VALUE : next.toEpochSecond() * MILLIS_PER_SECOND;
+            range = new OffsetRange(start, end, offset);
+        }
+        offsetRange = range;
+        return range;
+    }
+
+    /**
+     * The civil date of the proleptic Gregorian calendar, by the days from civil algorithm of Howard Hinnant.
+     */
+    private static long toMinuteTimeBucket(long localTime) {
+        long epochDay = Math.floorDiv(localTime, MILLIS_PER_DAY);
+        long minuteOfDay = (localTime - epochDay * MILLIS_PER_DAY) / MILLIS_PER_MINUTE;
+
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        return year * 100000000 + month * 1000000 + day * 10000 + (minuteOfDay / 60) * 100 + minuteOfDay % 60;
+    }
+
+    private static final class OffsetRange {
+        private final long start;
+        private final long end;
+        private final long offset;
+
+        private OffsetRange(long start, long end, long offset) {
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * The range of the cached minute, the minute start is earlier than the range start when the offset changes in the
+     * minute.
+     */
+    private static final class MinuteRange {
+        private final long start;
+        private final long end;
+        private final long minuteStart;
+        private final long minuteTimeBucket;
+
+        private MinuteRange(long start, long end, long minuteStart, long minuteTimeBucket) {
+            this.start = start;
+            this.end = end;
+            this.minuteStart = minuteStart;
+            this.minuteTimeBucket = minuteTimeBucket;
+        }
+    }
+}
@@ -20,43 +20,28 @@ package org.apache.skywalking.apm.collector.core.util;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.time.ZoneId;
 import java.util.Date;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
 
 /**
+ * The time buckets are in the default time zone when the collector starts.
+ *
  * @author peng-yongsheng
  */
 public enum TimeBucketUtils {
     INSTANCE;
 
+    private final TimeBucketCalculator calculator = new TimeBucketCalculator(ZoneId.systemDefault());
+
     @GraphComputingMetric(name = "/utils/timeBucket/getMinuteTimeBucket")
     public long getMinuteTimeBucket(long time) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTimeInMillis(time);
-
-        long year = calendar.get(Calendar.YEAR);
-        long month = calendar.get(Calendar.MONTH) + 1;
-        long day = calendar.get(Calendar.DAY_OF_MONTH);
-        long hour = calendar.get(Calendar.HOUR_OF_DAY);
-        long minute = calendar.get(Calendar.MINUTE);
-
-        return year * 100000000 + month * 1000000 + day * 10000 + hour * 100 + minute;
+        return calculator.minuteTimeBucket(time);
     }
 
     @GraphComputingMetric(name = "/utils/timeBucket/getSecondTimeBucket")
     public long getSecondTimeBucket(long time) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTimeInMillis(time);
-
-        long year = calendar.get(Calendar.YEAR);
-        long month = calendar.get(Calendar.MONTH) + 1;
-        long day = calendar.get(Calendar.DAY_OF_MONTH);
-        long hour = calendar.get(Calendar.HOUR_OF_DAY);
-        long minute = calendar.get(Calendar.MINUTE);
-        long second = calendar.get(Calendar.SECOND);
-
-        return year * 10000000000L + month * 100000000 + day * 1000000 + hour * 10000 + minute * 100 + second;
+        return calculator.secondTimeBucket(time);
     }
 
     public String formatMinuteTimeBucket(long minuteTimeBucket) throws ParseException {
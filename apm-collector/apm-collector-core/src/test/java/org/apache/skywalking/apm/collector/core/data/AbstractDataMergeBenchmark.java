@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.core.data;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measure {@link AbstractData#mergeAndFormulaCalculateData(AbstractData)}, which the aggregation workers call for
+ * every stream data, with the GC profiler, which reports the allocation rate per operation as gc.alloc.rate.norm.
+ * <p>
+ * Run by the main method, it is not a part of the unit tests.
+ *
+ * @author peng-yongsheng
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class AbstractDataMergeBenchmark {
+
+    private TestStreamData data;
+    private TestStreamData newData;
+
+    @Setup
+    public void setUp() {
+        data = AbstractDataTest.newData(1000, 100000, 3000, 10, 0.5, 10);
+        newData = AbstractDataTest.newData(1, 250, 250, 250, 0.8, 1);
+    }
+
+    @Benchmark
+    public AbstractData merge() {
+        data.mergeAndFormulaCalculateData(newData);
+        return data;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(AbstractDataMergeBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .build();
+        new Runner(options).run();
+    }
+}
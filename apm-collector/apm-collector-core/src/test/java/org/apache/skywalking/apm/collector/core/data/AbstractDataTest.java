@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.core.data;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author peng-yongsheng
+ */
+public class AbstractDataTest {
+
+    @Test
+    public void testMergeAndFormulaCalculate() {
+        TestStreamData data = newData(10, 1000, 200, 20, 0.5, 1);
+        data.mergeAndFormulaCalculateData(newData(5, 200, 100, 10, 0.8, 2));
+
+        Assert.assertEquals("201803011200_1", data.getId());
+        Assert.assertEquals(201803011200L, data.getTimeBucket());
+        Assert.assertEquals(15, data.getCalls());
+        Assert.assertEquals(1200, data.getDurationSum());
+        Assert.assertEquals(200, data.getMaxDuration());
+        Assert.assertEquals(10, data.getMinDuration());
+        Assert.assertEquals(80, data.getAverageDuration());
+        Assert.assertEquals(0.8, data.getScore(), 0);
+        Assert.assertEquals(1, data.getServiceId());
+        Assert.assertEquals(3, data.getErrorCount());
+    }
+
+    @Test
+    public void testUnsetColumns() {
+        TestStreamData data = new TestStreamData();
+        Assert.assertEquals(0, data.getCalls());
+        Assert.assertEquals(0, data.getScore(), 0);
+        Assert.assertEquals(0, data.getServiceId());
+
+        data.mergeAndFormulaCalculateData(new TestStreamData());
+        Assert.assertEquals(0, data.getAverageDuration());
+        Assert.assertEquals(6, data.getDataLongsCount());
+    }
+
+    static TestStreamData newData(long calls, long durationSum, long maxDuration, long minDuration, double score,
+        int errorCount) {
+        TestStreamData data = new TestStreamData();
+        data.setId("201803011200_1");
+        data.setMetricId("1");
+        data.setTimeBucket(201803011200L);
+        data.setCalls(calls);
+        data.setDurationSum(durationSum);
+        data.setMaxDuration(maxDuration);
+        data.setMinDuration(minDuration);
+        data.setScore(score);
+        data.setServiceId(1);
+        data.setErrorCount(errorCount);
+        return data;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.core.data;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author peng-yongsheng
+ */
+public class CompositeKeyTest {
+
+    @Test
+    public void testStringForm() {
+        CompositeKey key = CompositeKey.of(201803011200L, 2, -1, 1);
+        Assert.assertEquals(3, key.size());
+        Assert.assertEquals(-1, key.getId(1));
+        Assert.assertEquals("2_-1_1", key.toMetricId());
+        Assert.assertEquals("201803011200_2_-1_1", key.toId());
+
+        Assert.assertEquals("201803011200_7", CompositeKey.of(201803011200L, 7).toId());
+        Assert.assertEquals("3_0", CompositeKey.of(201803011200L, 3, 0).toMetricId());
+    }
+
+    @Test
+    public void testEquals() {
+        CompositeKey key = CompositeKey.of(201803011200L, 2, 3);
+        Assert.assertEquals(key, CompositeKey.of(201803011200L, 2, 3));
+        Assert.assertEquals(key.hashCode(), CompositeKey.of(201803011200L, 2, 3).hashCode());
+        Assert.assertNotEquals(key, CompositeKey.of(201803011201L, 2, 3));
+        Assert.assertNotEquals(key, CompositeKey.of(201803011200L, 2, 3, 0));
+
+        Assert.assertEquals(key.metricHashCode(), CompositeKey.of(201803011201L, 2, 3).metricHashCode());
+    }
+
+    @Test
+    public void testMaterializeId() {
+        TestStreamData data = new TestStreamData();
+        data.setKey(CompositeKey.of(201803011200L, 2, 1));
+        Assert.assertNull(data.getId());
+        Assert.assertEquals("2_1".hashCode(), data.selectKey());
+
+        data.materializeId();
+        Assert.assertEquals("201803011200_2_1", data.getId());
+        Assert.assertEquals("2_1", data.getMetricId());
+        Assert.assertEquals("2_1".hashCode(), data.selectKey());
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.core.data;
+
+import org.apache.skywalking.apm.collector.core.data.operator.AddMergeOperation;
+import org.apache.skywalking.apm.collector.core.data.operator.CoverMergeOperation;
+import org.apache.skywalking.apm.collector.core.data.operator.MaxMergeOperation;
+import org.apache.skywalking.apm.collector.core.data.operator.MinMergeOperation;
+import org.apache.skywalking.apm.collector.core.data.operator.NonMergeOperation;
+
+/**
+ * A stream data with the columns of a typical metric table.
+ *
+ * @author peng-yongsheng
+ */
+public class TestStreamData extends StreamData {
+
+    private static final Column[] STRING_COLUMNS = {
+        new Column(new ColumnName("id", "id"), new NonMergeOperation()),
+        new Column(new ColumnName("metric_id", "mi"), new NonMergeOperation()),
+    };
+
+    private static final Column[] LONG_COLUMNS = {
+        new Column(new ColumnName("time_bucket", "tb"), new NonMergeOperation()),
+        new Column(new ColumnName("calls", "c"), new AddMergeOperation()),
+        new Column(new ColumnName("duration_sum", "ds"), new AddMergeOperation()),
+        new Column(new ColumnName("max_duration", "mxd"), new MaxMergeOperation()),
+        new Column(new ColumnName("min_duration", "mnd"), new MinMergeOperation()),
+        new Column(new ColumnName("average_duration", "ad"), new NonMergeOperation(), new AverageDurationFormulaOperation()),
+    };
+
+    private static final Column[] DOUBLE_COLUMNS = {
+        new Column(new ColumnName("score", "s"), new CoverMergeOperation()),
+    };
+
+    private static final Column[] INTEGER_COLUMNS = {
+        new Column(new ColumnName("service_id", "si"), new NonMergeOperation()),
+        new Column(new ColumnName("error_count", "ec"), new AddMergeOperation()),
+    };
+
+    private static final Column[] BYTE_COLUMNS = {};
+
+    public TestStreamData() {
+        super(STRING_COLUMNS, LONG_COLUMNS, DOUBLE_COLUMNS, INTEGER_COLUMNS, BYTE_COLUMNS);
+    }
+
+    @Override public String getId() {
+        return getDataString(0);
+    }
+
+    @Override public void setId(String id) {
+        setDataString(0, id);
+    }
+
+    @Override public String getMetricId() {
+        return getDataString(1);
+    }
+
+    @Override public void setMetricId(String metricId) {
+        setDataString(1, metricId);
+    }
+
+    public long getTimeBucket() {
+        return getDataLong(0);
+    }
+
+    public void setTimeBucket(long timeBucket) {
+        setDataLong(0, timeBucket);
+    }
+
+    public long getCalls() {
+        return getDataLong(1);
+    }
+
+    public void setCalls(long calls) {
+        setDataLong(1, calls);
+    }
+
+    public long getDurationSum() {
+        return getDataLong(2);
+    }
+
+    public void setDurationSum(long durationSum) {
+        setDataLong(2, durationSum);
+    }
+
+    public long getMaxDuration() {
+        return getDataLong(3);
+    }
+
+    public void setMaxDuration(long maxDuration) {
+        setDataLong(3, maxDuration);
+    }
+
+    public long getMinDuration() {
+        return getDataLong(4);
+    }
+
+    public void setMinDuration(long minDuration) {
+        setDataLong(4, minDuration);
+    }
+
+    public long getAverageDuration() {
+        return getDataLong(5);
+    }
+
+    public double getScore() {
+        return getDataDouble(0);
+    }
+
+    public void setScore(double score) {
+        setDataDouble(0, score);
+    }
+
+    public int getServiceId() {
+        return getDataInteger(0);
+    }
+
+    public void setServiceId(int serviceId) {
+        setDataInteger(0, serviceId);
+    }
+
+    public int getErrorCount() {
+        return getDataInteger(1);
+    }
+
+    public void setErrorCount(int errorCount) {
+        setDataInteger(1, errorCount);
+    }
+
+    private static class AverageDurationFormulaOperation implements LongFormulaOperation<TestStreamData> {
+
+        @Override public long calculate(TestStreamData data) {
+            return data.getCalls() == 0 ? 0 : data.getDurationSum() / data.getCalls();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.core.load;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author peng-yongsheng
+ */
+public class LoadMonitorTest {
+
+    @Test
+    public void testTargetSamplingRate() {
+        Assert.assertEquals(LoadMonitor.FULL_SAMPLING_RATE, LoadMonitor.targetSamplingRate(0));
+        Assert.assertEquals(LoadMonitor.FULL_SAMPLING_RATE, LoadMonitor.targetSamplingRate(LoadMonitor.LOW_PRESSURE));
+        Assert.assertEquals(LoadMonitor.MIN_SAMPLING_RATE, LoadMonitor.targetSamplingRate(1));
+        Assert.assertEquals(LoadMonitor.MIN_SAMPLING_RATE, LoadMonitor.targetSamplingRate(3.5));
+
+        int middle = LoadMonitor.targetSamplingRate(0.75);
+        Assert.assertEquals((LoadMonitor.FULL_SAMPLING_RATE + LoadMonitor.MIN_SAMPLING_RATE) / 2, middle);
+    }
+
+    @Test
+    public void testDropAndRecover() {
+        AtomicReference<Double> queue = new AtomicReference<>(0.1);
+        AtomicReference<Double> persistence = new AtomicReference<>(0.2);
+        LoadMonitor.INSTANCE.register("test/queue", queue::get);
+        LoadMonitor.INSTANCE.register("test/persistence", persistence::get);
+        LoadMonitor.INSTANCE.register("test/broken", () -> {
+            throw new IllegalStateException("broken source");
+        });
+        try {
+            LoadMonitor.INSTANCE.refresh();
+            Assert.assertEquals(LoadMonitor.FULL_SAMPLING_RATE, LoadMonitor.INSTANCE.samplingRate());
+
+            persistence.set(2.0);
+            LoadMonitor.INSTANCE.refresh();
+            Assert.assertEquals(2.0, LoadMonitor.INSTANCE.pressure(), 0);
+            Assert.assertEquals(LoadMonitor.MIN_SAMPLING_RATE, LoadMonitor.INSTANCE.samplingRate());
+
+            persistence.set(0.0);
+            LoadMonitor.INSTANCE.refresh();
+            Assert.assertEquals(LoadMonitor.MIN_SAMPLING_RATE + LoadMonitor.RECOVER_STEP, LoadMonitor.INSTANCE.samplingRate());
+
+            queue.set(0.75);
+            LoadMonitor.INSTANCE.refresh();
+            Assert.assertEquals(LoadMonitor.MIN_SAMPLING_RATE + 2 * LoadMonitor.RECOVER_STEP, LoadMonitor.INSTANCE.samplingRate());
+
+            queue.set(0.0);
+            for (int i = 0; i < LoadMonitor.FULL_SAMPLING_RATE / LoadMonitor.RECOVER_STEP; i++) {
+                LoadMonitor.INSTANCE.refresh();
+            }
+            Assert.assertEquals(LoadMonitor.FULL_SAMPLING_RATE, LoadMonitor.INSTANCE.samplingRate());
+        } finally {
+            LoadMonitor.INSTANCE.unregister("test/queue");
+            LoadMonitor.INSTANCE.unregister("test/persistence");
+            LoadMonitor.INSTANCE.unregister("test/broken");
+        }
+    }
+}
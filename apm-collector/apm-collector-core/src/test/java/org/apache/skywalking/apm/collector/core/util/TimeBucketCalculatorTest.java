@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.core.util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Calendar;
+import java.util.Random;
+import java.util.TimeZone;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compare the calculator with the {@link Calendar}, which computed the time buckets before.
+ *
+ * @author peng-yongsheng
+ */
+public class TimeBucketCalculatorTest {
+
+    private static final String[] ZONES = {"UTC", "Asia/Shanghai", "America/New_York", "Europe/London", "Asia/Kolkata", "Australia/Lord_Howe", "America/Sao_Paulo"};
+
+    private static final long FROM = Instant.parse("1970-01-01T00:00:00Z").toEpochMilli();
+    private static final long TO = Instant.parse("2100-01-01T00:00:00Z").toEpochMilli();
+
+    @Test
+    public void testRandomTimes() {
+        Random random = new Random(20180301);
+        for (String zone : ZONES) {
+            TimeBucketCalculator calculator = new TimeBucketCalculator(ZoneId.of(zone));
+            for (int i = 0; i < 100000; i++) {
+                long time = FROM + (long)(random.nextDouble() * (TO - FROM));
+                assertSameAsCalendar(zone, calculator, time);
+                assertSameAsCalendar(zone, calculator, time + random.nextInt(120 * 1000));
+            }
+        }
+    }
+
+    @Test
+    public void testAroundTransitions() {
+        for (String zone : ZONES) {
+            TimeBucketCalculator calculator = new TimeBucketCalculator(ZoneId.of(zone));
+            ZoneOffsetTransition transition = ZoneId.of(zone).getRules().nextTransition(Instant.ofEpochMilli(FROM));
+            int count = 0;
+            while (transition != null && count++ < 50) {
+                long transitionTime = transition.toEpochSecond() * 1000;
+                for (long time = transitionTime - 90 * 1000; time < transitionTime + 90 * 1000; time += 700) {
+                    assertSameAsCalendar(zone, calculator, time);
+                }
+                assertSameAsCalendar(zone, calculator, transitionTime - 3 * 60 * 60 * 1000);
+                transition = ZoneId.of(zone).getRules().nextTransition(transition.getInstant());
+            }
+        }
+    }
+
+    @Test
+    public void testSequentialTimes() {
+        TimeBucketCalculator calculator = new TimeBucketCalculator(ZoneId.systemDefault());
+        String zone = TimeZone.getDefault().getID();
+        long now = System.currentTimeMillis();
+        for (long time = now - 10 * 60 * 1000; time < now + 10 * 60 * 1000; time += 333) {
+            assertSameAsCalendar(zone, calculator, time);
+        }
+    }
+
+    private void assertSameAsCalendar(String zone, TimeBucketCalculator calculator, long time) {
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone(zone));
+        calendar.setTimeInMillis(time);
+
+        long minuteTimeBucket = calendar.get(Calendar.YEAR) * 100000000L
+            + (calendar.get(Calendar.MONTH) + 1) * 1000000L
+            + calendar.get(Calendar.DAY_OF_MONTH) * 10000L
+            + calendar.get(Calendar.HOUR_OF_DAY) * 100L
+            + calendar.get(Calendar.MINUTE);
+        long secondTimeBucket = minuteTimeBucket * 100 + calendar.get(Calendar.SECOND);
+
+        Assert.assertEquals(zone + " " + time, minuteTimeBucket, calculator.minuteTimeBucket(time));
+        Assert.assertEquals(zone + " " + time, secondTimeBucket, calculator.secondTimeBucket(time));
+    }
+}
@@ -27,6 +27,8 @@ import org.apache.skywalking.apm.collector.core.module.Service;
 public interface RemoteSenderService extends Service {
     Mode send(int graphId, int nodeId, RemoteData remoteData, Selector selector);
 
+    void addRemoteClientsChangeListener(RemoteClientsChangeListener listener);
+
     enum Mode {
         Remote, Local
     }
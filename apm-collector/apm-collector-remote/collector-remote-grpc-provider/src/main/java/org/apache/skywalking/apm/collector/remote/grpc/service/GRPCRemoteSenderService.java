@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.apache.skywalking.apm.collector.cluster.ClusterModuleListener;
 import org.apache.skywalking.apm.collector.core.UnexpectedException;
 import org.apache.skywalking.apm.collector.core.data.RemoteData;
@@ -31,6 +32,7 @@ import org.apache.skywalking.apm.collector.remote.grpc.service.selector.ForeverF
 import org.apache.skywalking.apm.collector.remote.grpc.service.selector.HashCodeSelector;
 import org.apache.skywalking.apm.collector.remote.grpc.service.selector.RollingSelector;
 import org.apache.skywalking.apm.collector.remote.service.RemoteClient;
+import org.apache.skywalking.apm.collector.remote.service.RemoteClientsChangeListener;
 import org.apache.skywalking.apm.collector.remote.service.RemoteDataIDGetter;
 import org.apache.skywalking.apm.collector.remote.service.RemoteSenderService;
 import org.apache.skywalking.apm.collector.remote.service.Selector;
@@ -49,6 +51,7 @@ public class GRPCRemoteSenderService extends ClusterModuleListener implements Re
     private final RollingSelector rollingSelector;
     private final int channelSize;
     private final int bufferSize;
+    private final List<RemoteClientsChangeListener> listeners;
 
     @Override public Mode send(int graphId, int nodeId, RemoteData remoteData, Selector selector) {
         RemoteClient remoteClient;
@@ -85,6 +88,11 @@ public class GRPCRemoteSenderService extends ClusterModuleListener implements Re
         this.rollingSelector = new RollingSelector();
         this.channelSize = channelSize;
         this.bufferSize = bufferSize;
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    @Override public void addRemoteClientsChangeListener(RemoteClientsChangeListener listener) {
+        listeners.add(listener);
     }
 
     @Override public String path() {
@@ -103,6 +111,7 @@ public class GRPCRemoteSenderService extends ClusterModuleListener implements Re
         Collections.sort(newRemoteClients);
 
         this.remoteClients = newRemoteClients;
+        listeners.forEach(RemoteClientsChangeListener::remoteClientsChanged);
     }
 
     @Override public synchronized void serverQuitNotify(String serverAddress) {
@@ -117,5 +126,6 @@ public class GRPCRemoteSenderService extends ClusterModuleListener implements Re
         }
 
         this.remoteClients = newRemoteClients;
+        listeners.forEach(RemoteClientsChangeListener::remoteClientsChanged);
     }
 }
@@ -29,7 +29,7 @@ public class HashCodeSelector implements RemoteClientSelector {
 
     @Override public RemoteClient select(List<RemoteClient> clients, RemoteData remoteData) {
         int size = clients.size();
-        int selectIndex = Math.abs(remoteData.selectKey().hashCode()) % size;
+        int selectIndex = Math.abs(remoteData.selectKey() % size);
         return clients.get(selectIndex);
     }
 }
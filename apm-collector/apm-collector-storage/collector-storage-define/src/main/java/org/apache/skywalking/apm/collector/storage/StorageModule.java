@@ -92,6 +92,7 @@ import org.apache.skywalking.apm.collector.storage.dao.mpool.IMemoryPoolMonthMet
 import org.apache.skywalking.apm.collector.storage.dao.register.IApplicationRegisterDAO;
 import org.apache.skywalking.apm.collector.storage.dao.register.IInstanceRegisterDAO;
 import org.apache.skywalking.apm.collector.storage.dao.register.INetworkAddressRegisterDAO;
+import org.apache.skywalking.apm.collector.storage.dao.register.IRegisterLeaseDAO;
 import org.apache.skywalking.apm.collector.storage.dao.register.IServiceNameRegisterDAO;
 import org.apache.skywalking.apm.collector.storage.dao.rtd.IResponseTimeDistributionDayPersistenceDAO;
 import org.apache.skywalking.apm.collector.storage.dao.rtd.IResponseTimeDistributionHourPersistenceDAO;
@@ -163,6 +164,7 @@ public class StorageModule extends Module {
         classes.add(IInstanceRegisterDAO.class);
         classes.add(IServiceNameRegisterDAO.class);
         classes.add(INetworkAddressRegisterDAO.class);
+        classes.add(IRegisterLeaseDAO.class);
     }
 
     private void addPersistenceDAO(List<Class> classes) {
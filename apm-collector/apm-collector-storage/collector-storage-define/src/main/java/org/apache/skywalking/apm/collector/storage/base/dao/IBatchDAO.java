@@ -25,5 +25,8 @@ import java.util.List;
  * @author peng-yongsheng
  */
 public interface IBatchDAO extends DAO {
-    void batchPersistence(List<?> batchCollection);
+    /**
+     * @return false, if any of the batch failed or is not known to be persisted.
+     */
+    boolean batchPersistence(List<?> batchCollection);
 }
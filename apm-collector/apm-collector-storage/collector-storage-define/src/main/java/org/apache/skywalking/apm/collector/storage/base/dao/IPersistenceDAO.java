@@ -18,6 +18,8 @@
 
 package org.apache.skywalking.apm.collector.storage.base.dao;
 
+import java.util.Collection;
+import java.util.Map;
 import org.apache.skywalking.apm.collector.core.data.StreamData;
 
 /**
@@ -27,6 +29,16 @@ public interface IPersistenceDAO<INSERT, UPDATE, STREAM_DATA extends StreamData>
 
     STREAM_DATA get(String id);
 
+    /**
+     * Get the stream data of the ids in as few round trips as the storage allows.
+     *
+     * @param ids of the stream data
+     * @return the stream data which exist, keyed by id. The ids which don't exist are absent.
+     * @throws org.apache.skywalking.apm.collector.core.UnexpectedException if any of the ids can't be read, they must
+     * not be taken as absent, or the stored data is overwritten by an insert.
+     */
+    Map<String, STREAM_DATA> get(Collection<String> ids);
+
     INSERT prepareBatchInsert(STREAM_DATA data);
 
     UPDATE prepareBatchUpdate(STREAM_DATA data);
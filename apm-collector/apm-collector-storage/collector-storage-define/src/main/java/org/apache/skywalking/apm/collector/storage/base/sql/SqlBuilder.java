@@ -57,4 +57,15 @@ public class SqlBuilder {
         sb.append(" where ").append(whereClauseName).append("=?");
         return sb.toString();
     }
+
+    public static String buildBatchQuerySql(String tableName, String whereClauseName, int size) {
+        StringBuilder sb = new StringBuilder("select * from ");
+        sb.append(tableName).append(" where ").append(whereClauseName).append(" in (");
+        for (int i = 0; i < size; i++) {
+            sb.append("?,");
+        }
+        sb.delete(sb.length() - 1, sb.length());
+        sb.append(")");
+        return sb.toString();
+    }
 }
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.apm.collector.storage.dao.cache;
 
+import java.util.function.Consumer;
 import org.apache.skywalking.apm.collector.storage.base.dao.DAO;
 import org.apache.skywalking.apm.collector.storage.table.register.NetworkAddress;
 
@@ -28,4 +29,9 @@ public interface INetworkAddressCacheDAO extends DAO {
     int getAddressId(String networkAddress);
 
     NetworkAddress getAddressById(int addressId);
+
+    /**
+     * Load all the registered network addresses, for the caches preloaded when the collector starts.
+     */
+    void loadAll(Consumer<NetworkAddress> consumer);
 }
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.apm.collector.storage.dao.register;
 
+import java.util.List;
 import org.apache.skywalking.apm.collector.storage.base.dao.DAO;
 import org.apache.skywalking.apm.collector.storage.table.register.NetworkAddress;
 
@@ -31,5 +32,7 @@ public interface INetworkAddressRegisterDAO extends DAO {
 
     void save(NetworkAddress networkAddress);
 
+    void batchSave(List<NetworkAddress> networkAddresses);
+
     void update(String id, int spanLayer, int serverType);
 }
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.storage.dao.register;
+
+import org.apache.skywalking.apm.collector.storage.base.dao.DAO;
+
+/**
+ * @author peng-yongsheng
+ */
+public interface IRegisterLeaseDAO extends DAO {
+
+    /**
+     * Lease a block of the id sequence of the register table. The block starts from the end of the last lease, or
+     * from the initial sequence if it is greater, and the end of the new lease is persisted before return, so the
+     * sequences of the block are never leased again, by this collector or by another one.
+     *
+     * @param registerTable the name of the register table
+     * @param initialSequence the first sequence not used by the rows of the register table
+     * @param size the size of the block
+     * @return the first sequence of the block
+     */
+    long lease(String registerTable, long initialSequence, int size);
+}
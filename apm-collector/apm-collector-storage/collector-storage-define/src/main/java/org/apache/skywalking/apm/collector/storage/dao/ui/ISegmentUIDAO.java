@@ -18,6 +18,8 @@
 
 package org.apache.skywalking.apm.collector.storage.dao.ui;
 
+import java.util.List;
+import java.util.Map;
 import org.apache.skywalking.apm.collector.storage.base.dao.DAO;
 import org.apache.skywalking.apm.network.proto.TraceSegmentObject;
 
@@ -39,4 +41,13 @@ public interface ISegmentUIDAO extends DAO {
      * {@link TraceSegmentObject#parseFrom(byte[])}
      */
     TraceSegmentObject load(String segmentId);
+
+    /**
+     * <p>SQL as: select ID, DATA_BINARY from SEGMENT where ID in (${segmentIds}),
+     *
+     * @param segmentIds arguments to bind to the query
+     * @return not nullable map of the found segments keyed by the segment id, the segments which are not found or
+     * can't be deserialized are absent.
+     */
+    Map<String, TraceSegmentObject> load(List<String> segmentIds);
 }
@@ -23,71 +23,71 @@ package org.apache.skywalking.apm.collector.storage.table;
  */
 public interface Metric {
 
-    Integer getSourceValue();
+    int getSourceValue();
 
-    void setSourceValue(Integer sourceValue);
+    void setSourceValue(int sourceValue);
 
-    Long getTimeBucket();
+    long getTimeBucket();
 
-    void setTimeBucket(Long timeBucket);
+    void setTimeBucket(long timeBucket);
 
-    Long getTransactionCalls();
+    long getTransactionCalls();
 
-    void setTransactionCalls(Long transactionCalls);
+    void setTransactionCalls(long transactionCalls);
 
-    Long getTransactionErrorCalls();
+    long getTransactionErrorCalls();
 
-    void setTransactionErrorCalls(Long transactionErrorCalls);
+    void setTransactionErrorCalls(long transactionErrorCalls);
 
-    Long getTransactionDurationSum();
+    long getTransactionDurationSum();
 
-    void setTransactionDurationSum(Long transactionDurationSum);
+    void setTransactionDurationSum(long transactionDurationSum);
 
-    Long getTransactionErrorDurationSum();
+    long getTransactionErrorDurationSum();
 
-    void setTransactionErrorDurationSum(Long transactionErrorDurationSum);
+    void setTransactionErrorDurationSum(long transactionErrorDurationSum);
 
-    Long getTransactionAverageDuration();
+    long getTransactionAverageDuration();
 
-    void setTransactionAverageDuration(Long transactionAverageDuration);
+    void setTransactionAverageDuration(long transactionAverageDuration);
 
-    Long getBusinessTransactionCalls();
+    long getBusinessTransactionCalls();
 
-    void setBusinessTransactionCalls(Long businessTransactionCalls);
+    void setBusinessTransactionCalls(long businessTransactionCalls);
 
-    Long getBusinessTransactionErrorCalls();
+    long getBusinessTransactionErrorCalls();
 
-    void setBusinessTransactionErrorCalls(Long businessTransactionErrorCalls);
+    void setBusinessTransactionErrorCalls(long businessTransactionErrorCalls);
 
-    Long getBusinessTransactionDurationSum();
+    long getBusinessTransactionDurationSum();
 
-    void setBusinessTransactionDurationSum(Long businessTransactionDurationSum);
+    void setBusinessTransactionDurationSum(long businessTransactionDurationSum);
 
-    Long getBusinessTransactionErrorDurationSum();
+    long getBusinessTransactionErrorDurationSum();
 
-    void setBusinessTransactionErrorDurationSum(Long businessTransactionErrorDurationSum);
+    void setBusinessTransactionErrorDurationSum(long businessTransactionErrorDurationSum);
 
-    Long getBusinessTransactionAverageDuration();
+    long getBusinessTransactionAverageDuration();
 
-    void setBusinessTransactionAverageDuration(Long businessTransactionAverageDuration);
+    void setBusinessTransactionAverageDuration(long businessTransactionAverageDuration);
 
-    Long getMqTransactionCalls();
+    long getMqTransactionCalls();
 
-    void setMqTransactionCalls(Long mqTransactionCalls);
+    void setMqTransactionCalls(long mqTransactionCalls);
 
-    Long getMqTransactionErrorCalls();
+    long getMqTransactionErrorCalls();
 
-    void setMqTransactionErrorCalls(Long mqTransactionErrorCalls);
+    void setMqTransactionErrorCalls(long mqTransactionErrorCalls);
 
-    Long getMqTransactionDurationSum();
+    long getMqTransactionDurationSum();
 
-    void setMqTransactionDurationSum(Long mqTransactionDurationSum);
+    void setMqTransactionDurationSum(long mqTransactionDurationSum);
 
-    Long getMqTransactionErrorDurationSum();
+    long getMqTransactionErrorDurationSum();
 
-    void setMqTransactionErrorDurationSum(Long mqTransactionErrorDurationSum);
+    void setMqTransactionErrorDurationSum(long mqTransactionErrorDurationSum);
 
-    Long getMqTransactionAverageDuration();
+    long getMqTransactionAverageDuration();
 
-    void setMqTransactionAverageDuration(Long mqTransactionAverageDuration);
+    void setMqTransactionAverageDuration(long mqTransactionAverageDuration);
 }
@@ -23,17 +23,17 @@ package org.apache.skywalking.apm.collector.storage.table.alarm;
  */
 public interface Alarm {
 
-    Integer getAlarmType();
+    int getAlarmType();
 
-    void setAlarmType(Integer alarmType);
+    void setAlarmType(int alarmType);
 
-    Integer getSourceValue();
+    int getSourceValue();
 
-    void setSourceValue(Integer sourceValue);
+    void setSourceValue(int sourceValue);
 
-    Long getLastTimeBucket();
+    long getLastTimeBucket();
 
-    void setLastTimeBucket(Long lastTimeBucket);
+    void setLastTimeBucket(long lastTimeBucket);
 
     String getAlarmContent();
 
@@ -78,35 +78,35 @@ public class ApplicationAlarmList extends StreamData {
         setDataString(2, alarmContent);
     }
 
-    public Integer getAlarmType() {
+    public int getAlarmType() {
         return getDataInteger(0);
     }
 
-    public void setAlarmType(Integer alarmType) {
+    public void setAlarmType(int alarmType) {
         setDataInteger(0, alarmType);
     }
 
-    public Integer getSourceValue() {
+    public int getSourceValue() {
         return getDataInteger(1);
     }
 
-    public void setSourceValue(Integer sourceValue) {
+    public void setSourceValue(int sourceValue) {
         setDataInteger(1, sourceValue);
     }
 
-    public Integer getApplicationId() {
+    public int getApplicationId() {
         return getDataInteger(2);
     }
 
-    public void setApplicationId(Integer applicationId) {
+    public void setApplicationId(int applicationId) {
         setDataInteger(2, applicationId);
     }
 
-    public Long getTimeBucket() {
+    public long getTimeBucket() {
         return getDataLong(0);
     }
 
-    public void setTimeBucket(Long timeBucket) {
+    public void setTimeBucket(long timeBucket) {
         setDataLong(0, timeBucket);
     }
 
@@ -70,43 +70,43 @@ public class InstanceAlarmList extends StreamData {
         setId(metricId);
     }
 
-    public Integer getAlarmType() {
+    public int getAlarmType() {
         return getDataInteger(0);
     }
 
-    public void setAlarmType(Integer alarmType) {
+    public void setAlarmType(int alarmType) {
         setDataInteger(0, alarmType);
     }
 
-    public Integer getSourceValue() {
+    public int getSourceValue() {
         return getDataInteger(1);
     }
 
-    public void setSourceValue(Integer sourceValue) {
+    public void setSourceValue(int sourceValue) {
         setDataInteger(1, sourceValue);
     }
 
-    public Integer getApplicationId() {
+    public int getApplicationId() {
         return getDataInteger(2);
     }
 
-    public void setApplicationId(Integer applicationId) {
+    public void setApplicationId(int applicationId) {
         setDataInteger(2, applicationId);
     }
 
-    public Integer getInstanceId() {
+    public int getInstanceId() {
         return getDataInteger(3);
     }
 
-    public void setInstanceId(Integer instanceId) {
+    public void setInstanceId(int instanceId) {
         setDataInteger(3, instanceId);
     }
 
-    public Long getTimeBucket() {
+    public long getTimeBucket() {
         return getDataLong(0);
     }
 
-    public void setTimeBucket(Long timeBucket) {
+    public void setTimeBucket(long timeBucket) {
         setDataLong(0, timeBucket);
     }
 
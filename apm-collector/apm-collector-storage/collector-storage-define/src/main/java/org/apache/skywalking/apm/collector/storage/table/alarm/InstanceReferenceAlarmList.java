@@ -70,59 +70,59 @@ public class InstanceReferenceAlarmList extends StreamData {
         setId(metricId);
     }
 
-    public Integer getAlarmType() {
+    public int getAlarmType() {
         return getDataInteger(0);
     }
 
-    public void setAlarmType(Integer alarmType) {
+    public void setAlarmType(int alarmType) {
         setDataInteger(0, alarmType);
     }
 
-    public Integer getSourceValue() {
+    public int getSourceValue() {
         return getDataInteger(1);
     }
 
-    public void setSourceValue(Integer sourceValue) {
+    public void setSourceValue(int sourceValue) {
         setDataInteger(1, sourceValue);
     }
 
-    public Integer getFrontApplicationId() {
+    public int getFrontApplicationId() {
         return getDataInteger(2);
     }
 
-    public void setFrontApplicationId(Integer frontApplicationId) {
+    public void setFrontApplicationId(int frontApplicationId) {
         setDataInteger(2, frontApplicationId);
     }
 
-    public Integer getBehindApplicationId() {
+    public int getBehindApplicationId() {
         return getDataInteger(3);
     }
 
-    public void setBehindApplicationId(Integer behindApplicationId) {
+    public void setBehindApplicationId(int behindApplicationId) {
         setDataInteger(3, behindApplicationId);
     }
 
-    public Integer getFrontInstanceId() {
+    public int getFrontInstanceId() {
         return getDataInteger(4);
     }
 
-    public void setFrontInstanceId(Integer frontInstanceId) {
+    public void setFrontInstanceId(int frontInstanceId) {
         setDataInteger(4, frontInstanceId);
     }
 
-    public Integer getBehindInstanceId() {
+    public int getBehindInstanceId() {
         return getDataInteger(5);
     }
 
-    public void setBehindInstanceId(Integer behindInstanceId) {
+    public void setBehindInstanceId(int behindInstanceId) {
         setDataInteger(5, behindInstanceId);
     }
 
-    public Long getTimeBucket() {
+    public long getTimeBucket() {
         return getDataLong(0);
     }
 
-    public void setTimeBucket(Long timeBucket) {
+    public void setTimeBucket(long timeBucket) {
         setDataLong(0, timeBucket);
     }
 
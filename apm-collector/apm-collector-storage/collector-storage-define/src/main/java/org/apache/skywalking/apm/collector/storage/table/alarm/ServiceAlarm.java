@@ -72,56 +72,56 @@ public class ServiceAlarm extends StreamData implements Alarm {
     }
 
     @Override
-    public Integer getAlarmType() {
+    public int getAlarmType() {
         return getDataInteger(0);
     }
 
     @Override
-    public void setAlarmType(Integer alarmType) {
+    public void setAlarmType(int alarmType) {
         setDataInteger(0, alarmType);
     }
 
     @Override
-    public Integer getSourceValue() {
+    public int getSourceValue() {
         return getDataInteger(1);
     }
 
     @Override
-    public void setSourceValue(Integer sourceValue) {
+    public void setSourceValue(int sourceValue) {
         setDataInteger(1, sourceValue);
     }
 
-    public Integer getApplicationId() {
+    public int getApplicationId() {
         return getDataInteger(2);
     }
 
-    public void setApplicationId(Integer applicationId) {
+    public void setApplicationId(int applicationId) {
         setDataInteger(2, applicationId);
     }
 
-    public Integer getInstanceId() {
+    public int getInstanceId() {
         return getDataInteger(3);
     }
 
-    public void setInstanceId(Integer instanceId) {
+    public void setInstanceId(int instanceId) {
         setDataInteger(3, instanceId);
     }
 
-    public Integer getServiceId() {
+    public int getServiceId() {
         return getDataInteger(4);
     }
 
-    public void setServiceId(Integer serviceId) {
+    public void setServiceId(int serviceId) {
         setDataInteger(4, serviceId);
     }
 
     @Override
-    public Long getLastTimeBucket() {
+    public long getLastTimeBucket() {
         return getDataLong(0);
     }
 
     @Override
-    public void setLastTimeBucket(Long lastTimeBucket) {
+    public void setLastTimeBucket(long lastTimeBucket) {
         setDataLong(0, lastTimeBucket);
     }
 
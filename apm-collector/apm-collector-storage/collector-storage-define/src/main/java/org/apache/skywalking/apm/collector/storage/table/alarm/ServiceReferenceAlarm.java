@@ -73,80 +73,80 @@ public class ServiceReferenceAlarm extends StreamData implements Alarm {
     }
 
     @Override
-    public Integer getAlarmType() {
+    public int getAlarmType() {
         return getDataInteger(0);
     }
 
     @Override
-    public void setAlarmType(Integer alarmType) {
+    public void setAlarmType(int alarmType) {
         setDataInteger(0, alarmType);
     }
 
     @Override
-    public Integer getSourceValue() {
+    public int getSourceValue() {
         return getDataInteger(1);
     }
 
     @Override
-    public void setSourceValue(Integer sourceValue) {
+    public void setSourceValue(int sourceValue) {
         setDataInteger(1, sourceValue);
     }
 
-    public Integer getFrontApplicationId() {
+    public int getFrontApplicationId() {
         return getDataInteger(2);
     }
 
-    public void setFrontApplicationId(Integer frontApplicationId) {
+    public void setFrontApplicationId(int frontApplicationId) {
         setDataInteger(2, frontApplicationId);
     }
 
-    public Integer getBehindApplicationId() {
+    public int getBehindApplicationId() {
         return getDataInteger(3);
     }
 
-    public void setBehindApplicationId(Integer behindApplicationId) {
+    public void setBehindApplicationId(int behindApplicationId) {
         setDataInteger(3, behindApplicationId);
     }
 
-    public Integer getFrontInstanceId() {
+    public int getFrontInstanceId() {
         return getDataInteger(4);
     }
 
-    public void setFrontInstanceId(Integer frontInstanceId) {
+    public void setFrontInstanceId(int frontInstanceId) {
         setDataInteger(4, frontInstanceId);
     }
 
-    public Integer getBehindInstanceId() {
+    public int getBehindInstanceId() {
         return getDataInteger(5);
     }
 
-    public void setBehindInstanceId(Integer behindInstanceId) {
+    public void setBehindInstanceId(int behindInstanceId) {
         setDataInteger(5, behindInstanceId);
     }
 
-    public Integer getFrontServiceId() {
+    public int getFrontServiceId() {
         return getDataInteger(6);
     }
 
-    public void setFrontServiceId(Integer frontServiceId) {
+    public void setFrontServiceId(int frontServiceId) {
         setDataInteger(6, frontServiceId);
     }
 
-    public Integer getBehindServiceId() {
+    public int getBehindServiceId() {
         return getDataInteger(7);
     }
 
-    public void setBehindServiceId(Integer behindServiceId) {
+    public void setBehindServiceId(int behindServiceId) {
         setDataInteger(7, behindServiceId);
     }
 
     @Override
-    public Long getLastTimeBucket() {
+    public long getLastTimeBucket() {
         return getDataLong(0);
     }
 
     @Override
-    public void setLastTimeBucket(Long lastTimeBucket) {
+    public void setLastTimeBucket(long lastTimeBucket) {
         setDataLong(0, lastTimeBucket);
     }
 
@@ -68,27 +68,27 @@ public class ApplicationComponent extends StreamData {
         setDataString(1, metricId);
     }
 
-    public Long getTimeBucket() {
+    public long getTimeBucket() {
         return getDataLong(0);
     }
 
-    public void setTimeBucket(Long timeBucket) {
+    public void setTimeBucket(long timeBucket) {
         setDataLong(0, timeBucket);
     }
 
-    public Integer getComponentId() {
+    public int getComponentId() {
         return getDataInteger(0);
     }
 
-    public void setComponentId(Integer componentId) {
+    public void setComponentId(int componentId) {
         setDataInteger(0, componentId);
     }
 
-    public Integer getApplicationId() {
+    public int getApplicationId() {
         return getDataInteger(1);
     }
 
-    public void setApplicationId(Integer applicationId) {
+    public void setApplicationId(int applicationId) {
         setDataInteger(1, applicationId);
     }
 
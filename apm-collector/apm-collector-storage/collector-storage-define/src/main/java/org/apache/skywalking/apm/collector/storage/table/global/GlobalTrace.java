@@ -81,7 +81,7 @@ public class GlobalTrace extends StreamData {
         setDataString(2, globalTraceId);
     }
 
-    public Long getTimeBucket() {
+    public long getTimeBucket() {
         return getDataLong(0);
     }
 
@@ -19,7 +19,7 @@
 package org.apache.skywalking.apm.collector.storage.table.instance;
 
 import org.apache.skywalking.apm.collector.core.data.Column;
-import org.apache.skywalking.apm.collector.core.data.FormulaOperation;
+import org.apache.skywalking.apm.collector.core.data.LongFormulaOperation;
 import org.apache.skywalking.apm.collector.core.data.RemoteData;
 import org.apache.skywalking.apm.collector.core.data.StreamData;
 import org.apache.skywalking.apm.collector.core.data.operator.AddMergeOperation;
@@ -90,198 +90,198 @@ public class InstanceReferenceMetric extends StreamData implements Metric {
     }
 
     @Override
-    public Integer getSourceValue() {
+    public int getSourceValue() {
         return getDataInteger(0);
     }
 
     @Override
-    public void setSourceValue(Integer sourceValue) {
+    public void setSourceValue(int sourceValue) {
         setDataInteger(0, sourceValue);
     }
 
-    public Integer getFrontApplicationId() {
+    public int getFrontApplicationId() {
         return getDataInteger(1);
     }
 
-    public void setFrontApplicationId(Integer frontApplicationId) {
+    public void setFrontApplicationId(int frontApplicationId) {
         setDataInteger(1, frontApplicationId);
     }
 
-    public Integer getBehindApplicationId() {
+    public int getBehindApplicationId() {
         return getDataInteger(2);
     }
 
-    public void setBehindApplicationId(Integer behindApplicationId) {
+    public void setBehindApplicationId(int behindApplicationId) {
         setDataInteger(2, behindApplicationId);
     }
 
-    public Integer getFrontInstanceId() {
+    public int getFrontInstanceId() {
         return getDataInteger(3);
     }
 
-    public void setFrontInstanceId(Integer frontInstanceId) {
+    public void setFrontInstanceId(int frontInstanceId) {
         setDataInteger(3, frontInstanceId);
     }
 
-    public Integer getBehindInstanceId() {
+    public int getBehindInstanceId() {
         return getDataInteger(4);
     }
 
-    public void setBehindInstanceId(Integer behindInstanceId) {
+    public void setBehindInstanceId(int behindInstanceId) {
         setDataInteger(4, behindInstanceId);
     }
 
     @Override
-    public Long getTimeBucket() {
+    public long getTimeBucket() {
         return getDataLong(0);
     }
 
     @Override
-    public void setTimeBucket(Long timeBucket) {
+    public void setTimeBucket(long timeBucket) {
         setDataLong(0, timeBucket);
     }
 
     @Override
-    public Long getTransactionCalls() {
+    public long getTransactionCalls() {
         return getDataLong(1);
     }
 
     @Override
-    public void setTransactionCalls(Long transactionCalls) {
+    public void setTransactionCalls(long transactionCalls) {
         setDataLong(1, transactionCalls);
     }
 
     @Override
-    public Long getTransactionErrorCalls() {
+    public long getTransactionErrorCalls() {
         return getDataLong(2);
     }
 
     @Override
-    public void setTransactionErrorCalls(Long transactionErrorCalls) {
+    public void setTransactionErrorCalls(long transactionErrorCalls) {
         setDataLong(2, transactionErrorCalls);
     }
 
     @Override
-    public Long getTransactionDurationSum() {
+    public long getTransactionDurationSum() {
         return getDataLong(3);
     }
 
     @Override
-    public void setTransactionDurationSum(Long transactionDurationSum) {
+    public void setTransactionDurationSum(long transactionDurationSum) {
         setDataLong(3, transactionDurationSum);
     }
 
     @Override
-    public Long getTransactionErrorDurationSum() {
+    public long getTransactionErrorDurationSum() {
         return getDataLong(4);
     }
 
     @Override
-    public void setTransactionErrorDurationSum(Long transactionErrorDurationSum) {
+    public void setTransactionErrorDurationSum(long transactionErrorDurationSum) {
         setDataLong(4, transactionErrorDurationSum);
     }
 
-    @Override public Long getTransactionAverageDuration() {
+    @Override public long getTransactionAverageDuration() {
         return getDataLong(5);
     }
 
-    @Override public void setTransactionAverageDuration(Long transactionAverageDuration) {
+    @Override public void setTransactionAverageDuration(long transactionAverageDuration) {
         setDataLong(5, transactionAverageDuration);
     }
 
     @Override
-    public Long getBusinessTransactionCalls() {
+    public long getBusinessTransactionCalls() {
         return getDataLong(6);
     }
 
     @Override
-    public void setBusinessTransactionCalls(Long businessTransactionCalls) {
+    public void setBusinessTransactionCalls(long businessTransactionCalls) {
         setDataLong(6, businessTransactionCalls);
     }
 
     @Override
-    public Long getBusinessTransactionErrorCalls() {
+    public long getBusinessTransactionErrorCalls() {
         return getDataLong(7);
     }
 
     @Override
-    public void setBusinessTransactionErrorCalls(Long businessTransactionErrorCalls) {
+    public void setBusinessTransactionErrorCalls(long businessTransactionErrorCalls) {
         setDataLong(7, businessTransactionErrorCalls);
     }
 
     @Override
-    public Long getBusinessTransactionDurationSum() {
+    public long getBusinessTransactionDurationSum() {
         return getDataLong(8);
     }
 
     @Override
-    public void setBusinessTransactionDurationSum(Long businessTransactionDurationSum) {
+    public void setBusinessTransactionDurationSum(long businessTransactionDurationSum) {
         setDataLong(8, businessTransactionDurationSum);
     }
 
     @Override
-    public Long getBusinessTransactionErrorDurationSum() {
+    public long getBusinessTransactionErrorDurationSum() {
         return getDataLong(9);
     }
 
     @Override
-    public void setBusinessTransactionErrorDurationSum(Long businessTransactionErrorDurationSum) {
+    public void setBusinessTransactionErrorDurationSum(long businessTransactionErrorDurationSum) {
         setDataLong(9, businessTransactionErrorDurationSum);
     }
 
-    @Override public Long getBusinessTransactionAverageDuration() {
+    @Override public long getBusinessTransactionAverageDuration() {
         return getDataLong(10);
     }
 
-    @Override public void setBusinessTransactionAverageDuration(Long businessTransactionAverageDuration) {
+    @Override public void setBusinessTransactionAverageDuration(long businessTransactionAverageDuration) {
         setDataLong(10, businessTransactionAverageDuration);
     }
 
     @Override
-    public Long getMqTransactionCalls() {
+    public long getMqTransactionCalls() {
         return getDataLong(11);
     }
 
     @Override
-    public void setMqTransactionCalls(Long mqTransactionCalls) {
+    public void setMqTransactionCalls(long mqTransactionCalls) {
         setDataLong(11, mqTransactionCalls);
     }
 
     @Override
-    public Long getMqTransactionErrorCalls() {
+    public long getMqTransactionErrorCalls() {
         return getDataLong(12);
     }
 
     @Override
-    public void setMqTransactionErrorCalls(Long mqTransactionErrorCalls) {
+    public void setMqTransactionErrorCalls(long mqTransactionErrorCalls) {
         setDataLong(12, mqTransactionErrorCalls);
     }
 
     @Override
-    public Long getMqTransactionDurationSum() {
+    public long getMqTransactionDurationSum() {
         return getDataLong(13);
     }
 
     @Override
-    public void setMqTransactionDurationSum(Long mqTransactionDurationSum) {
+    public void setMqTransactionDurationSum(long mqTransactionDurationSum) {
         setDataLong(13, mqTransactionDurationSum);
     }
 
     @Override
-    public Long getMqTransactionErrorDurationSum() {
+    public long getMqTransactionErrorDurationSum() {
         return getDataLong(14);
     }
 
     @Override
-    public void setMqTransactionErrorDurationSum(Long mqTransactionErrorDurationSum) {
+    public void setMqTransactionErrorDurationSum(long mqTransactionErrorDurationSum) {
         setDataLong(14, mqTransactionErrorDurationSum);
     }
 
-    @Override public Long getMqTransactionAverageDuration() {
+    @Override public long getMqTransactionAverageDuration() {
         return getDataLong(15);
     }
 
-    @Override public void setMqTransactionAverageDuration(Long mqTransactionAverageDuration) {
+    @Override public void setMqTransactionAverageDuration(long mqTransactionAverageDuration) {
         setDataLong(15, mqTransactionAverageDuration);
     }
 
@@ -291,23 +291,23 @@ public class InstanceReferenceMetric extends StreamData implements Metric {
         }
     }
 
-    private static class TransactionAverageDurationFormulaOperation implements FormulaOperation<InstanceReferenceMetric, Long> {
+    private static class TransactionAverageDurationFormulaOperation implements LongFormulaOperation<InstanceReferenceMetric> {
 
-        @Override public Long operate(InstanceReferenceMetric data) {
+        @Override public long calculate(InstanceReferenceMetric data) {
             return data.getTransactionCalls() == 0 ? 0 : data.getTransactionDurationSum() / data.getTransactionCalls();
         }
     }
 
-    private static class BusinessTransactionAverageDurationFormulaOperation implements FormulaOperation<InstanceReferenceMetric, Long> {
+    private static class BusinessTransactionAverageDurationFormulaOperation implements LongFormulaOperation<InstanceReferenceMetric> {
 
-        @Override public Long operate(InstanceReferenceMetric data) {
+        @Override public long calculate(InstanceReferenceMetric data) {
             return data.getBusinessTransactionCalls() == 0 ? 0 : data.getBusinessTransactionDurationSum() / data.getBusinessTransactionCalls();
         }
     }
 
-    private static class MqTransactionAverageDurationFormulaOperation implements FormulaOperation<InstanceReferenceMetric, Long> {
+    private static class MqTransactionAverageDurationFormulaOperation implements LongFormulaOperation<InstanceReferenceMetric> {
 
-        @Override public Long operate(InstanceReferenceMetric data) {
+        @Override public long calculate(InstanceReferenceMetric data) {
             return data.getMqTransactionCalls() == 0 ? 0 : data.getMqTransactionDurationSum() / data.getMqTransactionCalls();
         }
     }
@@ -69,35 +69,35 @@ public class CpuMetric extends StreamData {
         setDataString(1, metricId);
     }
 
-    public Integer getInstanceId() {
+    public int getInstanceId() {
         return getDataInteger(0);
     }
 
-    public void setInstanceId(Integer instanceId) {
+    public void setInstanceId(int instanceId) {
         setDataInteger(0, instanceId);
     }
 
-    public Double getUsagePercent() {
+    public double getUsagePercent() {
         return getDataDouble(0);
     }
 
-    public void setUsagePercent(Double usagePercent) {
+    public void setUsagePercent(double usagePercent) {
         setDataDouble(0, usagePercent);
     }
 
-    public Long getTimes() {
+    public long getTimes() {
         return getDataLong(0);
     }
 
-    public void setTimes(Long times) {
+    public void setTimes(long times) {
         setDataLong(0, times);
     }
 
-    public Long getTimeBucket() {
+    public long getTimeBucket() {
         return getDataLong(1);
     }
 
-    public void setTimeBucket(Long timeBucket) {
+    public void setTimeBucket(long timeBucket) {
         setDataLong(1, timeBucket);
     }
 }
@@ -70,43 +70,43 @@ public class GCMetric extends StreamData {
         setDataString(1, metricId);
     }
 
-    public Long getCount() {
+    public long getCount() {
         return getDataLong(0);
     }
 
-    public void setCount(Long count) {
+    public void setCount(long count) {
         setDataLong(0, count);
     }
 
-    public Long getTimes() {
+    public long getTimes() {
         return getDataLong(1);
     }
 
-    public void setTimes(Long times) {
+    public void setTimes(long times) {
         setDataLong(1, times);
     }
 
-    public Long getTimeBucket() {
+    public long getTimeBucket() {
         return getDataLong(2);
     }
 
-    public void setTimeBucket(Long timeBucket) {
+    public void setTimeBucket(long timeBucket) {
         setDataLong(2, timeBucket);
     }
 
-    public Integer getInstanceId() {
+    public int getInstanceId() {
         return getDataInteger(0);
     }
 
-    public void setInstanceId(Integer instanceId) {
+    public void setInstanceId(int instanceId) {
         setDataInteger(0, instanceId);
     }
 
-    public Integer getPhrase() {
+    public int getPhrase() {
         return getDataInteger(1);
     }
 
-    public void setPhrase(Integer phrase) {
+    public void setPhrase(int phrase) {
         setDataInteger(1, phrase);
     }
 }
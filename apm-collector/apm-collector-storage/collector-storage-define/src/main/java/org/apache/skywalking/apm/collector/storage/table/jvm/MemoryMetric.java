@@ -75,67 +75,67 @@ public class MemoryMetric extends StreamData {
         setDataString(1, metricId);
     }
 
-    public Long getInit() {
+    public long getInit() {
         return getDataLong(0);
     }
 
-    public void setInit(Long init) {
+    public void setInit(long init) {
         setDataLong(0, init);
     }
 
-    public Long getMax() {
+    public long getMax() {
         return getDataLong(1);
     }
 
-    public void setMax(Long max) {
+    public void setMax(long max) {
         setDataLong(1, max);
     }
 
-    public Long getUsed() {
+    public long getUsed() {
         return getDataLong(2);
     }
 
-    public void setUsed(Long used) {
+    public void setUsed(long used) {
         setDataLong(2, used);
     }
 
-    public Long getCommitted() {
+    public long getCommitted() {
         return getDataLong(3);
     }
 
-    public void setCommitted(Long committed) {
+    public void setCommitted(long committed) {
         setDataLong(3, committed);
     }
 
-    public Long getTimes() {
+    public long getTimes() {
         return getDataLong(4);
     }
 
-    public void setTimes(Long times) {
+    public void setTimes(long times) {
         setDataLong(4, times);
     }
 
-    public Long getTimeBucket() {
+    public long getTimeBucket() {
         return getDataLong(5);
     }
 
-    public void setTimeBucket(Long timeBucket) {
+    public void setTimeBucket(long timeBucket) {
         setDataLong(5, timeBucket);
     }
 
-    public Integer getInstanceId() {
+    public int getInstanceId() {
         return getDataInteger(0);
     }
 
-    public void setInstanceId(Integer instanceId) {
+    public void setInstanceId(int instanceId) {
         setDataInteger(0, instanceId);
     }
 
-    public Integer getIsHeap() {
+    public int getIsHeap() {
         return getDataInteger(1);
     }
 
-    public void setIsHeap(Integer isHeap) {
+    public void setIsHeap(int isHeap) {
         setDataInteger(1, isHeap);
     }
 }
@@ -77,7 +77,7 @@ public class Instance extends StreamData {
         return getDataInteger(0);
     }
 
-    public void setApplicationId(Integer applicationId) {
+    public void setApplicationId(int applicationId) {
         setDataInteger(0, applicationId);
     }
 
@@ -93,7 +93,7 @@ public class Instance extends StreamData {
         return getDataLong(0);
     }
 
-    public void setRegisterTime(Long registerTime) {
+    public void setRegisterTime(long registerTime) {
         setDataLong(0, registerTime);
     }
 
@@ -101,7 +101,7 @@ public class Instance extends StreamData {
         return getDataInteger(1);
     }
 
-    public void setInstanceId(Integer instanceId) {
+    public void setInstanceId(int instanceId) {
         setDataInteger(1, instanceId);
     }
 
@@ -109,7 +109,7 @@ public class Instance extends StreamData {
         return getDataLong(1);
     }
 
-    public void setHeartBeatTime(Long heartBeatTime) {
+    public void setHeartBeatTime(long heartBeatTime) {
         setDataLong(1, heartBeatTime);
     }
 
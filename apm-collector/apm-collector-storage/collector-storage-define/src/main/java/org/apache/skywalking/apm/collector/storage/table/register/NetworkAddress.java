@@ -76,27 +76,27 @@ public class NetworkAddress extends StreamData {
         setDataString(1, networkAddress);
     }
 
-    public Integer getAddressId() {
+    public int getAddressId() {
         return getDataInteger(0);
     }
 
-    public void setAddressId(Integer addressId) {
+    public void setAddressId(int addressId) {
         setDataInteger(0, addressId);
     }
 
-    public Integer getSrcSpanLayer() {
+    public int getSrcSpanLayer() {
         return getDataInteger(1);
     }
 
-    public void setSrcSpanLayer(Integer srcSpanLayer) {
+    public void setSrcSpanLayer(int srcSpanLayer) {
         setDataInteger(1, srcSpanLayer);
     }
 
-    public Integer getServerType() {
+    public int getServerType() {
         return getDataInteger(2);
     }
 
-    public void setServerType(Integer serverType) {
+    public void setServerType(int serverType) {
         setDataInteger(2, serverType);
     }
 
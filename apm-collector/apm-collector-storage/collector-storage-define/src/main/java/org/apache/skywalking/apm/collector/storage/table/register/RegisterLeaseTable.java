@@ -16,31 +16,19 @@
  *
  */
 
-package org.apache.skywalking.apm.collector.analysis.register.provider.register;
+package org.apache.skywalking.apm.collector.storage.table.register;
 
-import org.junit.Assert;
-import org.junit.Test;
+import org.apache.skywalking.apm.collector.core.data.ColumnName;
+import org.apache.skywalking.apm.collector.core.data.CommonTable;
 
 /**
+ * The leases of the id sequences of the register tables, one row for each register table, identified by the name of
+ * the register table.
+ *
  * @author peng-yongsheng
  */
-public class IdAutoIncrementTestCase {
-
-    @Test
-    public void testIncrement() {
-        int id = IdAutoIncrement.INSTANCE.increment(0, 0);
-        Assert.assertEquals(-1, id);
-
-        id = IdAutoIncrement.INSTANCE.increment(-1, -1);
-        Assert.assertEquals(1, id);
-
-        id = IdAutoIncrement.INSTANCE.increment(-1, 1);
-        Assert.assertEquals(2, id);
-
-        id = IdAutoIncrement.INSTANCE.increment(-1, 2);
-        Assert.assertEquals(-2, id);
+public interface RegisterLeaseTable extends CommonTable {
+    String TABLE = "register_lease";
 
-        id = IdAutoIncrement.INSTANCE.increment(-2, 2);
-        Assert.assertEquals(3, id);
-    }
+    ColumnName LEASE_END = new ColumnName("lease_end", "le");
 }
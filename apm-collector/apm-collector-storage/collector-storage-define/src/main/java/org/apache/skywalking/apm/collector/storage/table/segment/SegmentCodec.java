@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.storage.table.segment;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.apache.skywalking.apm.collector.core.UnexpectedException;
+
+/**
+ * The codec of the data binary of the segments. An encoded binary starts with the {@link #MAGIC} byte, which is never
+ * the first byte of a serialized segment because the field number 0 is illegal in protobuf, followed by the id of the
+ * codec and the payload. A binary without the magic byte is the raw segment, as written by {@link #NONE} and by the
+ * previous versions, so the stored data stays readable whatever the codec is configured.
+ *
+ * @author peng-yongsheng
+ */
+public enum SegmentCodec {
+    NONE((byte)0) {
+        @Override public byte[] encode(byte[] dataBinary) {
+            return dataBinary;
+        }
+
+        @Override byte[] decodePayload(byte[] binary) {
+            return Arrays.copyOfRange(binary, HEADER_LENGTH, binary.length);
+        }
+    },
+    DEFLATE((byte)1) {
+        @Override public byte[] encode(byte[] dataBinary) {
+            Deflater deflater = DEFLATERS.get();
+            deflater.reset();
+            deflater.setInput(dataBinary);
+            deflater.finish();
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(dataBinary.length / 2 + HEADER_LENGTH);
+            output.write(MAGIC);
+            output.write(getId());
+            byte[] buffer = BUFFERS.get();
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                output.write(buffer, 0, length);
+            }
+
+            if (output.size() >= dataBinary.length) {
+                return dataBinary;
+            }
+            return output.toByteArray();
+        }
+
+        @Override byte[] decodePayload(byte[] binary) {
+            Inflater inflater = INFLATERS.get();
+            inflater.reset();
+            inflater.setInput(binary, HEADER_LENGTH, binary.length - HEADER_LENGTH);
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(binary.length * 3);
+            byte[] buffer = BUFFERS.get();
+            try {
+                while (!inflater.finished()) {
+                    int length = inflater.inflate(buffer);
+                    if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new UnexpectedException("The deflated segment binary is truncated.");
+                    }
+                    output.write(buffer, 0, length);
+                }
+            } catch (DataFormatException e) {
+                throw new UnexpectedException(e.getMessage());
+            }
+            return output.toByteArray();
+        }
+    };
+
+    public static final byte MAGIC = 0;
+    private static final int HEADER_LENGTH = 2;
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final ThreadLocal<Deflater> DEFLATERS = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(Inflater::new);
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    private final byte id;
+
+    SegmentCodec(byte id) {
+        this.id = id;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    /**
+     * @return the binary to store, the raw one if the codec doesn't make it smaller.
+     */
+    public abstract byte[] encode(byte[] dataBinary);
+
+    abstract byte[] decodePayload(byte[] binary);
+
+    /**
+     * @return the raw segment of the stored binary, written by any codec.
+     */
+    public static byte[] decode(byte[] binary) {
+        if (binary == null || binary.length < HEADER_LENGTH || binary[0] != MAGIC) {
+            return binary;
+        }
+        for (SegmentCodec codec : values()) {
+            if (codec.id == binary[1]) {
+                return codec.decodePayload(binary);
+            }
+        }
+        throw new UnexpectedException("Unknown segment codec: " + binary[1]);
+    }
+
+    public static SegmentCodec forName(String name) {
+        return SegmentCodec.valueOf(name.trim().toUpperCase());
+    }
+}
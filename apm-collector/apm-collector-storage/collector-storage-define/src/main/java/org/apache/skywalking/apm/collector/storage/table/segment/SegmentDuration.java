@@ -95,51 +95,51 @@ public class SegmentDuration extends StreamData {
         setDataString(3, traceId);
     }
 
-    public Long getDuration() {
+    public long getDuration() {
         return getDataLong(0);
     }
 
-    public void setDuration(Long duration) {
+    public void setDuration(long duration) {
         setDataLong(0, duration);
     }
 
-    public Long getStartTime() {
+    public long getStartTime() {
         return getDataLong(1);
     }
 
-    public void setStartTime(Long startTime) {
+    public void setStartTime(long startTime) {
         setDataLong(1, startTime);
     }
 
-    public Long getEndTime() {
+    public long getEndTime() {
         return getDataLong(2);
     }
 
-    public void setEndTime(Long endTime) {
+    public void setEndTime(long endTime) {
         setDataLong(2, endTime);
     }
 
-    public Long getTimeBucket() {
+    public long getTimeBucket() {
         return getDataLong(3);
     }
 
-    public void setTimeBucket(Long timeBucket) {
+    public void setTimeBucket(long timeBucket) {
         setDataLong(3, timeBucket);
     }
 
-    public Integer getApplicationId() {
+    public int getApplicationId() {
         return getDataInteger(0);
     }
 
-    public void setApplicationId(Integer applicationId) {
+    public void setApplicationId(int applicationId) {
         setDataInteger(0, applicationId);
     }
 
-    public Integer getIsError() {
+    public int getIsError() {
         return getDataInteger(1);
     }
 
-    public void setIsError(Integer isError) {
+    public void setIsError(int isError) {
         setDataInteger(1, isError);
     }
 }
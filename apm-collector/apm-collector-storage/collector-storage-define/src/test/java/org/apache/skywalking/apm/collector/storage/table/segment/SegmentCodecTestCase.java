@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.storage.table.segment;
+
+import java.nio.charset.StandardCharsets;
+import org.apache.skywalking.apm.collector.core.UnexpectedException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author peng-yongsheng
+ */
+public class SegmentCodecTestCase {
+
+    @Test
+    public void testDeflate() {
+        byte[] dataBinary = segmentLike(200);
+        byte[] encoded = SegmentCodec.DEFLATE.encode(dataBinary);
+
+        Assert.assertEquals(SegmentCodec.MAGIC, encoded[0]);
+        Assert.assertEquals(SegmentCodec.DEFLATE.getId(), encoded[1]);
+        Assert.assertTrue(encoded.length < dataBinary.length / 2);
+        Assert.assertArrayEquals(dataBinary, SegmentCodec.decode(encoded));
+    }
+
+    @Test
+    public void testIncompressible() {
+        byte[] dataBinary = {0x0A, 0x01, 0x7F};
+        Assert.assertSame(dataBinary, SegmentCodec.DEFLATE.encode(dataBinary));
+        Assert.assertSame(dataBinary, SegmentCodec.decode(dataBinary));
+    }
+
+    @Test
+    public void testRawBinary() {
+        byte[] dataBinary = segmentLike(10);
+        Assert.assertSame(dataBinary, SegmentCodec.NONE.encode(dataBinary));
+        Assert.assertSame(dataBinary, SegmentCodec.decode(dataBinary));
+        Assert.assertEquals(0, SegmentCodec.decode(new byte[0]).length);
+    }
+
+    @Test(expected = UnexpectedException.class)
+    public void testUnknownCodec() {
+        SegmentCodec.decode(new byte[] {SegmentCodec.MAGIC, 0x7F, 0x01});
+    }
+
+    @Test(expected = UnexpectedException.class)
+    public void testTruncated() {
+        byte[] encoded = SegmentCodec.DEFLATE.encode(segmentLike(200));
+        byte[] truncated = new byte[encoded.length / 2];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+        SegmentCodec.decode(truncated);
+    }
+
+    @Test
+    public void testForName() {
+        Assert.assertEquals(SegmentCodec.DEFLATE, SegmentCodec.forName(" Deflate"));
+        Assert.assertEquals(SegmentCodec.NONE, SegmentCodec.forName("none"));
+    }
+
+    private byte[] segmentLike(int spans) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < spans; i++) {
+            builder.append('\n').append((char)i).append("/sendMessage/{count}Kafka/Trace-topic-1/Consumer").append(i % 7);
+        }
+        return builder.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -29,6 +29,12 @@ class StorageModuleEsConfig extends ElasticSearchClientConfig {
     private int indexReplicasNumber;
     private int ttl;
     private boolean highPerformanceMode;
+    private int bulkActions = 2000;
+    private int bulkSize = 10;
+    private int concurrentRequests = 2;
+    private int bulkRetryTimes = 3;
+    private String segmentCodec = "deflate";
+    private boolean dailyIndexSharding;
 
     int getIndexShardsNumber() {
         return indexShardsNumber;
@@ -61,4 +67,73 @@ class StorageModuleEsConfig extends ElasticSearchClientConfig {
     void setHighPerformanceMode(boolean highPerformanceMode) {
         this.highPerformanceMode = highPerformanceMode;
     }
+
+    /**
+     * @return max actions of a bulk.
+     */
+    int getBulkActions() {
+        return bulkActions;
+    }
+
+    void setBulkActions(int bulkActions) {
+        this.bulkActions = bulkActions;
+    }
+
+    /**
+     * @return max megabytes of a bulk.
+     */
+    int getBulkSize() {
+        return bulkSize;
+    }
+
+    void setBulkSize(int bulkSize) {
+        this.bulkSize = bulkSize;
+    }
+
+    /**
+     * @return max bulks in flight of a persistence batch.
+     */
+    int getConcurrentRequests() {
+        return concurrentRequests;
+    }
+
+    void setConcurrentRequests(int concurrentRequests) {
+        this.concurrentRequests = concurrentRequests;
+    }
+
+    /**
+     * @return max retries of the items rejected by a busy node.
+     */
+    int getBulkRetryTimes() {
+        return bulkRetryTimes;
+    }
+
+    void setBulkRetryTimes(int bulkRetryTimes) {
+        this.bulkRetryTimes = bulkRetryTimes;
+    }
+
+    /**
+     * @return the codec of the segment data binary, none or deflate. The segment index uses the best_compression
+     * stored field codec too, so deflate compresses the binary twice, choose none to save that CPU at the cost of size.
+     */
+    String getSegmentCodec() {
+        return segmentCodec;
+    }
+
+    void setSegmentCodec(String segmentCodec) {
+        this.segmentCodec = segmentCodec;
+    }
+
+    /**
+     * @return true to write the segment, global_trace and segment_duration rows into daily indices, and drop the
+     * expired indices instead of deleting the rows. It can't be enabled on the indices created without it, see the
+     * upgrade step in the cluster mode deploy document.
+     */
+    boolean isDailyIndexSharding() {
+        return dailyIndexSharding;
+    }
+
+    void setDailyIndexSharding(boolean dailyIndexSharding) {
+        this.dailyIndexSharding = dailyIndexSharding;
+    }
 }
@@ -18,12 +18,21 @@
 
 package org.apache.skywalking.apm.collector.storage.es.base.dao;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchClient;
+import org.apache.skywalking.apm.collector.core.UnexpectedException;
+import org.apache.skywalking.apm.collector.core.data.CommonTable;
 import org.apache.skywalking.apm.collector.core.data.StreamData;
 import org.apache.skywalking.apm.collector.core.util.TimeBucketUtils;
 import org.apache.skywalking.apm.collector.storage.base.dao.IPersistenceDAO;
 import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetItemResponse;
+import org.elasticsearch.action.get.MultiGetRequestBuilder;
+import org.elasticsearch.action.get.MultiGetResponse;
 import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.update.UpdateRequestBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -38,6 +47,8 @@ public abstract class AbstractPersistenceEsDAO<STREAM_DATA extends StreamData> e
 
     private final Logger logger = LoggerFactory.getLogger(AbstractPersistenceEsDAO.class);
 
+    private static final int MULTI_GET_SIZE = 1000;
+
     protected AbstractPersistenceEsDAO(ElasticSearchClient client) {
         super(client);
     }
@@ -58,6 +69,38 @@ public abstract class AbstractPersistenceEsDAO<STREAM_DATA extends StreamData> e
         }
     }
 
+    @Override
+    public Map<String, STREAM_DATA> get(Collection<String> ids) {
+        Map<String, STREAM_DATA> streamDataMap = new HashMap<>();
+        List<String> failedIds = new ArrayList<>();
+        List<String> idList = new ArrayList<>(ids);
+        for (int from = 0; from < idList.size(); from += MULTI_GET_SIZE) {
+            List<String> chunk = idList.subList(from, Math.min(from + MULTI_GET_SIZE, idList.size()));
+            MultiGetRequestBuilder prepareMultiGet = getClient().prepareMultiGet(chunk, new ElasticSearchClient.MultiGetRowHandler<String>() {
+                @Override
+                public void accept(String id) {
+                    add(tableName(), CommonTable.TABLE_TYPE, id);
+                }
+            });
+            MultiGetResponse multiGetResponse = prepareMultiGet.get();
+
+            for (MultiGetItemResponse response : multiGetResponse.getResponses()) {
+                if (response.isFailed()) {
+                    logger.error("Multi get id: {} from {} index failure, {}", response.getId(), tableName(), response.getFailure().getMessage());
+                    failedIds.add(response.getId());
+                } else if (response.getResponse().isExists()) {
+                    STREAM_DATA streamData = esDataToStreamData(response.getResponse().getSource());
+                    streamData.setId(response.getId());
+                    streamDataMap.put(response.getId(), streamData);
+                }
+            }
+        }
+        if (!failedIds.isEmpty()) {
+            throw new UnexpectedException("Multi get " + failedIds.size() + " of " + idList.size() + " ids from " + tableName() + " index failure, ids: " + failedIds);
+        }
+        return streamDataMap;
+    }
+
     protected abstract Map<String, Object> esStreamDataToEsData(STREAM_DATA streamData);
 
     @Override
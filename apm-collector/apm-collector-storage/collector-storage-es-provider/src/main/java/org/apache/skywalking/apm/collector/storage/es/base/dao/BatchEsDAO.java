@@ -18,55 +18,155 @@
 
 package org.apache.skywalking.apm.collector.storage.es.base.dao;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.apm.collector.core.annotations.trace.BatchParameter;
 import org.apache.skywalking.apm.collector.core.annotations.trace.GraphComputingMetric;
 import org.apache.skywalking.apm.collector.core.util.CollectionUtils;
 import org.apache.skywalking.apm.collector.storage.base.dao.IBatchDAO;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
 import org.elasticsearch.action.bulk.BulkItemResponse;
-import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.update.UpdateRequestBuilder;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Persist a batch by the bulk processor of elasticsearch. The batch is split into the bulks by the action count and
+ * the byte size, a number of bulks are executed concurrently, and the items rejected by a busy node are retried with an
+ * exponential backoff. The persistence returns after all the bulks of the batch completed, so the next batch of the
+ * same table reads the persisted data.
+ * <p>
+ * The latency and the failed items of each index are reported to the log every minute.
+ *
  * @author peng-yongsheng
  */
 public class BatchEsDAO extends EsDAO implements IBatchDAO {
 
     private final Logger logger = LoggerFactory.getLogger(BatchEsDAO.class);
 
-    public BatchEsDAO(ElasticSearchClient client) {
+    private static final long FIRST_RETRY_DELAY_MILLIS = 100;
+    private static final long BULK_AWAIT_MINUTES = 5;
+
+    private final int bulkActions;
+    private final ByteSizeValue bulkSize;
+    private final int concurrentRequests;
+    private final int bulkRetryTimes;
+    private final BulkStatistics statistics = new BulkStatistics();
+
+    /**
+     * @param bulkActions max actions of a bulk.
+     * @param bulkSize max megabytes of a bulk.
+     * @param concurrentRequests max bulks in flight of a batch, 0 means the bulks are executed one by one in the
+     * persistence thread.
+     * @param bulkRetryTimes max retries of the rejected items.
+     */
+    public BatchEsDAO(ElasticSearchClient client, int bulkActions, int bulkSize, int concurrentRequests,
+        int bulkRetryTimes) {
         super(client);
+        this.bulkActions = Math.max(1, bulkActions);
+        this.bulkSize = new ByteSizeValue(Math.max(1, bulkSize), ByteSizeUnit.MB);
+        this.concurrentRequests = Math.max(0, concurrentRequests);
+        this.bulkRetryTimes = Math.max(0, bulkRetryTimes);
+
+        Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(
+            new RunnableWithExceptionProtection(statistics::report,
+                t -> logger.error("Bulk statistics report failure.", t)), 60, 60, TimeUnit.SECONDS);
     }
 
     @GraphComputingMetric(name = "/persistence/batchPersistence/")
-    @Override public void batchPersistence(@BatchParameter List<?> batchCollection) {
+    @Override public boolean batchPersistence(@BatchParameter List<?> batchCollection) {
         if (logger.isDebugEnabled()) {
             logger.debug("bulk data size: {}", batchCollection.size());
         }
         if (CollectionUtils.isNotEmpty(batchCollection)) {
-            BulkRequestBuilder bulkRequest = getClient().prepareBulk();
+            BulkListener bulkListener = new BulkListener();
+            BulkProcessor bulkProcessor = getClient().prepareBulkProcessor(bulkListener)
+                .setBulkActions(bulkActions)
+                .setBulkSize(bulkSize)
+                .setConcurrentRequests(concurrentRequests)
+                .setBackoffPolicy(BackoffPolicy.wrap(BackoffPolicy.exponentialBackoff(TimeValue.timeValueMillis(FIRST_RETRY_DELAY_MILLIS), bulkRetryTimes), statistics::retried))
+                .build();
 
             batchCollection.forEach(builder -> {
                 if (builder instanceof IndexRequestBuilder) {
-                    bulkRequest.add((IndexRequestBuilder)builder);
+                    bulkProcessor.add(((IndexRequestBuilder)builder).request());
                 }
                 if (builder instanceof UpdateRequestBuilder) {
-                    bulkRequest.add((UpdateRequestBuilder)builder);
+                    bulkProcessor.add(((UpdateRequestBuilder)builder).request());
                 }
             });
 
-            BulkResponse bulkResponse = bulkRequest.execute().actionGet();
-            if (bulkResponse.hasFailures()) {
-                logger.error(bulkResponse.buildFailureMessage());
-                for (BulkItemResponse itemResponse : bulkResponse.getItems()) {
-                    logger.error("Bulk request failure, index: {}, id: {}", itemResponse.getIndex(), itemResponse.getId());
+            try {
+                if (!bulkProcessor.awaitClose(BULK_AWAIT_MINUTES, TimeUnit.MINUTES)) {
+                    logger.error("bulk of {} items not completed in {} minutes", batchCollection.size(), BULK_AWAIT_MINUTES);
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return !bulkListener.failed;
+        }
+        return true;
+    }
+
+    /**
+     * Record the bulks of a batch, the callbacks are called by the threads of the client when the bulks are executed
+     * concurrently.
+     */
+    private class BulkListener implements BulkProcessor.Listener {
+        private final Map<Long, Long> startTimes = new ConcurrentHashMap<>();
+        private volatile boolean failed;
+
+        @Override public void beforeBulk(long executionId, BulkRequest request) {
+            startTimes.put(executionId, System.currentTimeMillis());
+        }
+
+        @Override public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+            long latency = latency(executionId);
+            Map<String, int[]> indexCounts = new HashMap<>();
+            for (BulkItemResponse itemResponse : response.getItems()) {
+                int[] counts = indexCounts.computeIfAbsent(itemResponse.getIndex(), index -> new int[2]);
+                counts[0]++;
+                if (itemResponse.isFailed()) {
+                    counts[1]++;
                 }
             }
+            if (response.hasFailures()) {
+                failed = true;
+                logger.error(response.buildFailureMessage());
+            }
+            indexCounts.forEach((index, counts) -> statistics.record(index, counts[0], counts[1], latency));
+        }
+
+        @Override public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+            long latency = latency(executionId);
+            failed = true;
+            logger.error("Bulk request failure, actions: " + request.numberOfActions(), failure);
+            Map<String, Integer> indexCounts = new HashMap<>();
+            for (DocWriteRequest writeRequest : request.requests()) {
+                indexCounts.merge(writeRequest.index(), 1, Integer::sum);
+            }
+            indexCounts.forEach((index, count) -> statistics.record(index, count, count, latency));
+        }
+
+        private long latency(long executionId) {
+            Long startTime = startTimes.remove(executionId);
+            return startTime == null ? 0 : System.currentTimeMillis() - startTime;
         }
     }
 }
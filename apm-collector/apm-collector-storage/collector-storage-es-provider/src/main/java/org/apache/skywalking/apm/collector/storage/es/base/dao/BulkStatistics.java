@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.storage.es.base.dao;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The bulk latency and the failed items of each index, and the retries of the rejected items, reported to the log by
+ * {@link #report()} and reset.
+ *
+ * @author peng-yongsheng
+ */
+class BulkStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkStatistics.class);
+
+    private final Map<String, IndexStatistics> indices = new ConcurrentHashMap<>();
+    private final LongAdder retries = new LongAdder();
+
+    void retried() {
+        retries.increment();
+    }
+
+    void record(String index, int items, int failures, long latency) {
+        IndexStatistics statistics = indices.computeIfAbsent(index, name -> new IndexStatistics());
+        statistics.bulks.increment();
+        statistics.items.add(items);
+        statistics.failures.add(failures);
+        statistics.latency.add(latency);
+        statistics.maxLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    void report() {
+        indices.forEach((index, statistics) -> {
+            long bulks = statistics.bulks.sumThenReset();
+            if (bulks == 0) {
+                return;
+            }
+            long items = statistics.items.sumThenReset();
+            long failures = statistics.failures.sumThenReset();
+            long averageLatency = statistics.latency.sumThenReset() / bulks;
+            long maxLatency = statistics.maxLatency.getAndSet(0);
+            if (failures > 0) {
+                logger.warn("bulk of index: {}, bulks: {}, items: {}, failures: {}, latency avg: {}ms, max: {}ms", index, bulks, items, failures, averageLatency, maxLatency);
+            } else {
+                logger.info("bulk of index: {}, bulks: {}, items: {}, latency avg: {}ms, max: {}ms", index, bulks, items, averageLatency, maxLatency);
+            }
+        });
+        long retried = retries.sumThenReset();
+        if (retried > 0) {
+            logger.warn("bulk retried: {} times for the rejected items", retried);
+        }
+    }
+
+    private static class IndexStatistics {
+        private final LongAdder bulks = new LongAdder();
+        private final LongAdder items = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder latency = new LongAdder();
+        private final AtomicLong maxLatency = new AtomicLong();
+    }
+}
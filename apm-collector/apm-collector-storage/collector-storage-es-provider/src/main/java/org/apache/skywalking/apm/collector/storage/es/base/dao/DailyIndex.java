@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.storage.es.base.dao;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchClient;
+import org.apache.skywalking.apm.collector.core.util.TimeBucketUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The naming of the daily indices of the time-sharded tables, such as segment-20180101. The rows are written into the
+ * index of the day of their time bucket, read through the alias named by the table, and the history is removed by
+ * dropping the indices of the expired days.
+ *
+ * @author peng-yongsheng
+ */
+public final class DailyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyIndex.class);
+
+    private static final String SEPARATOR = "-";
+    private static final int MAX_SEARCH_DAYS = 31;
+    private static final long MAX_DAY = 99999999L;
+
+    private DailyIndex() {
+    }
+
+    public static String indexName(String tableName, long timeBucket) {
+        return tableName + SEPARATOR + toDay(timeBucket);
+    }
+
+    public static String indexPattern(String tableName) {
+        return tableName + SEPARATOR + "*";
+    }
+
+    /**
+     * @param startTimeBucket the start time bucket in any precision, such as minute or second.
+     * @param endTimeBucket the end time bucket in the same precision of the start one.
+     * @return the daily indices covering the time buckets, or the alias of all the indices if the range is too long.
+     */
+    public static String[] indexNames(String tableName, long startTimeBucket, long endTimeBucket) {
+        LocalDate startDay = toDate(toDay(startTimeBucket));
+        LocalDate endDay = toDate(toDay(endTimeBucket));
+        if (startDay == null || endDay == null || endDay.isBefore(startDay) || startDay.plusDays(MAX_SEARCH_DAYS).isBefore(endDay)) {
+            return new String[] {tableName};
+        }
+
+        List<String> indexNames = new ArrayList<>();
+        for (LocalDate day = startDay; !day.isAfter(endDay); day = day.plusDays(1)) {
+            indexNames.add(tableName + SEPARATOR + day.format(DateTimeFormatter.BASIC_ISO_DATE));
+        }
+        return indexNames.toArray(new String[indexNames.size()]);
+    }
+
+    /**
+     * Drop the daily indices of the table whose day is not after the day of the given timestamp.
+     */
+    public static void deleteHistory(ElasticSearchClient client, String tableName, long endTimestamp) {
+        long endDay = toDay(TimeBucketUtils.INSTANCE.getMinuteTimeBucket(endTimestamp));
+        String prefix = tableName + SEPARATOR;
+
+        for (String index : client.getIndices(indexPattern(tableName))) {
+            if (!index.startsWith(prefix)) {
+                continue;
+            }
+            long day;
+            try {
+                day = Long.parseLong(index.substring(prefix.length()));
+            } catch (NumberFormatException e) {
+                logger.warn("Index {} is not a daily index of {}, skip it.", index, tableName);
+                continue;
+            }
+            if (day <= endDay) {
+                boolean isAcknowledged = client.deleteIndex(index);
+                logger.info("Drop the history index {}, isAcknowledged: {}", index, isAcknowledged);
+            }
+        }
+    }
+
+    static long toDay(long timeBucket) {
+        while (timeBucket > MAX_DAY) {
+            timeBucket = timeBucket / 10;
+        }
+        return timeBucket;
+    }
+
+    private static LocalDate toDate(long day) {
+        try {
+            return LocalDate.parse(String.valueOf(day), DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -18,21 +18,31 @@
 
 package org.apache.skywalking.apm.collector.storage.es.base.dao;
 
+import java.util.function.Consumer;
 import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchClient;
+import org.apache.skywalking.apm.collector.core.data.CommonTable;
 import org.apache.skywalking.apm.collector.storage.base.dao.AbstractDAO;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
 import org.elasticsearch.search.aggregations.metrics.max.Max;
 import org.elasticsearch.search.aggregations.metrics.max.MaxAggregationBuilder;
 import org.elasticsearch.search.aggregations.metrics.min.Min;
 import org.elasticsearch.search.aggregations.metrics.min.MinAggregationBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.SortOrder;
 
 /**
  * @author peng-yongsheng
  */
 public abstract class EsDAO extends AbstractDAO<ElasticSearchClient> {
 
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+    private static final int SCROLL_SIZE = 1000;
+
     public EsDAO(ElasticSearchClient client) {
         super(client);
     }
@@ -74,4 +84,30 @@ public abstract class EsDAO extends AbstractDAO<ElasticSearchClient> {
             return id;
         }
     }
+
+    /**
+     * Scroll all the documents of the index in the index order, a page of the documents in each round trip. The scroll
+     * context is cleared at the end, not kept by the cluster until the keep alive expires.
+     */
+    protected final void scrollAll(String indexName, Consumer<SearchHit> consumer) {
+        ElasticSearchClient client = getClient();
+        SearchRequestBuilder searchRequestBuilder = client.prepareSearch(indexName);
+        searchRequestBuilder.setTypes(CommonTable.TABLE_TYPE);
+        searchRequestBuilder.setQuery(QueryBuilders.matchAllQuery());
+        searchRequestBuilder.addSort(FieldSortBuilder.DOC_FIELD_NAME, SortOrder.ASC);
+        searchRequestBuilder.setScroll(SCROLL_KEEP_ALIVE);
+        searchRequestBuilder.setSize(SCROLL_SIZE);
+
+        SearchResponse searchResponse = searchRequestBuilder.get();
+        try {
+            while (searchResponse.getHits().getHits().length > 0) {
+                for (SearchHit searchHit : searchResponse.getHits().getHits()) {
+                    consumer.accept(searchHit);
+                }
+                searchResponse = client.prepareSearchScroll(searchResponse.getScrollId()).setScroll(SCROLL_KEEP_ALIVE).get();
+            }
+        } finally {
+            client.prepareClearScroll(searchResponse.getScrollId()).get();
+        }
+    }
 }
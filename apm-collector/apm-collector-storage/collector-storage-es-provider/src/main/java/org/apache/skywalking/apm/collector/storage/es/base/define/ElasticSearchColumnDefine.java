@@ -26,8 +26,29 @@ import org.apache.skywalking.apm.collector.core.data.ColumnName;
  */
 public class ElasticSearchColumnDefine extends ColumnDefine {
 
+    private final boolean index;
+    private final boolean docValues;
+
     public ElasticSearchColumnDefine(ColumnName columnName, String type) {
+        this(columnName, type, true, true);
+    }
+
+    /**
+     * @param index false if the column is never searched by.
+     * @param docValues false if the column is never sorted or aggregated by.
+     */
+    public ElasticSearchColumnDefine(ColumnName columnName, String type, boolean index, boolean docValues) {
         super(columnName, type);
+        this.index = index;
+        this.docValues = docValues;
+    }
+
+    public boolean isIndex() {
+        return index;
+    }
+
+    public boolean isDocValues() {
+        return docValues;
     }
 
     public enum Type {
@@ -29,6 +29,7 @@ import org.apache.skywalking.apm.collector.core.data.TableDefine;
 import org.apache.skywalking.apm.collector.storage.StorageException;
 import org.apache.skywalking.apm.collector.storage.StorageInstallException;
 import org.apache.skywalking.apm.collector.storage.StorageInstaller;
+import org.apache.skywalking.apm.collector.storage.es.base.dao.DailyIndex;
 import org.elasticsearch.action.admin.indices.mapping.get.GetFieldMappingsResponse;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentBuilder;
@@ -45,12 +46,18 @@ public class ElasticSearchStorageInstaller extends StorageInstaller {
 
     private final int indexShardsNumber;
     private final int indexReplicasNumber;
+    private final boolean dailyIndexSharding;
 
+    /**
+     * @param dailyIndexSharding put the templates of the daily indices for the tables which {@link
+     * ElasticSearchTableDefine#dailySharding()}, instead of creating their indices.
+     */
     public ElasticSearchStorageInstaller(int indexShardsNumber, int indexReplicasNumber,
-        boolean isHighPerformanceMode) {
+        boolean isHighPerformanceMode, boolean dailyIndexSharding) {
         super(isHighPerformanceMode);
         this.indexShardsNumber = indexShardsNumber;
         this.indexReplicasNumber = indexReplicasNumber;
+        this.dailyIndexSharding = dailyIndexSharding;
     }
 
     @Override protected void defineFilter(List<TableDefine> tableDefines) {
@@ -66,6 +73,11 @@ public class ElasticSearchStorageInstaller extends StorageInstaller {
         ElasticSearchClient esClient = (ElasticSearchClient)client;
         ElasticSearchTableDefine esTableDefine = (ElasticSearchTableDefine)tableDefine;
 
+        if (isDailySharded(esTableDefine)) {
+            // the daily indices are created by the template, which is put with the current columns.
+            return;
+        }
+
         for (ColumnDefine columnDefine : tableDefine.getColumnDefines()) {
             GetFieldMappingsResponse.FieldMappingMetaData metaData = esClient.prepareGetMappings(esTableDefine.getName(), columnDefine.getColumnName().getName());
 
@@ -96,6 +108,11 @@ public class ElasticSearchStorageInstaller extends StorageInstaller {
             logger.error("create {} index mapping builder error", esTableDefine.getName());
         }
 
+        if (isDailySharded(esTableDefine)) {
+            createTemplate(esClient, esTableDefine, settings, mappingBuilder);
+            return;
+        }
+
         boolean isAcknowledged = esClient.createIndex(esTableDefine.getName(), esTableDefine.type(), settings, mappingBuilder);
         logger.info("create {} index with type of {} finished, isAcknowledged: {}", esTableDefine.getName(), esTableDefine.type(), isAcknowledged);
 
@@ -104,11 +121,29 @@ public class ElasticSearchStorageInstaller extends StorageInstaller {
         }
     }
 
+    private void createTemplate(ElasticSearchClient esClient, ElasticSearchTableDefine esTableDefine, Settings settings,
+        XContentBuilder mappingBuilder) throws StorageException {
+        if (esClient.isExistsIndex(esTableDefine.getName())) {
+            throw new StorageInstallException("The " + esTableDefine.getName() + " index exists, which is not sharded by day,"
+                + " delete it to use the daily indices of " + DailyIndex.indexPattern(esTableDefine.getName())
+                + ", or set dailyIndexSharding to false to keep it.");
+        }
+
+        boolean isAcknowledged = esClient.putTemplate(esTableDefine.getName(), DailyIndex.indexPattern(esTableDefine.getName()),
+            esTableDefine.getName(), esTableDefine.type(), settings, mappingBuilder);
+        logger.info("put {} template with type of {} finished, isAcknowledged: {}", esTableDefine.getName(), esTableDefine.type(), isAcknowledged);
+
+        if (!isAcknowledged) {
+            throw new StorageInstallException("put " + esTableDefine.getName() + " template failure, ");
+        }
+    }
+
     private Settings createSettingBuilder(ElasticSearchTableDefine tableDefine) {
         return Settings.builder()
-            .put("index.number_of_shards", indexShardsNumber)
+            .put("index.number_of_shards", tableDefine.shardsNumber() > 0 ? tableDefine.shardsNumber() : indexShardsNumber)
             .put("index.number_of_replicas", indexReplicasNumber)
             .put("index.refresh_interval", String.valueOf(tableDefine.refreshInterval()) + "s")
+            .put("index.codec", tableDefine.codec())
 
             .put("analysis.analyzer.collector_analyzer.type", "stop")
             .build();
@@ -116,8 +151,16 @@ public class ElasticSearchStorageInstaller extends StorageInstaller {
 
     private XContentBuilder createMappingBuilder(ElasticSearchTableDefine tableDefine) throws IOException {
         XContentBuilder mappingBuilder = XContentFactory.jsonBuilder()
-            .startObject()
-            .startObject("properties");
+            .startObject();
+
+        if (!tableDefine.allFieldEnabled()) {
+            mappingBuilder
+                .startObject("_all")
+                .field("enabled", false)
+                .endObject();
+        }
+
+        mappingBuilder.startObject("properties");
 
         for (ColumnDefine columnDefine : tableDefine.getColumnDefines()) {
             ElasticSearchColumnDefine elasticSearchColumnDefine = (ElasticSearchColumnDefine)columnDefine;
@@ -128,11 +171,22 @@ public class ElasticSearchStorageInstaller extends StorageInstaller {
                     .field("type", elasticSearchColumnDefine.getType().toLowerCase())
                     .field("analyzer", "collector_analyzer")
                     .endObject();
-            } else {
+            } else if (ElasticSearchColumnDefine.Type.Binary.name().toLowerCase().equals(elasticSearchColumnDefine.getType().toLowerCase())) {
                 mappingBuilder
                     .startObject(elasticSearchColumnDefine.getColumnName().getName())
                     .field("type", elasticSearchColumnDefine.getType().toLowerCase())
                     .endObject();
+            } else {
+                mappingBuilder
+                    .startObject(elasticSearchColumnDefine.getColumnName().getName())
+                    .field("type", elasticSearchColumnDefine.getType().toLowerCase());
+                if (!elasticSearchColumnDefine.isIndex()) {
+                    mappingBuilder.field("index", false);
+                }
+                if (!elasticSearchColumnDefine.isDocValues()) {
+                    mappingBuilder.field("doc_values", false);
+                }
+                mappingBuilder.endObject();
             }
         }
 
@@ -146,13 +200,30 @@ public class ElasticSearchStorageInstaller extends StorageInstaller {
     @Override protected void deleteTable(Client client, TableDefine tableDefine) throws StorageException {
         ElasticSearchClient esClient = (ElasticSearchClient)client;
 
+        if (isDailySharded((ElasticSearchTableDefine)tableDefine)) {
+            for (String index : esClient.getIndices(DailyIndex.indexPattern(tableDefine.getName()))) {
+                esClient.deleteIndex(index);
+            }
+            if (!esClient.deleteTemplate(tableDefine.getName())) {
+                throw new StorageInstallException(tableDefine.getName() + " template delete failure.");
+            }
+            return;
+        }
+
         if (!esClient.deleteIndex(tableDefine.getName())) {
             throw new StorageInstallException(tableDefine.getName() + " index delete failure.");
         }
     }
 
+    private boolean isDailySharded(ElasticSearchTableDefine tableDefine) {
+        return dailyIndexSharding && tableDefine.dailySharding();
+    }
+
     @Override protected boolean isExists(Client client, TableDefine tableDefine) {
         ElasticSearchClient esClient = (ElasticSearchClient)client;
+        if (isDailySharded((ElasticSearchTableDefine)tableDefine)) {
+            return esClient.isExistsTemplate(tableDefine.getName());
+        }
         return esClient.isExistsIndex(tableDefine.getName());
     }
 }
@@ -35,4 +35,33 @@ public abstract class ElasticSearchTableDefine extends TableDefine {
     }
 
     public abstract int refreshInterval();
+
+    /**
+     * @return the number of primary shards, 0 means the configured index shards number.
+     */
+    public int shardsNumber() {
+        return 0;
+    }
+
+    /**
+     * @return the codec of the stored fields, including the _source, best_compression for the large documents.
+     */
+    public String codec() {
+        return "default";
+    }
+
+    /**
+     * @return false if no query searches the table without a field name.
+     */
+    public boolean allFieldEnabled() {
+        return true;
+    }
+
+    /**
+     * @return true if the rows are written into daily indices, read through the alias named by the table and removed
+     * by dropping the indices of the expired days, when the dailyIndexSharding of the storage is enabled.
+     */
+    public boolean dailySharding() {
+        return false;
+    }
 }
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.apm.collector.storage.es.dao;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,6 +26,7 @@ import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchCli
 import org.apache.skywalking.apm.collector.core.UnexpectedException;
 import org.apache.skywalking.apm.collector.core.util.TimeBucketUtils;
 import org.apache.skywalking.apm.collector.storage.dao.IGlobalTracePersistenceDAO;
+import org.apache.skywalking.apm.collector.storage.es.base.dao.DailyIndex;
 import org.apache.skywalking.apm.collector.storage.es.base.dao.EsDAO;
 import org.apache.skywalking.apm.collector.storage.table.global.GlobalTrace;
 import org.apache.skywalking.apm.collector.storage.table.global.GlobalTraceTable;
@@ -42,8 +44,14 @@ public class GlobalTraceEsPersistenceDAO extends EsDAO implements IGlobalTracePe
 
     private final Logger logger = LoggerFactory.getLogger(GlobalTraceEsPersistenceDAO.class);
 
-    public GlobalTraceEsPersistenceDAO(ElasticSearchClient client) {
+    private final boolean dailySharding;
+
+    /**
+     * @param dailySharding write into the daily indices, see {@link DailyIndex}, or the index named by the table.
+     */
+    public GlobalTraceEsPersistenceDAO(ElasticSearchClient client, boolean dailySharding) {
         super(client);
+        this.dailySharding = dailySharding;
     }
 
     @Override
@@ -51,6 +59,11 @@ public class GlobalTraceEsPersistenceDAO extends EsDAO implements IGlobalTracePe
         throw new UnexpectedException("There is no need to merge stream data with database data.");
     }
 
+    @Override
+    public Map<String, GlobalTrace> get(Collection<String> ids) {
+        throw new UnexpectedException("There is no need to merge stream data with database data.");
+    }
+
     @Override
     public UpdateRequestBuilder prepareBatchUpdate(GlobalTrace data) {
         throw new UnexpectedException("There is no need to merge stream data with database data.");
@@ -63,17 +76,22 @@ public class GlobalTraceEsPersistenceDAO extends EsDAO implements IGlobalTracePe
         target.put(GlobalTraceTable.TRACE_ID.getName(), data.getGlobalTraceId());
         target.put(GlobalTraceTable.TIME_BUCKET.getName(), data.getTimeBucket());
         logger.debug("global trace source: {}", target.toString());
-        return getClient().prepareIndex(GlobalTraceTable.TABLE, data.getId()).setSource(target);
+        return getClient().prepareIndex(dailySharding ? DailyIndex.indexName(GlobalTraceTable.TABLE, data.getTimeBucket()) : GlobalTraceTable.TABLE, data.getId()).setSource(target);
     }
 
     @Override
     public void deleteHistory(Long startTimestamp, Long endTimestamp) {
+        if (dailySharding) {
+            DailyIndex.deleteHistory(getClient(), GlobalTraceTable.TABLE, endTimestamp);
+            return;
+        }
+
         long startTimeBucket = TimeBucketUtils.INSTANCE.getMinuteTimeBucket(startTimestamp);
         long endTimeBucket = TimeBucketUtils.INSTANCE.getMinuteTimeBucket(endTimestamp);
         BulkByScrollResponse response = getClient().prepareDelete(
-                QueryBuilders.rangeQuery(GlobalTraceTable.TIME_BUCKET.getName()).gte(startTimeBucket).lte(endTimeBucket),
-                GlobalTraceTable.TABLE)
-                .get();
+            QueryBuilders.rangeQuery(GlobalTraceTable.TIME_BUCKET.getName()).gte(startTimeBucket).lte(endTimeBucket),
+            GlobalTraceTable.TABLE)
+            .get();
 
         long deleted = response.getDeleted();
         logger.info("Delete {} rows history from {} index.", deleted, GlobalTraceTable.TABLE);
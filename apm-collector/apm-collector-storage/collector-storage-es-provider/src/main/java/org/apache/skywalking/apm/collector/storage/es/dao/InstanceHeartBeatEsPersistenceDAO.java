@@ -18,6 +18,8 @@
 
 package org.apache.skywalking.apm.collector.storage.es.dao;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchClient;
@@ -28,6 +30,9 @@ import org.apache.skywalking.apm.collector.storage.es.base.dao.EsDAO;
 import org.apache.skywalking.apm.collector.storage.table.register.Instance;
 import org.apache.skywalking.apm.collector.storage.table.register.InstanceTable;
 import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetItemResponse;
+import org.elasticsearch.action.get.MultiGetRequestBuilder;
+import org.elasticsearch.action.get.MultiGetResponse;
 import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.update.UpdateRequestBuilder;
 import org.slf4j.Logger;
@@ -62,6 +67,31 @@ public class InstanceHeartBeatEsPersistenceDAO extends EsDAO implements IInstanc
         }
     }
 
+    @GraphComputingMetric(name = "/persistence/multiGet/" + InstanceTable.TABLE + "/heartbeat")
+    @Override public Map<String, Instance> get(Collection<String> ids) {
+        MultiGetRequestBuilder prepareMultiGet = getClient().prepareMultiGet(new ArrayList<>(ids), new ElasticSearchClient.MultiGetRowHandler<String>() {
+            @Override
+            public void accept(String id) {
+                add(InstanceTable.TABLE, InstanceTable.TABLE_TYPE, id);
+            }
+        });
+        MultiGetResponse multiGetResponse = prepareMultiGet.get();
+
+        Map<String, Instance> instances = new HashMap<>();
+        for (MultiGetItemResponse response : multiGetResponse.getResponses()) {
+            if (!response.isFailed() && response.getResponse().isExists()) {
+                Map<String, Object> source = response.getResponse().getSource();
+
+                Instance instance = new Instance();
+                instance.setId(response.getId());
+                instance.setInstanceId(((Number)source.get(InstanceTable.INSTANCE_ID.getName())).intValue());
+                instance.setHeartBeatTime(((Number)source.get(InstanceTable.HEARTBEAT_TIME.getName())).longValue());
+                instances.put(response.getId(), instance);
+            }
+        }
+        return instances;
+    }
+
     @Override public IndexRequestBuilder prepareBatchInsert(Instance data) {
         throw new UnexpectedException("Received an instance heart beat message under instance id= " + data.getId() + " , which doesn't exist.");
     }
@@ -18,12 +18,15 @@
 
 package org.apache.skywalking.apm.collector.storage.es.dao;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.apm.collector.core.util.TimeBucketUtils;
 import org.apache.skywalking.apm.collector.storage.dao.ISegmentDurationPersistenceDAO;
+import org.apache.skywalking.apm.collector.storage.es.base.dao.DailyIndex;
 import org.apache.skywalking.apm.collector.storage.es.base.dao.EsDAO;
 import org.apache.skywalking.apm.collector.storage.table.segment.SegmentDuration;
 import org.apache.skywalking.apm.collector.storage.table.segment.SegmentDurationTable;
@@ -41,8 +44,14 @@ public class SegmentDurationEsPersistenceDAO extends EsDAO implements ISegmentDu
 
     private final Logger logger = LoggerFactory.getLogger(SegmentDurationEsPersistenceDAO.class);
 
-    public SegmentDurationEsPersistenceDAO(ElasticSearchClient client) {
+    private final boolean dailySharding;
+
+    /**
+     * @param dailySharding write into the daily indices, see {@link DailyIndex}, or the index named by the table.
+     */
+    public SegmentDurationEsPersistenceDAO(ElasticSearchClient client, boolean dailySharding) {
         super(client);
+        this.dailySharding = dailySharding;
     }
 
     @Override
@@ -50,6 +59,11 @@ public class SegmentDurationEsPersistenceDAO extends EsDAO implements ISegmentDu
         return null;
     }
 
+    @Override
+    public Map<String, SegmentDuration> get(Collection<String> ids) {
+        return Collections.emptyMap();
+    }
+
     @Override
     public UpdateRequestBuilder prepareBatchUpdate(SegmentDuration data) {
         return null;
@@ -68,17 +82,22 @@ public class SegmentDurationEsPersistenceDAO extends EsDAO implements ISegmentDu
         target.put(SegmentDurationTable.IS_ERROR.getName(), data.getIsError());
         target.put(SegmentDurationTable.TIME_BUCKET.getName(), data.getTimeBucket());
         logger.debug("segment cost source: {}", target.toString());
-        return getClient().prepareIndex(SegmentDurationTable.TABLE, data.getId()).setSource(target);
+        return getClient().prepareIndex(dailySharding ? DailyIndex.indexName(SegmentDurationTable.TABLE, data.getTimeBucket()) : SegmentDurationTable.TABLE, data.getId()).setSource(target);
     }
 
     @Override
     public void deleteHistory(Long startTimestamp, Long endTimestamp) {
+        if (dailySharding) {
+            DailyIndex.deleteHistory(getClient(), SegmentDurationTable.TABLE, endTimestamp);
+            return;
+        }
+
         long startTimeBucket = TimeBucketUtils.INSTANCE.getMinuteTimeBucket(startTimestamp);
         long endTimeBucket = TimeBucketUtils.INSTANCE.getMinuteTimeBucket(endTimestamp);
         BulkByScrollResponse response = getClient().prepareDelete(
-                QueryBuilders.rangeQuery(SegmentDurationTable.TIME_BUCKET.getName()).gte(startTimeBucket).lte(endTimeBucket),
-                SegmentDurationTable.TABLE)
-                .get();
+            QueryBuilders.rangeQuery(SegmentDurationTable.TIME_BUCKET.getName()).gte(startTimeBucket).lte(endTimeBucket),
+            SegmentDurationTable.TABLE)
+            .get();
 
         long deleted = response.getDeleted();
         logger.info("Delete {} rows history from {} index.", deleted, SegmentDurationTable.TABLE);
@@ -19,13 +19,17 @@
 package org.apache.skywalking.apm.collector.storage.es.dao;
 
 import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.apm.collector.core.util.TimeBucketUtils;
 import org.apache.skywalking.apm.collector.storage.dao.ISegmentPersistenceDAO;
+import org.apache.skywalking.apm.collector.storage.es.base.dao.DailyIndex;
 import org.apache.skywalking.apm.collector.storage.es.base.dao.EsDAO;
 import org.apache.skywalking.apm.collector.storage.table.segment.Segment;
+import org.apache.skywalking.apm.collector.storage.table.segment.SegmentCodec;
 import org.apache.skywalking.apm.collector.storage.table.segment.SegmentTable;
 import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.update.UpdateRequestBuilder;
@@ -41,8 +45,16 @@ public class SegmentEsPersistenceDAO extends EsDAO implements ISegmentPersistenc
 
     private static final Logger logger = LoggerFactory.getLogger(SegmentEsPersistenceDAO.class);
 
-    public SegmentEsPersistenceDAO(ElasticSearchClient client) {
+    private final SegmentCodec codec;
+    private final boolean dailySharding;
+
+    /**
+     * @param dailySharding write into the daily indices, see {@link DailyIndex}, or the index named by the table.
+     */
+    public SegmentEsPersistenceDAO(ElasticSearchClient client, SegmentCodec codec, boolean dailySharding) {
         super(client);
+        this.codec = codec;
+        this.dailySharding = dailySharding;
     }
 
     @Override
@@ -50,6 +62,11 @@ public class SegmentEsPersistenceDAO extends EsDAO implements ISegmentPersistenc
         return null;
     }
 
+    @Override
+    public Map<String, Segment> get(Collection<String> ids) {
+        return Collections.emptyMap();
+    }
+
     @Override
     public UpdateRequestBuilder prepareBatchUpdate(Segment data) {
         return null;
@@ -58,14 +75,19 @@ public class SegmentEsPersistenceDAO extends EsDAO implements ISegmentPersistenc
     @Override
     public IndexRequestBuilder prepareBatchInsert(Segment data) {
         Map<String, Object> target = new HashMap<>();
-        target.put(SegmentTable.DATA_BINARY.getName(), new String(Base64.getEncoder().encode(data.getDataBinary())));
+        target.put(SegmentTable.DATA_BINARY.getName(), new String(Base64.getEncoder().encode(codec.encode(data.getDataBinary()))));
         target.put(SegmentTable.TIME_BUCKET.getName(), data.getTimeBucket());
         logger.debug("segment source: {}", target.toString());
-        return getClient().prepareIndex(SegmentTable.TABLE, data.getId()).setSource(target);
+        return getClient().prepareIndex(dailySharding ? DailyIndex.indexName(SegmentTable.TABLE, data.getTimeBucket()) : SegmentTable.TABLE, data.getId()).setSource(target);
     }
 
     @Override
     public void deleteHistory(Long startTimestamp, Long endTimestamp) {
+        if (dailySharding) {
+            DailyIndex.deleteHistory(getClient(), SegmentTable.TABLE, endTimestamp);
+            return;
+        }
+
         long startTimeBucket = TimeBucketUtils.INSTANCE.getMinuteTimeBucket(startTimestamp);
         long endTimeBucket = TimeBucketUtils.INSTANCE.getMinuteTimeBucket(endTimestamp);
         BulkByScrollResponse response = getClient().prepareDelete(
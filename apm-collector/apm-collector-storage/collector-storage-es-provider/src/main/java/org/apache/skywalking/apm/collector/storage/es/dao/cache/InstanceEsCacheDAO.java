@@ -18,10 +18,13 @@
 
 package org.apache.skywalking.apm.collector.storage.es.dao.cache;
 
+import java.util.Map;
+import java.util.function.Consumer;
 import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.apm.collector.core.util.BooleanUtils;
 import org.apache.skywalking.apm.collector.storage.dao.cache.IInstanceCacheDAO;
 import org.apache.skywalking.apm.collector.storage.es.base.dao.EsDAO;
+import org.apache.skywalking.apm.collector.storage.table.register.Instance;
 import org.apache.skywalking.apm.collector.storage.table.register.InstanceTable;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.action.search.SearchRequestBuilder;
@@ -90,4 +93,18 @@ public class InstanceEsCacheDAO extends EsDAO implements IInstanceCacheDAO {
         }
         return 0;
     }
+
+    @Override public void loadAll(Consumer<Instance> consumer) {
+        scrollAll(InstanceTable.TABLE, searchHit -> {
+            Map<String, Object> source = searchHit.getSource();
+            Instance instance = new Instance();
+            instance.setId(searchHit.getId());
+            instance.setInstanceId(((Number)source.get(InstanceTable.INSTANCE_ID.getName())).intValue());
+            instance.setApplicationId(((Number)source.get(InstanceTable.APPLICATION_ID.getName())).intValue());
+            instance.setAgentUUID((String)source.get(InstanceTable.AGENT_UUID.getName()));
+            instance.setAddressId(((Number)source.get(InstanceTable.ADDRESS_ID.getName())).intValue());
+            instance.setIsAddress(((Number)source.get(InstanceTable.IS_ADDRESS.getName())).intValue());
+            consumer.accept(instance);
+        });
+    }
 }
@@ -18,6 +18,8 @@
 
 package org.apache.skywalking.apm.collector.storage.es.dao.cache;
 
+import java.util.Map;
+import java.util.function.Consumer;
 import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.apm.collector.core.util.Const;
 import org.apache.skywalking.apm.collector.storage.dao.cache.INetworkAddressCacheDAO;
@@ -74,4 +76,17 @@ public class NetworkAddressEsCacheDAO extends EsDAO implements INetworkAddressCa
         }
         return null;
     }
+
+    @Override public void loadAll(Consumer<NetworkAddress> consumer) {
+        scrollAll(NetworkAddressTable.TABLE, searchHit -> {
+            Map<String, Object> source = searchHit.getSource();
+            NetworkAddress address = new NetworkAddress();
+            address.setId(searchHit.getId());
+            address.setAddressId(((Number)source.get(NetworkAddressTable.ADDRESS_ID.getName())).intValue());
+            address.setSrcSpanLayer(((Number)source.get(NetworkAddressTable.SRC_SPAN_LAYER.getName())).intValue());
+            address.setServerType(((Number)source.get(NetworkAddressTable.SERVER_TYPE.getName())).intValue());
+            address.setNetworkAddress((String)source.get(NetworkAddressTable.NETWORK_ADDRESS.getName()));
+            consumer.accept(address);
+        });
+    }
 }
@@ -18,6 +18,8 @@
 
 package org.apache.skywalking.apm.collector.storage.es.dao.cache;
 
+import java.util.Map;
+import java.util.function.Consumer;
 import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.apm.collector.storage.dao.cache.IServiceNameCacheDAO;
 import org.apache.skywalking.apm.collector.storage.es.base.dao.EsDAO;
@@ -75,4 +77,17 @@ public class ServiceNameEsCacheDAO extends EsDAO implements IServiceNameCacheDAO
         }
         return 0;
     }
+
+    @Override public void loadAll(Consumer<ServiceName> consumer) {
+        scrollAll(ServiceNameTable.TABLE, searchHit -> {
+            Map<String, Object> source = searchHit.getSource();
+            ServiceName serviceName = new ServiceName();
+            serviceName.setId(searchHit.getId());
+            serviceName.setServiceId(((Number)source.get(ServiceNameTable.SERVICE_ID.getName())).intValue());
+            serviceName.setApplicationId(((Number)source.get(ServiceNameTable.APPLICATION_ID.getName())).intValue());
+            serviceName.setServiceName((String)source.get(ServiceNameTable.SERVICE_NAME.getName()));
+            serviceName.setSrcSpanType(((Number)source.get(ServiceNameTable.SRC_SPAN_TYPE.getName())).intValue());
+            consumer.accept(serviceName);
+        });
+    }
 }
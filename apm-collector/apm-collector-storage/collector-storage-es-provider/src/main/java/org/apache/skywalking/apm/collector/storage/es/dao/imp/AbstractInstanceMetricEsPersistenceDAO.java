@@ -44,8 +44,8 @@ public abstract class AbstractInstanceMetricEsPersistenceDAO extends AbstractPer
         InstanceMetric instanceMetric = new InstanceMetric();
 
         instanceMetric.setMetricId((String)source.get(InstanceMetricTable.METRIC_ID.getName()));
-        instanceMetric.setApplicationId((Integer)source.get(InstanceMetricTable.APPLICATION_ID.getName()));
-        instanceMetric.setInstanceId((Integer)source.get(InstanceMetricTable.INSTANCE_ID.getName()));
+        instanceMetric.setApplicationId(((Number)source.get(InstanceMetricTable.APPLICATION_ID.getName())).intValue());
+        instanceMetric.setInstanceId(((Number)source.get(InstanceMetricTable.INSTANCE_ID.getName())).intValue());
 
         MetricTransformUtil.INSTANCE.esDataToStreamData(source, instanceMetric);
 
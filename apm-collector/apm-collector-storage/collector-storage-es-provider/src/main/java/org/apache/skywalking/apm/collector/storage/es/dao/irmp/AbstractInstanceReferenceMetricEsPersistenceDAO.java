@@ -44,10 +44,10 @@ public abstract class AbstractInstanceReferenceMetricEsPersistenceDAO extends Ab
         InstanceReferenceMetric instanceReferenceMetric = new InstanceReferenceMetric();
         instanceReferenceMetric.setMetricId((String)source.get(InstanceReferenceMetricTable.METRIC_ID.getName()));
 
-        instanceReferenceMetric.setFrontApplicationId((Integer)source.get(InstanceReferenceMetricTable.FRONT_APPLICATION_ID.getName()));
-        instanceReferenceMetric.setBehindApplicationId((Integer)source.get(InstanceReferenceMetricTable.BEHIND_APPLICATION_ID.getName()));
-        instanceReferenceMetric.setFrontInstanceId((Integer)source.get(InstanceReferenceMetricTable.FRONT_INSTANCE_ID.getName()));
-        instanceReferenceMetric.setBehindInstanceId((Integer)source.get(InstanceReferenceMetricTable.BEHIND_INSTANCE_ID.getName()));
+        instanceReferenceMetric.setFrontApplicationId(((Number)source.get(InstanceReferenceMetricTable.FRONT_APPLICATION_ID.getName())).intValue());
+        instanceReferenceMetric.setBehindApplicationId(((Number)source.get(InstanceReferenceMetricTable.BEHIND_APPLICATION_ID.getName())).intValue());
+        instanceReferenceMetric.setFrontInstanceId(((Number)source.get(InstanceReferenceMetricTable.FRONT_INSTANCE_ID.getName())).intValue());
+        instanceReferenceMetric.setBehindInstanceId(((Number)source.get(InstanceReferenceMetricTable.BEHIND_INSTANCE_ID.getName())).intValue());
 
         MetricTransformUtil.INSTANCE.esDataToStreamData(source, instanceReferenceMetric);
 
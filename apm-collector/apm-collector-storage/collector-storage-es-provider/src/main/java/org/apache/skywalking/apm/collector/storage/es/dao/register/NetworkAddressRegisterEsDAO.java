@@ -19,12 +19,15 @@
 package org.apache.skywalking.apm.collector.storage.es.dao.register;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.apm.collector.storage.dao.register.INetworkAddressRegisterDAO;
 import org.apache.skywalking.apm.collector.storage.es.base.dao.EsDAO;
 import org.apache.skywalking.apm.collector.storage.table.register.NetworkAddress;
 import org.apache.skywalking.apm.collector.storage.table.register.NetworkAddressTable;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.support.WriteRequest;
 import org.slf4j.Logger;
@@ -52,14 +55,30 @@ public class NetworkAddressRegisterEsDAO extends EsDAO implements INetworkAddres
     @Override public void save(NetworkAddress networkAddress) {
         logger.debug("save network address register info, address getApplicationId: {}, network address code: {}", networkAddress.getId(), networkAddress.getNetworkAddress());
         ElasticSearchClient client = getClient();
+        IndexResponse response = client.prepareIndex(NetworkAddressTable.TABLE, networkAddress.getId()).setSource(source(networkAddress)).setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE).get();
+        logger.debug("save network address register info, address getApplicationId: {}, network address code: {}, status: {}", networkAddress.getAddressId(), networkAddress.getNetworkAddress(), response.status().name());
+    }
+
+    @Override public void batchSave(List<NetworkAddress> networkAddresses) {
+        logger.debug("batch save network address register info, size: {}", networkAddresses.size());
+        ElasticSearchClient client = getClient();
+        BulkRequestBuilder bulkRequest = client.prepareBulk();
+        networkAddresses.forEach(networkAddress -> bulkRequest.add(client.prepareIndex(NetworkAddressTable.TABLE, networkAddress.getId()).setSource(source(networkAddress))));
+        bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+
+        BulkResponse response = bulkRequest.get();
+        if (response.hasFailures()) {
+            logger.error(response.buildFailureMessage());
+        }
+    }
+
+    private Map<String, Object> source(NetworkAddress networkAddress) {
         Map<String, Object> target = new HashMap<>();
         target.put(NetworkAddressTable.NETWORK_ADDRESS.getName(), networkAddress.getNetworkAddress());
         target.put(NetworkAddressTable.ADDRESS_ID.getName(), networkAddress.getAddressId());
         target.put(NetworkAddressTable.SRC_SPAN_LAYER.getName(), networkAddress.getSrcSpanLayer());
         target.put(NetworkAddressTable.SERVER_TYPE.getName(), networkAddress.getServerType());
-
-        IndexResponse response = client.prepareIndex(NetworkAddressTable.TABLE, networkAddress.getId()).setSource(target).setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE).get();
-        logger.debug("save network address register info, address getApplicationId: {}, network address code: {}, status: {}", networkAddress.getAddressId(), networkAddress.getNetworkAddress(), response.status().name());
+        return target;
     }
 
     @Override public void update(String id, int spanLayer, int serverType) {
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.collector.storage.es.dao.register;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchClient;
+import org.apache.skywalking.apm.collector.storage.dao.register.IRegisterLeaseDAO;
+import org.apache.skywalking.apm.collector.storage.es.base.dao.EsDAO;
+import org.apache.skywalking.apm.collector.storage.table.register.RegisterLeaseTable;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.index.IndexRequestBuilder;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.index.engine.VersionConflictEngineException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lease by the optimistic concurrency control of the document version, a lease is retried when the document is
+ * changed by another collector between the get and the index.
+ *
+ * @author peng-yongsheng
+ */
+public class RegisterLeaseEsDAO extends EsDAO implements IRegisterLeaseDAO {
+
+    private final Logger logger = LoggerFactory.getLogger(RegisterLeaseEsDAO.class);
+
+    public RegisterLeaseEsDAO(ElasticSearchClient client) {
+        super(client);
+    }
+
+    @Override public long lease(String registerTable, long initialSequence, int size) {
+        ElasticSearchClient client = getClient();
+        while (true) {
+            GetResponse getResponse = client.prepareGet(RegisterLeaseTable.TABLE, registerTable).get();
+
+            long start = initialSequence;
+            if (getResponse.isExists()) {
+                long leaseEnd = ((Number)getResponse.getSource().get(RegisterLeaseTable.LEASE_END.getName())).longValue();
+                start = Math.max(start, leaseEnd);
+            }
+
+            Map<String, Object> target = new HashMap<>();
+            target.put(RegisterLeaseTable.LEASE_END.getName(), start + size);
+
+            IndexRequestBuilder builder = client.prepareIndex(RegisterLeaseTable.TABLE, registerTable).setSource(target).setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+            if (getResponse.isExists()) {
+                builder.setVersion(getResponse.getVersion());
+            } else {
+                builder.setCreate(true);
+            }
+
+            try {
+                builder.get();
+                logger.debug("lease register table: {}, start: {}, size: {}", registerTable, start, size);
+                return start;
+            } catch (VersionConflictEngineException e) {
+                logger.info("the lease of register table: {} is changed by another collector, lease again", registerTable);
+            }
+        }
+    }
+}
@@ -19,12 +19,15 @@
 package org.apache.skywalking.apm.collector.storage.es.dao.register;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.apm.collector.storage.dao.register.IServiceNameRegisterDAO;
 import org.apache.skywalking.apm.collector.storage.es.base.dao.EsDAO;
 import org.apache.skywalking.apm.collector.storage.table.register.ServiceName;
 import org.apache.skywalking.apm.collector.storage.table.register.ServiceNameTable;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.support.WriteRequest;
 import org.slf4j.Logger;
@@ -52,14 +55,30 @@ public class ServiceNameRegisterEsDAO extends EsDAO implements IServiceNameRegis
     @Override public void save(ServiceName serviceName) {
         logger.debug("save service name register info, application getApplicationId: {}, service name: {}", serviceName.getId(), serviceName.getServiceName());
         ElasticSearchClient client = getClient();
+        IndexResponse response = client.prepareIndex(ServiceNameTable.TABLE, serviceName.getId()).setSource(source(serviceName)).setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE).get();
+        logger.debug("save service name register info, application getApplicationId: {}, service name: {}, status: {}", serviceName.getId(), serviceName.getServiceName(), response.status().name());
+    }
+
+    @Override public void batchSave(List<ServiceName> serviceNames) {
+        logger.debug("batch save service name register info, size: {}", serviceNames.size());
+        ElasticSearchClient client = getClient();
+        BulkRequestBuilder bulkRequest = client.prepareBulk();
+        serviceNames.forEach(serviceName -> bulkRequest.add(client.prepareIndex(ServiceNameTable.TABLE, serviceName.getId()).setSource(source(serviceName))));
+        bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+
+        BulkResponse response = bulkRequest.get();
+        if (response.hasFailures()) {
+            logger.error(response.buildFailureMessage());
+        }
+    }
+
+    private Map<String, Object> source(ServiceName serviceName) {
         Map<String, Object> target = new HashMap<>();
         target.put(ServiceNameTable.SERVICE_ID.getName(), serviceName.getServiceId());
         target.put(ServiceNameTable.APPLICATION_ID.getName(), serviceName.getApplicationId());
         target.put(ServiceNameTable.SERVICE_NAME.getName(), serviceName.getServiceName());
         target.put(ServiceNameTable.SERVICE_NAME_KEYWORD.getName(), serviceName.getServiceName());
         target.put(ServiceNameTable.SRC_SPAN_TYPE.getName(), serviceName.getSrcSpanType());
-
-        IndexResponse response = client.prepareIndex(ServiceNameTable.TABLE, serviceName.getId()).setSource(target).setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE).get();
-        logger.debug("save service name register info, application getApplicationId: {}, service name: {}, status: {}", serviceName.getId(), serviceName.getServiceName(), response.status().name());
+        return target;
     }
 }
@@ -39,6 +39,8 @@ public class GlobalTraceEsUIDAO extends EsDAO implements IGlobalTraceUIDAO {
 
     private final Logger logger = LoggerFactory.getLogger(GlobalTraceEsUIDAO.class);
 
+    private static final int MAX_SEGMENT_IDS = 10000;
+
     public GlobalTraceEsUIDAO(ElasticSearchClient client) {
         super(client);
     }
@@ -67,7 +69,7 @@ public class GlobalTraceEsUIDAO extends EsDAO implements IGlobalTraceUIDAO {
         searchRequestBuilder.setTypes(GlobalTraceTable.TABLE_TYPE);
         searchRequestBuilder.setSearchType(SearchType.DFS_QUERY_THEN_FETCH);
         searchRequestBuilder.setQuery(QueryBuilders.termQuery(GlobalTraceTable.TRACE_ID.getName(), globalTraceId));
-        searchRequestBuilder.setSize(10);
+        searchRequestBuilder.setSize(MAX_SEGMENT_IDS);
 
         SearchResponse searchResponse = searchRequestBuilder.execute().actionGet();
 
@@ -24,6 +24,7 @@ import org.apache.skywalking.apm.collector.core.util.BooleanUtils;
 import org.apache.skywalking.apm.collector.core.util.CollectionUtils;
 import org.apache.skywalking.apm.collector.core.util.StringUtils;
 import org.apache.skywalking.apm.collector.storage.dao.ui.ISegmentDurationUIDAO;
+import org.apache.skywalking.apm.collector.storage.es.base.dao.DailyIndex;
 import org.apache.skywalking.apm.collector.storage.es.base.dao.EsDAO;
 import org.apache.skywalking.apm.collector.storage.table.segment.SegmentDurationTable;
 import org.apache.skywalking.apm.collector.storage.ui.trace.BasicTrace;
@@ -43,14 +44,25 @@ import org.elasticsearch.search.sort.SortOrder;
  */
 public class SegmentDurationEsUIDAO extends EsDAO implements ISegmentDurationUIDAO {
 
-    public SegmentDurationEsUIDAO(ElasticSearchClient client) {
+    private final boolean dailySharding;
+
+    /**
+     * @param dailySharding search the daily indices of the time range, see {@link DailyIndex}.
+     */
+    public SegmentDurationEsUIDAO(ElasticSearchClient client, boolean dailySharding) {
         super(client);
+        this.dailySharding = dailySharding;
     }
 
     @Override
     public TraceBrief loadTop(long startSecondTimeBucket, long endSecondTimeBucket, long minDuration, long maxDuration,
         String operationName, int applicationId, int limit, int from, String... segmentIds) {
-        SearchRequestBuilder searchRequestBuilder = getClient().prepareSearch(SegmentDurationTable.TABLE);
+        SearchRequestBuilder searchRequestBuilder;
+        if (dailySharding && startSecondTimeBucket != 0 && endSecondTimeBucket != 0) {
+            searchRequestBuilder = getClient().prepareSearch(DailyIndex.indexNames(SegmentDurationTable.TABLE, startSecondTimeBucket, endSecondTimeBucket));
+        } else {
+            searchRequestBuilder = getClient().prepareSearch(SegmentDurationTable.TABLE);
+        }
         searchRequestBuilder.setTypes(SegmentDurationTable.TABLE_TYPE);
         searchRequestBuilder.setSearchType(SearchType.DFS_QUERY_THEN_FETCH);
         BoolQueryBuilder boolQueryBuilder = QueryBuilders.boolQuery();
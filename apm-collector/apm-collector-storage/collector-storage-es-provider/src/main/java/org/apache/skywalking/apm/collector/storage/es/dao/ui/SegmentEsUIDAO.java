@@ -20,14 +20,23 @@ package org.apache.skywalking.apm.collector.storage.es.dao.ui;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 import org.apache.skywalking.apm.collector.client.elasticsearch.ElasticSearchClient;
+import org.apache.skywalking.apm.collector.core.UnexpectedException;
 import org.apache.skywalking.apm.collector.core.util.StringUtils;
 import org.apache.skywalking.apm.collector.storage.dao.ui.ISegmentUIDAO;
 import org.apache.skywalking.apm.collector.storage.es.base.dao.EsDAO;
+import org.apache.skywalking.apm.collector.storage.table.segment.SegmentCodec;
 import org.apache.skywalking.apm.collector.storage.table.segment.SegmentTable;
 import org.apache.skywalking.apm.network.proto.TraceSegmentObject;
-import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,20 +47,69 @@ public class SegmentEsUIDAO extends EsDAO implements ISegmentUIDAO {
 
     private final Logger logger = LoggerFactory.getLogger(SegmentEsUIDAO.class);
 
+    private static final int BATCH_SIZE = 1000;
+    private static final int PARALLEL_DECODE_THRESHOLD = 16;
+
     public SegmentEsUIDAO(ElasticSearchClient client) {
         super(client);
     }
 
     @Override public TraceSegmentObject load(String segmentId) {
-        GetResponse response = getClient().prepareGet(SegmentTable.TABLE, segmentId).get();
-        Map<String, Object> source = response.getSource();
-        String dataBinaryBase64 = (String)source.get(SegmentTable.DATA_BINARY.getName());
+        SearchRequestBuilder searchRequestBuilder = getClient().prepareSearch(SegmentTable.TABLE);
+        searchRequestBuilder.setTypes(SegmentTable.TABLE_TYPE);
+        searchRequestBuilder.setQuery(QueryBuilders.idsQuery().addIds(segmentId));
+        searchRequestBuilder.setSize(1);
+
+        SearchResponse searchResponse = searchRequestBuilder.execute().actionGet();
+        SearchHit[] searchHits = searchResponse.getHits().getHits();
+        if (searchHits.length == 0) {
+            return null;
+        }
+        return parse(segmentId, (String)searchHits[0].getSource().get(SegmentTable.DATA_BINARY.getName()));
+    }
+
+    /**
+     * Search the segments by ids in batches, a multi get doesn't work on the alias of the daily indices. The segments
+     * of a large trace are decoded in parallel.
+     */
+    @Override public Map<String, TraceSegmentObject> load(List<String> segmentIds) {
+        Map<String, String> dataBinaries = new HashMap<>();
+        for (int from = 0; from < segmentIds.size(); from += BATCH_SIZE) {
+            List<String> batch = segmentIds.subList(from, Math.min(from + BATCH_SIZE, segmentIds.size()));
+
+            SearchRequestBuilder searchRequestBuilder = getClient().prepareSearch(SegmentTable.TABLE);
+            searchRequestBuilder.setTypes(SegmentTable.TABLE_TYPE);
+            searchRequestBuilder.setQuery(QueryBuilders.idsQuery().addIds(batch.toArray(new String[batch.size()])));
+            searchRequestBuilder.setSize(batch.size());
+
+            SearchResponse searchResponse = searchRequestBuilder.execute().actionGet();
+            for (SearchHit searchHit : searchResponse.getHits().getHits()) {
+                dataBinaries.put(searchHit.getId(), (String)searchHit.getSource().get(SegmentTable.DATA_BINARY.getName()));
+            }
+        }
+
+        Map<String, TraceSegmentObject> segments = new ConcurrentHashMap<>();
+        Stream<Map.Entry<String, String>> entries = dataBinaries.size() > PARALLEL_DECODE_THRESHOLD ?
+            dataBinaries.entrySet().parallelStream() : dataBinaries.entrySet().stream();
+        entries.forEach(entry -> {
+            TraceSegmentObject segment = parse(entry.getKey(), entry.getValue());
+            if (segment != null) {
+                segments.put(entry.getKey(), segment);
+            }
+        });
+        return segments;
+    }
+
+    /**
+     * @return null, if the segment can't be decoded, a corrupted segment doesn't fail the others of the trace.
+     */
+    private TraceSegmentObject parse(String segmentId, String dataBinaryBase64) {
         if (StringUtils.isNotEmpty(dataBinaryBase64)) {
-            byte[] dataBinary = Base64.getDecoder().decode(dataBinaryBase64);
             try {
+                byte[] dataBinary = SegmentCodec.decode(Base64.getDecoder().decode(dataBinaryBase64));
                 return TraceSegmentObject.parseFrom(dataBinary);
-            } catch (InvalidProtocolBufferException e) {
-                logger.error(e.getMessage(), e);
+            } catch (InvalidProtocolBufferException | UnexpectedException | IllegalArgumentException e) {
+                logger.error("Decode segment: {} failure, {}", segmentId, e.getMessage(), e);
             }
         }
         return null;
@@ -35,9 +35,17 @@ public class GlobalTraceEsTableDefine extends ElasticSearchTableDefine {
         return 3;
     }
 
+    @Override public boolean dailySharding() {
+        return true;
+    }
+
+    @Override public boolean allFieldEnabled() {
+        return false;
+    }
+
     @Override public void initialize() {
         addColumn(new ElasticSearchColumnDefine(GlobalTraceTable.SEGMENT_ID, ElasticSearchColumnDefine.Type.Keyword.name()));
         addColumn(new ElasticSearchColumnDefine(GlobalTraceTable.TRACE_ID, ElasticSearchColumnDefine.Type.Keyword.name()));
-        addColumn(new ElasticSearchColumnDefine(GlobalTraceTable.TIME_BUCKET, ElasticSearchColumnDefine.Type.Long.name()));
+        addColumn(new ElasticSearchColumnDefine(GlobalTraceTable.TIME_BUCKET, ElasticSearchColumnDefine.Type.Long.name(), false, false));
     }
 }
@@ -35,8 +35,24 @@ public class SegmentEsTableDefine extends ElasticSearchTableDefine {
         return 3;
     }
 
+    @Override public boolean dailySharding() {
+        return true;
+    }
+
+    /**
+     * The data binary is compressed by the segment codec already, when it is deflate, the stored field compression only
+     * gains on the other fields, the CPU spent on the binary is a double compression.
+     */
+    @Override public String codec() {
+        return "best_compression";
+    }
+
+    @Override public boolean allFieldEnabled() {
+        return false;
+    }
+
     @Override public void initialize() {
         addColumn(new ElasticSearchColumnDefine(SegmentTable.DATA_BINARY, ElasticSearchColumnDefine.Type.Binary.name()));
-        addColumn(new ElasticSearchColumnDefine(SegmentTable.TIME_BUCKET, ElasticSearchColumnDefine.Type.Long.name()));
+        addColumn(new ElasticSearchColumnDefine(SegmentTable.TIME_BUCKET, ElasticSearchColumnDefine.Type.Long.name(), false, false));
     }
 }
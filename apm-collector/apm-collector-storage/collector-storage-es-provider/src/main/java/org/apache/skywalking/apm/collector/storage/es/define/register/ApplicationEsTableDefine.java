@@ -35,6 +35,10 @@ public class ApplicationEsTableDefine extends ElasticSearchTableDefine {
         return 2;
     }
 
+    @Override public int shardsNumber() {
+        return 1;
+    }
+
     @Override public void initialize() {
         addColumn(new ElasticSearchColumnDefine(ApplicationTable.APPLICATION_CODE, ElasticSearchColumnDefine.Type.Keyword.name()));
         addColumn(new ElasticSearchColumnDefine(ApplicationTable.APPLICATION_ID, ElasticSearchColumnDefine.Type.Integer.name()));
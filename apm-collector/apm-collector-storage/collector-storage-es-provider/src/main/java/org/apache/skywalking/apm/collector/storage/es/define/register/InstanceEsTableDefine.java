@@ -35,6 +35,10 @@ public class InstanceEsTableDefine extends ElasticSearchTableDefine {
         return 2;
     }
 
+    @Override public int shardsNumber() {
+        return 1;
+    }
+
     @Override public void initialize() {
         addColumn(new ElasticSearchColumnDefine(InstanceTable.APPLICATION_ID, ElasticSearchColumnDefine.Type.Integer.name()));
         addColumn(new ElasticSearchColumnDefine(InstanceTable.APPLICATION_CODE, ElasticSearchColumnDefine.Type.Text.name()));
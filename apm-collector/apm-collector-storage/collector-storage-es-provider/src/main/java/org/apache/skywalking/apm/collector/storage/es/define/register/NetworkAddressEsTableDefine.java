@@ -35,6 +35,10 @@ public class NetworkAddressEsTableDefine extends ElasticSearchTableDefine {
         return 1;
     }
 
+    @Override public int shardsNumber() {
+        return 1;
+    }
+
     @Override public void initialize() {
         addColumn(new ElasticSearchColumnDefine(NetworkAddressTable.NETWORK_ADDRESS, ElasticSearchColumnDefine.Type.Keyword.name()));
         addColumn(new ElasticSearchColumnDefine(NetworkAddressTable.ADDRESS_ID, ElasticSearchColumnDefine.Type.Integer.name()));
@@ -35,6 +35,10 @@ public class ServiceNameEsTableDefine extends ElasticSearchTableDefine {
         return 2;
     }
 
+    @Override public int shardsNumber() {
+        return 1;
+    }
+
     @Override public void initialize() {
         addColumn(new ElasticSearchColumnDefine(ServiceNameTable.APPLICATION_ID, ElasticSearchColumnDefine.Type.Integer.name()));
         addColumn(new ElasticSearchColumnDefine(ServiceNameTable.SERVICE_NAME, ElasticSearchColumnDefine.Type.Text.name()));
@@ -24,4 +24,17 @@ import org.apache.skywalking.apm.collector.client.h2.H2ClientConfig;
  * @author peng-yongsheng
  */
 class StorageModuleH2Config extends H2ClientConfig {
+
+    private String segmentCodec = "deflate";
+
+    /**
+     * @return the codec of the segment data binary, none or deflate.
+     */
+    String getSegmentCodec() {
+        return segmentCodec;
+    }
+
+    void setSegmentCodec(String segmentCodec) {
+        this.segmentCodec = segmentCodec;
+    }
 }
@@ -21,10 +21,13 @@ package org.apache.skywalking.apm.collector.storage.h2.base.dao;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.skywalking.apm.collector.client.h2.H2Client;
 import org.apache.skywalking.apm.collector.client.h2.H2ClientException;
+import org.apache.skywalking.apm.collector.core.UnexpectedException;
 import org.apache.skywalking.apm.collector.core.data.CommonTable;
 import org.apache.skywalking.apm.collector.core.data.StreamData;
 import org.apache.skywalking.apm.collector.storage.base.dao.IPersistenceDAO;
@@ -46,6 +49,8 @@ public abstract class AbstractPersistenceH2DAO<STREAM_DATA extends StreamData> e
 
     private static final String GET_SQL = "select * from {0} where {1} = ?";
 
+    private static final int BATCH_GET_SIZE = 1000;
+
     protected abstract STREAM_DATA h2DataToStreamData(ResultSet resultSet) throws SQLException;
 
     protected abstract String tableName();
@@ -64,6 +69,27 @@ public abstract class AbstractPersistenceH2DAO<STREAM_DATA extends StreamData> e
         return null;
     }
 
+    @Override public final Map<String, STREAM_DATA> get(Collection<String> ids) {
+        Map<String, STREAM_DATA> streamDataMap = new HashMap<>();
+        List<String> idList = new ArrayList<>(ids);
+        for (int from = 0; from < idList.size(); from += BATCH_GET_SIZE) {
+            List<String> chunk = idList.subList(from, Math.min(from + BATCH_GET_SIZE, idList.size()));
+            String sql = SqlBuilder.buildBatchQuerySql(tableName(), CommonTable.ID.getName(), chunk.size());
+
+            try (ResultSet resultSet = getClient().executeQuery(sql, chunk.toArray(new Object[0]))) {
+                while (resultSet.next()) {
+                    STREAM_DATA streamData = h2DataToStreamData(resultSet);
+                    streamData.setId(resultSet.getString(CommonTable.ID.getName()));
+                    streamDataMap.put(streamData.getId(), streamData);
+                }
+            } catch (SQLException | H2ClientException e) {
+                logger.error(e.getMessage(), e);
+                throw new UnexpectedException("Batch get " + chunk.size() + " ids from " + tableName() + " table failure, " + e.getMessage());
+            }
+        }
+        return streamDataMap;
+    }
+
     protected abstract Map<String, Object> streamDataToH2Data(STREAM_DATA streamData);
 
     @Override public final H2SqlEntity prepareBatchInsert(STREAM_DATA streamData) {
@@ -42,7 +42,7 @@ public class BatchH2DAO extends H2DAO implements IBatchDAO {
     }
 
     @Override
-    public void batchPersistence(List<?> batchCollection) {
+    public boolean batchPersistence(List<?> batchCollection) {
         if (batchCollection != null && batchCollection.size() > 0) {
             logger.debug("the batch collection size is {}", batchCollection.size());
             Connection conn;
@@ -76,9 +76,12 @@ public class BatchH2DAO extends H2DAO implements IBatchDAO {
                 }
             } catch (SQLException e) {
                 logger.error(e.getMessage(), e);
+                return false;
+            } finally {
+                batchSqls.clear();
             }
-            batchSqls.clear();
         }
+        return true;
     }
 
     private H2SqlEntity getH2SqlEntity(Object entity) {
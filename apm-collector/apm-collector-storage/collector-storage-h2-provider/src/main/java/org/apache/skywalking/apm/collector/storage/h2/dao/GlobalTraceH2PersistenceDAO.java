@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.apm.collector.storage.h2.dao;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.skywalking.apm.collector.client.h2.H2Client;
@@ -46,6 +47,10 @@ public class GlobalTraceH2PersistenceDAO extends H2DAO implements IGlobalTracePe
         throw new UnexpectedException("There is no need to merge stream data with database data.");
     }
 
+    @Override public Map<String, GlobalTrace> get(Collection<String> ids) {
+        throw new UnexpectedException("There is no need to merge stream data with database data.");
+    }
+
     @Override public H2SqlEntity prepareBatchUpdate(GlobalTrace data) {
         throw new UnexpectedException("There is no need to merge stream data with database data.");
     }
@@ -21,6 +21,7 @@ package org.apache.skywalking.apm.collector.storage.h2.dao;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -67,6 +68,28 @@ public class InstanceHeartBeatH2PersistenceDAO extends H2DAO implements IInstanc
         return null;
     }
 
+    @Override public Map<String, Instance> get(Collection<String> ids) {
+        Map<String, Instance> instances = new HashMap<>();
+        if (ids.isEmpty()) {
+            return instances;
+        }
+
+        H2Client client = getClient();
+        String sql = SqlBuilder.buildBatchQuerySql(InstanceTable.TABLE, InstanceTable.INSTANCE_ID.getName(), ids.size());
+        try (ResultSet rs = client.executeQuery(sql, ids.toArray(new Object[0]))) {
+            while (rs.next()) {
+                Instance instance = new Instance();
+                instance.setId(rs.getString(InstanceTable.INSTANCE_ID.getName()));
+                instance.setInstanceId(rs.getInt(InstanceTable.INSTANCE_ID.getName()));
+                instance.setHeartBeatTime(rs.getLong(InstanceTable.HEARTBEAT_TIME.getName()));
+                instances.put(instance.getId(), instance);
+            }
+        } catch (SQLException | H2ClientException e) {
+            logger.error(e.getMessage(), e);
+        }
+        return instances;
+    }
+
     @Override public H2SqlEntity prepareBatchInsert(Instance data) {
         throw new UnexpectedException("There is no need to merge stream data with database data.");
     }
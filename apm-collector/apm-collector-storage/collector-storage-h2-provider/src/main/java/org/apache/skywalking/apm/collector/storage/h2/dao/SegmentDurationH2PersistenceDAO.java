@@ -18,6 +18,8 @@
 
 package org.apache.skywalking.apm.collector.storage.h2.dao;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.skywalking.apm.collector.client.h2.H2Client;
@@ -45,6 +47,10 @@ public class SegmentDurationH2PersistenceDAO extends H2DAO implements ISegmentDu
         return null;
     }
 
+    @Override public Map<String, SegmentDuration> get(Collection<String> ids) {
+        return Collections.emptyMap();
+    }
+
     @Override public H2SqlEntity prepareBatchInsert(SegmentDuration data) {
         logger.debug("segment cost prepareBatchInsert, getApplicationId: {}", data.getId());
         H2SqlEntity entity = new H2SqlEntity();
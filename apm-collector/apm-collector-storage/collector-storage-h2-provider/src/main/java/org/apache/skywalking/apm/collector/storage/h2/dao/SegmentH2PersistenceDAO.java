@@ -18,6 +18,8 @@
 
 package org.apache.skywalking.apm.collector.storage.h2.dao;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.skywalking.apm.collector.client.h2.H2Client;
@@ -26,6 +28,7 @@ import org.apache.skywalking.apm.collector.storage.dao.ISegmentPersistenceDAO;
 import org.apache.skywalking.apm.collector.storage.h2.base.dao.H2DAO;
 import org.apache.skywalking.apm.collector.storage.h2.base.define.H2SqlEntity;
 import org.apache.skywalking.apm.collector.storage.table.segment.Segment;
+import org.apache.skywalking.apm.collector.storage.table.segment.SegmentCodec;
 import org.apache.skywalking.apm.collector.storage.table.segment.SegmentTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,19 +40,26 @@ public class SegmentH2PersistenceDAO extends H2DAO implements ISegmentPersistenc
 
     private static final Logger logger = LoggerFactory.getLogger(SegmentH2PersistenceDAO.class);
 
-    public SegmentH2PersistenceDAO(H2Client client) {
+    private final SegmentCodec codec;
+
+    public SegmentH2PersistenceDAO(H2Client client, SegmentCodec codec) {
         super(client);
+        this.codec = codec;
     }
 
     @Override public Segment get(String id) {
         return null;
     }
 
+    @Override public Map<String, Segment> get(Collection<String> ids) {
+        return Collections.emptyMap();
+    }
+
     @Override public H2SqlEntity prepareBatchInsert(Segment data) {
         Map<String, Object> target = new HashMap<>();
         H2SqlEntity entity = new H2SqlEntity();
         target.put(SegmentTable.ID.getName(), data.getId());
-        target.put(SegmentTable.DATA_BINARY.getName(), data.getDataBinary());
+        target.put(SegmentTable.DATA_BINARY.getName(), codec.encode(data.getDataBinary()));
         target.put(SegmentTable.TIME_BUCKET.getName(), data.getTimeBucket());
         logger.debug("segment source: {}", target.toString());
 
@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.collector.storage.h2.dao.cache;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.function.Consumer;
 import org.apache.skywalking.apm.collector.client.h2.H2Client;
 import org.apache.skywalking.apm.collector.client.h2.H2ClientException;
 import org.apache.skywalking.apm.collector.storage.base.sql.SqlBuilder;
@@ -39,6 +40,7 @@ public class ApplicationH2CacheDAO extends H2DAO implements IApplicationCacheDAO
 
     private static final String GET_APPLICATION_ID_SQL = "select {0} from {1} where {2} = ? and {3} = ?";
     private static final String GET_APPLICATION_SQL = "select {0},{1} from {2} where {3} = ?";
+    private static final String LOAD_ALL_SQL = "select * from {0}";
 
     public ApplicationH2CacheDAO(H2Client client) {
         super(client);
@@ -95,4 +97,22 @@ public class ApplicationH2CacheDAO extends H2DAO implements IApplicationCacheDAO
         }
         return 0;
     }
+
+    @Override public void loadAll(Consumer<Application> consumer) {
+        H2Client client = getClient();
+        String sql = SqlBuilder.buildSql(LOAD_ALL_SQL, ApplicationTable.TABLE);
+        try (ResultSet rs = client.executeQuery(sql, null)) {
+            while (rs.next()) {
+                Application application = new Application();
+                application.setId(rs.getString(ApplicationTable.ID.getName()));
+                application.setApplicationId(rs.getInt(ApplicationTable.APPLICATION_ID.getName()));
+                application.setApplicationCode(rs.getString(ApplicationTable.APPLICATION_CODE.getName()));
+                application.setAddressId(rs.getInt(ApplicationTable.ADDRESS_ID.getName()));
+                application.setIsAddress(rs.getInt(ApplicationTable.IS_ADDRESS.getName()));
+                consumer.accept(application);
+            }
+        } catch (SQLException | H2ClientException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.collector.storage.h2.dao.cache;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.function.Consumer;
 import org.apache.skywalking.apm.collector.client.h2.H2Client;
 import org.apache.skywalking.apm.collector.client.h2.H2ClientException;
 import org.apache.skywalking.apm.collector.core.util.Const;
@@ -39,6 +40,7 @@ public class NetworkAddressH2CacheDAO extends H2DAO implements INetworkAddressCa
     private static final Logger logger = LoggerFactory.getLogger(NetworkAddressH2CacheDAO.class);
 
     private static final String GET_ADDRESS_ID_OR_CODE_SQL = "select {0} from {1} where {2} = ?";
+    private static final String LOAD_ALL_SQL = "select * from {0}";
 
     public NetworkAddressH2CacheDAO(H2Client client) {
         super(client);
@@ -84,4 +86,22 @@ public class NetworkAddressH2CacheDAO extends H2DAO implements INetworkAddressCa
         }
         return null;
     }
+
+    @Override public void loadAll(Consumer<NetworkAddress> consumer) {
+        H2Client client = getClient();
+        String sql = SqlBuilder.buildSql(LOAD_ALL_SQL, NetworkAddressTable.TABLE);
+        try (ResultSet rs = client.executeQuery(sql, null)) {
+            while (rs.next()) {
+                NetworkAddress networkAddress = new NetworkAddress();
+                networkAddress.setId(rs.getString(NetworkAddressTable.ID.getName()));
+                networkAddress.setAddressId(rs.getInt(NetworkAddressTable.ADDRESS_ID.getName()));
+                networkAddress.setSrcSpanLayer(rs.getInt(NetworkAddressTable.SRC_SPAN_LAYER.getName()));
+                networkAddress.setServerType(rs.getInt(NetworkAddressTable.SERVER_TYPE.getName()));
+                networkAddress.setNetworkAddress(rs.getString(NetworkAddressTable.NETWORK_ADDRESS.getName()));
+                consumer.accept(networkAddress);
+            }
+        } catch (SQLException | H2ClientException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.collector.storage.h2.dao.cache;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.function.Consumer;
 import org.apache.skywalking.apm.collector.client.h2.H2Client;
 import org.apache.skywalking.apm.collector.client.h2.H2ClientException;
 import org.apache.skywalking.apm.collector.storage.base.sql.SqlBuilder;
@@ -39,6 +40,7 @@ public class ServiceNameH2CacheDAO extends H2DAO implements IServiceNameCacheDAO
 
     private static final String GET_SERVICE_NAME_SQL = "select {0},{1} from {2} where {3} = ?";
     private static final String GET_SERVICE_ID_SQL = "select {0} from {1} where {2} = ? and {3} = ? and {4} = ? limit 1";
+    private static final String LOAD_ALL_SQL = "select * from {0}";
 
     public ServiceNameH2CacheDAO(H2Client client) {
         super(client);
@@ -78,4 +80,22 @@ public class ServiceNameH2CacheDAO extends H2DAO implements IServiceNameCacheDAO
         }
         return 0;
     }
+
+    @Override public void loadAll(Consumer<ServiceName> consumer) {
+        H2Client client = getClient();
+        String sql = SqlBuilder.buildSql(LOAD_ALL_SQL, ServiceNameTable.TABLE);
+        try (ResultSet rs = client.executeQuery(sql, null)) {
+            while (rs.next()) {
+                ServiceName serviceName = new ServiceName();
+                serviceName.setId(rs.getString(ServiceNameTable.ID.getName()));
+                serviceName.setServiceId(rs.getInt(ServiceNameTable.SERVICE_ID.getName()));
+                serviceName.setApplicationId(rs.getInt(ServiceNameTable.APPLICATION_ID.getName()));
+                serviceName.setServiceName(rs.getString(ServiceNameTable.SERVICE_NAME.getName()));
+                serviceName.setSrcSpanType(rs.getInt(ServiceNameTable.SRC_SPAN_TYPE.getName()));
+                consumer.accept(serviceName);
+            }
+        } catch (SQLException | H2ClientException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
 }
@@ -18,7 +18,11 @@
 
 package org.apache.skywalking.apm.collector.storage.h2.dao.register;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.skywalking.apm.collector.client.h2.H2Client;
 import org.apache.skywalking.apm.collector.client.h2.H2ClientException;
@@ -56,12 +60,7 @@ public class NetworkAddressRegisterH2DAO extends H2DAO implements INetworkAddres
     public void save(NetworkAddress networkAddress) {
         H2Client client = getClient();
 
-        Map<String, Object> target = new HashMap<>();
-        target.put(NetworkAddressTable.ID.getName(), networkAddress.getId());
-        target.put(NetworkAddressTable.NETWORK_ADDRESS.getName(), networkAddress.getNetworkAddress());
-        target.put(NetworkAddressTable.ADDRESS_ID.getName(), networkAddress.getAddressId());
-        target.put(NetworkAddressTable.SRC_SPAN_LAYER.getName(), networkAddress.getSrcSpanLayer());
-        target.put(NetworkAddressTable.SERVER_TYPE.getName(), networkAddress.getServerType());
+        Map<String, Object> target = target(networkAddress);
 
         String sql = SqlBuilder.buildBatchInsertSql(NetworkAddressTable.TABLE, target.keySet());
         Object[] params = target.values().toArray(new Object[0]);
@@ -72,6 +71,35 @@ public class NetworkAddressRegisterH2DAO extends H2DAO implements INetworkAddres
         }
     }
 
+    @Override
+    public void batchSave(List<NetworkAddress> networkAddresses) {
+        logger.debug("batch save network address register info, size: {}", networkAddresses.size());
+        String sql = SqlBuilder.buildBatchInsertSql(NetworkAddressTable.TABLE, target(networkAddresses.get(0)).keySet());
+        Connection conn = getClient().getConnection();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (NetworkAddress networkAddress : networkAddresses) {
+                Object[] params = target(networkAddress).values().toArray(new Object[0]);
+                for (int i = 0; i < params.length; i++) {
+                    ps.setObject(i + 1, params[i]);
+                }
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Object> target(NetworkAddress networkAddress) {
+        Map<String, Object> target = new HashMap<>();
+        target.put(NetworkAddressTable.ID.getName(), networkAddress.getId());
+        target.put(NetworkAddressTable.NETWORK_ADDRESS.getName(), networkAddress.getNetworkAddress());
+        target.put(NetworkAddressTable.ADDRESS_ID.getName(), networkAddress.getAddressId());
+        target.put(NetworkAddressTable.SRC_SPAN_LAYER.getName(), networkAddress.getSrcSpanLayer());
+        target.put(NetworkAddressTable.SERVER_TYPE.getName(), networkAddress.getServerType());
+        return target;
+    }
+
     @Override public void update(String id, int spanLayer, int serverType) {
         H2Client client = getClient();
 
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.collector.storage.h2.dao.register;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.skywalking.apm.collector.client.h2.H2Client;
+import org.apache.skywalking.apm.collector.client.h2.H2ClientException;
+import org.apache.skywalking.apm.collector.core.UnexpectedException;
+import org.apache.skywalking.apm.collector.storage.base.sql.SqlBuilder;
+import org.apache.skywalking.apm.collector.storage.dao.register.IRegisterLeaseDAO;
+import org.apache.skywalking.apm.collector.storage.h2.base.dao.H2DAO;
+import org.apache.skywalking.apm.collector.storage.table.register.RegisterLeaseTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The H2 database is used by a single collector, so the leases only need to be serialized in this collector.
+ *
+ * @author peng-yongsheng
+ */
+public class RegisterLeaseH2DAO extends H2DAO implements IRegisterLeaseDAO {
+
+    private final Logger logger = LoggerFactory.getLogger(RegisterLeaseH2DAO.class);
+
+    private static final String GET_LEASE_END_SQL = "select {0} from {1} where {2} = ?";
+
+    public RegisterLeaseH2DAO(H2Client client) {
+        super(client);
+    }
+
+    @Override
+    public synchronized long lease(String registerTable, long initialSequence, int size) {
+        H2Client client = getClient();
+        String sql = SqlBuilder.buildSql(GET_LEASE_END_SQL, RegisterLeaseTable.LEASE_END.getName(), RegisterLeaseTable.TABLE, RegisterLeaseTable.ID.getName());
+        try {
+            boolean exists = false;
+            long start = initialSequence;
+            try (ResultSet rs = client.executeQuery(sql, new Object[] {registerTable})) {
+                if (rs.next()) {
+                    exists = true;
+                    start = Math.max(start, rs.getLong(1));
+                }
+            }
+
+            Map<String, Object> target = new HashMap<>();
+            target.put(RegisterLeaseTable.LEASE_END.getName(), start + size);
+            if (exists) {
+                client.execute(SqlBuilder.buildBatchUpdateSql(RegisterLeaseTable.TABLE, target.keySet(), RegisterLeaseTable.ID.getName()), new Object[] {start + size, registerTable});
+            } else {
+                target.put(RegisterLeaseTable.ID.getName(), registerTable);
+                client.execute(SqlBuilder.buildBatchInsertSql(RegisterLeaseTable.TABLE, target.keySet()), target.values().toArray(new Object[0]));
+            }
+            logger.debug("lease register table: {}, start: {}, size: {}", registerTable, start, size);
+            return start;
+        } catch (SQLException | H2ClientException e) {
+            logger.error(e.getMessage(), e);
+            throw new UnexpectedException("Lease the id sequence of register table: " + registerTable + " failure.");
+        }
+    }
+}
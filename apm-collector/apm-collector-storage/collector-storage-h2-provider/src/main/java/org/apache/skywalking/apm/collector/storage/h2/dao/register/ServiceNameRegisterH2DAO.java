@@ -18,7 +18,11 @@
 
 package org.apache.skywalking.apm.collector.storage.h2.dao.register;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.skywalking.apm.collector.client.h2.H2Client;
 import org.apache.skywalking.apm.collector.client.h2.H2ClientException;
@@ -55,12 +59,7 @@ public class ServiceNameRegisterH2DAO extends H2DAO implements IServiceNameRegis
     public void save(ServiceName serviceName) {
         logger.debug("save service name register info, application getApplicationId: {}, service name: {}", serviceName.getId(), serviceName.getServiceName());
         H2Client client = getClient();
-        Map<String, Object> target = new HashMap<>();
-        target.put(ServiceNameTable.ID.getName(), serviceName.getId());
-        target.put(ServiceNameTable.SERVICE_ID.getName(), serviceName.getServiceId());
-        target.put(ServiceNameTable.APPLICATION_ID.getName(), serviceName.getApplicationId());
-        target.put(ServiceNameTable.SERVICE_NAME.getName(), serviceName.getServiceName());
-        target.put(ServiceNameTable.SRC_SPAN_TYPE.getName(), serviceName.getSrcSpanType());
+        Map<String, Object> target = target(serviceName);
 
         String sql = SqlBuilder.buildBatchInsertSql(ServiceNameTable.TABLE, target.keySet());
         Object[] params = target.values().toArray(new Object[0]);
@@ -70,4 +69,33 @@ public class ServiceNameRegisterH2DAO extends H2DAO implements IServiceNameRegis
             logger.error(e.getMessage(), e);
         }
     }
+
+    @Override
+    public void batchSave(List<ServiceName> serviceNames) {
+        logger.debug("batch save service name register info, size: {}", serviceNames.size());
+        String sql = SqlBuilder.buildBatchInsertSql(ServiceNameTable.TABLE, target(serviceNames.get(0)).keySet());
+        Connection conn = getClient().getConnection();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (ServiceName serviceName : serviceNames) {
+                Object[] params = target(serviceName).values().toArray(new Object[0]);
+                for (int i = 0; i < params.length; i++) {
+                    ps.setObject(i + 1, params[i]);
+                }
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Object> target(ServiceName serviceName) {
+        Map<String, Object> target = new HashMap<>();
+        target.put(ServiceNameTable.ID.getName(), serviceName.getId());
+        target.put(ServiceNameTable.SERVICE_ID.getName(), serviceName.getServiceId());
+        target.put(ServiceNameTable.APPLICATION_ID.getName(), serviceName.getApplicationId());
+        target.put(ServiceNameTable.SERVICE_NAME.getName(), serviceName.getServiceName());
+        target.put(ServiceNameTable.SRC_SPAN_TYPE.getName(), serviceName.getSrcSpanType());
+        return target;
+    }
 }
@@ -40,7 +40,7 @@ public class GlobalTraceH2UIDAO extends H2DAO implements IGlobalTraceUIDAO {
     private final Logger logger = LoggerFactory.getLogger(GlobalTraceH2UIDAO.class);
 
     private static final String GET_GLOBAL_TRACE_ID_SQL = "select {0} from {1} where {2} = ? limit 10";
-    private static final String GET_SEGMENT_IDS_SQL = "select {0} from {1} where {2} = ? limit 10";
+    private static final String GET_SEGMENT_IDS_SQL = "select {0} from {1} where {2} = ? limit 10000";
 
     public GlobalTraceH2UIDAO(H2Client client) {
         super(client);
@@ -22,10 +22,15 @@ package org.apache.skywalking.apm.collector.storage.h2.dao.ui;
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.apache.skywalking.apm.collector.client.h2.H2Client;
+import org.apache.skywalking.apm.collector.core.UnexpectedException;
 import org.apache.skywalking.apm.collector.storage.base.sql.SqlBuilder;
 import org.apache.skywalking.apm.collector.storage.dao.ui.ISegmentUIDAO;
 import org.apache.skywalking.apm.collector.storage.h2.base.dao.H2DAO;
+import org.apache.skywalking.apm.collector.storage.table.segment.SegmentCodec;
 import org.apache.skywalking.apm.collector.storage.table.segment.SegmentTable;
 import org.apache.skywalking.apm.collector.client.h2.H2ClientException;
 import org.apache.skywalking.apm.network.proto.TraceSegmentObject;
@@ -50,16 +55,42 @@ public class SegmentH2UIDAO extends H2DAO implements ISegmentUIDAO {
         Object[] params = new Object[] {segmentId};
         try (ResultSet rs = client.executeQuery(sql, params)) {
             if (rs.next()) {
-                byte[] dataBinary = rs.getBytes(SegmentTable.DATA_BINARY.getName());
-                try {
-                    return TraceSegmentObject.parseFrom(dataBinary);
-                } catch (InvalidProtocolBufferException e) {
-                    logger.error(e.getMessage(), e);
+                return parse(segmentId, rs.getBytes(SegmentTable.DATA_BINARY.getName()));
+            }
+        } catch (SQLException | H2ClientException e) {
+            logger.error(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    @Override public Map<String, TraceSegmentObject> load(List<String> segmentIds) {
+        Map<String, TraceSegmentObject> segments = new HashMap<>();
+        if (segmentIds.isEmpty()) {
+            return segments;
+        }
+
+        H2Client client = getClient();
+        String sql = SqlBuilder.buildBatchQuerySql(SegmentTable.TABLE, SegmentTable.ID.getName(), segmentIds.size());
+        try (ResultSet rs = client.executeQuery(sql, segmentIds.toArray(new Object[0]))) {
+            while (rs.next()) {
+                String segmentId = rs.getString(SegmentTable.ID.getName());
+                TraceSegmentObject segment = parse(segmentId, rs.getBytes(SegmentTable.DATA_BINARY.getName()));
+                if (segment != null) {
+                    segments.put(segmentId, segment);
                 }
             }
         } catch (SQLException | H2ClientException e) {
             logger.error(e.getMessage(), e);
         }
+        return segments;
+    }
+
+    private TraceSegmentObject parse(String segmentId, byte[] dataBinary) {
+        try {
+            return TraceSegmentObject.parseFrom(SegmentCodec.decode(dataBinary));
+        } catch (InvalidProtocolBufferException | UnexpectedException e) {
+            logger.error("Decode segment: {} failure, {}", segmentId, e.getMessage(), e);
+        }
         return null;
     }
 }
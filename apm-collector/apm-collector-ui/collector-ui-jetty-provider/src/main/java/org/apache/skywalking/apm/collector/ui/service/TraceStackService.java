@@ -36,9 +36,16 @@ import org.apache.skywalking.apm.network.proto.SpanObject;
 import org.apache.skywalking.apm.network.proto.TraceSegmentObject;
 import org.apache.skywalking.apm.network.proto.UniqueId;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static java.util.Objects.nonNull;
 
@@ -67,35 +74,49 @@ public class TraceStackService {
         Trace trace = new Trace();
         List<String> segmentIds = globalTraceDAO.getSegmentIds(traceId);
         if (CollectionUtils.isNotEmpty(segmentIds)) {
+            Map<String, TraceSegmentObject> segments = segmentDAO.load(segmentIds);
+            Names names = resolveNames(segments.values());
             for (String segmentId : segmentIds) {
-                TraceSegmentObject segment = segmentDAO.load(segmentId);
+                TraceSegmentObject segment = segments.get(segmentId);
                 if (nonNull(segment)) {
-                    trace.getSpans().addAll(buildSpanList(traceId, segmentId, segment.getApplicationId(), segment.getSpansList()));
+                    trace.getSpans().addAll(buildSpanList(traceId, segmentId, segment.getApplicationId(), segment.getSpansList(), names));
                 }
             }
         }
 
-        List<Span> sortedSpans = new LinkedList<>();
-        if (CollectionUtils.isNotEmpty(trace.getSpans())) {
-            List<Span> rootSpans = findRoot(trace.getSpans());
-
-            if (CollectionUtils.isNotEmpty(rootSpans)) {
-                rootSpans.forEach(span -> {
-                    List<Span> childrenSpan = new ArrayList<>();
-                    childrenSpan.add(span);
-                    findChildren(trace.getSpans(), span, childrenSpan);
-                    sortedSpans.addAll(childrenSpan);
-                });
-            }
-        }
-
-        trace.setSpans(sortedSpans);
+        trace.setSpans(sortSpans(trace.getSpans()));
         return trace;
     }
 
+    /**
+     * Resolve the names of the ids used by the spans of all the segments, each distinct id once.
+     */
+    private Names resolveNames(Collection<TraceSegmentObject> segments) {
+        Names names = new Names();
+        segments.forEach(segment -> {
+            names.applicationCodes.computeIfAbsent(segment.getApplicationId(),
+                applicationId -> applicationCacheService.getApplicationById(applicationId).getApplicationCode());
+
+            segment.getSpansList().forEach(spanObject -> {
+                if (spanObject.getPeerId() != 0) {
+                    names.peers.computeIfAbsent(spanObject.getPeerId(),
+                        peerId -> networkAddressCacheService.getAddress(peerId).getNetworkAddress());
+                }
+                if (spanObject.getOperationNameId() != 0) {
+                    names.operationNames.computeIfAbsent(spanObject.getOperationNameId(), operationNameId -> {
+                        ServiceName serviceName = serviceNameCacheService.get(operationNameId);
+                        return nonNull(serviceName) ? serviceName.getServiceName() : Const.EMPTY_STRING;
+                    });
+                }
+            });
+        });
+        return names;
+    }
+
     private List<Span> buildSpanList(String traceId, String segmentId, int applicationId,
-        List<SpanObject> spanObjects) {
+        List<SpanObject> spanObjects, Names names) {
         List<Span> spans = new ArrayList<>();
+        String applicationCode = names.applicationCodes.get(applicationId);
 
         spanObjects.forEach(spanObject -> {
             Span span = new Span();
@@ -118,21 +139,15 @@ public class TraceStackService {
             if (spanObject.getPeerId() == 0) {
                 span.setPeer(spanObject.getPeer());
             } else {
-                span.setPeer(networkAddressCacheService.getAddress(spanObject.getPeerId()).getNetworkAddress());
+                span.setPeer(names.peers.get(spanObject.getPeerId()));
             }
 
-            String operationName = spanObject.getOperationName();
-            if (spanObject.getOperationNameId() != 0) {
-                ServiceName serviceName = serviceNameCacheService.get(spanObject.getOperationNameId());
-                if (nonNull(serviceName)) {
-                    operationName = serviceName.getServiceName();
-                } else {
-                    operationName = Const.EMPTY_STRING;
-                }
+            if (spanObject.getOperationNameId() == 0) {
+                span.setOperationName(spanObject.getOperationName());
+            } else {
+                span.setOperationName(names.operationNames.get(spanObject.getOperationNameId()));
             }
-            span.setOperationName(operationName);
 
-            String applicationCode = applicationCacheService.getApplicationById(applicationId).getApplicationCode();
             span.setApplicationCode(applicationCode);
 
             if (spanObject.getComponentId() == 0) {
@@ -198,32 +213,47 @@ public class TraceStackService {
         return spans;
     }
 
-    private List<Span> findRoot(List<Span> spans) {
+    /**
+     * Sort the spans in the depth first order of the span trees, from the roots in their order. A span is a root if
+     * its parent is not found.
+     */
+    private List<Span> sortSpans(List<Span> spans) {
+        Set<String> segmentSpanIds = new HashSet<>();
+        spans.forEach(span -> segmentSpanIds.add(span.getSegmentSpanId()));
+
         List<Span> rootSpans = new ArrayList<>();
+        Map<String, List<Span>> childrenSpans = new HashMap<>();
         spans.forEach(span -> {
-            String segmentParentSpanId = span.getSegmentParentSpanId();
-
-            boolean hasParent = false;
-            for (Span subSpan : spans) {
-                if (segmentParentSpanId.equals(subSpan.getSegmentSpanId())) {
-                    hasParent = true;
-                }
-            }
-
-            if (!hasParent) {
+            if (segmentSpanIds.contains(span.getSegmentParentSpanId())) {
+                childrenSpans.computeIfAbsent(span.getSegmentParentSpanId(), parentId -> new ArrayList<>()).add(span);
+            } else {
                 span.setRoot(true);
                 rootSpans.add(span);
             }
         });
-        return rootSpans;
-    }
 
-    private void findChildren(List<Span> spans, Span parentSpan, List<Span> childrenSpan) {
-        spans.forEach(span -> {
-            if (span.getSegmentParentSpanId().equals(parentSpan.getSegmentSpanId())) {
-                childrenSpan.add(span);
-                findChildren(spans, span, childrenSpan);
+        List<Span> sortedSpans = new LinkedList<>();
+        Deque<Span> stack = new ArrayDeque<>();
+        rootSpans.forEach(rootSpan -> {
+            stack.push(rootSpan);
+            while (!stack.isEmpty()) {
+                Span span = stack.pop();
+                sortedSpans.add(span);
+
+                List<Span> children = childrenSpans.get(span.getSegmentSpanId());
+                if (nonNull(children)) {
+                    for (int i = children.size() - 1; i >= 0; i--) {
+                        stack.push(children.get(i));
+                    }
+                }
             }
         });
+        return sortedSpans;
+    }
+
+    private static class Names {
+        private final Map<Integer, String> applicationCodes = new HashMap<>();
+        private final Map<Integer, String> peers = new HashMap<>();
+        private final Map<Integer, String> operationNames = new HashMap<>();
     }
 }
@@ -26,6 +26,7 @@ import org.apache.skywalking.apm.collector.core.module.ModuleManager;
 import org.apache.skywalking.apm.collector.storage.dao.ui.IGlobalTraceUIDAO;
 import org.apache.skywalking.apm.collector.storage.dao.ui.ISegmentUIDAO;
 import org.apache.skywalking.apm.collector.storage.table.register.Application;
+import org.apache.skywalking.apm.collector.storage.ui.trace.Span;
 import org.apache.skywalking.apm.collector.storage.ui.trace.Trace;
 import org.apache.skywalking.apm.network.proto.*;
 import org.junit.Assert;
@@ -34,7 +35,13 @@ import org.junit.Test;
 import org.mockito.Mockito;
 import org.mockito.internal.util.reflection.Whitebox;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.powermock.api.mockito.PowerMockito.when;
@@ -67,7 +74,7 @@ public class TraceStackServiceTest {
     @Test
     public void load() {
         when(globalTraceDAO.getSegmentIds(anyString())).then(invocation -> Lists.newArrayList("1", "2", "3"));
-        when(segmentDAO.load(anyString())).then(invocation -> {
+        when(segmentDAO.load(anyListOf(String.class))).then(invocation -> {
             TraceSegmentReference traceSegmentReference = TraceSegmentReference.newBuilder()
                     .setRefType(RefType.CrossProcess)
                     .setRefTypeValue(1)
@@ -84,13 +91,47 @@ public class TraceStackServiceTest {
                     .setOperationNameId(1)
                     .addRefs(traceSegmentReference)
                     .build();
-            return TraceSegmentObject.newBuilder()
+            TraceSegmentObject segment = TraceSegmentObject.newBuilder()
                     .addSpans(testSpanObject)
                     .build();
+            Map<String, TraceSegmentObject> segments = new HashMap<>();
+            List<String> segmentIds = invocation.getArgumentAt(0, List.class);
+            segmentIds.forEach(segmentId -> segments.put(segmentId, segment));
+            return segments;
         });
         mockCache();
         Trace load = traceStackService.load("123");
         Assert.assertNotNull(load);
+        Assert.assertEquals(3, load.getSpans().size());
+    }
+
+    @Test
+    public void loadSpanTree() {
+        when(globalTraceDAO.getSegmentIds(anyString())).then(invocation -> Lists.newArrayList("2.2.2", "1.1.1"));
+        when(segmentDAO.load(anyListOf(String.class))).then(invocation -> {
+            Map<String, TraceSegmentObject> segments = new HashMap<>();
+            segments.put("1.1.1", TraceSegmentObject.newBuilder()
+                    .addSpans(SpanObject.newBuilder().setSpanId(1).setParentSpanId(0).setOperationName("1-1"))
+                    .addSpans(SpanObject.newBuilder().setSpanId(2).setParentSpanId(1).setOperationName("1-2"))
+                    .addSpans(SpanObject.newBuilder().setSpanId(0).setParentSpanId(-1).setOperationName("1-0"))
+                    .build());
+            segments.put("2.2.2", TraceSegmentObject.newBuilder()
+                    .addSpans(SpanObject.newBuilder().setSpanId(0).setParentSpanId(-1).setOperationName("2-0")
+                            .addRefs(TraceSegmentReference.newBuilder()
+                                    .setRefType(RefType.CrossProcess)
+                                    .setParentTraceSegmentId(UniqueId.newBuilder().addIdParts(1).addIdParts(1).addIdParts(1))
+                                    .setParentSpanId(1)))
+                    .build());
+            return segments;
+        });
+        mockCache();
+
+        List<Span> spans = traceStackService.load("123").getSpans();
+        List<String> operationNames = new ArrayList<>();
+        spans.forEach(span -> operationNames.add(span.getOperationName()));
+        Assert.assertEquals(Lists.newArrayList("1-0", "1-1", "2-0", "1-2"), operationNames);
+        Assert.assertTrue(spans.get(0).isRoot());
+        Assert.assertFalse(spans.get(2).isRoot());
     }
 
     private void mockCache() {
@@ -19,9 +19,13 @@
 package org.apache.skywalking.apm.commons.datacarrier;
 
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferType;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.BackoffWaitStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumerPool;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.IWaitStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.ParkingWaitStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
 import org.apache.skywalking.apm.commons.datacarrier.partition.SimpleRollingPartitioner;
 
@@ -31,13 +35,24 @@ import org.apache.skywalking.apm.commons.datacarrier.partition.SimpleRollingPart
 public class DataCarrier<T> {
     private final int bufferSize;
     private final int channelSize;
+    private final BufferType bufferType;
     private Channels<T> channels;
-    private ConsumerPool<T> consumerPool;
+    private volatile ConsumerPool<T> consumerPool;
 
     public DataCarrier(int channelSize, int bufferSize) {
+        this(channelSize, bufferSize, BufferType.ARRAY);
+    }
+
+    /**
+     * @param channelSize
+     * @param bufferSize of each channel
+     * @param bufferType {@link BufferType#RING} is for the high throughput cases, with several producers.
+     */
+    public DataCarrier(int channelSize, int bufferSize, BufferType bufferType) {
         this.bufferSize = bufferSize;
         this.channelSize = channelSize;
-        channels = new Channels<T>(channelSize, bufferSize, new SimpleRollingPartitioner<T>(), BufferStrategy.BLOCKING);
+        this.bufferType = bufferType;
+        channels = new Channels<T>(channelSize, bufferSize, new SimpleRollingPartitioner<T>(), BufferStrategy.BLOCKING, bufferType);
     }
 
     /**
@@ -73,13 +88,20 @@ public class DataCarrier<T> {
      * @return false means produce data failure. The data will not be consumed.
      */
     public boolean produce(T data) {
+        ConsumerPool<T> consumerPool = this.consumerPool;
         if (consumerPool != null) {
             if (!consumerPool.isRunning()) {
                 return false;
             }
         }
 
-        return this.channels.save(data);
+        if (this.channels.save(data)) {
+            if (consumerPool != null) {
+                consumerPool.signal();
+            }
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -89,11 +111,23 @@ public class DataCarrier<T> {
      * @param num number of consumer threads
      */
     public DataCarrier consume(Class<? extends IConsumer<T>> consumerClass, int num, long consumeCycle) {
+        return this.consume(consumerClass, num, defaultWaitStrategy(consumeCycle));
+    }
+
+    /**
+     * set consumers to this Carrier. consumer begin to run when {@link DataCarrier#produce} begin to work.
+     *
+     * @param consumerClass class of consumer
+     * @param num number of consumer threads
+     * @param waitStrategy decides how the consumer threads wait when there is no data.
+     */
+    public DataCarrier consume(Class<? extends IConsumer<T>> consumerClass, int num, IWaitStrategy waitStrategy) {
         if (consumerPool != null) {
             consumerPool.close();
         }
-        consumerPool = new ConsumerPool<T>(this.channels, consumerClass, num, consumeCycle);
-        consumerPool.begin();
+        ConsumerPool<T> pool = new ConsumerPool<T>(this.channels, consumerClass, num, waitStrategy);
+        pool.begin();
+        consumerPool = pool;
         return this;
     }
 
@@ -116,11 +150,24 @@ public class DataCarrier<T> {
      * @return
      */
     public DataCarrier consume(IConsumer<T> consumer, int num, long consumeCycle) {
+        return this.consume(consumer, num, defaultWaitStrategy(consumeCycle));
+    }
+
+    /**
+     * set consumers to this Carrier. consumer begin to run when {@link DataCarrier#produce} begin to work.
+     *
+     * @param consumer single instance of consumer, all consumer threads will all use this instance.
+     * @param num number of consumer threads
+     * @param waitStrategy decides how the consumer threads wait when there is no data.
+     * @return
+     */
+    public DataCarrier consume(IConsumer<T> consumer, int num, IWaitStrategy waitStrategy) {
         if (consumerPool != null) {
             consumerPool.close();
         }
-        consumerPool = new ConsumerPool<T>(this.channels, consumer, num, consumeCycle);
-        consumerPool.begin();
+        ConsumerPool<T> pool = new ConsumerPool<T>(this.channels, consumer, num, waitStrategy);
+        pool.begin();
+        consumerPool = pool;
         return this;
     }
 
@@ -136,6 +183,17 @@ public class DataCarrier<T> {
         return this.consume(consumer, num, 20);
     }
 
+    /**
+     * The {@link BufferType#ARRAY} consumers poll in the fixed consume cycle, as before. The {@link BufferType#RING}
+     * consumers park, and are signaled by the producers, at most one consume cycle.
+     */
+    private IWaitStrategy defaultWaitStrategy(long consumeCycle) {
+        if (BufferType.RING.equals(bufferType)) {
+            return new ParkingWaitStrategy(consumeCycle);
+        }
+        return new BackoffWaitStrategy(consumeCycle, consumeCycle);
+    }
+
     /**
      * shutdown all consumer threads, if consumer threads are running. Notice {@link BufferStrategy}: if {@link
      * BufferStrategy} == {@link BufferStrategy#BLOCKING}, shutdown consumers maybe cause blocking when producing.
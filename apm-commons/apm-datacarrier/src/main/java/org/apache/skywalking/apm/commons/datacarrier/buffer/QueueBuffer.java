@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.List;
+import org.apache.skywalking.apm.commons.datacarrier.callback.QueueBlockingCallback;
+
+/**
+ * Queue buffer interface of one channel. The implementation decides how the producers claim slots and how the
+ * consumers drain them.
+ *
+ * @author wu-sheng
+ */
+public interface QueueBuffer<T> {
+    /**
+     * save data into the buffer, follow the current {@link BufferStrategy} when the buffer is full.
+     *
+     * @param data to save
+     * @return false means the data has been abandoned.
+     */
+    boolean save(T data);
+
+    /**
+     * override the strategy at runtime.
+     *
+     * @param strategy
+     */
+    void setStrategy(BufferStrategy strategy);
+
+    void addCallback(QueueBlockingCallback<T> callback);
+
+    int getBufferSize();
+
+    /**
+     * move all the available data into the given list. The list is owned by the consumer, and reused between
+     * consume cycles, so no new collection should be created in the implementation.
+     *
+     * @param consumeList receives the data
+     */
+    void obtain(List<T> consumeList);
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.skywalking.apm.commons.datacarrier.callback.QueueBlockingCallback;
+
+/**
+ * A bounded ring buffer based on sequence-claimed slots. Every slot has a sequence, producers claim a position by CAS
+ * on the producer cursor, then publish the data by an ordered write of the slot sequence. Consumers claim all the
+ * published positions in one CAS on the consumer cursor, and move them into a consumer-owned list. So several
+ * producers and consumers could work on one buffer without lock, and no collection is created in a consume cycle.
+ * <p>
+ * Blocked producers are parked, and unparked by the consumers after draining, instead of sleeping. The idle consumers
+ * wait by the {@link org.apache.skywalking.apm.commons.datacarrier.consumer.IWaitStrategy} of the consumer pool.
+ *
+ * @author wu-sheng
+ */
+public class RingBuffer<T> implements QueueBuffer<T> {
+    /**
+     * Times of yield before a blocked producer parks.
+     */
+    private static final int PRODUCER_YIELD_TIMES = 64;
+    /**
+     * Max park time of a blocked producer, only as a guard. Consumers unpark the blocked producers after draining.
+     */
+    private static final long PRODUCER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerCursor;
+    private final AtomicLong consumerCursor;
+    private volatile BufferStrategy strategy;
+    private final List<QueueBlockingCallback<T>> callbacks;
+    private final ConcurrentLinkedQueue<Thread> blockedProducers;
+
+    /**
+     * @param bufferSize is rounded up to the power of 2.
+     * @param strategy when the buffer is full.
+     */
+    RingBuffer(int bufferSize, BufferStrategy strategy) {
+        int size = 1;
+        while (size < bufferSize) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<T>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.producerCursor = new AtomicLong(0);
+        this.consumerCursor = new AtomicLong(0);
+        this.strategy = strategy;
+        this.callbacks = new LinkedList<QueueBlockingCallback<T>>();
+        this.blockedProducers = new ConcurrentLinkedQueue<Thread>();
+    }
+
+    @Override
+    public void setStrategy(BufferStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    @Override
+    public void addCallback(QueueBlockingCallback<T> callback) {
+        callbacks.add(callback);
+    }
+
+    @Override
+    public boolean save(T data) {
+        boolean isFirstTimeBlocking = true;
+        int blockingTimes = 0;
+        long position = producerCursor.get();
+        while (true) {
+            int index = (int)(position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (producerCursor.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, data);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                switch (strategy) {
+                    case IF_POSSIBLE:
+                        return false;
+                    case OVERRIDE:
+                        discardOldest();
+                        break;
+                    case BLOCKING:
+                    default:
+                        if (isFirstTimeBlocking) {
+                            isFirstTimeBlocking = false;
+                            for (QueueBlockingCallback<T> callback : callbacks) {
+                                callback.notify(data);
+                            }
+                        }
+                        waitForSpace(position, blockingTimes++);
+                }
+            }
+            position = producerCursor.get();
+        }
+    }
+
+    @Override
+    public int getBufferSize() {
+        return capacity;
+    }
+
+    @Override
+    public void obtain(List<T> consumeList) {
+        long position = consumerCursor.get();
+        int available;
+        while (true) {
+            available = 0;
+            while (available < capacity && sequences.get((int)((position + available) & mask)) == position + available + 1) {
+                available++;
+            }
+            if (available == 0) {
+                return;
+            }
+            if (consumerCursor.compareAndSet(position, position + available)) {
+                break;
+            }
+            position = consumerCursor.get();
+        }
+
+        for (long current = position; current < position + available; current++) {
+            int index = (int)(current & mask);
+            consumeList.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.lazySet(index, current + capacity);
+        }
+
+        if (!blockedProducers.isEmpty()) {
+            for (Thread producer : blockedProducers) {
+                LockSupport.unpark(producer);
+            }
+        }
+    }
+
+    /**
+     * Release the oldest data, for {@link BufferStrategy#OVERRIDE}.
+     */
+    private void discardOldest() {
+        long position = consumerCursor.get();
+        int index = (int)(position & mask);
+        if (sequences.get(index) == position + 1 && consumerCursor.compareAndSet(position, position + 1)) {
+            slots.lazySet(index, null);
+            sequences.lazySet(index, position + capacity);
+        }
+    }
+
+    /**
+     * Yield a few times at first, then park until a consumer frees slots. The consumer cursor is checked after the
+     * producer announces itself, and consumers check the blocked producers after moving the consumer cursor, so the
+     * wakeup can't be missed.
+     */
+    private void waitForSpace(long position, int blockingTimes) {
+        if (blockingTimes < PRODUCER_YIELD_TIMES) {
+            Thread.yield();
+            return;
+        }
+        Thread producer = Thread.currentThread();
+        blockedProducers.offer(producer);
+        try {
+            if (position - consumerCursor.get() >= capacity) {
+                LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+            }
+        } finally {
+            blockedProducers.remove(producer);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Park the consumer thread for a period, which doubles in every continuous empty consume cycle, from the min period to
+ * the max period. The idle consumers poll less and less. When min == max, it is the fixed consume cycle.
+ *
+ * @author wu-sheng
+ */
+public class BackoffWaitStrategy implements IWaitStrategy {
+    private final long minParkNanos;
+    private final long maxParkNanos;
+
+    /**
+     * @param minParkMillis park time of the first empty consume cycle
+     * @param maxParkMillis max park time
+     */
+    public BackoffWaitStrategy(long minParkMillis, long maxParkMillis) {
+        this.minParkNanos = TimeUnit.MILLISECONDS.toNanos(minParkMillis);
+        this.maxParkNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(minParkMillis, maxParkMillis));
+    }
+
+    @Override
+    public void register(Thread consumerThread) {
+    }
+
+    @Override
+    public void unregister(Thread consumerThread) {
+    }
+
+    @Override
+    public void waitFor(int idleTimes) {
+        long parkNanos = minParkNanos;
+        for (int i = 1; i < idleTimes && parkNanos < maxParkNanos; i++) {
+            parkNanos <<= 1;
+        }
+        LockSupport.parkNanos(this, Math.min(parkNanos, maxParkNanos));
+    }
+
+    @Override
+    public void signal() {
+    }
+}
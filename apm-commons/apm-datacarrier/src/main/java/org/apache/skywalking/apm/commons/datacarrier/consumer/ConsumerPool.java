@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.concurrent.locks.ReentrantLock;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.Buffer;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.QueueBuffer;
 
 /**
  * Pool of consumers <p> Created by wusheng on 2016/10/25.
@@ -31,28 +32,39 @@ public class ConsumerPool<T> {
     private ConsumerThread[] consumerThreads;
     private Channels<T> channels;
     private ReentrantLock lock;
+    private IWaitStrategy waitStrategy;
 
     public ConsumerPool(Channels<T> channels, Class<? extends IConsumer<T>> consumerClass, int num, long consumeCycle) {
-        this(channels, num);
+        this(channels, consumerClass, num, new BackoffWaitStrategy(consumeCycle, consumeCycle));
+    }
+
+    public ConsumerPool(Channels<T> channels, IConsumer<T> prototype, int num, long consumeCycle) {
+        this(channels, prototype, num, new BackoffWaitStrategy(consumeCycle, consumeCycle));
+    }
+
+    public ConsumerPool(Channels<T> channels, Class<? extends IConsumer<T>> consumerClass, int num,
+        IWaitStrategy waitStrategy) {
+        this(channels, num, waitStrategy);
         for (int i = 0; i < num; i++) {
-            consumerThreads[i] = new ConsumerThread("DataCarrier.Consumser." + i + ".Thread", getNewConsumerInstance(consumerClass), consumeCycle);
+            consumerThreads[i] = new ConsumerThread("DataCarrier.Consumser." + i + ".Thread", getNewConsumerInstance(consumerClass), waitStrategy);
             consumerThreads[i].setDaemon(true);
         }
     }
 
-    public ConsumerPool(Channels<T> channels, IConsumer<T> prototype, int num, long consumeCycle) {
-        this(channels, num);
+    public ConsumerPool(Channels<T> channels, IConsumer<T> prototype, int num, IWaitStrategy waitStrategy) {
+        this(channels, num, waitStrategy);
         prototype.init();
         for (int i = 0; i < num; i++) {
-            consumerThreads[i] = new ConsumerThread("DataCarrier.Consumser." + i + ".Thread", prototype, consumeCycle);
+            consumerThreads[i] = new ConsumerThread("DataCarrier.Consumser." + i + ".Thread", prototype, waitStrategy);
             consumerThreads[i].setDaemon(true);
         }
 
     }
 
-    private ConsumerPool(Channels<T> channels, int num) {
+    private ConsumerPool(Channels<T> channels, int num, IWaitStrategy waitStrategy) {
         running = false;
         this.channels = channels;
+        this.waitStrategy = waitStrategy;
         consumerThreads = new ConsumerThread[num];
         lock = new ReentrantLock();
     }
@@ -89,6 +101,13 @@ public class ConsumerPool<T> {
         return running;
     }
 
+    /**
+     * Notify the waiting consumers, new data has been saved.
+     */
+    public void signal() {
+        waitStrategy.signal();
+    }
+
     private void allocateBuffer2Thread() {
         int channelSize = this.channels.getChannelSize();
         if (channelSize < consumerThreads.length) {
@@ -107,7 +126,17 @@ public class ConsumerPool<T> {
 
             for (int channelIndex = 0; channelIndex < channelSize; channelIndex++) {
                 ArrayList<Integer> threadAllocationPerChannel = threadAllocation[channelIndex];
-                Buffer<T> channel = this.channels.getBuffer(channelIndex);
+                QueueBuffer<T> queueBuffer = this.channels.getBuffer(channelIndex);
+                if (!(queueBuffer instanceof Buffer)) {
+                    /**
+                     * the consumers claim data from the buffer by themselves, share the whole buffer.
+                     */
+                    for (Integer threadIndex : threadAllocationPerChannel) {
+                        consumerThreads[threadIndex].addDataSource(queueBuffer);
+                    }
+                    continue;
+                }
+                Buffer<T> channel = (Buffer<T>)queueBuffer;
                 int bufferSize = channel.getBufferSize();
                 int step = bufferSize / threadAllocationPerChannel.size();
                 for (int i = 0; i < threadAllocationPerChannel.size(); i++) {
@@ -16,12 +16,14 @@
  *
  */
 
-
 package org.apache.skywalking.apm.commons.datacarrier.consumer;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.locks.LockSupport;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.Buffer;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.QueueBuffer;
 
 /**
  * Created by wusheng on 2016/10/25.
@@ -30,14 +32,19 @@ public class ConsumerThread<T> extends Thread {
     private volatile boolean running;
     private IConsumer<T> consumer;
     private List<DataSource> dataSources;
-    private long consumeCycle;
+    private IWaitStrategy waitStrategy;
+    /**
+     * Reused in every consume cycle, {@link IConsumer#consume(List)} must not keep the reference.
+     */
+    private final List<T> consumeList;
 
-    ConsumerThread(String threadName, IConsumer<T> consumer, long consumeCycle) {
+    ConsumerThread(String threadName, IConsumer<T> consumer, IWaitStrategy waitStrategy) {
         super(threadName);
         this.consumer = consumer;
         running = false;
         dataSources = new LinkedList<DataSource>();
-        this.consumeCycle = consumeCycle;
+        this.waitStrategy = waitStrategy;
+        this.consumeList = new ArrayList<T>();
     }
 
     /**
@@ -56,22 +63,23 @@ public class ConsumerThread<T> extends Thread {
      *
      * @param sourceBuffer
      */
-    void addDataSource(Buffer<T> sourceBuffer) {
-        this.dataSources.add(new DataSource(sourceBuffer, 0, sourceBuffer.getBufferSize()));
+    void addDataSource(QueueBuffer<T> sourceBuffer) {
+        this.dataSources.add(new DataSource(sourceBuffer));
     }
 
     @Override
     public void run() {
         running = true;
+        waitStrategy.register(this);
 
+        int idleTimes = 0;
         while (running) {
             boolean hasData = consume();
 
-            if (!hasData) {
-                try {
-                    Thread.sleep(consumeCycle);
-                } catch (InterruptedException e) {
-                }
+            if (hasData) {
+                idleTimes = 0;
+            } else {
+                waitStrategy.waitFor(++idleTimes);
             }
         }
 
@@ -79,53 +87,60 @@ public class ConsumerThread<T> extends Thread {
         // consume the last time
         consume();
 
+        waitStrategy.unregister(this);
         consumer.onExit();
     }
 
     private boolean consume() {
-        boolean hasData = false;
-        LinkedList<T> consumeList = new LinkedList<T>();
         for (DataSource dataSource : dataSources) {
-            LinkedList<T> data = dataSource.obtain();
-            if (data.size() == 0) {
-                continue;
-            }
-            for (T element : data) {
-                consumeList.add(element);
-            }
-            hasData = true;
+            dataSource.obtain(consumeList);
         }
 
-        if (consumeList.size() > 0) {
-            try {
-                consumer.consume(consumeList);
-            } catch (Throwable t) {
-                consumer.onError(consumeList, t);
-            }
+        if (consumeList.isEmpty()) {
+            return false;
         }
-        return hasData;
+        try {
+            consumer.consume(consumeList);
+        } catch (Throwable t) {
+            consumer.onError(consumeList, t);
+        } finally {
+            consumeList.clear();
+        }
+        return true;
     }
 
     void shutdown() {
         running = false;
+        LockSupport.unpark(this);
     }
 
     /**
-     * DataSource is a refer to {@link Buffer}.
+     * DataSource is a refer to {@link QueueBuffer}, or a partition of {@link Buffer}.
      */
     class DataSource {
-        private Buffer<T> sourceBuffer;
+        private QueueBuffer<T> sourceBuffer;
+        private boolean isPartition;
         private int start;
         private int end;
 
+        DataSource(QueueBuffer<T> sourceBuffer) {
+            this.sourceBuffer = sourceBuffer;
+            this.isPartition = false;
+        }
+
         DataSource(Buffer<T> sourceBuffer, int start, int end) {
             this.sourceBuffer = sourceBuffer;
+            this.isPartition = true;
             this.start = start;
             this.end = end;
         }
 
-        LinkedList<T> obtain() {
-            return sourceBuffer.obtain(start, end);
+        void obtain(List<T> consumeList) {
+            if (isPartition) {
+                ((Buffer<T>)sourceBuffer).obtain(consumeList, start, end);
+            } else {
+                sourceBuffer.obtain(consumeList);
+            }
         }
     }
 }
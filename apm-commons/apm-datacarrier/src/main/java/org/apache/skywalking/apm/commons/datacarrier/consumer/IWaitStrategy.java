@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+/**
+ * Decide how a consumer thread waits, when it finds nothing in the buffers.
+ *
+ * @author wu-sheng
+ */
+public interface IWaitStrategy {
+    /**
+     * The consumer thread begins to use this strategy.
+     *
+     * @param consumerThread
+     */
+    void register(Thread consumerThread);
+
+    /**
+     * The consumer thread is going to exit.
+     *
+     * @param consumerThread
+     */
+    void unregister(Thread consumerThread);
+
+    /**
+     * Called by the consumer thread, when there is no data in the last continuous consume cycles.
+     *
+     * @param idleTimes number of the continuous empty consume cycles, start from 1.
+     */
+    void waitFor(int idleTimes);
+
+    /**
+     * Called by the producers, after the data saved into the buffer. Must be cheap, when no consumer is waiting.
+     */
+    void signal();
+}
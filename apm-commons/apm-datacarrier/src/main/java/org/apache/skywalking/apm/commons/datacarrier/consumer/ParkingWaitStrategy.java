@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Park the idle consumer threads, and unpark them as soon as a producer saves data. The producers only read a volatile
+ * flag when no consumer is waiting.
+ * <p>
+ * The first empty cycle only announces the waiting, then the consumer polls once more before it parks, so the data
+ * saved between the last poll and the announcement is not missed. The park time is still limited by the max park
+ * period, as a guard.
+ *
+ * @author wu-sheng
+ */
+public class ParkingWaitStrategy implements IWaitStrategy {
+    private final long maxParkNanos;
+    private final CopyOnWriteArrayList<Thread> consumerThreads;
+    private volatile boolean waiting;
+
+    /**
+     * @param maxParkMillis max park time, even there is no signal.
+     */
+    public ParkingWaitStrategy(long maxParkMillis) {
+        this.maxParkNanos = TimeUnit.MILLISECONDS.toNanos(maxParkMillis);
+        this.consumerThreads = new CopyOnWriteArrayList<Thread>();
+    }
+
+    @Override
+    public void register(Thread consumerThread) {
+        consumerThreads.add(consumerThread);
+    }
+
+    @Override
+    public void unregister(Thread consumerThread) {
+        consumerThreads.remove(consumerThread);
+    }
+
+    @Override
+    public void waitFor(int idleTimes) {
+        waiting = true;
+        if (idleTimes > 1) {
+            LockSupport.parkNanos(this, maxParkNanos);
+        }
+    }
+
+    @Override
+    public void signal() {
+        if (waiting) {
+            waiting = false;
+            for (Thread consumerThread : consumerThreads) {
+                LockSupport.unpark(consumerThread);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+/**
+ * Yield the CPU to other threads, then poll the buffers again. Low latency, and friendlier than {@link
+ * BusySpinWaitStrategy} when there are more threads than cores.
+ *
+ * @author wu-sheng
+ */
+public class YieldingWaitStrategy implements IWaitStrategy {
+    @Override
+    public void register(Thread consumerThread) {
+    }
+
+    @Override
+    public void unregister(Thread consumerThread) {
+    }
+
+    @Override
+    public void waitFor(int idleTimes) {
+        Thread.yield();
+    }
+
+    @Override
+    public void signal() {
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferType;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare the producing throughput of {@link BufferType#ARRAY} and {@link BufferType#RING}, with 1, 4 and 16
+ * producers. The buffers are in the default BLOCKING strategy, so the result includes the consumer side.
+ * <p>
+ * Run by the main method, it is not a part of the unit tests.
+ *
+ * @author wu-sheng
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BufferBenchmark {
+    @Param({"ARRAY", "RING"})
+    private BufferType bufferType;
+
+    private DataCarrier<SampleData> carrier;
+
+    private SampleData data = new SampleData().setName("benchmark");
+
+    @Setup(Level.Trial)
+    public void setup() {
+        carrier = new DataCarrier<SampleData>(1, 10000, bufferType);
+        carrier.consume(new NoopConsumer(), 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        carrier.shutdownConsumers();
+    }
+
+    @Benchmark
+    public void produce(Blackhole blackhole) {
+        blackhole.consume(carrier.produce(data));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int producers : new int[] {1, 4, 16}) {
+            Options options = new OptionsBuilder()
+                .include(BufferBenchmark.class.getSimpleName())
+                .threads(producers)
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build();
+            new Runner(options).run();
+        }
+    }
+
+    public static class NoopConsumer implements IConsumer<SampleData> {
+        private volatile long consumed;
+
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public void consume(List<SampleData> data) {
+            consumed += data.size();
+        }
+
+        @Override
+        public void onError(List<SampleData> data, Throwable t) {
+        }
+
+        @Override
+        public void onExit() {
+        }
+    }
+}
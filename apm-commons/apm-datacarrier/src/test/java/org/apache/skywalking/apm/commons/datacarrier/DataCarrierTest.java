@@ -43,7 +43,7 @@ public class DataCarrierTest {
         Channels<SampleData> channels = (Channels<SampleData>)(MemberModifier.field(DataCarrier.class, "channels").get(carrier));
         Assert.assertEquals(channels.getChannelSize(), 5);
 
-        Buffer<SampleData> buffer = channels.getBuffer(0);
+        Buffer<SampleData> buffer = (Buffer<SampleData>)channels.getBuffer(0);
         Assert.assertEquals(buffer.getBufferSize(), 100);
 
         Assert.assertEquals(MemberModifier.field(Buffer.class, "strategy").get(buffer), BufferStrategy.BLOCKING);
@@ -64,10 +64,10 @@ public class DataCarrierTest {
         Assert.assertTrue(carrier.produce(new SampleData().setName("d")));
 
         Channels<SampleData> channels = (Channels<SampleData>)(MemberModifier.field(DataCarrier.class, "channels").get(carrier));
-        Buffer<SampleData> buffer1 = channels.getBuffer(0);
+        Buffer<SampleData> buffer1 = (Buffer<SampleData>)channels.getBuffer(0);
         List result1 = buffer1.obtain(0, 100);
 
-        Buffer<SampleData> buffer2 = channels.getBuffer(1);
+        Buffer<SampleData> buffer2 = (Buffer<SampleData>)channels.getBuffer(1);
         List result2 = buffer2.obtain(0, 100);
 
         Assert.assertEquals(2, result1.size());
@@ -85,10 +85,10 @@ public class DataCarrierTest {
         }
 
         Channels<SampleData> channels = (Channels<SampleData>)(MemberModifier.field(DataCarrier.class, "channels").get(carrier));
-        Buffer<SampleData> buffer1 = channels.getBuffer(0);
+        Buffer<SampleData> buffer1 = (Buffer<SampleData>)channels.getBuffer(0);
         List result1 = buffer1.obtain(0, 100);
 
-        Buffer<SampleData> buffer2 = channels.getBuffer(1);
+        Buffer<SampleData> buffer2 = (Buffer<SampleData>)channels.getBuffer(1);
         List result2 = buffer2.obtain(0, 100);
         Assert.assertEquals(200, result1.size() + result2.size());
     }
@@ -107,10 +107,10 @@ public class DataCarrierTest {
         }
 
         Channels<SampleData> channels = (Channels<SampleData>)(MemberModifier.field(DataCarrier.class, "channels").get(carrier));
-        Buffer<SampleData> buffer1 = channels.getBuffer(0);
+        Buffer<SampleData> buffer1 = (Buffer<SampleData>)channels.getBuffer(0);
         List result1 = buffer1.obtain(0, 100);
 
-        Buffer<SampleData> buffer2 = channels.getBuffer(1);
+        Buffer<SampleData> buffer2 = (Buffer<SampleData>)channels.getBuffer(1);
         List result2 = buffer2.obtain(0, 100);
         Assert.assertEquals(200, result1.size() + result2.size());
     }
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author wu-sheng
+ */
+public class RingBufferTest {
+    @Test
+    public void testSizeRoundUp() {
+        Assert.assertEquals(128, new RingBuffer<SampleData>(100, BufferStrategy.BLOCKING).getBufferSize());
+        Assert.assertEquals(64, new RingBuffer<SampleData>(64, BufferStrategy.BLOCKING).getBufferSize());
+    }
+
+    @Test
+    public void testSaveAndObtain() {
+        RingBuffer<SampleData> buffer = new RingBuffer<SampleData>(8, BufferStrategy.BLOCKING);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(buffer.save(new SampleData().setIntValue(i)));
+        }
+
+        List<SampleData> consumeList = new ArrayList<SampleData>();
+        buffer.obtain(consumeList);
+        Assert.assertEquals(5, consumeList.size());
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(i, consumeList.get(i).getIntValue());
+        }
+
+        consumeList.clear();
+        buffer.obtain(consumeList);
+        Assert.assertEquals(0, consumeList.size());
+    }
+
+    @Test
+    public void testIfPossible() {
+        RingBuffer<SampleData> buffer = new RingBuffer<SampleData>(8, BufferStrategy.IF_POSSIBLE);
+        for (int i = 0; i < 8; i++) {
+            Assert.assertTrue(buffer.save(new SampleData().setIntValue(i)));
+        }
+        Assert.assertFalse(buffer.save(new SampleData().setIntValue(8)));
+
+        List<SampleData> consumeList = new ArrayList<SampleData>();
+        buffer.obtain(consumeList);
+        Assert.assertEquals(8, consumeList.size());
+        Assert.assertTrue(buffer.save(new SampleData().setIntValue(8)));
+    }
+
+    @Test
+    public void testOverride() {
+        RingBuffer<SampleData> buffer = new RingBuffer<SampleData>(8, BufferStrategy.OVERRIDE);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertTrue(buffer.save(new SampleData().setIntValue(i)));
+        }
+
+        List<SampleData> consumeList = new ArrayList<SampleData>();
+        buffer.obtain(consumeList);
+        Assert.assertEquals(8, consumeList.size());
+        Assert.assertEquals(12, consumeList.get(0).getIntValue());
+        Assert.assertEquals(19, consumeList.get(7).getIntValue());
+    }
+
+    @Test
+    public void testBlockingWithSeveralProducers() throws InterruptedException {
+        final RingBuffer<SampleData> buffer = new RingBuffer<SampleData>(16, BufferStrategy.BLOCKING);
+        final int producerNum = 4;
+        final int dataPerProducer = 10000;
+        final CountDownLatch latch = new CountDownLatch(producerNum);
+        for (int p = 0; p < producerNum; p++) {
+            final int producerIndex = p;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < dataPerProducer; i++) {
+                        buffer.save(new SampleData().setIntValue(producerIndex * dataPerProducer + i));
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+
+        Set<Integer> received = new HashSet<Integer>();
+        List<SampleData> consumeList = new ArrayList<SampleData>();
+        while (received.size() < producerNum * dataPerProducer) {
+            buffer.obtain(consumeList);
+            for (SampleData data : consumeList) {
+                Assert.assertTrue(received.add(data.getIntValue()));
+            }
+            consumeList.clear();
+        }
+        latch.await();
+        buffer.obtain(consumeList);
+        Assert.assertEquals(0, consumeList.size());
+    }
+}
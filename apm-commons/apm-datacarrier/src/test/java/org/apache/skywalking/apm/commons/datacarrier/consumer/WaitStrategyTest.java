@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferType;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author wu-sheng
+ */
+public class WaitStrategyTest {
+    @Test
+    public void testParkingIsSignaledByProducer() throws InterruptedException {
+        DataCarrier<SampleData> carrier = new DataCarrier<SampleData>(1, 100, BufferType.RING);
+        LatchConsumer consumer = new LatchConsumer();
+        carrier.consume(consumer, 1, new ParkingWaitStrategy(60 * 1000L));
+
+        // let the consumer park
+        Thread.sleep(200);
+        Assert.assertTrue(carrier.produce(new SampleData().setName("a")));
+        Assert.assertTrue(consumer.latch.await(5, TimeUnit.SECONDS));
+        carrier.shutdownConsumers();
+    }
+
+    @Test
+    public void testBackoffIsLimited() throws InterruptedException {
+        DataCarrier<SampleData> carrier = new DataCarrier<SampleData>(1, 100);
+        LatchConsumer consumer = new LatchConsumer();
+        carrier.consume(consumer, 1, new BackoffWaitStrategy(1, 50));
+
+        Thread.sleep(500);
+        Assert.assertTrue(carrier.produce(new SampleData().setName("a")));
+        Assert.assertTrue(consumer.latch.await(1, TimeUnit.SECONDS));
+        carrier.shutdownConsumers();
+    }
+
+    @Test
+    public void testSpinAndYield() throws InterruptedException {
+        IWaitStrategy[] strategies = new IWaitStrategy[] {new BusySpinWaitStrategy(), new YieldingWaitStrategy()};
+        for (IWaitStrategy strategy : strategies) {
+            DataCarrier<SampleData> carrier = new DataCarrier<SampleData>(2, 100);
+            LatchConsumer consumer = new LatchConsumer();
+            carrier.consume(consumer, 1, strategy);
+
+            Assert.assertTrue(carrier.produce(new SampleData().setName("a")));
+            Assert.assertTrue(consumer.latch.await(1, TimeUnit.SECONDS));
+            carrier.shutdownConsumers();
+        }
+    }
+
+    class LatchConsumer implements IConsumer<SampleData> {
+        private CountDownLatch latch = new CountDownLatch(1);
+
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public void consume(List<SampleData> data) {
+            latch.countDown();
+        }
+
+        @Override
+        public void onError(List<SampleData> data, Throwable t) {
+        }
+
+        @Override
+        public void onExit() {
+        }
+    }
+}
@@ -108,6 +108,18 @@ public class Config {
          * Collector service discovery REST service name
          */
         public static String DISCOVERY_SERVICE_NAME = "/agent/gRPC";
+
+        /**
+         * The trace segment stream is kept open across consume batches, and completed after this interval, seconds.
+         * Collector acknowledges the segments of a stream, when it is completed.
+         */
+        public static long GRPC_STREAM_ROTATE_INTERVAL = 30;
+
+        /**
+         * Max bytes of the trace segments sent but not acknowledged by collector. When reached, the consumer waits
+         * for the acknowledgements.
+         */
+        public static long GRPC_STREAM_MAX_INFLIGHT_BYTES = 4 * 1024 * 1024;
     }
 
     public static class Jvm {
@@ -121,6 +133,32 @@ public class Config {
         public static int CHANNEL_SIZE = 5;
 
         public static int BUFFER_SIZE = 300;
+
+        /**
+         * The directory of the trace segment spool, which keeps the segments can't be sent to collector, such as
+         * collector is unavailable or the buffer is full. Default is blank string, means the spool is off.
+         */
+        public static String SPOOL_DIR = "";
+
+        /**
+         * The size of each spool file, bytes.
+         */
+        public static int SPOOL_FILE_SIZE = 8 * 1024 * 1024;
+
+        /**
+         * The max total size of spool files, bytes. When reached, the oldest file is evicted.
+         */
+        public static long SPOOL_MAX_SIZE = 256 * 1024 * 1024;
+
+        /**
+         * The spool files created before this are evicted, seconds.
+         */
+        public static long SPOOL_MAX_AGE = 60 * 60;
+
+        /**
+         * The max number of spooled segments replayed per second, after the collector is connected.
+         */
+        public static int SPOOL_REPLAY_RATE = 500;
     }
 
     public static class Dictionary {
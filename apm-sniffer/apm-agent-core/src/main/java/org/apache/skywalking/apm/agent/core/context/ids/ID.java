@@ -19,6 +19,9 @@
 
 package org.apache.skywalking.apm.agent.core.context.ids;
 
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
+import org.apache.skywalking.apm.agent.core.context.util.WireFormatUtil;
 import org.apache.skywalking.apm.network.proto.UniqueId;
 
 /**
@@ -99,4 +102,27 @@ public class ID {
     public UniqueId transform() {
         return UniqueId.newBuilder().addIdParts(part1).addIdParts(part2).addIdParts(part3).build();
     }
+
+    /**
+     * @return the serialized size of {@link UniqueId}, the id parts are packed, as proto3 repeated scalar field.
+     */
+    public int computeSize() {
+        return WireFormatUtil.computeMessageSize(UniqueId.IDPARTS_FIELD_NUMBER, computePartsSize());
+    }
+
+    /**
+     * Write as {@link UniqueId}, same as {@link #transform()}.
+     */
+    public void writeTo(CodedOutputStream output) throws IOException {
+        WireFormatUtil.writeMessageHead(output, UniqueId.IDPARTS_FIELD_NUMBER, computePartsSize());
+        output.writeInt64NoTag(part1);
+        output.writeInt64NoTag(part2);
+        output.writeInt64NoTag(part3);
+    }
+
+    private int computePartsSize() {
+        return CodedOutputStream.computeInt64SizeNoTag(part1)
+            + CodedOutputStream.computeInt64SizeNoTag(part2)
+            + CodedOutputStream.computeInt64SizeNoTag(part3);
+    }
 }
@@ -18,11 +18,14 @@
 
 package org.apache.skywalking.apm.agent.core.context.trace;
 
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import org.apache.skywalking.apm.agent.core.context.util.KeyValuePair;
 import org.apache.skywalking.apm.agent.core.context.util.ThrowableTransformer;
+import org.apache.skywalking.apm.agent.core.context.util.WireFormatUtil;
 import org.apache.skywalking.apm.agent.core.dictionary.DictionaryUtil;
 import org.apache.skywalking.apm.network.proto.SpanObject;
 import org.apache.skywalking.apm.network.proto.SpanType;
@@ -70,6 +73,11 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     protected List<TraceSegmentRef> refs;
 
+    /**
+     * Decided in {@link #computeSize()}, then used by the owner in writing.
+     */
+    private int serializedSize;
+
     protected AbstractTracingSpan(int spanId, int parentSpanId, String operationName) {
         this.operationName = operationName;
         this.operationId = DictionaryUtil.nullValue();
@@ -257,13 +265,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
         } else {
             spanBuilder.setOperationName(operationName);
         }
-        if (isEntry()) {
-            spanBuilder.setSpanType(SpanType.Entry);
-        } else if (isExit()) {
-            spanBuilder.setSpanType(SpanType.Exit);
-        } else {
-            spanBuilder.setSpanType(SpanType.Local);
-        }
+        spanBuilder.setSpanType(spanType());
         if (this.layer != null) {
             spanBuilder.setSpanLayerValue(this.layer.getCode());
         }
@@ -294,6 +296,122 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
         return spanBuilder;
     }
 
+    /**
+     * @return the serialized size of {@link SpanObject}
+     */
+    public int computeSize() {
+        int size = 0;
+        size += WireFormatUtil.computeInt32Size(SpanObject.SPANID_FIELD_NUMBER, spanId);
+        size += WireFormatUtil.computeInt32Size(SpanObject.PARENTSPANID_FIELD_NUMBER, parentSpanId);
+        size += WireFormatUtil.computeInt64Size(SpanObject.STARTTIME_FIELD_NUMBER, startTime);
+        size += WireFormatUtil.computeInt64Size(SpanObject.ENDTIME_FIELD_NUMBER, endTime);
+        if (this.refs != null) {
+            for (TraceSegmentRef ref : this.refs) {
+                size += WireFormatUtil.computeMessageSize(SpanObject.REFS_FIELD_NUMBER, ref.computeSize());
+            }
+        }
+        if (operationId != DictionaryUtil.nullValue()) {
+            size += WireFormatUtil.computeInt32Size(SpanObject.OPERATIONNAMEID_FIELD_NUMBER, operationId);
+        } else {
+            size += WireFormatUtil.computeStringSize(SpanObject.OPERATIONNAME_FIELD_NUMBER, operationName);
+        }
+        size += computePeerSize();
+        size += WireFormatUtil.computeEnumSize(SpanObject.SPANTYPE_FIELD_NUMBER, spanType().getNumber());
+        if (this.layer != null) {
+            size += WireFormatUtil.computeEnumSize(SpanObject.SPANLAYER_FIELD_NUMBER, this.layer.getCode());
+        }
+        if (componentId != DictionaryUtil.nullValue()) {
+            size += WireFormatUtil.computeInt32Size(SpanObject.COMPONENTID_FIELD_NUMBER, componentId);
+        } else {
+            size += WireFormatUtil.computeStringSize(SpanObject.COMPONENT_FIELD_NUMBER, componentName);
+        }
+        size += WireFormatUtil.computeBoolSize(SpanObject.ISERROR_FIELD_NUMBER, errorOccurred);
+        if (this.tags != null) {
+            for (KeyValuePair tag : this.tags) {
+                size += WireFormatUtil.computeMessageSize(SpanObject.TAGS_FIELD_NUMBER, tag.computeSize());
+            }
+        }
+        if (this.logs != null) {
+            for (LogDataEntity log : this.logs) {
+                size += WireFormatUtil.computeMessageSize(SpanObject.LOGS_FIELD_NUMBER, log.computeSize());
+            }
+        }
+        serializedSize = size;
+        return size;
+    }
+
+    /**
+     * @return the size decided by the last {@link #computeSize()}, used as the length of the embedded message.
+     */
+    public int getSerializedSize() {
+        return serializedSize;
+    }
+
+    /**
+     * Write as {@link SpanObject}, same as {@link #transform()}, but no builder is created. {@link #computeSize()} must
+     * be called before.
+     */
+    public void writeTo(CodedOutputStream output) throws IOException {
+        WireFormatUtil.writeInt32(output, SpanObject.SPANID_FIELD_NUMBER, spanId);
+        WireFormatUtil.writeInt32(output, SpanObject.PARENTSPANID_FIELD_NUMBER, parentSpanId);
+        WireFormatUtil.writeInt64(output, SpanObject.STARTTIME_FIELD_NUMBER, startTime);
+        WireFormatUtil.writeInt64(output, SpanObject.ENDTIME_FIELD_NUMBER, endTime);
+        if (this.refs != null) {
+            for (TraceSegmentRef ref : this.refs) {
+                WireFormatUtil.writeMessageHead(output, SpanObject.REFS_FIELD_NUMBER, ref.getSerializedSize());
+                ref.writeTo(output);
+            }
+        }
+        if (operationId != DictionaryUtil.nullValue()) {
+            WireFormatUtil.writeInt32(output, SpanObject.OPERATIONNAMEID_FIELD_NUMBER, operationId);
+        } else {
+            WireFormatUtil.writeString(output, SpanObject.OPERATIONNAME_FIELD_NUMBER, operationName);
+        }
+        writePeer(output);
+        WireFormatUtil.writeEnum(output, SpanObject.SPANTYPE_FIELD_NUMBER, spanType().getNumber());
+        if (this.layer != null) {
+            WireFormatUtil.writeEnum(output, SpanObject.SPANLAYER_FIELD_NUMBER, this.layer.getCode());
+        }
+        if (componentId != DictionaryUtil.nullValue()) {
+            WireFormatUtil.writeInt32(output, SpanObject.COMPONENTID_FIELD_NUMBER, componentId);
+        } else {
+            WireFormatUtil.writeString(output, SpanObject.COMPONENT_FIELD_NUMBER, componentName);
+        }
+        WireFormatUtil.writeBool(output, SpanObject.ISERROR_FIELD_NUMBER, errorOccurred);
+        if (this.tags != null) {
+            for (KeyValuePair tag : this.tags) {
+                WireFormatUtil.writeMessageHead(output, SpanObject.TAGS_FIELD_NUMBER, tag.getSerializedSize());
+                tag.writeTo(output);
+            }
+        }
+        if (this.logs != null) {
+            for (LogDataEntity log : this.logs) {
+                WireFormatUtil.writeMessageHead(output, SpanObject.LOGS_FIELD_NUMBER, log.getSerializedSize());
+                log.writeTo(output);
+            }
+        }
+    }
+
+    /**
+     * The peer fields are between the operation name and the span type, only exit span has them.
+     */
+    protected int computePeerSize() {
+        return 0;
+    }
+
+    protected void writePeer(CodedOutputStream output) throws IOException {
+    }
+
+    private SpanType spanType() {
+        if (isEntry()) {
+            return SpanType.Entry;
+        } else if (isExit()) {
+            return SpanType.Exit;
+        } else {
+            return SpanType.Local;
+        }
+    }
+
     @Override public void ref(TraceSegmentRef ref) {
         if (refs == null) {
             refs = new LinkedList<TraceSegmentRef>();
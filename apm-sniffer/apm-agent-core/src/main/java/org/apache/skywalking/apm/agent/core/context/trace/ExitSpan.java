@@ -19,6 +19,9 @@
 
 package org.apache.skywalking.apm.agent.core.context.trace;
 
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
+import org.apache.skywalking.apm.agent.core.context.util.WireFormatUtil;
 import org.apache.skywalking.apm.agent.core.dictionary.DictionaryUtil;
 import org.apache.skywalking.apm.network.proto.SpanObject;
 import org.apache.skywalking.apm.network.trace.component.Component;
@@ -130,6 +133,22 @@ public class ExitSpan extends StackBasedTracingSpan implements WithPeerInfo {
         return spanBuilder;
     }
 
+    @Override protected int computePeerSize() {
+        if (peerId != DictionaryUtil.nullValue()) {
+            return WireFormatUtil.computeInt32Size(SpanObject.PEERID_FIELD_NUMBER, peerId);
+        } else {
+            return WireFormatUtil.computeStringSize(SpanObject.PEER_FIELD_NUMBER, peer);
+        }
+    }
+
+    @Override protected void writePeer(CodedOutputStream output) throws IOException {
+        if (peerId != DictionaryUtil.nullValue()) {
+            WireFormatUtil.writeInt32(output, SpanObject.PEERID_FIELD_NUMBER, peerId);
+        } else {
+            WireFormatUtil.writeString(output, SpanObject.PEER_FIELD_NUMBER, peer);
+        }
+    }
+
     @Override
     public AbstractTracingSpan setOperationName(String operationName) {
         if (stackDepth == 1) {
@@ -19,9 +19,12 @@
 
 package org.apache.skywalking.apm.agent.core.context.trace;
 
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 import org.apache.skywalking.apm.agent.core.context.util.KeyValuePair;
+import org.apache.skywalking.apm.agent.core.context.util.WireFormatUtil;
 import org.apache.skywalking.apm.network.proto.LogMessage;
 
 /**
@@ -34,6 +37,11 @@ public class LogDataEntity {
     private long timestamp = 0;
     private List<KeyValuePair> logs;
 
+    /**
+     * Decided in {@link #computeSize()}, then used by the owner in writing.
+     */
+    private int serializedSize;
+
     private LogDataEntity(long timestamp, List<KeyValuePair> logs) {
         this.timestamp = timestamp;
         this.logs = logs;
@@ -70,4 +78,34 @@ public class LogDataEntity {
         logMessageBuilder.setTime(timestamp);
         return logMessageBuilder.build();
     }
+
+    /**
+     * @return the serialized size of {@link LogMessage}
+     */
+    public int computeSize() {
+        int size = WireFormatUtil.computeInt64Size(LogMessage.TIME_FIELD_NUMBER, timestamp);
+        for (KeyValuePair log : logs) {
+            size += WireFormatUtil.computeMessageSize(LogMessage.DATA_FIELD_NUMBER, log.computeSize());
+        }
+        serializedSize = size;
+        return size;
+    }
+
+    /**
+     * @return the size decided by the last {@link #computeSize()}, used as the length of the embedded message.
+     */
+    public int getSerializedSize() {
+        return serializedSize;
+    }
+
+    /**
+     * Write as {@link LogMessage}, same as {@link #transform()}. {@link #computeSize()} must be called before.
+     */
+    public void writeTo(CodedOutputStream output) throws IOException {
+        WireFormatUtil.writeInt64(output, LogMessage.TIME_FIELD_NUMBER, timestamp);
+        for (KeyValuePair log : logs) {
+            WireFormatUtil.writeMessageHead(output, LogMessage.DATA_FIELD_NUMBER, log.getSerializedSize());
+            log.writeTo(output);
+        }
+    }
 }
@@ -19,6 +19,8 @@
 
 package org.apache.skywalking.apm.agent.core.context.trace;
 
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 import org.apache.skywalking.apm.agent.core.conf.RemoteDownstreamConfig;
@@ -27,6 +29,7 @@ import org.apache.skywalking.apm.agent.core.context.ids.DistributedTraceIds;
 import org.apache.skywalking.apm.agent.core.context.ids.GlobalIdGenerator;
 import org.apache.skywalking.apm.agent.core.context.ids.ID;
 import org.apache.skywalking.apm.agent.core.context.ids.NewDistributedTraceId;
+import org.apache.skywalking.apm.agent.core.context.util.WireFormatUtil;
 import org.apache.skywalking.apm.network.proto.TraceSegmentObject;
 import org.apache.skywalking.apm.network.proto.UpstreamSegment;
 
@@ -72,6 +75,12 @@ public class TraceSegment {
 
     private boolean isSizeLimited = false;
 
+    /**
+     * The application ids, decided in {@link #computeSize()}, then used in {@link #writeTo(CodedOutputStream)}.
+     */
+    private int applicationId;
+    private int applicationInstanceId;
+
     /**
      * Create a default/empty trace segment, with current time as start time, and generate a new segment id.
      */
@@ -182,6 +191,42 @@ public class TraceSegment {
         return upstreamBuilder.build();
     }
 
+    /**
+     * Compute the serialized size of {@link TraceSegmentObject}, must be called before {@link
+     * #writeTo(CodedOutputStream)}.
+     *
+     * @return the size of the segment field in {@link UpstreamSegment}
+     */
+    public int computeSize() {
+        applicationId = RemoteDownstreamConfig.Agent.APPLICATION_ID;
+        applicationInstanceId = RemoteDownstreamConfig.Agent.APPLICATION_INSTANCE_ID;
+
+        int size = WireFormatUtil.computeMessageSize(TraceSegmentObject.TRACESEGMENTID_FIELD_NUMBER, traceSegmentId.computeSize());
+        for (AbstractTracingSpan span : this.spans) {
+            size += WireFormatUtil.computeMessageSize(TraceSegmentObject.SPANS_FIELD_NUMBER, span.computeSize());
+        }
+        size += WireFormatUtil.computeInt32Size(TraceSegmentObject.APPLICATIONID_FIELD_NUMBER, applicationId);
+        size += WireFormatUtil.computeInt32Size(TraceSegmentObject.APPLICATIONINSTANCEID_FIELD_NUMBER, applicationInstanceId);
+        size += WireFormatUtil.computeBoolSize(TraceSegmentObject.ISSIZELIMITED_FIELD_NUMBER, isSizeLimited);
+        return size;
+    }
+
+    /**
+     * Write the segment as {@link TraceSegmentObject} in protobuf wire format, the same bytes as the segment field of
+     * {@link #transform()}, without building the proto objects of spans, tags, logs and refs.
+     */
+    public void writeTo(CodedOutputStream output) throws IOException {
+        WireFormatUtil.writeMessageHead(output, TraceSegmentObject.TRACESEGMENTID_FIELD_NUMBER, traceSegmentId.computeSize());
+        traceSegmentId.writeTo(output);
+        for (AbstractTracingSpan span : this.spans) {
+            WireFormatUtil.writeMessageHead(output, TraceSegmentObject.SPANS_FIELD_NUMBER, span.getSerializedSize());
+            span.writeTo(output);
+        }
+        WireFormatUtil.writeInt32(output, TraceSegmentObject.APPLICATIONID_FIELD_NUMBER, applicationId);
+        WireFormatUtil.writeInt32(output, TraceSegmentObject.APPLICATIONINSTANCEID_FIELD_NUMBER, applicationInstanceId);
+        WireFormatUtil.writeBool(output, TraceSegmentObject.ISSIZELIMITED_FIELD_NUMBER, isSizeLimited);
+    }
+
     @Override
     public String toString() {
         return "TraceSegment{" +
@@ -19,10 +19,13 @@
 
 package org.apache.skywalking.apm.agent.core.context.trace;
 
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
 import org.apache.skywalking.apm.agent.core.conf.RemoteDownstreamConfig;
 import org.apache.skywalking.apm.agent.core.context.ContextCarrier;
 import org.apache.skywalking.apm.agent.core.context.ContextSnapshot;
 import org.apache.skywalking.apm.agent.core.context.ids.ID;
+import org.apache.skywalking.apm.agent.core.context.util.WireFormatUtil;
 import org.apache.skywalking.apm.agent.core.dictionary.DictionaryUtil;
 import org.apache.skywalking.apm.network.proto.RefType;
 import org.apache.skywalking.apm.network.proto.TraceSegmentReference;
@@ -56,6 +59,11 @@ public class TraceSegmentRef {
 
     private int parentOperationId = DictionaryUtil.nullValue();
 
+    /**
+     * Decided in {@link #computeSize()}, then used by the owner in writing.
+     */
+    private int serializedSize;
+
     /**
      * Transform a {@link ContextCarrier} to the <code>TraceSegmentRef</code>
      *
@@ -149,6 +157,75 @@ public class TraceSegmentRef {
         return refBuilder.build();
     }
 
+    /**
+     * @return the serialized size of {@link TraceSegmentReference}
+     */
+    public int computeSize() {
+        boolean crossProcess = SegmentRefType.CROSS_PROCESS.equals(type);
+        int size = WireFormatUtil.computeEnumSize(TraceSegmentReference.REFTYPE_FIELD_NUMBER, crossProcess ? RefType.CrossProcess.getNumber() : RefType.CrossThread.getNumber());
+        size += WireFormatUtil.computeMessageSize(TraceSegmentReference.PARENTTRACESEGMENTID_FIELD_NUMBER, traceSegmentId.computeSize());
+        size += WireFormatUtil.computeInt32Size(TraceSegmentReference.PARENTSPANID_FIELD_NUMBER, spanId);
+        if (crossProcess) {
+            size += WireFormatUtil.computeInt32Size(TraceSegmentReference.PARENTAPPLICATIONINSTANCEID_FIELD_NUMBER, parentApplicationInstanceId);
+            if (peerId == DictionaryUtil.nullValue()) {
+                size += WireFormatUtil.computeStringSize(TraceSegmentReference.NETWORKADDRESS_FIELD_NUMBER, peerHost);
+            } else {
+                size += WireFormatUtil.computeInt32Size(TraceSegmentReference.NETWORKADDRESSID_FIELD_NUMBER, peerId);
+            }
+        }
+        size += WireFormatUtil.computeInt32Size(TraceSegmentReference.ENTRYAPPLICATIONINSTANCEID_FIELD_NUMBER, entryApplicationInstanceId);
+        if (entryOperationId == DictionaryUtil.nullValue()) {
+            size += WireFormatUtil.computeStringSize(TraceSegmentReference.ENTRYSERVICENAME_FIELD_NUMBER, entryOperationName);
+        } else {
+            size += WireFormatUtil.computeInt32Size(TraceSegmentReference.ENTRYSERVICEID_FIELD_NUMBER, entryOperationId);
+        }
+        if (parentOperationId == DictionaryUtil.nullValue()) {
+            size += WireFormatUtil.computeStringSize(TraceSegmentReference.PARENTSERVICENAME_FIELD_NUMBER, parentOperationName);
+        } else {
+            size += WireFormatUtil.computeInt32Size(TraceSegmentReference.PARENTSERVICEID_FIELD_NUMBER, parentOperationId);
+        }
+        serializedSize = size;
+        return size;
+    }
+
+    /**
+     * @return the size decided by the last {@link #computeSize()}, used as the length of the embedded message.
+     */
+    public int getSerializedSize() {
+        return serializedSize;
+    }
+
+    /**
+     * Write as {@link TraceSegmentReference}, same as {@link #transform()}. Fields are written in the order of field
+     * numbers, as the generated code does. {@link #computeSize()} must be called before.
+     */
+    public void writeTo(CodedOutputStream output) throws IOException {
+        boolean crossProcess = SegmentRefType.CROSS_PROCESS.equals(type);
+        WireFormatUtil.writeEnum(output, TraceSegmentReference.REFTYPE_FIELD_NUMBER, crossProcess ? RefType.CrossProcess.getNumber() : RefType.CrossThread.getNumber());
+        WireFormatUtil.writeMessageHead(output, TraceSegmentReference.PARENTTRACESEGMENTID_FIELD_NUMBER, traceSegmentId.computeSize());
+        traceSegmentId.writeTo(output);
+        WireFormatUtil.writeInt32(output, TraceSegmentReference.PARENTSPANID_FIELD_NUMBER, spanId);
+        if (crossProcess) {
+            WireFormatUtil.writeInt32(output, TraceSegmentReference.PARENTAPPLICATIONINSTANCEID_FIELD_NUMBER, parentApplicationInstanceId);
+            if (peerId == DictionaryUtil.nullValue()) {
+                WireFormatUtil.writeString(output, TraceSegmentReference.NETWORKADDRESS_FIELD_NUMBER, peerHost);
+            } else {
+                WireFormatUtil.writeInt32(output, TraceSegmentReference.NETWORKADDRESSID_FIELD_NUMBER, peerId);
+            }
+        }
+        WireFormatUtil.writeInt32(output, TraceSegmentReference.ENTRYAPPLICATIONINSTANCEID_FIELD_NUMBER, entryApplicationInstanceId);
+        if (entryOperationId == DictionaryUtil.nullValue()) {
+            WireFormatUtil.writeString(output, TraceSegmentReference.ENTRYSERVICENAME_FIELD_NUMBER, entryOperationName);
+        } else {
+            WireFormatUtil.writeInt32(output, TraceSegmentReference.ENTRYSERVICEID_FIELD_NUMBER, entryOperationId);
+        }
+        if (parentOperationId == DictionaryUtil.nullValue()) {
+            WireFormatUtil.writeString(output, TraceSegmentReference.PARENTSERVICENAME_FIELD_NUMBER, parentOperationName);
+        } else {
+            WireFormatUtil.writeInt32(output, TraceSegmentReference.PARENTSERVICEID_FIELD_NUMBER, parentOperationId);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
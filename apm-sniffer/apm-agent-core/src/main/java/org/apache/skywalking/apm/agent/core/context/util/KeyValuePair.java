@@ -19,6 +19,8 @@
 
 package org.apache.skywalking.apm.agent.core.context.util;
 
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
 import org.apache.skywalking.apm.network.proto.KeyWithStringValue;
 
 /**
@@ -30,6 +32,11 @@ public class KeyValuePair {
     private String key;
     private String value;
 
+    /**
+     * Decided in {@link #computeSize()}, then used by the owner in writing.
+     */
+    private int serializedSize;
+
     public KeyValuePair(String key, String value) {
         this.key = key;
         this.value = value;
@@ -51,4 +58,28 @@ public class KeyValuePair {
         }
         return keyValueBuilder.build();
     }
+
+    /**
+     * @return the serialized size of {@link KeyWithStringValue}
+     */
+    public int computeSize() {
+        serializedSize = WireFormatUtil.computeStringSize(KeyWithStringValue.KEY_FIELD_NUMBER, key)
+            + WireFormatUtil.computeStringSize(KeyWithStringValue.VALUE_FIELD_NUMBER, value);
+        return serializedSize;
+    }
+
+    /**
+     * @return the size decided by the last {@link #computeSize()}, used as the length of the embedded message.
+     */
+    public int getSerializedSize() {
+        return serializedSize;
+    }
+
+    /**
+     * Write as {@link KeyWithStringValue}, same as {@link #transform()}.
+     */
+    public void writeTo(CodedOutputStream output) throws IOException {
+        WireFormatUtil.writeString(output, KeyWithStringValue.KEY_FIELD_NUMBER, key);
+        WireFormatUtil.writeString(output, KeyWithStringValue.VALUE_FIELD_NUMBER, value);
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.util;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import java.io.IOException;
+
+/**
+ * Helpers of writing the segment into protobuf wire format directly, without building the proto objects. The rules of
+ * proto3 are followed, default values(0, false, empty string) are not written, same as the generated codes.
+ *
+ * @author wusheng
+ */
+public class WireFormatUtil {
+    /**
+     * @param fieldNumber of the embedded message field
+     * @param messageSize serialized size of the embedded message
+     * @return the size of the field, includes tag and length
+     */
+    public static int computeMessageSize(int fieldNumber, int messageSize) {
+        return CodedOutputStream.computeTagSize(fieldNumber) + CodedOutputStream.computeUInt32SizeNoTag(messageSize) + messageSize;
+    }
+
+    /**
+     * Write the tag and length of an embedded message field, the message itself should be written next.
+     */
+    public static void writeMessageHead(CodedOutputStream output, int fieldNumber,
+        int messageSize) throws IOException {
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(messageSize);
+    }
+
+    public static int computeInt32Size(int fieldNumber, int value) {
+        return value == 0 ? 0 : CodedOutputStream.computeInt32Size(fieldNumber, value);
+    }
+
+    public static void writeInt32(CodedOutputStream output, int fieldNumber, int value) throws IOException {
+        if (value != 0) {
+            output.writeInt32(fieldNumber, value);
+        }
+    }
+
+    public static int computeInt64Size(int fieldNumber, long value) {
+        return value == 0 ? 0 : CodedOutputStream.computeInt64Size(fieldNumber, value);
+    }
+
+    public static void writeInt64(CodedOutputStream output, int fieldNumber, long value) throws IOException {
+        if (value != 0) {
+            output.writeInt64(fieldNumber, value);
+        }
+    }
+
+    public static int computeBoolSize(int fieldNumber, boolean value) {
+        return value ? CodedOutputStream.computeBoolSize(fieldNumber, true) : 0;
+    }
+
+    public static void writeBool(CodedOutputStream output, int fieldNumber, boolean value) throws IOException {
+        if (value) {
+            output.writeBool(fieldNumber, true);
+        }
+    }
+
+    public static int computeEnumSize(int fieldNumber, int value) {
+        return value == 0 ? 0 : CodedOutputStream.computeEnumSize(fieldNumber, value);
+    }
+
+    public static void writeEnum(CodedOutputStream output, int fieldNumber, int value) throws IOException {
+        if (value != 0) {
+            output.writeEnum(fieldNumber, value);
+        }
+    }
+
+    /**
+     * Null is treated as the empty string.
+     */
+    public static int computeStringSize(int fieldNumber, String value) {
+        return value == null || value.length() == 0 ? 0 : CodedOutputStream.computeStringSize(fieldNumber, value);
+    }
+
+    public static void writeString(CodedOutputStream output, int fieldNumber, String value) throws IOException {
+        if (value != null && value.length() > 0) {
+            output.writeString(fieldNumber, value);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientInterceptors;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.sampling.SamplingService;
+
+/**
+ * Read the sampling rate advertised by the collector, in the headers and the trailers of the responses, and apply it
+ * to the {@link SamplingService}. The collector lowers the rate when it is under load.
+ *
+ * @author wusheng
+ */
+public class SamplingHintDecorator implements ChannelDecorator {
+    private static final ILog logger = LogManager.getLogger(SamplingHintDecorator.class);
+
+    private static final Metadata.Key<String> SAMPLING_RATE_HEADER_NAME =
+        Metadata.Key.of("SamplingRate", Metadata.ASCII_STRING_MARSHALLER);
+
+    @Override
+    public Channel build(Channel channel) {
+        return ClientInterceptors.intercept(channel, new ClientInterceptor() {
+            @Override
+            public <REQ, RESP> ClientCall<REQ, RESP> interceptCall(MethodDescriptor<REQ, RESP> method,
+                CallOptions options, Channel channel) {
+                return new ForwardingClientCall.SimpleForwardingClientCall<REQ, RESP>(channel.newCall(method, options)) {
+                    @Override
+                    public void start(Listener<RESP> responseListener, Metadata headers) {
+                        super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RESP>(responseListener) {
+                            @Override
+                            public void onHeaders(Metadata headers) {
+                                apply(headers);
+                                super.onHeaders(headers);
+                            }
+
+                            @Override
+                            public void onClose(Status status, Metadata trailers) {
+                                apply(trailers);
+                                super.onClose(status, trailers);
+                            }
+                        }, headers);
+                    }
+                };
+            }
+        });
+    }
+
+    static void apply(Metadata metadata) {
+        String samplingRate = metadata.get(SAMPLING_RATE_HEADER_NAME);
+        if (samplingRate == null) {
+            return;
+        }
+        SamplingService samplingService = ServiceManager.INSTANCE.findService(SamplingService.class);
+        if (samplingService == null) {
+            return;
+        }
+        try {
+            samplingService.setCollectorSamplingRate(Integer.parseInt(samplingRate));
+        } catch (NumberFormatException e) {
+            logger.warn("Illegal sampling rate {} from the collector.", samplingRate);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+
+/**
+ * A bounded on-disk spool of the UpstreamSegment bytes, which can't be sent to collector. The records are appended to
+ * the newest {@link SpoolFile}, and read from the oldest one. A file is deleted when all records are replayed, when it
+ * is older than the max age, or when it is the oldest and the max size is reached.
+ * <p>
+ * The read records should be {@link #commit()}ed after collector acknowledges them, or {@link #rollback()}ed to read
+ * them again.
+ *
+ * @author wusheng
+ */
+public class SegmentSpool {
+    private static final ILog logger = LogManager.getLogger(SegmentSpool.class);
+
+    private final File dir;
+    private final int fileSize;
+    private final long maxSize;
+    private final long maxAge;
+    private final LinkedList<SpoolFile> files = new LinkedList<SpoolFile>();
+    private long evictedCounter;
+
+    /**
+     * @param dir the spool directory, the files left by the previous agent process are recovered.
+     * @param fileSize the size of each spool file, bytes.
+     * @param maxSize the max total size of spool files, bytes.
+     * @param maxAge max time to keep a spool file since it is created, milliseconds.
+     */
+    public SegmentSpool(File dir, int fileSize, long maxSize, long maxAge) throws IOException {
+        this.dir = dir;
+        this.fileSize = fileSize;
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Fail to create spool dir " + dir.getAbsolutePath());
+        }
+        recover();
+    }
+
+    private void recover() {
+        File[] existing = dir.listFiles();
+        if (existing == null) {
+            return;
+        }
+        Arrays.sort(existing, new Comparator<File>() {
+            @Override
+            public int compare(File f1, File f2) {
+                return f1.getName().compareTo(f2.getName());
+            }
+        });
+        for (File file : existing) {
+            try {
+                SpoolFile spoolFile = SpoolFile.recover(file);
+                if (spoolFile == null) {
+                    continue;
+                }
+                if (spoolFile.isExhausted()) {
+                    spoolFile.delete();
+                } else {
+                    files.add(spoolFile);
+                }
+            } catch (IOException e) {
+                logger.error(e, "Fail to recover spool file {}, delete it.", file.getName());
+                if (!file.delete()) {
+                    file.deleteOnExit();
+                }
+            }
+        }
+        if (files.size() > 0) {
+            logger.info("{} spool files are recovered from {}.", files.size(), dir.getAbsolutePath());
+        }
+    }
+
+    /**
+     * @param record the bytes of an UpstreamSegment.
+     * @return false, if the record can't be spooled, or it is larger than a spool file.
+     */
+    public synchronized boolean write(byte[] record) {
+        if (SpoolFile.HEADER_SIZE + SpoolFile.LENGTH_SIZE + record.length > fileSize) {
+            return false;
+        }
+        SpoolFile current = files.isEmpty() ? null : files.getLast();
+        if (current != null && current.append(record)) {
+            return true;
+        }
+        if (fileSize > maxSize) {
+            return false;
+        }
+        while ((long)(files.size() + 1) * fileSize > maxSize) {
+            evict(files.removeFirst());
+        }
+        try {
+            current = SpoolFile.create(dir, fileSize);
+        } catch (IOException e) {
+            logger.error(e, "Fail to create spool file in {}.", dir.getAbsolutePath());
+            return false;
+        }
+        files.add(current);
+        return current.append(record);
+    }
+
+    /**
+     * Read the records from the oldest file, don't cross the files, so the commit and rollback apply to one file.
+     *
+     * @param max the max number of records.
+     * @return the records, empty if nothing to replay.
+     */
+    public synchronized List<byte[]> read(int max) {
+        List<byte[]> records = new ArrayList<byte[]>();
+        if (files.isEmpty()) {
+            return records;
+        }
+        SpoolFile oldest = files.getFirst();
+        byte[] record;
+        while (records.size() < max && (record = oldest.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * The records of last {@link #read(int)} are acknowledged. Delete the oldest file, if all of its records have
+     * been replayed, and it is not the one to write.
+     */
+    public synchronized void commit() {
+        if (files.isEmpty()) {
+            return;
+        }
+        SpoolFile oldest = files.getFirst();
+        oldest.commit();
+        if (oldest.isExhausted() && files.size() > 1) {
+            files.removeFirst().delete();
+        }
+    }
+
+    /**
+     * The records of last {@link #read(int)} are not acknowledged, read them again next time.
+     */
+    public synchronized void rollback() {
+        if (!files.isEmpty()) {
+            files.getFirst().rollback();
+        }
+    }
+
+    /**
+     * Delete the files created before the max age, with their records not replayed.
+     */
+    public synchronized void evictExpired() {
+        long expireTime = System.currentTimeMillis() - maxAge;
+        while (!files.isEmpty() && files.getFirst().getCreateTime() < expireTime) {
+            evict(files.removeFirst());
+        }
+    }
+
+    private void evict(SpoolFile spoolFile) {
+        evictedCounter += spoolFile.countUncommitted();
+        spoolFile.delete();
+    }
+
+    public synchronized boolean isEmpty() {
+        return files.isEmpty() || (files.size() == 1 && files.getFirst().isExhausted());
+    }
+
+    /**
+     * @return the number of records evicted since last call.
+     */
+    public synchronized long getAndResetEvictedCounter() {
+        long evicted = evictedCounter;
+        evictedCounter = 0;
+        return evicted;
+    }
+
+    public synchronized void close() {
+        for (SpoolFile file : files) {
+            file.force();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+
+/**
+ * A fixed size, memory mapped file of the {@link SegmentSpool}. The first int is the committed read position, then the
+ * records follow, each one is an int length and the bytes of an UpstreamSegment. A zero length ends the records, the
+ * file is zero filled when created.
+ * <p>
+ * The bytes of a record are written before its length, so a record is visible only when completed, even the agent
+ * crashes in the middle.
+ *
+ * @author wusheng
+ */
+public class SpoolFile {
+    private static final ILog logger = LogManager.getLogger(SpoolFile.class);
+    static final String FILE_PREFIX = "segment-";
+    static final String FILE_SUFFIX = ".spool";
+    static final int HEADER_SIZE = 4;
+    static final int LENGTH_SIZE = 4;
+
+    private final File file;
+    private final long createTime;
+    private final int capacity;
+    private MappedByteBuffer buffer;
+    private int writePosition;
+    private int readPosition;
+    private int committedReadPosition;
+
+    private SpoolFile(File file, long createTime, int capacity) {
+        this.file = file;
+        this.createTime = createTime;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Create a new spool file in the directory, named by the create time.
+     */
+    public static SpoolFile create(File dir, int capacity) throws IOException {
+        long createTime = System.currentTimeMillis();
+        File file = new File(dir, FILE_PREFIX + createTime + FILE_SUFFIX);
+        while (!file.createNewFile()) {
+            createTime++;
+            file = new File(dir, FILE_PREFIX + createTime + FILE_SUFFIX);
+        }
+        SpoolFile spoolFile = new SpoolFile(file, createTime, capacity);
+        spoolFile.map();
+        spoolFile.writePosition = HEADER_SIZE;
+        spoolFile.readPosition = HEADER_SIZE;
+        spoolFile.committedReadPosition = HEADER_SIZE;
+        spoolFile.buffer.putInt(0, HEADER_SIZE);
+        return spoolFile;
+    }
+
+    /**
+     * Open an existing spool file, left by the previous agent process, and find the positions by scanning the records.
+     *
+     * @return null, if the file name is not a spool file.
+     */
+    public static SpoolFile recover(File file) throws IOException {
+        String name = file.getName();
+        if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+            return null;
+        }
+        long createTime;
+        try {
+            createTime = Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        SpoolFile spoolFile = new SpoolFile(file, createTime, (int)file.length());
+        spoolFile.map();
+        MappedByteBuffer buffer = spoolFile.buffer;
+
+        int position = HEADER_SIZE;
+        while (position + LENGTH_SIZE <= spoolFile.capacity) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + LENGTH_SIZE + length > spoolFile.capacity) {
+                break;
+            }
+            position += LENGTH_SIZE + length;
+        }
+        spoolFile.writePosition = position;
+        int committed = buffer.getInt(0);
+        if (committed < HEADER_SIZE || committed > position) {
+            committed = HEADER_SIZE;
+        }
+        spoolFile.readPosition = committed;
+        spoolFile.committedReadPosition = committed;
+        return spoolFile;
+    }
+
+    private void map() throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            if (randomAccessFile.length() < capacity) {
+                randomAccessFile.setLength(capacity);
+            }
+            buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    /**
+     * @return false, if no enough space left in this file.
+     */
+    public boolean append(byte[] record) {
+        if (writePosition + LENGTH_SIZE + record.length > capacity) {
+            return false;
+        }
+        buffer.position(writePosition + LENGTH_SIZE);
+        buffer.put(record);
+        buffer.putInt(writePosition, record.length);
+        writePosition += LENGTH_SIZE + record.length;
+        return true;
+    }
+
+    /**
+     * @return the next record after the read position, or null if all have been read.
+     */
+    public byte[] next() {
+        if (readPosition >= writePosition) {
+            return null;
+        }
+        int length = buffer.getInt(readPosition);
+        byte[] record = new byte[length];
+        buffer.position(readPosition + LENGTH_SIZE);
+        buffer.get(record);
+        readPosition += LENGTH_SIZE + length;
+        return record;
+    }
+
+    /**
+     * The records read since last commit are replayed, never read again, even after the agent restarts.
+     */
+    public void commit() {
+        committedReadPosition = readPosition;
+        buffer.putInt(0, committedReadPosition);
+    }
+
+    /**
+     * Read the records since last commit again.
+     */
+    public void rollback() {
+        readPosition = committedReadPosition;
+    }
+
+    /**
+     * @return true, if all the records have been read.
+     */
+    public boolean isExhausted() {
+        return readPosition >= writePosition;
+    }
+
+    /**
+     * Count the records not committed, by walking the lengths.
+     */
+    public int countUncommitted() {
+        int count = 0;
+        int position = committedReadPosition;
+        while (position < writePosition) {
+            position += LENGTH_SIZE + buffer.getInt(position);
+            count++;
+        }
+        return count;
+    }
+
+    public void force() {
+        buffer.force();
+    }
+
+    /**
+     * Unmap the buffer and delete the file, so the disk space is released now, not when the buffer is collected.
+     */
+    public void delete() {
+        unmap(buffer);
+        buffer = null;
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * Run the cleaner of the mapped buffer, through {@code DirectBuffer#cleaner()} before Java 9, or {@code
+     * Unsafe#invokeCleaner(ByteBuffer)} since. The buffer must not be accessed after this.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+            return;
+        } catch (Throwable ignored) {
+        }
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), buffer);
+        } catch (Throwable t) {
+            logger.warn(t, "Fail to unmap spool file, it is released when the buffer is collected.");
+        }
+    }
+
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public File getFile() {
+        return file;
+    }
+}
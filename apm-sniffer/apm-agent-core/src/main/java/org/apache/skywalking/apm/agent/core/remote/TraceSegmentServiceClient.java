@@ -20,8 +20,18 @@
 package org.apache.skywalking.apm.agent.core.remote;
 
 import io.grpc.Channel;
-import io.grpc.stub.StreamObserver;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.Status;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
+import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.context.TracingContext;
 import org.apache.skywalking.apm.agent.core.context.TracingContextListener;
@@ -31,29 +41,72 @@ import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
-import org.apache.skywalking.apm.network.proto.Downstream;
 import org.apache.skywalking.apm.network.proto.TraceSegmentServiceGrpc;
 import org.apache.skywalking.apm.network.proto.UpstreamSegment;
-
-import java.util.List;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+import org.apache.skywalking.apm.util.StringUtil;
 
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.BUFFER_SIZE;
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.CHANNEL_SIZE;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.SPOOL_DIR;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.SPOOL_FILE_SIZE;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.SPOOL_MAX_AGE;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.SPOOL_MAX_SIZE;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.SPOOL_REPLAY_RATE;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Collector.GRPC_STREAM_MAX_INFLIGHT_BYTES;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Collector.GRPC_STREAM_ROTATE_INTERVAL;
 import static org.apache.skywalking.apm.agent.core.remote.GRPCChannelStatus.CONNECTED;
 
 /**
+ * Send the trace segments through a long-lived {@link TraceSegmentStream}, which is completed every {@link
+ * org.apache.skywalking.apm.agent.core.conf.Config.Collector#GRPC_STREAM_ROTATE_INTERVAL} seconds and replaced by a new
+ * one. The consumer thread doesn't wait for the collector per batch, it only waits when the transport is not ready, or
+ * the unacknowledged bytes reach {@link org.apache.skywalking.apm.agent.core.conf.Config.Collector#GRPC_STREAM_MAX_INFLIGHT_BYTES}.
+ * <p>
+ * If {@link org.apache.skywalking.apm.agent.core.conf.Config.Buffer#SPOOL_DIR} is set, the segments which can't be sent
+ * or buffered are written into the {@link SegmentSpool}, by the consumer thread or the replay thread, never by the
+ * application threads. They are replayed every second in a separated stream, at most
+ * {@link org.apache.skywalking.apm.agent.core.conf.Config.Buffer#SPOOL_REPLAY_RATE} segments, when the channel is
+ * connected.
+ *
  * @author wusheng
  */
-public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSegment>, TracingContextListener, GRPCChannelListener {
+public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSegment>, TracingContextListener, GRPCChannelListener, TraceSegmentStream.StreamListener {
     private static final ILog logger = LogManager.getLogger(TraceSegmentServiceClient.class);
     private static final int TIMEOUT = 30 * 1000;
 
     private long lastLogTime;
-    private long segmentUplinkedCounter;
-    private long segmentAbandonedCounter;
+    private final AtomicLong segmentUplinkedCounter = new AtomicLong(0);
+    private final AtomicLong segmentAbandonedCounter = new AtomicLong(0);
+    private final AtomicLong inflightBytes = new AtomicLong(0);
+    private final AtomicLong streamResetCounter = new AtomicLong(0);
+    private final AtomicLong segmentSpooledCounter = new AtomicLong(0);
+    private final AtomicLong segmentLostCounter = new AtomicLong(0);
+    private final Object inflightLock = new Object();
     private volatile DataCarrier<TraceSegment> carrier;
     private volatile TraceSegmentServiceGrpc.TraceSegmentServiceStub serviceStub;
     private volatile GRPCChannelStatus status = GRPCChannelStatus.DISCONNECT;
+    private volatile TraceSegmentStream stream;
+    private UpstreamSegmentEncoder encoder = new UpstreamSegmentEncoder();
+    private volatile SegmentSpool spool;
+    private volatile ScheduledFuture<?> replayFuture;
+    private volatile BlockingQueue<TraceSegment> overflowQueue;
+    private final TraceSegmentStream.StreamListener replayListener = new TraceSegmentStream.StreamListener() {
+        @Override
+        public void onSent(int size) {
+            TraceSegmentServiceClient.this.onSent(size);
+        }
+
+        @Override
+        public void onAcknowledged(int segmentCount, long bytes) {
+            TraceSegmentServiceClient.this.onAcknowledged(segmentCount, bytes);
+        }
+
+        @Override
+        public void onReset(int segmentCount, long bytes, Throwable throwable) {
+            reset(segmentCount, bytes, throwable, false);
+        }
+    };
 
     @Override
     public void beforeBoot() throws Throwable {
@@ -63,11 +116,34 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
     @Override
     public void boot() throws Throwable {
         lastLogTime = System.currentTimeMillis();
-        segmentUplinkedCounter = 0;
-        segmentAbandonedCounter = 0;
         carrier = new DataCarrier<TraceSegment>(CHANNEL_SIZE, BUFFER_SIZE);
         carrier.setBufferStrategy(BufferStrategy.IF_POSSIBLE);
         carrier.consume(this, 1);
+
+        if (!StringUtil.isEmpty(SPOOL_DIR)) {
+            try {
+                spool = new SegmentSpool(new File(SPOOL_DIR), SPOOL_FILE_SIZE, SPOOL_MAX_SIZE, SPOOL_MAX_AGE * 1000);
+            } catch (Throwable t) {
+                logger.error(t, "Fail to open trace segment spool in {}, spool is off.", SPOOL_DIR);
+            }
+        }
+        if (spool != null) {
+            overflowQueue = new ArrayBlockingQueue<TraceSegment>(BUFFER_SIZE);
+            replayFuture = Executors
+                .newSingleThreadScheduledExecutor(new DefaultNamedThreadFactory("TraceSegmentSpoolReplay"))
+                .scheduleAtFixedRate(new RunnableWithExceptionProtection(new Runnable() {
+                    @Override
+                    public void run() {
+                        spoolOverflow(false);
+                        replay();
+                    }
+                }, new RunnableWithExceptionProtection.CallbackWhenException() {
+                    @Override
+                    public void handle(Throwable t) {
+                        logger.error("Replay spooled trace segments failure.", t);
+                    }
+                }), 1, 1, TimeUnit.SECONDS);
+        }
     }
 
     @Override
@@ -78,6 +154,17 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
     @Override
     public void shutdown() throws Throwable {
         carrier.shutdownConsumers();
+        TraceSegmentStream stream = this.stream;
+        if (stream != null) {
+            stream.complete();
+        }
+        if (replayFuture != null) {
+            replayFuture.cancel(true);
+        }
+        if (spool != null) {
+            spoolOverflow(false);
+            spool.close();
+        }
     }
 
     @Override
@@ -87,61 +174,242 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
 
     @Override
     public void consume(List<TraceSegment> data) {
+        int sent = 0;
         if (CONNECTED.equals(status)) {
-            final GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
-            StreamObserver<UpstreamSegment> upstreamSegmentStreamObserver = serviceStub.collect(new StreamObserver<Downstream>() {
-                @Override
-                public void onNext(Downstream downstream) {
-
-                }
-
-                @Override
-                public void onError(Throwable throwable) {
-                    status.finished();
-                    if (logger.isErrorEnable()) {
-                        logger.error(throwable, "Send UpstreamSegment to collector fail with a grpc internal exception.");
-                    }
-                    ServiceManager.INSTANCE.findService(GRPCChannelManager.class).reportError(throwable);
+            for (TraceSegment segment : data) {
+                if (!waitForInflightBytes()) {
+                    break;
                 }
-
-                @Override
-                public void onCompleted() {
-                    status.finished();
+                TraceSegmentStream stream = currentStream();
+                if (!stream.waitForReady(TIMEOUT)) {
+                    break;
                 }
-            });
-
-            for (TraceSegment segment : data) {
                 try {
-                    UpstreamSegment upstreamSegment = segment.transform();
-                    upstreamSegmentStreamObserver.onNext(upstreamSegment);
+                    UpstreamSegment upstreamSegment = encoder.encode(segment);
+                    if (!stream.send(upstreamSegment, upstreamSegment.getSerializedSize())) {
+                        break;
+                    }
                 } catch (Throwable t) {
                     logger.error(t, "Transform and send UpstreamSegment to collector fail.");
+                    break;
                 }
+                sent++;
             }
-            upstreamSegmentStreamObserver.onCompleted();
+        }
+        for (int i = sent; i < data.size(); i++) {
+            spool(data.get(i), true);
+        }
+        spoolOverflow(true);
 
-            if (status.wait4Finish(TIMEOUT)) {
-                segmentUplinkedCounter += data.size();
+        printUplinkStatus();
+    }
+
+    /**
+     * Write the segment into the spool, or abandon it if the spool is off or full.
+     *
+     * @param useEncoder true, if in the consumer thread, which owns the {@link #encoder}.
+     */
+    private void spool(TraceSegment segment, boolean useEncoder) {
+        SegmentSpool spool = this.spool;
+        if (spool != null) {
+            try {
+                UpstreamSegment upstreamSegment = useEncoder ? encoder.encode(segment) : segment.transform();
+                if (spool.write(upstreamSegment.toByteArray())) {
+                    segmentSpooledCounter.incrementAndGet();
+                    return;
+                }
+            } catch (Throwable t) {
+                logger.error(t, "Write UpstreamSegment into spool fail.");
             }
+        }
+        segmentAbandonedCounter.incrementAndGet();
+    }
+
+    /**
+     * Spool the segments which the application threads failed to put into the full carrier.
+     *
+     * @param useEncoder true, if in the consumer thread, which owns the {@link #encoder}.
+     */
+    private void spoolOverflow(boolean useEncoder) {
+        BlockingQueue<TraceSegment> overflowQueue = this.overflowQueue;
+        if (overflowQueue == null) {
+            return;
+        }
+        TraceSegment segment;
+        while ((segment = overflowQueue.poll()) != null) {
+            spool(segment, useEncoder);
+        }
+    }
+
+    /**
+     * Send at most {@link org.apache.skywalking.apm.agent.core.conf.Config.Buffer#SPOOL_REPLAY_RATE} spooled segments
+     * in a new stream, commit them in the spool when collector acknowledges, or read them again next time.
+     */
+    private void replay() {
+        SegmentSpool spool = this.spool;
+        spool.evictExpired();
+        if (!CONNECTED.equals(status) || spool.isEmpty()) {
+            return;
+        }
+        List<byte[]> records = spool.read(SPOOL_REPLAY_RATE);
+        if (records.isEmpty()) {
+            return;
+        }
+        TraceSegmentStream replayStream = new TraceSegmentStream(serviceStub, replayListener);
+        boolean allSent = true;
+        for (byte[] record : records) {
+            if (!replayStream.waitForReady(TIMEOUT)) {
+                allSent = false;
+                break;
+            }
+            try {
+                if (!replayStream.send(UpstreamSegment.parseFrom(record), record.length)) {
+                    allSent = false;
+                    break;
+                }
+            } catch (InvalidProtocolBufferException e) {
+                logger.error(e, "Spooled UpstreamSegment is broken, ignore it.");
+            }
+        }
+        replayStream.complete();
+        if (allSent && replayStream.waitForAcknowledged(TIMEOUT)) {
+            spool.commit();
         } else {
-            segmentAbandonedCounter += data.size();
+            replayStream.cancel("Replay spooled trace segments fail.");
+            spool.rollback();
         }
+    }
 
-        printUplinkStatus();
+    /**
+     * @return the opened stream, or a new one, if the current one is closed, completing, rotated or opened by a
+     * replaced channel.
+     */
+    private TraceSegmentStream currentStream() {
+        TraceSegmentServiceGrpc.TraceSegmentServiceStub serviceStub = this.serviceStub;
+        TraceSegmentStream stream = this.stream;
+        if (stream != null) {
+            if (stream.isClosed() || stream.isCompleting()) {
+                stream = null;
+            } else if (!stream.isOpenedBy(serviceStub)) {
+                stream.cancel("Collector channel reconnected.");
+                stream = null;
+            } else if (System.currentTimeMillis() - stream.getOpenTime() > GRPC_STREAM_ROTATE_INTERVAL * 1000) {
+                stream.complete();
+                stream = null;
+            }
+        }
+        if (stream == null) {
+            stream = new TraceSegmentStream(serviceStub, this);
+            this.stream = stream;
+        }
+        return stream;
+    }
+
+    /**
+     * Complete the current stream, and wait for the acknowledgements, if too many bytes are in flight.
+     *
+     * @return false, if still too many after {@link #TIMEOUT}.
+     */
+    private boolean waitForInflightBytes() {
+        if (inflightBytes.get() < GRPC_STREAM_MAX_INFLIGHT_BYTES) {
+            return true;
+        }
+        TraceSegmentStream stream = this.stream;
+        if (stream != null) {
+            stream.complete();
+        }
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        synchronized (inflightLock) {
+            while (inflightBytes.get() >= GRPC_STREAM_MAX_INFLIGHT_BYTES) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    inflightLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void onSent(int size) {
+        inflightBytes.addAndGet(size);
+    }
+
+    @Override
+    public void onAcknowledged(int segmentCount, long bytes) {
+        segmentUplinkedCounter.addAndGet(segmentCount);
+        release(bytes);
+    }
+
+    @Override
+    public void onReset(int segmentCount, long bytes, Throwable throwable) {
+        reset(segmentCount, bytes, throwable, true);
+    }
+
+    /**
+     * @param lost true, if the unacknowledged segments are not kept anywhere, false for the replay streams, whose
+     * segments are read from the spool again.
+     */
+    private void reset(int segmentCount, long bytes, Throwable throwable, boolean lost) {
+        streamResetCounter.incrementAndGet();
+        if (lost) {
+            segmentLostCounter.addAndGet(segmentCount);
+        }
+        release(bytes);
+        if (Status.fromThrowable(throwable).getCode() == Status.Code.CANCELLED) {
+            logger.debug("Trace segment stream has been cancelled, {} segments are not acknowledged.", segmentCount);
+            return;
+        }
+        if (logger.isErrorEnable()) {
+            logger.error(throwable, "Send UpstreamSegment to collector fail with a grpc internal exception.");
+        }
+        ServiceManager.INSTANCE.findService(GRPCChannelManager.class).reportError(throwable);
+    }
+
+    private void release(long bytes) {
+        inflightBytes.addAndGet(-bytes);
+        synchronized (inflightLock) {
+            inflightLock.notifyAll();
+        }
     }
 
     private void printUplinkStatus() {
         long currentTimeMillis = System.currentTimeMillis();
         if (currentTimeMillis - lastLogTime > 30 * 1000) {
             lastLogTime = currentTimeMillis;
-            if (segmentUplinkedCounter > 0) {
-                logger.debug("{} trace segments have been sent to collector.", segmentUplinkedCounter);
-                segmentUplinkedCounter = 0;
+            long segmentUplinked = segmentUplinkedCounter.getAndSet(0);
+            if (segmentUplinked > 0) {
+                logger.debug("{} trace segments have been sent to collector.", segmentUplinked);
+            }
+            long segmentAbandoned = segmentAbandonedCounter.getAndSet(0);
+            if (segmentAbandoned > 0) {
+                logger.debug("{} trace segments have been abandoned, cause by no available channel.", segmentAbandoned);
             }
-            if (segmentAbandonedCounter > 0) {
-                logger.debug("{} trace segments have been abandoned, cause by no available channel.", segmentAbandonedCounter);
-                segmentAbandonedCounter = 0;
+            long segmentSpooled = segmentSpooledCounter.getAndSet(0);
+            if (segmentSpooled > 0) {
+                logger.debug("{} trace segments have been spooled, cause by no available channel or buffer is full.", segmentSpooled);
             }
+            SegmentSpool spool = this.spool;
+            if (spool != null) {
+                long segmentEvicted = spool.getAndResetEvictedCounter();
+                if (segmentEvicted > 0) {
+                    logger.debug("{} spooled trace segments have been evicted, cause by spool max size or age.", segmentEvicted);
+                }
+            }
+            long streamReset = streamResetCounter.getAndSet(0);
+            if (streamReset > 0) {
+                logger.debug("{} trace segment streams have been reset.", streamReset);
+            }
+            long segmentLost = segmentLostCounter.getAndSet(0);
+            if (segmentLost > 0) {
+                logger.debug("{} trace segments have been lost, cause by stream reset before acknowledged.", segmentLost);
+            }
+            logger.debug("{} bytes of trace segments are in flight.", inflightBytes.get());
         }
     }
 
@@ -161,7 +429,12 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
             return;
         }
         if (!carrier.produce(traceSegment)) {
-            if (logger.isDebugEnable()) {
+            BlockingQueue<TraceSegment> overflowQueue = this.overflowQueue;
+            if (overflowQueue != null) {
+                if (!overflowQueue.offer(traceSegment)) {
+                    segmentAbandonedCounter.incrementAndGet();
+                }
+            } else if (logger.isDebugEnable()) {
                 logger.debug("One trace segment has been abandoned, cause by buffer is full.");
             }
         }
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.apache.skywalking.apm.network.proto.Downstream;
+import org.apache.skywalking.apm.network.proto.TraceSegmentServiceGrpc;
+import org.apache.skywalking.apm.network.proto.UpstreamSegment;
+
+/**
+ * One long-lived client stream of {@link TraceSegmentServiceGrpc.TraceSegmentServiceStub#collect}, shared by many
+ * consume batches. The segments are written as soon as the transport is ready, see {@link #waitForReady(long)}, no
+ * round trip is waited per batch. The collector acknowledges the segments only when the stream is completed, so the
+ * owner completes it periodically, and the completed stream stays in flight until the {@link Downstream} arrives.
+ *
+ * @author wusheng
+ */
+public class TraceSegmentStream implements ClientResponseObserver<UpstreamSegment, Downstream> {
+    private final TraceSegmentServiceGrpc.TraceSegmentServiceStub serviceStub;
+    private final StreamListener listener;
+    private final long openTime;
+    private volatile ClientCallStreamObserver<UpstreamSegment> requestStream;
+    private volatile boolean closed = false;
+    private volatile boolean acknowledged = false;
+    private boolean completing = false;
+    private int segmentCount;
+    private long bytes;
+
+    public TraceSegmentStream(TraceSegmentServiceGrpc.TraceSegmentServiceStub serviceStub, StreamListener listener) {
+        this.serviceStub = serviceStub;
+        this.listener = listener;
+        this.openTime = System.currentTimeMillis();
+        serviceStub.collect(this);
+    }
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<UpstreamSegment> requestStream) {
+        this.requestStream = requestStream;
+        requestStream.setOnReadyHandler(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (TraceSegmentStream.this) {
+                    TraceSegmentStream.this.notifyAll();
+                }
+            }
+        });
+    }
+
+    /**
+     * Wait until the transport accepts more messages, which is the flow control of gRPC, or the stream is closed.
+     *
+     * @param timeout max wait time, milliseconds.
+     * @return true, if ready to send.
+     */
+    public synchronized boolean waitForReady(long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (!closed && !requestStream.isReady()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+        return !closed;
+    }
+
+    /**
+     * @param segment to send.
+     * @param size serialized size of the segment, counted as in flight until acknowledged.
+     * @return false, if the stream is closed or completing, the segment is not sent.
+     */
+    public synchronized boolean send(UpstreamSegment segment, int size) {
+        if (closed || completing) {
+            return false;
+        }
+        requestStream.onNext(segment);
+        segmentCount++;
+        bytes += size;
+        listener.onSent(size);
+        return true;
+    }
+
+    /**
+     * Complete the stream, the sent segments are acknowledged through {@link StreamListener#onAcknowledged(int,
+     * long)} when the collector responds.
+     */
+    public void complete() {
+        synchronized (this) {
+            if (closed || completing) {
+                return;
+            }
+            completing = true;
+        }
+        requestStream.onCompleted();
+    }
+
+    /**
+     * Cancel the stream, such as the channel has been replaced. The unacknowledged segments are reported as reset.
+     */
+    public void cancel(String message) {
+        if (!closed) {
+            requestStream.cancel(message, null);
+        }
+    }
+
+    @Override
+    public void onNext(Downstream downstream) {
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        int count;
+        long size;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            count = segmentCount;
+            size = bytes;
+            notifyAll();
+        }
+        listener.onReset(count, size, throwable);
+    }
+
+    @Override
+    public void onCompleted() {
+        int count;
+        long size;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            acknowledged = true;
+            count = segmentCount;
+            size = bytes;
+            notifyAll();
+        }
+        listener.onAcknowledged(count, size);
+    }
+
+    /**
+     * Wait until the collector acknowledges or the stream fails.
+     *
+     * @param timeout max wait time, milliseconds.
+     * @return true, if acknowledged.
+     */
+    public synchronized boolean waitForAcknowledged(long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (!closed) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+        return acknowledged;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public synchronized boolean isCompleting() {
+        return completing;
+    }
+
+    public boolean isOpenedBy(TraceSegmentServiceGrpc.TraceSegmentServiceStub serviceStub) {
+        return this.serviceStub == serviceStub;
+    }
+
+    public long getOpenTime() {
+        return openTime;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Called in the gRPC threads, except {@link #onSent(int)}.
+     */
+    public interface StreamListener {
+        void onSent(int size);
+
+        void onAcknowledged(int segmentCount, long bytes);
+
+        void onReset(int segmentCount, long bytes, Throwable throwable);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
+import org.apache.skywalking.apm.agent.core.context.ids.DistributedTraceId;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.network.proto.UpstreamSegment;
+
+/**
+ * Encode the {@link TraceSegment} into {@link UpstreamSegment}, by writing the segment in protobuf wire format into a
+ * reused byte buffer directly, rather than {@link TraceSegment#transform()}, which builds the whole proto object graph
+ * first. Only the segment bytes are copied once, as the segment field.
+ * <p>
+ * Not thread safe, one instance for one consumer thread.
+ *
+ * @author wusheng
+ */
+public class UpstreamSegmentEncoder {
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+    /**
+     * The buffer, grown by a large segment, is not kept if bigger than this.
+     */
+    private static final int MAX_REUSED_BUFFER_SIZE = 1024 * 1024;
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+
+    public UpstreamSegment encode(TraceSegment segment) throws IOException {
+        int size = segment.computeSize();
+        byte[] target = buffer;
+        if (target.length < size) {
+            target = new byte[Math.max(size, target.length * 2)];
+            if (target.length <= MAX_REUSED_BUFFER_SIZE) {
+                buffer = target;
+            }
+        }
+
+        CodedOutputStream output = CodedOutputStream.newInstance(target, 0, size);
+        segment.writeTo(output);
+        output.checkNoSpaceLeft();
+
+        UpstreamSegment.Builder upstreamBuilder = UpstreamSegment.newBuilder();
+        for (DistributedTraceId distributedTraceId : segment.getRelatedGlobalTraces()) {
+            upstreamBuilder.addGlobalTraceIds(distributedTraceId.toUniqueId());
+        }
+        upstreamBuilder.setSegment(ByteString.copyFrom(target, 0, size));
+        return upstreamBuilder.build();
+    }
+}
@@ -24,6 +24,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
 import org.apache.skywalking.apm.agent.core.conf.Config;
@@ -38,15 +39,22 @@ import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
  * send all of them to collector, if SAMPLING is on.
  * <p>
  * By default, SAMPLING is on, and  {@link Config.Agent#SAMPLE_N_PER_3_SECS }
+ * <p>
+ * The collector under load advertises a sampling rate in per ten thousand, see {@link #setCollectorSamplingRate(int)},
+ * the traces beginning at local are sampled by that rate too, spread evenly over the traces.
  *
  * @author wusheng
  */
 public class SamplingService implements BootService {
     private static final ILog logger = LogManager.getLogger(SamplingService.class);
 
+    public static final int FULL_SAMPLING_RATE = 10000;
+
     private volatile boolean on = false;
     private volatile AtomicInteger samplingFactorHolder;
     private volatile ScheduledFuture<?> scheduledFuture;
+    private volatile int collectorSamplingRate = FULL_SAMPLING_RATE;
+    private final AtomicLong collectorSamplingSequence = new AtomicLong(0);
 
     @Override
     public void beforeBoot() throws Throwable {
@@ -97,6 +105,9 @@ public class SamplingService implements BootService {
      * @return true, if sampling mechanism is on, and getDefault the sampling factor successfully.
      */
     public boolean trySampling() {
+        if (!tryCollectorSampling()) {
+            return false;
+        }
         if (on) {
             int factor = samplingFactorHolder.get();
             if (factor < Config.Agent.SAMPLE_N_PER_3_SECS) {
@@ -121,6 +132,35 @@ public class SamplingService implements BootService {
         }
     }
 
+    /**
+     * Apply the sampling rate advertised by the collector.
+     *
+     * @param samplingRate in per ten thousand, {@link #FULL_SAMPLING_RATE} means the collector is not under load.
+     */
+    public void setCollectorSamplingRate(int samplingRate) {
+        samplingRate = Math.max(0, Math.min(FULL_SAMPLING_RATE, samplingRate));
+        if (samplingRate != collectorSamplingRate) {
+            logger.info("Collector sampling rate changed, {} -> {} per ten thousand.", collectorSamplingRate, samplingRate);
+            collectorSamplingRate = samplingRate;
+        }
+    }
+
+    public int getCollectorSamplingRate() {
+        return collectorSamplingRate;
+    }
+
+    /**
+     * The n-th trace is sampled when the sampled count, n * rate / 10000, increases at it.
+     */
+    private boolean tryCollectorSampling() {
+        int samplingRate = collectorSamplingRate;
+        if (samplingRate >= FULL_SAMPLING_RATE) {
+            return true;
+        }
+        long sequence = collectorSamplingSequence.getAndIncrement();
+        return (sequence + 1) * samplingRate / FULL_SAMPLING_RATE != sequence * samplingRate / FULL_SAMPLING_RATE;
+    }
+
     private void resetSamplingFactor() {
         samplingFactorHolder = new AtomicInteger(0);
     }
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class SegmentSpoolTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndReplay() throws IOException {
+        SegmentSpool spool = new SegmentSpool(folder.getRoot(), 64, 1024, 60 * 1000);
+        assertThat(spool.isEmpty(), is(true));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(spool.write(record(i)), is(true));
+        }
+        assertThat(folder.getRoot().listFiles().length, is(2));
+
+        List<byte[]> records = spool.read(10);
+        assertThat(records.size(), is(4));
+        spool.rollback();
+        records = spool.read(2);
+        assertThat(records.size(), is(2));
+        assertThat(records.get(0), is(record(0)));
+        spool.commit();
+
+        records = spool.read(10);
+        assertThat(records.size(), is(2));
+        assertThat(records.get(0), is(record(2)));
+        spool.commit();
+        assertThat(folder.getRoot().listFiles().length, is(1));
+
+        records = spool.read(10);
+        assertThat(records.size(), is(1));
+        assertThat(records.get(0), is(record(4)));
+        spool.commit();
+        assertThat(spool.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testRecover() throws IOException {
+        SegmentSpool spool = new SegmentSpool(folder.getRoot(), 64, 1024, 60 * 1000);
+        for (int i = 0; i < 3; i++) {
+            spool.write(record(i));
+        }
+        spool.read(1);
+        spool.commit();
+        spool.read(1);
+        spool.close();
+
+        SegmentSpool recovered = new SegmentSpool(folder.getRoot(), 64, 1024, 60 * 1000);
+        List<byte[]> records = recovered.read(10);
+        assertThat(records.size(), is(2));
+        assertThat(records.get(0), is(record(1)));
+        assertThat(records.get(1), is(record(2)));
+    }
+
+    @Test
+    public void testEvict() throws IOException {
+        SegmentSpool spool = new SegmentSpool(folder.getRoot(), 64, 128, 60 * 1000);
+        for (int i = 0; i < 12; i++) {
+            assertThat(spool.write(record(i)), is(true));
+        }
+        assertThat(folder.getRoot().listFiles().length, is(2));
+        assertThat(spool.getAndResetEvictedCounter(), is(4L));
+        assertThat(spool.read(1).get(0), is(record(4)));
+
+        SegmentSpool expiredSpool = new SegmentSpool(new File(folder.getRoot(), "expired"), 64, 1024, -1);
+        expiredSpool.write(record(0));
+        expiredSpool.evictExpired();
+        assertThat(expiredSpool.isEmpty(), is(true));
+        assertThat(expiredSpool.getAndResetEvictedCounter(), is(1L));
+    }
+
+    @Test
+    public void testRejectOversizedRecord() throws IOException {
+        SegmentSpool spool = new SegmentSpool(folder.getRoot(), 64, 128, 60 * 1000);
+        for (int i = 0; i < 8; i++) {
+            assertThat(spool.write(record(i)), is(true));
+        }
+        assertThat(spool.write(new byte[57]), is(false));
+        assertThat(spool.write(new byte[64]), is(false));
+        assertThat(folder.getRoot().listFiles().length, is(2));
+        assertThat(spool.getAndResetEvictedCounter(), is(0L));
+        assertThat(spool.read(1).get(0), is(record(0)));
+    }
+
+    private byte[] record(int index) {
+        byte[] record = new byte[10];
+        for (int i = 0; i < record.length; i++) {
+            record[i] = (byte)(index + i);
+        }
+        return record;
+    }
+}
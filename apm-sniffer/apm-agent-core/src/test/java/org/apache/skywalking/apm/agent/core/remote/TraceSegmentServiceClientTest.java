@@ -25,6 +25,7 @@ import io.grpc.testing.GrpcServerRule;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.skywalking.apm.agent.core.conf.RemoteDownstreamConfig;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
@@ -33,6 +34,7 @@ import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
 import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
 import org.apache.skywalking.apm.agent.core.test.tools.TracingSegmentRunner;
 import org.junit.*;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.powermock.reflect.Whitebox;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
@@ -60,6 +62,9 @@ public class TraceSegmentServiceClientTest {
     @Rule
     public GrpcServerRule grpcServerRule = new GrpcServerRule().directExecutor();
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @SegmentStoragePoint
     private SegmentStorage storage;
 
@@ -111,6 +116,14 @@ public class TraceSegmentServiceClientTest {
         upstreamSegments = new ArrayList<UpstreamSegment>();
     }
 
+    @After
+    public void tearDown() {
+        TraceSegmentStream stream = Whitebox.getInternalState(serviceClient, "stream");
+        if (stream != null) {
+            stream.complete();
+        }
+    }
+
     @Test
     public void testSendTraceSegmentWithoutException() throws InvalidProtocolBufferException {
         grpcServerRule.getServiceRegistry().addService(serviceImplBase);
@@ -135,6 +148,14 @@ public class TraceSegmentServiceClientTest {
         assertThat(spanObject.getSpanType(), is(SpanType.Entry));
         assertThat(spanObject.getSpanId(), is(0));
         assertThat(spanObject.getParentSpanId(), is(-1));
+
+        TraceSegmentStream stream = Whitebox.getInternalState(serviceClient, "stream");
+        stream.complete();
+        assertThat(stream.isClosed(), is(true));
+        AtomicLong segmentUplinkedCounter = Whitebox.getInternalState(serviceClient, "segmentUplinkedCounter");
+        assertThat(segmentUplinkedCounter.get(), is(1L));
+        AtomicLong inflightBytes = Whitebox.getInternalState(serviceClient, "inflightBytes");
+        assertThat(inflightBytes.get(), is(0L));
     }
 
     @Test
@@ -154,6 +175,32 @@ public class TraceSegmentServiceClientTest {
 
         boolean reconnect = Whitebox.getInternalState(ServiceManager.INSTANCE.findService(GRPCChannelManager.class), "reconnect");
         assertThat(reconnect, is(true));
+        TraceSegmentStream stream = Whitebox.getInternalState(serviceClient, "stream");
+        assertThat(stream.isClosed(), is(true));
+
+    }
+
+    @Test
+    public void testSpoolAndReplayTraceSegment() throws Throwable {
+        grpcServerRule.getServiceRegistry().addService(serviceImplBase);
+        SegmentSpool spool = new SegmentSpool(temporaryFolder.getRoot(), 1024 * 1024, 2 * 1024 * 1024, 60 * 1000);
+        Whitebox.setInternalState(serviceClient, "spool", spool);
+        Whitebox.setInternalState(serviceClient, "status", GRPCChannelStatus.DISCONNECT);
 
+        AbstractSpan firstEntrySpan = ContextManager.createEntrySpan("/testFirstEntry", null);
+        firstEntrySpan.setComponent(ComponentsDefine.TOMCAT);
+        ContextManager.stopSpan();
+        serviceClient.consume(storage.getTraceSegments());
+
+        assertThat(upstreamSegments.size(), is(0));
+        assertThat(spool.isEmpty(), is(false));
+
+        Whitebox.setInternalState(serviceClient, "status", GRPCChannelStatus.CONNECTED);
+        Whitebox.invokeMethod(serviceClient, "replay");
+
+        assertThat(upstreamSegments.size(), is(1));
+        assertThat(spool.isEmpty(), is(true));
+        TraceSegmentObject traceSegmentObject = TraceSegmentObject.parseFrom(upstreamSegments.get(0).getSegment());
+        assertThat(traceSegmentObject.getSpansCount(), is(1));
     }
 }
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.conf.RemoteDownstreamConfig;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractTracingSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.EntrySpan;
+import org.apache.skywalking.apm.agent.core.context.trace.ExitSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.LocalSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.network.proto.UpstreamSegment;
+import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare {@link TraceSegment#transform()} and {@link UpstreamSegmentEncoder#encode(TraceSegment)}, with the GC
+ * profiler, which reports the allocation rate per operation as gc.alloc.rate.norm.
+ * <p>
+ * Run by the main method, it is not a part of the unit tests.
+ *
+ * @author wusheng
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class UpstreamSegmentEncoderBenchmark {
+    @Param({"1", "10", "50"})
+    private int spanCount;
+
+    private TraceSegment segment;
+
+    private UpstreamSegmentEncoder encoder = new UpstreamSegmentEncoder();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        RemoteDownstreamConfig.Agent.APPLICATION_ID = 1;
+        RemoteDownstreamConfig.Agent.APPLICATION_INSTANCE_ID = 1;
+        segment = new TraceSegment();
+        EntrySpan entrySpan = new EntrySpan(0, -1, "/benchmark/entry");
+        entrySpan.start();
+        entrySpan.setComponent(ComponentsDefine.TOMCAT);
+        entrySpan.tag("url", "http://127.0.0.1:8080/benchmark/entry");
+        entrySpan.tag("http.method", "GET");
+        SpanLayer.asHttp(entrySpan);
+        for (int i = 1; i < spanCount; i++) {
+            AbstractTracingSpan span;
+            if (i % 2 == 0) {
+                span = new ExitSpan(i, 0, "/benchmark/exit", "127.0.0.1:3306").start();
+                span.setComponent(ComponentsDefine.MYSQL);
+                span.tag("db.statement", "select * from benchmark where id = ?");
+                SpanLayer.asDB(span);
+            } else {
+                span = new LocalSpan(i, 0, "/benchmark/local").start();
+                span.log(new RuntimeException("benchmark"));
+            }
+            span.finish(segment);
+        }
+        entrySpan.finish(segment);
+    }
+
+    @Benchmark
+    public UpstreamSegment transform() {
+        return segment.transform();
+    }
+
+    @Benchmark
+    public UpstreamSegment encode() throws IOException {
+        return encoder.encode(segment);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(UpstreamSegmentEncoderBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .build();
+        new Runner(options).run();
+    }
+}
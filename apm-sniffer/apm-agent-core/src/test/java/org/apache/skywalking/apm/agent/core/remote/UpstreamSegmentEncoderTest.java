@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import java.io.IOException;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.RemoteDownstreamConfig;
+import org.apache.skywalking.apm.agent.core.context.CarrierItem;
+import org.apache.skywalking.apm.agent.core.context.ContextCarrier;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.agent.core.test.tools.SegmentStorage;
+import org.apache.skywalking.apm.agent.core.test.tools.SegmentStoragePoint;
+import org.apache.skywalking.apm.agent.core.test.tools.TracingSegmentRunner;
+import org.apache.skywalking.apm.network.proto.TraceSegmentObject;
+import org.apache.skywalking.apm.network.proto.UpstreamSegment;
+import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(TracingSegmentRunner.class)
+public class UpstreamSegmentEncoderTest {
+
+    @Rule
+    public AgentServiceRule agentServiceRule = new AgentServiceRule();
+
+    @SegmentStoragePoint
+    private SegmentStorage storage;
+
+    private UpstreamSegmentEncoder encoder = new UpstreamSegmentEncoder();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        RemoteDownstreamConfig.Agent.APPLICATION_ID = 1;
+        RemoteDownstreamConfig.Agent.APPLICATION_INSTANCE_ID = 1;
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        ServiceManager.INSTANCE.shutdown();
+    }
+
+    @Test
+    public void testEncodeSameAsTransform() throws IOException {
+        ContextCarrier contextCarrier = new ContextCarrier();
+        CarrierItem next = contextCarrier.items();
+        while (next.hasNext()) {
+            next = next.next();
+            next.setHeadValue("1.2343.234234234|1|1|1|#127.0.0.1:8080|#/portal/|#/testEntrySpan|1.2343.234234234");
+        }
+        AbstractSpan entrySpan = ContextManager.createEntrySpan("/testEntrySpan", contextCarrier);
+        entrySpan.setComponent(ComponentsDefine.TOMCAT);
+        Tags.HTTP.METHOD.set(entrySpan, "GET");
+        Tags.URL.set(entrySpan, "127.0.0.1:8080");
+        SpanLayer.asHttp(entrySpan);
+
+        AbstractSpan localSpan = ContextManager.createLocalSpan("/testLocalSpan");
+        localSpan.tag("key", null);
+
+        ContextCarrier injectContextCarrier = new ContextCarrier();
+        AbstractSpan exitSpan = ContextManager.createExitSpan("/testExitSpan", injectContextCarrier, "127.0.0.1:12800");
+        exitSpan.errorOccurred();
+        exitSpan.log(new RuntimeException("exception"));
+        exitSpan.setComponent(ComponentsDefine.HTTPCLIENT);
+        SpanLayer.asHttp(exitSpan);
+        ContextManager.stopSpan();
+
+        ContextManager.stopSpan();
+        ContextManager.stopSpan();
+
+        assertEncodeSameAsTransform(storage.getTraceSegments().get(0));
+    }
+
+    @Test
+    public void testEncodeReuseBuffer() throws IOException {
+        AbstractSpan entrySpan = ContextManager.createEntrySpan("/testEntrySpan", null);
+        for (int i = 0; i < 200; i++) {
+            entrySpan.tag("key" + i, "a long enough value to grow the buffer of encoder " + i);
+        }
+        ContextManager.stopSpan();
+
+        ContextManager.createEntrySpan("/testSecondEntrySpan", null);
+        ContextManager.stopSpan();
+
+        for (TraceSegment segment : storage.getTraceSegments()) {
+            assertEncodeSameAsTransform(segment);
+        }
+    }
+
+    private void assertEncodeSameAsTransform(TraceSegment segment) throws IOException {
+        UpstreamSegment transformed = segment.transform();
+        UpstreamSegment encoded = encoder.encode(segment);
+
+        assertThat(encoded.getGlobalTraceIdsList(), is(transformed.getGlobalTraceIdsList()));
+        assertThat(TraceSegmentObject.parseFrom(encoded.getSegment()), is(TraceSegmentObject.parseFrom(transformed.getSegment())));
+        assertThat(encoded.getSegment(), is(transformed.getSegment()));
+    }
+}
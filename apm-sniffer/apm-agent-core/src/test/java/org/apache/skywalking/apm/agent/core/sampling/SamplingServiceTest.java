@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class SamplingServiceTest {
+
+    @Test
+    public void testCollectorSamplingRate() {
+        SamplingService samplingService = new SamplingService();
+        assertThat(sampledCount(samplingService, 10000), is(10000));
+
+        samplingService.setCollectorSamplingRate(2500);
+        assertThat(samplingService.getCollectorSamplingRate(), is(2500));
+        assertThat(sampledCount(samplingService, 10000), is(2500));
+
+        int sampled = 0;
+        for (int i = 0; i < 100; i++) {
+            if (samplingService.trySampling()) {
+                sampled++;
+            }
+        }
+        assertThat(sampled, is(25));
+
+        samplingService.setCollectorSamplingRate(-1);
+        assertThat(sampledCount(samplingService, 1000), is(0));
+
+        samplingService.setCollectorSamplingRate(20000);
+        assertThat(samplingService.getCollectorSamplingRate(), is(SamplingService.FULL_SAMPLING_RATE));
+        assertThat(sampledCount(samplingService, 1000), is(1000));
+    }
+
+    private int sampledCount(SamplingService samplingService, int traces) {
+        int sampled = 0;
+        for (int i = 0; i < traces; i++) {
+            if (samplingService.trySampling()) {
+                sampled++;
+            }
+        }
+        return sampled;
+    }
+}